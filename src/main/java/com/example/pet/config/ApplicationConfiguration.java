@@ -1,26 +1,229 @@
 package com.example.pet.config;
 
 import com.example.pet.pet.application.CreatePetHandler;
+import com.example.pet.pet.application.CreatePetsHandler;
 import com.example.pet.pet.application.DeletePetHandler;
+import com.example.pet.pet.application.FindPetsHandler;
 import com.example.pet.pet.application.GetAllPetsHandler;
+import com.example.pet.pet.application.GetModifiedPetsHandler;
 import com.example.pet.pet.application.GetPetByIdHandler;
+import com.example.pet.pet.application.GetPetPageHandler;
+import com.example.pet.pet.application.GetPetStatisticsHandler;
+import com.example.pet.pet.application.GetPetsByIdsHandler;
+import com.example.pet.pet.application.GetReplicationStatusHandler;
+import com.example.pet.pet.application.PatchPetHandler;
+import com.example.pet.pet.application.StreamAllPetsHandler;
+import com.example.pet.pet.application.StreamPetChangesHandler;
 import com.example.pet.pet.application.UpdatePetHandler;
+import com.example.pet.pet.domain.PetCache;
+import com.example.pet.pet.domain.PetChangeFeed;
+import com.example.pet.pet.domain.PetReplication;
 import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.infrastructure.api.PetIdJsonModule;
+import com.example.pet.pet.infrastructure.api.PetJsonCache;
+import com.example.pet.pet.infrastructure.persistence.BlockPetIdAllocator;
+import com.example.pet.pet.infrastructure.persistence.CachingPetRepository;
 import com.example.pet.pet.infrastructure.persistence.InMemoryPetRepository;
+import com.example.pet.pet.infrastructure.persistence.JdbcPetRepository;
+import com.example.pet.pet.infrastructure.persistence.OffHeapPetRepository;
+import com.example.pet.pet.infrastructure.persistence.OpenAddressingPetRepository;
+import com.example.pet.pet.infrastructure.persistence.PetChangeRing;
+import com.example.pet.pet.infrastructure.persistence.PetIdAllocator;
+import com.example.pet.pet.infrastructure.persistence.ReplicaPetRepository;
+import com.example.pet.pet.infrastructure.persistence.ReplicationFollower;
+import com.example.pet.pet.infrastructure.persistence.ReplicationLeader;
+import com.example.pet.pet.infrastructure.persistence.SequentialPetIdAllocator;
+import com.example.pet.pet.infrastructure.persistence.ShardedPetRepository;
+import com.example.pet.pet.infrastructure.persistence.SingleWriterPetRepository;
+import com.example.pet.pet.infrastructure.persistence.SnowflakePetIdAllocator;
+import com.example.pet.pet.infrastructure.persistence.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
 
 @Configuration
+@EnableConfigurationProperties({PetRepositoryProperties.class, PetApiProperties.class})
 public class ApplicationConfiguration {
 
     @Bean
-    public PetRepository petRepository() {
-        return new InMemoryPetRepository();
+    public PetRepository petRepository(
+            PetRepositoryProperties properties,
+            ObjectProvider<DataSource> petDataSource,
+            PetChangeRing petChangeRing)
+            throws IOException {
+        PetRepositoryProperties.Replication replication = properties.replication();
+        if (replication.role() != PetRepositoryProperties.Replication.Role.NONE) {
+            requireInMemory(properties, "Replication");
+        }
+        // Only the in-memory repository reads these, so any other type would silently drop them
+        if (properties.wal().enabled()) {
+            requireInMemory(properties, "A write-ahead log");
+        }
+        if (properties.snapshot().enabled()) {
+            requireInMemory(properties, "Snapshots");
+        }
+        if (properties.ids().allocator() != PetRepositoryProperties.Ids.Allocator.SEQUENTIAL) {
+            requireInMemory(properties, "The " + properties.ids().allocator() + " ID allocator");
+        }
+        if (replication.role() == PetRepositoryProperties.Replication.Role.FOLLOWER) {
+            // Writes are rejected, so there is nothing for a cache or single writer to do
+            InMemoryPetRepository replica =
+                    new InMemoryPetRepository(
+                            null, null, petChangeRing, new SequentialPetIdAllocator());
+            ReplicationFollower follower =
+                    new ReplicationFollower(
+                            replica,
+                            replication.leaderHost(),
+                            replication.port(),
+                            replication.reconnectDelay());
+            follower.start();
+            return new ReplicaPetRepository(replica, follower, replication.readYourWritesTimeout());
+        }
+        PetRepository repository =
+                switch (properties.type()) {
+                    case IN_MEMORY ->
+                            inMemoryPetRepository(
+                                    properties.wal(),
+                                    properties.snapshot(),
+                                    properties.ids(),
+                                    petChangeRing);
+                    case OPEN_ADDRESSING -> new OpenAddressingPetRepository();
+                    case OFF_HEAP -> new OffHeapPetRepository();
+                    case SHARDED -> new ShardedPetRepository(properties.sharded().shardCount());
+                    case JDBC -> new JdbcPetRepository(petDataSource.getObject());
+                };
+        PetRepositoryProperties.SingleWriter singleWriter = properties.singleWriter();
+        if (singleWriter.enabled()) {
+            // Inside the cache, so the writer batches the writes that reach the storage
+            SingleWriterPetRepository writer =
+                    new SingleWriterPetRepository(
+                            repository, singleWriter.queueCapacity(), singleWriter.maxBatchSize());
+            writer.start();
+            repository = writer;
+        }
+        PetRepositoryProperties.Cache cache = properties.cache();
+        return cache.enabled()
+                ? new CachingPetRepository(repository, cache.maximumSize())
+                : repository;
+    }
+
+    private static void requireInMemory(PetRepositoryProperties properties, String feature) {
+        if (properties.type() != PetRepositoryProperties.Type.IN_MEMORY) {
+            throw new IllegalStateException(
+                    feature + " requires pet.repository.type=in-memory, not " + properties.type());
+        }
+    }
+
+    /** Streams the changes of this instance to the followers that connect to it. */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "pet.repository.replication",
+            name = "role",
+            havingValue = "leader")
+    public ReplicationLeader replicationLeader(
+            PetRepositoryProperties properties,
+            PetRepository petRepository,
+            PetChangeRing petChangeRing)
+            throws IOException {
+        PetRepositoryProperties.Replication replication = properties.replication();
+        ReplicationLeader leader =
+                new ReplicationLeader(
+                        petRepository,
+                        petChangeRing,
+                        new InetSocketAddress(replication.bindAddress(), replication.port()),
+                        replication.heartbeatInterval());
+        leader.start();
+        return leader;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "pet.repository", name = "type", havingValue = "jdbc")
+    public HikariDataSource petDataSource(PetRepositoryProperties properties) {
+        PetRepositoryProperties.Jdbc jdbc = properties.jdbc();
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("pet-pool");
+        config.setJdbcUrl(jdbc.url());
+        config.setUsername(jdbc.username());
+        config.setPassword(jdbc.password());
+        config.setMaximumPoolSize(jdbc.maximumPoolSize());
+        jdbc.dataSourceProperties().forEach(config::addDataSourceProperty);
+        return new HikariDataSource(config);
+    }
+
+    private static InMemoryPetRepository inMemoryPetRepository(
+            PetRepositoryProperties.Wal wal,
+            PetRepositoryProperties.Snapshot snapshot,
+            PetRepositoryProperties.Ids ids,
+            PetChangeRing changes)
+            throws IOException {
+        WriteAheadLog log =
+                wal.enabled()
+                        ? new WriteAheadLog(wal.path(), wal.fsync(), wal.batchWindow())
+                        : null;
+        PetIdAllocator allocator =
+                switch (ids.allocator()) {
+                    case SEQUENTIAL -> new SequentialPetIdAllocator();
+                    case BLOCK -> new BlockPetIdAllocator(ids.leaseFile(), ids.blockSize());
+                    case SNOWFLAKE -> new SnowflakePetIdAllocator(ids.node());
+                };
+        if (!snapshot.enabled()) {
+            return new InMemoryPetRepository(log, null, changes, allocator);
+        }
+        InMemoryPetRepository repository =
+                new InMemoryPetRepository(log, snapshot.path(), changes, allocator);
+        repository.scheduleSnapshots(snapshot.interval());
+        return repository;
+    }
+
+    /**
+     * The change feed. Only the in-memory repository publishes to it; with other repositories
+     * it stays empty.
+     */
+    @Bean
+    public PetChangeRing petChangeRing(PetRepositoryProperties properties) {
+        // Sequence numbers start at the current time in microseconds, so positions saved by
+        // subscribers before a restart are below the new range and force a resync
+        long firstSequence = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return new PetChangeRing(properties.changes().capacity(), firstSequence);
+    }
+
+    /**
+     * Writes pet IDs as JSON strings when they are snowflake IDs, which JavaScript clients could
+     * not hold exactly as numbers. Spring Boot registers the module with every ObjectMapper.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "pet.repository.ids",
+            name = "allocator",
+            havingValue = "snowflake")
+    public PetIdJsonModule petIdJsonModule() {
+        return new PetIdJsonModule();
     }
 
     @Bean
-    public GetPetByIdHandler getPetByIdHandler(PetRepository petRepository) {
-        return new GetPetByIdHandler(petRepository);
+    public PetJsonCache petJsonCache(PetApiProperties properties, ObjectMapper objectMapper) {
+        PetApiProperties.JsonCache jsonCache = properties.jsonCache();
+        return jsonCache.enabled()
+                ? PetJsonCache.bounded(objectMapper, jsonCache.maximumSize())
+                : PetJsonCache.disabled(objectMapper);
+    }
+
+    @Bean
+    public GetPetByIdHandler getPetByIdHandler(
+            PetRepository petRepository, ObjectProvider<ReplicationLeader> replicationLeader) {
+        return new GetPetByIdHandler(
+                petRepository, replicationOf(petRepository, replicationLeader));
     }
 
     @Bean
@@ -28,16 +231,93 @@ public class ApplicationConfiguration {
         return new GetAllPetsHandler(petRepository);
     }
 
+    @Bean
+    public FindPetsHandler findPetsHandler(PetRepository petRepository) {
+        return new FindPetsHandler(petRepository);
+    }
+
+    @Bean
+    public GetPetPageHandler getPetPageHandler(PetRepository petRepository) {
+        return new GetPetPageHandler(petRepository);
+    }
+
+    @Bean
+    public GetPetsByIdsHandler getPetsByIdsHandler(PetRepository petRepository) {
+        return new GetPetsByIdsHandler(petRepository);
+    }
+
+    @Bean
+    public GetModifiedPetsHandler getModifiedPetsHandler(PetRepository petRepository) {
+        return new GetModifiedPetsHandler(petRepository);
+    }
+
+    @Bean
+    public GetPetStatisticsHandler getPetStatisticsHandler(PetRepository petRepository) {
+        return new GetPetStatisticsHandler(petRepository, cacheOf(petRepository));
+    }
+
+    /** The cache in front of the repository, or null if it is not wrapped in one. */
+    static PetCache cacheOf(PetRepository petRepository) {
+        return petRepository instanceof PetCache cache ? cache : null;
+    }
+
+    @Bean
+    public GetReplicationStatusHandler getReplicationStatusHandler(
+            PetRepository petRepository, ObjectProvider<ReplicationLeader> replicationLeader) {
+        return new GetReplicationStatusHandler(replicationOf(petRepository, replicationLeader));
+    }
+
+    /** The replication role of this instance: its leader, its follower, or standalone. */
+    static PetReplication replicationOf(
+            PetRepository petRepository, ObjectProvider<ReplicationLeader> replicationLeader) {
+        PetReplication leader = replicationLeader.getIfAvailable();
+        if (leader != null) {
+            return leader;
+        }
+        return petRepository instanceof PetReplication follower
+                ? follower
+                : PetReplication.STANDALONE;
+    }
+
+    @Bean
+    public StreamAllPetsHandler streamAllPetsHandler(PetRepository petRepository) {
+        return new StreamAllPetsHandler(petRepository);
+    }
+
+    @Bean
+    public StreamPetChangesHandler streamPetChangesHandler(PetChangeFeed petChangeFeed) {
+        return new StreamPetChangesHandler(petChangeFeed);
+    }
+
+    /**
+     * Ends the change streams as soon as the application starts shutting down. The web server's
+     * graceful shutdown, which runs next, would otherwise wait for them until it times out.
+     */
+    @EventListener
+    public void closeChangeStreams(ContextClosedEvent event) {
+        event.getApplicationContext().getBean(StreamPetChangesHandler.class).close();
+    }
+
     @Bean
     public CreatePetHandler createPetHandler(PetRepository petRepository) {
         return new CreatePetHandler(petRepository);
     }
 
+    @Bean
+    public CreatePetsHandler createPetsHandler(PetRepository petRepository) {
+        return new CreatePetsHandler(petRepository);
+    }
+
     @Bean
     public UpdatePetHandler updatePetHandler(PetRepository petRepository) {
         return new UpdatePetHandler(petRepository);
     }
 
+    @Bean
+    public PatchPetHandler patchPetHandler(PetRepository petRepository) {
+        return new PatchPetHandler(petRepository);
+    }
+
     @Bean
     public DeletePetHandler deletePetHandler(PetRepository petRepository) {
         return new DeletePetHandler(petRepository);
@@ -0,0 +1,20 @@
+package com.example.pet.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Tunes the HTTP API.
+ *
+ * @param jsonCache cache of encoded single-pet responses
+ */
+@ConfigurationProperties(prefix = "pet.api")
+public record PetApiProperties(@DefaultValue JsonCache jsonCache) {
+
+    /**
+     * @param enabled     whether single-pet responses are encoded once per pet version
+     * @param maximumSize the maximum number of pets whose JSON is cached
+     */
+    public record JsonCache(
+            @DefaultValue("true") boolean enabled, @DefaultValue("10000") long maximumSize) {}
+}
@@ -0,0 +1,174 @@
+package com.example.pet.config;
+
+import com.example.pet.pet.infrastructure.persistence.WriteAheadLog;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Selects and tunes the PetRepository implementation wired by ApplicationConfiguration.
+ *
+ * @param type     the storage backing the repository
+ * @param wal      write-ahead log settings; enabling it requires the in-memory repository
+ * @param snapshot snapshot settings; enabling them requires the in-memory repository
+ * @param jdbc     connection settings, used by the JDBC repository
+ * @param sharded  shard settings, used by the sharded repository
+ * @param cache    read-through cache in front of any repository
+ * @param changes  change feed settings, used by the in-memory repository
+ * @param singleWriter single-writer pipeline in front of any repository
+ * @param ids      ID allocation; any allocator but sequential requires the in-memory repository
+ * @param replication leader/follower replication of the in-memory repository
+ */
+@ConfigurationProperties(prefix = "pet.repository")
+public record PetRepositoryProperties(
+        @DefaultValue("in-memory") Type type,
+        @DefaultValue Wal wal,
+        @DefaultValue Snapshot snapshot,
+        @DefaultValue Jdbc jdbc,
+        @DefaultValue Sharded sharded,
+        @DefaultValue Cache cache,
+        @DefaultValue Changes changes,
+        @DefaultValue SingleWriter singleWriter,
+        @DefaultValue Ids ids,
+        @DefaultValue Replication replication) {
+
+    public enum Type {
+        /** ConcurrentHashMap with secondary indexes (default). */
+        IN_MEMORY,
+        /** Primitive long-keyed open-addressing table, for very large data sets. */
+        OPEN_ADDRESSING,
+        /** Columnar rows in off-heap memory, for data sets larger than the heap. */
+        OFF_HEAP,
+        /** In-memory shards partitioned by ID, for many concurrent writers. */
+        SHARDED,
+        /** Relational database through a pooled JDBC DataSource. */
+        JDBC
+    }
+
+    /**
+     * @param enabled     whether the in-memory repository is backed by a write-ahead log
+     * @param path        the log file
+     * @param fsync       when writes are forced to disk
+     * @param batchWindow how often the log is forced with the {@code batch} policy
+     */
+    public record Wal(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/pets.wal") Path path,
+            @DefaultValue("batch") WriteAheadLog.FsyncPolicy fsync,
+            @DefaultValue("10ms") Duration batchWindow) {}
+
+    /**
+     * @param enabled  whether the in-memory repository restores from and writes snapshots
+     * @param path     the snapshot file
+     * @param interval how often a snapshot is taken; one is also taken on shutdown
+     */
+    public record Snapshot(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("data/pets.snapshot") Path path,
+            @DefaultValue("5m") Duration interval) {}
+
+    /**
+     * @param url                  the JDBC URL; defaults to an embedded in-memory H2 database,
+     *     whose statement cache is set here with QUERY_CACHE_SIZE
+     * @param username             the database user
+     * @param password             the database password
+     * @param maximumPoolSize      the maximum number of pooled connections
+     * @param dataSourceProperties driver properties passed to every connection, such as the
+     *     prepared statement cache of other drivers (cachePrepStmts and prepStmtCacheSize for
+     *     MySQL, preparedStatementCacheQueries for PostgreSQL)
+     */
+    public record Jdbc(
+            @DefaultValue("jdbc:h2:mem:pets;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=32") String url,
+            @DefaultValue("sa") String username,
+            @DefaultValue("") String password,
+            @DefaultValue("10") int maximumPoolSize,
+            @DefaultValue Map<String, String> dataSourceProperties) {}
+
+    /**
+     * @param shards the number of shards, or 0 for one per available processor
+     */
+    public record Sharded(@DefaultValue("0") int shards) {
+
+        public int shardCount() {
+            return shards > 0 ? shards : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * @param enabled     whether lookups by ID go through a CachingPetRepository
+     * @param maximumSize the maximum number of cached pets
+     */
+    public record Cache(
+            @DefaultValue("false") boolean enabled, @DefaultValue("10000") long maximumSize) {}
+
+    /**
+     * @param capacity the number of recent changes kept for the change feed; subscribers that
+     *     fall further behind are told to resync
+     */
+    public record Changes(@DefaultValue("65536") int capacity) {}
+
+    /**
+     * @param enabled       whether writes are applied by one writer thread through a
+     *     SingleWriterPetRepository instead of on the calling threads
+     * @param queueCapacity the number of writes that can wait for the writer
+     * @param maxBatchSize  the most writes the writer applies, and makes durable, at once
+     */
+    public record SingleWriter(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("4096") int queueCapacity,
+            @DefaultValue("256") int maxBatchSize) {}
+
+    /**
+     * @param allocator  how the IDs of new pets are chosen
+     * @param leaseFile  the file from which every instance leases blocks, with {@code block}
+     * @param blockSize  the number of IDs leased at a time, with {@code block}
+     * @param node       the ID of this instance, from 0 to 1023, with {@code snowflake}
+     */
+    public record Ids(
+            @DefaultValue("sequential") Allocator allocator,
+            @DefaultValue("data/pets.ids") Path leaseFile,
+            @DefaultValue("1000") int blockSize,
+            @DefaultValue("0") int node) {
+
+        public enum Allocator {
+            /** One counter per instance (default); instances must not share data. */
+            SEQUENTIAL,
+            /** Per-thread blocks of IDs leased from a lease file shared by the instances. */
+            BLOCK,
+            /** Time-ordered IDs that embed a node ID unique to each instance. */
+            SNOWFLAKE
+        }
+    }
+
+    /**
+     * @param role                  the part this instance plays in replication
+     * @param leaderHost            the host of the leader, for a follower
+     * @param bindAddress           the address the leader listens on for followers, loopback by
+     *     default; followers are not authenticated, so only they should reach it
+     * @param port                  the port the leader listens on for followers
+     * @param heartbeatInterval     how often the leader tells idle followers its latest sequence
+     * @param reconnectDelay        how long a follower waits before reconnecting to the leader
+     * @param readYourWritesTimeout how long a follower waits for the leader's latest changes
+     *     before a read-your-writes request fails
+     */
+    public record Replication(
+            @DefaultValue("none") Role role,
+            @DefaultValue("localhost") String leaderHost,
+            @DefaultValue("localhost") String bindAddress,
+            @DefaultValue("7070") int port,
+            @DefaultValue("1s") Duration heartbeatInterval,
+            @DefaultValue("1s") Duration reconnectDelay,
+            @DefaultValue("5s") Duration readYourWritesTimeout) {
+
+        public enum Role {
+            /** No replication (default). */
+            NONE,
+            /** Takes the writes and streams them to followers. */
+            LEADER,
+            /** Serves reads from a copy of the leader's pets and rejects writes. */
+            FOLLOWER
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.pet.config;
+
+import com.example.pet.infrastructure.web.CollectingCborEncoder;
+import com.example.pet.pet.application.ReactiveCreatePetHandler;
+import com.example.pet.pet.application.ReactiveCreatePetsHandler;
+import com.example.pet.pet.application.ReactiveDeletePetHandler;
+import com.example.pet.pet.application.ReactiveFindPetsHandler;
+import com.example.pet.pet.application.ReactiveGetAllPetsHandler;
+import com.example.pet.pet.application.ReactiveGetModifiedPetsHandler;
+import com.example.pet.pet.application.ReactiveGetPetByIdHandler;
+import com.example.pet.pet.application.ReactiveGetPetPageHandler;
+import com.example.pet.pet.application.ReactiveGetPetStatisticsHandler;
+import com.example.pet.pet.application.ReactiveGetPetsByIdsHandler;
+import com.example.pet.pet.application.ReactivePatchPetHandler;
+import com.example.pet.pet.application.ReactiveUpdatePetHandler;
+import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.domain.ReactivePetRepository;
+import com.example.pet.pet.infrastructure.api.PetJsonCache;
+import com.example.pet.pet.infrastructure.api.PetJsonEncoder;
+import com.example.pet.pet.infrastructure.persistence.ReactivePetRepositoryAdapter;
+import com.example.pet.pet.infrastructure.persistence.ReplicationLeader;
+import com.example.pet.pet.infrastructure.persistence.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+
+/**
+ * Wires the reactive handlers for the WebFlux stack, selected with the {@code reactive} profile.
+ * They share the PetRepository defined by ApplicationConfiguration through a
+ * ReactivePetRepositoryAdapter.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfiguration {
+
+    private static final MimeType[] SMILE_MIME_TYPES = {
+        new MimeType("application", "x-jackson-smile"),
+        new MimeType("application", "*+x-jackson-smile")
+    };
+
+    /**
+     * Serves the reactive stack from Netty. Tomcat is also on the classpath for the servlet
+     * stack, and Spring Boot would otherwise prefer it for a reactive application too.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Adds the codecs the Spring MVC stack has: single pets as JSON from the PetJsonCache, and
+     * CBOR and Smile with the same Jackson settings as JSON. Custom codecs are consulted before
+     * the default ones, so JSON is registered again ahead of CBOR to stay the encoding for
+     * clients that accept anything.
+     */
+    @Bean
+    public CodecCustomizer petCodecCustomizer(
+            PetJsonCache petJsonCache,
+            ObjectMapper objectMapper,
+            Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder.factory(new CBORFactory()).build();
+        ObjectMapper smileMapper = builder.factory(new SmileFactory()).build();
+        return configurer -> {
+            Jackson2JsonEncoder jsonEncoder = new Jackson2JsonEncoder(objectMapper);
+            configurer.customCodecs().register(new PetJsonEncoder(petJsonCache, jsonEncoder));
+            configurer.customCodecs().register(jsonEncoder);
+            configurer.customCodecs().register(new Jackson2JsonDecoder(objectMapper));
+            configurer.customCodecs().register(new CollectingCborEncoder(cborMapper));
+            configurer
+                    .customCodecs()
+                    .register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer
+                    .defaultCodecs()
+                    .jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE_MIME_TYPES));
+            configurer
+                    .defaultCodecs()
+                    .jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE_MIME_TYPES));
+        };
+    }
+
+    @Bean
+    public ReactivePetRepository reactivePetRepository(
+            PetRepository petRepository, PetRepositoryProperties properties) {
+        // A database round trip, a write that waits for fsync or for the single writer, and a
+        // create that leases the next block of IDs under a file lock park the caller. Delta
+        // queries always run off the event loop, see ReactivePetRepositoryAdapter
+        boolean blocking =
+                properties.type() == PetRepositoryProperties.Type.JDBC
+                        || (properties.wal().enabled()
+                                && properties.wal().fsync() == WriteAheadLog.FsyncPolicy.ALWAYS)
+                        || properties.singleWriter().enabled()
+                        || properties.ids().allocator()
+                                == PetRepositoryProperties.Ids.Allocator.BLOCK;
+        return blocking
+                ? ReactivePetRepositoryAdapter.blocking(petRepository)
+                : ReactivePetRepositoryAdapter.nonBlocking(petRepository);
+    }
+
+    @Bean
+    public ReactiveGetPetByIdHandler reactiveGetPetByIdHandler(
+            ReactivePetRepository repository,
+            PetRepository petRepository,
+            ObjectProvider<ReplicationLeader> replicationLeader) {
+        return new ReactiveGetPetByIdHandler(
+                repository,
+                ApplicationConfiguration.replicationOf(petRepository, replicationLeader));
+    }
+
+    @Bean
+    public ReactiveGetAllPetsHandler reactiveGetAllPetsHandler(ReactivePetRepository repository) {
+        return new ReactiveGetAllPetsHandler(repository);
+    }
+
+    @Bean
+    public ReactiveFindPetsHandler reactiveFindPetsHandler(ReactivePetRepository repository) {
+        return new ReactiveFindPetsHandler(repository);
+    }
+
+    @Bean
+    public ReactiveGetPetPageHandler reactiveGetPetPageHandler(ReactivePetRepository repository) {
+        return new ReactiveGetPetPageHandler(repository);
+    }
+
+    @Bean
+    public ReactiveGetPetsByIdsHandler reactiveGetPetsByIdsHandler(
+            ReactivePetRepository repository) {
+        return new ReactiveGetPetsByIdsHandler(repository);
+    }
+
+    @Bean
+    public ReactiveGetModifiedPetsHandler reactiveGetModifiedPetsHandler(
+            ReactivePetRepository repository) {
+        return new ReactiveGetModifiedPetsHandler(repository);
+    }
+
+    @Bean
+    public ReactiveGetPetStatisticsHandler reactiveGetPetStatisticsHandler(
+            ReactivePetRepository repository, PetRepository petRepository) {
+        return new ReactiveGetPetStatisticsHandler(
+                repository, ApplicationConfiguration.cacheOf(petRepository));
+    }
+
+    @Bean
+    public ReactiveCreatePetHandler reactiveCreatePetHandler(ReactivePetRepository repository) {
+        return new ReactiveCreatePetHandler(repository);
+    }
+
+    @Bean
+    public ReactiveCreatePetsHandler reactiveCreatePetsHandler(ReactivePetRepository repository) {
+        return new ReactiveCreatePetsHandler(repository);
+    }
+
+    @Bean
+    public ReactiveUpdatePetHandler reactiveUpdatePetHandler(ReactivePetRepository repository) {
+        return new ReactiveUpdatePetHandler(repository);
+    }
+
+    @Bean
+    public ReactivePatchPetHandler reactivePatchPetHandler(ReactivePetRepository repository) {
+        return new ReactivePatchPetHandler(repository);
+    }
+
+    @Bean
+    public ReactiveDeletePetHandler reactiveDeletePetHandler(ReactivePetRepository repository) {
+        return new ReactiveDeletePetHandler(repository);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.pet.config;
+
+import com.example.pet.pet.infrastructure.api.PetJsonCache;
+import com.example.pet.pet.infrastructure.api.PetJsonHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Message converters of the Spring MVC stack. Spring Boot adds converter beans to its defaults:
+ * the PetJsonHttpMessageConverter goes in front of them, and the CBOR and Smile converters
+ * replace the default ones, which come after JSON, so JSON stays the encoding for clients that
+ * accept anything.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebMvcConfiguration {
+
+    @Bean
+    public PetJsonHttpMessageConverter petJsonHttpMessageConverter(PetJsonCache petJsonCache) {
+        return new PetJsonHttpMessageConverter(petJsonCache);
+    }
+
+    /** CBOR ({@code application/cbor}) with the same Jackson settings as JSON. */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.factory(new CBORFactory()).build());
+    }
+
+    /** Smile ({@code application/x-jackson-smile}) with the same Jackson settings as JSON. */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.pet.infrastructure.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Jackson2CborEncoder that also encodes a Flux, as one CBOR array. Spring's encoder only writes
+ * single values, so a Flux is collected into a list first, as Spring MVC does for any list.
+ */
+public class CollectingCborEncoder extends Jackson2CborEncoder {
+
+    public CollectingCborEncoder(ObjectMapper cborMapper) {
+        super(cborMapper, MediaType.APPLICATION_CBOR);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+            Publisher<?> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        if (inputStream instanceof Mono<?> value) {
+            return value.map(
+                            element ->
+                                    encodeValue(
+                                            element, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return Flux.from(inputStream)
+                .collectList()
+                .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+                .flux();
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.pet.infrastructure.web;
 
-import java.util.stream.Stream;
+import com.example.pet.pet.application.InvalidPatchException;
+import com.example.pet.pet.domain.ModificationSequenceUnsupportedException;
+import com.example.pet.pet.domain.OptimisticLockException;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import com.example.pet.pet.domain.PetStoreUnavailableException;
+import com.example.pet.pet.domain.ReadOnlyReplicaException;
+import com.example.pet.pet.domain.ReplicaUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
 import org.springframework.validation.FieldError;
-import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
@@ -21,8 +29,11 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
  * ProblemDetails support.
  */
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     /**
      * Handles validation errors for @Valid @RequestBody and returns Problem Details with
      * field-level error information.
@@ -39,19 +50,8 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             @Nullable HttpHeaders headers,
             @Nullable HttpStatusCode status,
             @Nullable WebRequest request) {
-
-        ProblemDetail problemDetail =
-                ProblemDetail.forStatusAndDetail(
-                        HttpStatus.BAD_REQUEST, "Validation failed for one or more fields");
-
-        problemDetail.setTitle("Bad Request");
-        problemDetail.setProperty(
-                "errors",
-                ex.getBindingResult().getFieldErrors().stream()
-                        .map(ValidationError::fromFieldError)
-                        .toList());
-
-        return ResponseEntity.badRequest().body(problemDetail);
+        return ResponseEntity.badRequest()
+                .body(ProblemDetails.invalidFields(ex.getBindingResult().getFieldErrors()));
     }
 
     /**
@@ -70,32 +70,101 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             @Nullable HttpHeaders headers,
             @Nullable HttpStatusCode status,
             @Nullable WebRequest request) {
+        return ResponseEntity.badRequest()
+                .body(ProblemDetails.invalidParameters(ex.getParameterValidationResults()));
+    }
 
-        ProblemDetail problemDetail =
-                ProblemDetail.forStatusAndDetail(
-                        HttpStatus.BAD_REQUEST, "Validation failed for method parameters");
+    /**
+     * Handles invalid members of a merge patch and returns Problem Details with field-level error
+     * information, in the same shape as request body validation errors.
+     *
+     * @param ex the rejected patch
+     * @return ResponseEntity with Problem Details including validation errors
+     */
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidPatch(InvalidPatchException ex) {
+        return respond(ProblemDetails.invalidPatch(ex));
+    }
 
-        problemDetail.setTitle("Bad Request");
+    /**
+     * Handles version conflicts, from an If-Match that no longer matches or a concurrent update,
+     * and returns Problem Details with status 412.
+     *
+     * @param ex the optimistic lock failure
+     * @return ResponseEntity with Problem Details describing the conflict
+     */
+    @ExceptionHandler(OptimisticLockException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLock(OptimisticLockException ex) {
+        return respond(ProblemDetails.optimisticLock(ex));
+    }
 
-        problemDetail.setProperty(
-                "errors",
-                ex.getParameterValidationResults().stream()
-                        .flatMap(GlobalExceptionHandler::getValidationErrorStream)
-                        .toList());
+    /**
+     * Handles a delta sync from a sequence number that is no longer known and returns Problem
+     * Details with status 410 and the current sequence number, to continue from after a full
+     * reload.
+     *
+     * @param ex the expired sequence number
+     * @return ResponseEntity with Problem Details including the current sequence number
+     */
+    @ExceptionHandler(PetChangesExpiredException.class)
+    public ResponseEntity<ProblemDetail> handleChangesExpired(PetChangesExpiredException ex) {
+        return respond(ProblemDetails.changesExpired(ex));
+    }
 
-        return ResponseEntity.badRequest().body(problemDetail);
+    /**
+     * Handles a delta sync on a repository that keeps no modification sequence and returns
+     * Problem Details with status 501.
+     *
+     * @param ex the unsupported delta sync
+     * @return ResponseEntity with Problem Details naming the repository
+     */
+    @ExceptionHandler(ModificationSequenceUnsupportedException.class)
+    public ResponseEntity<ProblemDetail> handleModificationSequenceUnsupported(
+            ModificationSequenceUnsupportedException ex) {
+        return respond(ProblemDetails.modificationSequenceUnsupported(ex));
     }
 
-    private static Stream<ValidationError> getValidationErrorStream(
-            ParameterValidationResult result) {
-        String parameterName = result.getMethodParameter().getParameterName();
-        String field = parameterName != null ? parameterName : "unknown";
+    /**
+     * Handles a write sent to a read replica and returns Problem Details with status 421 and the
+     * address of the leader to send it to.
+     *
+     * @param ex the rejected write
+     * @return ResponseEntity with Problem Details including the leader's address
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<ProblemDetail> handleReadOnlyReplica(ReadOnlyReplicaException ex) {
+        return respond(ProblemDetails.readOnlyReplica(ex));
+    }
+
+    /**
+     * Handles a failed call to the storage, such as the JDBC repository's database, and returns
+     * Problem Details with status 503 if it may succeed on retry, such as a timeout waiting for a
+     * pooled connection, and 500 otherwise. The SQL error is logged rather than returned to the
+     * client.
+     *
+     * @param ex the storage failure
+     * @return ResponseEntity with Problem Details without the database's message
+     */
+    @ExceptionHandler(PetStoreUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleStoreUnavailable(PetStoreUnavailableException ex) {
+        LOGGER.error("Database access failed", ex);
+        return respond(ProblemDetails.storeUnavailable(ex));
+    }
+
+    /**
+     * Handles a read replica that cannot catch up with its leader in time and returns Problem
+     * Details with status 503.
+     *
+     * @param ex the reason the replica is unavailable
+     * @return ResponseEntity with Problem Details naming the reason
+     */
+    @ExceptionHandler(ReplicaUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleReplicaUnavailable(ReplicaUnavailableException ex) {
+        return respond(ProblemDetails.replicaUnavailable(ex));
+    }
 
-        return result.getResolvableErrors().stream()
-                .map(
-                        error ->
-                                new ValidationError(
-                                        field, result.getArgument(), error.getDefaultMessage()));
+    private static ResponseEntity<ProblemDetail> respond(ProblemDetail problemDetail) {
+        return ResponseEntity.status(problemDetail.getStatus()).body(problemDetail);
     }
 
     /**
@@ -107,7 +176,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
      */
     public record ValidationError(String field, Object rejectedValue, String message) {
 
-        private static ValidationError fromFieldError(FieldError fieldError) {
+        static ValidationError fromFieldError(FieldError fieldError) {
             return new ValidationError(
                     fieldError.getField(),
                     fieldError.getRejectedValue(),
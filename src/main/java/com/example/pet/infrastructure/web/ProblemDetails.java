@@ -0,0 +1,123 @@
+package com.example.pet.infrastructure.web;
+
+import com.example.pet.infrastructure.web.GlobalExceptionHandler.ValidationError;
+import com.example.pet.pet.application.InvalidPatchException;
+import com.example.pet.pet.domain.ModificationSequenceUnsupportedException;
+import com.example.pet.pet.domain.OptimisticLockException;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import com.example.pet.pet.domain.PetStoreUnavailableException;
+import com.example.pet.pet.domain.ReadOnlyReplicaException;
+import com.example.pet.pet.domain.ReplicaUnavailableException;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.method.ParameterValidationResult;
+
+/**
+ * Status, title and detail of the Problem Details responses, shared by GlobalExceptionHandler and
+ * its WebFlux counterpart ReactiveGlobalExceptionHandler so that both stacks answer alike.
+ */
+final class ProblemDetails {
+
+    private static final HttpStatusCode MISDIRECTED_REQUEST = HttpStatusCode.valueOf(421);
+
+    private ProblemDetails() {}
+
+    /** Invalid fields of a request body, with status 400. */
+    static ProblemDetail invalidFields(List<FieldError> fieldErrors) {
+        return badRequest(
+                "Validation failed for one or more fields",
+                fieldErrors.stream().map(ValidationError::fromFieldError).toList());
+    }
+
+    /** Invalid method parameters, such as path variables, with status 400. */
+    static ProblemDetail invalidParameters(List<ParameterValidationResult> results) {
+        return badRequest(
+                "Validation failed for method parameters",
+                results.stream().flatMap(ProblemDetails::validationErrors).toList());
+    }
+
+    /** Invalid members of a merge patch, in the same shape as invalid fields, with status 400. */
+    static ProblemDetail invalidPatch(InvalidPatchException ex) {
+        return badRequest(
+                "Validation failed for one or more fields",
+                ex.getErrors().stream()
+                        .map(
+                                error ->
+                                        new ValidationError(
+                                                error.field(),
+                                                error.rejectedValue(),
+                                                error.message()))
+                        .toList());
+    }
+
+    /** A version conflict, with status 412. */
+    static ProblemDetail optimisticLock(OptimisticLockException ex) {
+        return withTitle(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), "Precondition Failed");
+    }
+
+    /** A delta sync from an unknown sequence number, with status 410 and the current one. */
+    static ProblemDetail changesExpired(PetChangesExpiredException ex) {
+        ProblemDetail problemDetail = withTitle(HttpStatus.GONE, ex.getMessage(), "Gone");
+        problemDetail.setProperty("sequence", ex.lastSequence());
+        return problemDetail;
+    }
+
+    /** A delta sync on a repository without a modification sequence, with status 501. */
+    static ProblemDetail modificationSequenceUnsupported(
+            ModificationSequenceUnsupportedException ex) {
+        return withTitle(HttpStatus.NOT_IMPLEMENTED, ex.getMessage(), "Not Implemented");
+    }
+
+    /** A write sent to a read replica, with status 421 and the address of the leader. */
+    static ProblemDetail readOnlyReplica(ReadOnlyReplicaException ex) {
+        ProblemDetail problemDetail =
+                withTitle(MISDIRECTED_REQUEST, ex.getMessage(), "Misdirected Request");
+        problemDetail.setProperty("leader", ex.leader());
+        return problemDetail;
+    }
+
+    /**
+     * A failed call to the storage, with status 503 if it may succeed on retry and 500 otherwise.
+     * The storage's message is left out.
+     */
+    static ProblemDetail storeUnavailable(PetStoreUnavailableException ex) {
+        HttpStatus status =
+                ex.isTransient()
+                        ? HttpStatus.SERVICE_UNAVAILABLE
+                        : HttpStatus.INTERNAL_SERVER_ERROR;
+        return withTitle(
+                status, "The pet database could not be accessed", status.getReasonPhrase());
+    }
+
+    /** A read replica that cannot catch up with its leader in time, with status 503. */
+    static ProblemDetail replicaUnavailable(ReplicaUnavailableException ex) {
+        return withTitle(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), "Service Unavailable");
+    }
+
+    static Stream<ValidationError> validationErrors(ParameterValidationResult result) {
+        String parameterName = result.getMethodParameter().getParameterName();
+        String field = parameterName != null ? parameterName : "unknown";
+
+        return result.getResolvableErrors().stream()
+                .map(
+                        error ->
+                                new ValidationError(
+                                        field, result.getArgument(), error.getDefaultMessage()));
+    }
+
+    private static ProblemDetail badRequest(String detail, List<ValidationError> errors) {
+        ProblemDetail problemDetail = withTitle(HttpStatus.BAD_REQUEST, detail, "Bad Request");
+        problemDetail.setProperty("errors", errors);
+        return problemDetail;
+    }
+
+    private static ProblemDetail withTitle(HttpStatusCode status, String detail, String title) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setTitle(title);
+        return problemDetail;
+    }
+}
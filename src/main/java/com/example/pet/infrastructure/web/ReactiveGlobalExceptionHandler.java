@@ -0,0 +1,174 @@
+package com.example.pet.infrastructure.web;
+
+import com.example.pet.pet.application.InvalidPatchException;
+import com.example.pet.pet.domain.ModificationSequenceUnsupportedException;
+import com.example.pet.pet.domain.OptimisticLockException;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import com.example.pet.pet.domain.PetStoreUnavailableException;
+import com.example.pet.pet.domain.ReadOnlyReplicaException;
+import com.example.pet.pet.domain.ReplicaUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of GlobalExceptionHandler, producing the same Problem Details responses
+ * for the reactive stack.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger LOGGER =
+            LoggerFactory.getLogger(ReactiveGlobalExceptionHandler.class);
+
+    /**
+     * Handles validation errors for @Valid @RequestBody and returns Problem Details with
+     * field-level error information.
+     *
+     * @param ex       the validation exception
+     * @param headers  the HTTP headers
+     * @param status   the HTTP status
+     * @param exchange the current exchange
+     * @return Mono of ResponseEntity with Problem Details including validation errors
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException ex,
+            @Nullable HttpHeaders headers,
+            @Nullable HttpStatusCode status,
+            @Nullable ServerWebExchange exchange) {
+        return Mono.just(
+                ResponseEntity.badRequest()
+                        .body(
+                                ProblemDetails.invalidFields(
+                                        ex.getBindingResult().getFieldErrors())));
+    }
+
+    /**
+     * Handles validation errors for method parameters (e.g., @PathVariable, @RequestParam) and
+     * returns Problem Details with validation error information.
+     *
+     * @param ex       the validation exception
+     * @param headers  the HTTP headers
+     * @param status   the HTTP status
+     * @param exchange the current exchange
+     * @return Mono of ResponseEntity with Problem Details including validation errors
+     */
+    @Override
+    protected Mono<ResponseEntity<Object>> handleHandlerMethodValidationException(
+            HandlerMethodValidationException ex,
+            @Nullable HttpHeaders headers,
+            @Nullable HttpStatusCode status,
+            @Nullable ServerWebExchange exchange) {
+        return Mono.just(
+                ResponseEntity.badRequest()
+                        .body(
+                                ProblemDetails.invalidParameters(
+                                        ex.getParameterValidationResults())));
+    }
+
+    /**
+     * Handles invalid members of a merge patch and returns Problem Details with field-level error
+     * information, in the same shape as request body validation errors.
+     *
+     * @param ex the rejected patch
+     * @return ResponseEntity with Problem Details including validation errors
+     */
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidPatch(InvalidPatchException ex) {
+        return respond(ProblemDetails.invalidPatch(ex));
+    }
+
+    /**
+     * Handles version conflicts and returns Problem Details with status 412.
+     *
+     * @param ex the optimistic lock failure
+     * @return ResponseEntity with Problem Details describing the conflict
+     */
+    @ExceptionHandler(OptimisticLockException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLock(OptimisticLockException ex) {
+        return respond(ProblemDetails.optimisticLock(ex));
+    }
+
+    /**
+     * Handles a delta sync from a sequence number that is no longer known and returns Problem
+     * Details with status 410 and the current sequence number, to continue from after a full
+     * reload.
+     *
+     * @param ex the expired sequence number
+     * @return ResponseEntity with Problem Details including the current sequence number
+     */
+    @ExceptionHandler(PetChangesExpiredException.class)
+    public ResponseEntity<ProblemDetail> handleChangesExpired(PetChangesExpiredException ex) {
+        return respond(ProblemDetails.changesExpired(ex));
+    }
+
+    /**
+     * Handles a delta sync on a repository that keeps no modification sequence and returns
+     * Problem Details with status 501.
+     *
+     * @param ex the unsupported delta sync
+     * @return ResponseEntity with Problem Details naming the repository
+     */
+    @ExceptionHandler(ModificationSequenceUnsupportedException.class)
+    public ResponseEntity<ProblemDetail> handleModificationSequenceUnsupported(
+            ModificationSequenceUnsupportedException ex) {
+        return respond(ProblemDetails.modificationSequenceUnsupported(ex));
+    }
+
+    /**
+     * Handles a write sent to a read replica and returns Problem Details with status 421 and the
+     * address of the leader to send it to.
+     *
+     * @param ex the rejected write
+     * @return ResponseEntity with Problem Details including the leader's address
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<ProblemDetail> handleReadOnlyReplica(ReadOnlyReplicaException ex) {
+        return respond(ProblemDetails.readOnlyReplica(ex));
+    }
+
+    /**
+     * Handles a failed call to the storage, such as the JDBC repository's database, and returns
+     * Problem Details with status 503 if it may succeed on retry, such as a timeout waiting for a
+     * pooled connection, and 500 otherwise. The SQL error is logged rather than returned to the
+     * client.
+     *
+     * @param ex the storage failure
+     * @return ResponseEntity with Problem Details without the database's message
+     */
+    @ExceptionHandler(PetStoreUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleStoreUnavailable(PetStoreUnavailableException ex) {
+        LOGGER.error("Database access failed", ex);
+        return respond(ProblemDetails.storeUnavailable(ex));
+    }
+
+    /**
+     * Handles a read replica that cannot catch up with its leader in time and returns Problem
+     * Details with status 503.
+     *
+     * @param ex the reason the replica is unavailable
+     * @return ResponseEntity with Problem Details naming the reason
+     */
+    @ExceptionHandler(ReplicaUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleReplicaUnavailable(ReplicaUnavailableException ex) {
+        return respond(ProblemDetails.replicaUnavailable(ex));
+    }
+
+    private static ResponseEntity<ProblemDetail> respond(ProblemDetail problemDetail) {
+        return ResponseEntity.status(problemDetail.getStatus()).body(problemDetail);
+    }
+}
@@ -11,15 +11,16 @@ public class CreatePetHandler {
     }
 
     public PetDTO handle(CreatePetRequest request) {
-        Pet pet =
-                new Pet(
-                        new PetName(request.name()),
-                        new Species(request.species()),
-                        Age.fromNullable(request.age()),
-                        PersonName.fromNullable(request.ownerName()));
-
-        Pet savedPet = repository.save(pet);
+        Pet savedPet = repository.save(toPet(request));
 
         return PetDTO.fromPet(savedPet);
     }
+
+    static Pet toPet(CreatePetRequest request) {
+        return new Pet(
+                new PetName(request.name()),
+                new Species(request.species()),
+                Age.fromNullable(request.age()),
+                PersonName.fromNullable(request.ownerName()));
+    }
 }
@@ -0,0 +1,29 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetRepository;
+import java.util.List;
+
+/**
+ * Command handler for bulk creation.
+ * Hands the whole batch to the repository at once, so it can assign IDs and persist the pets in a
+ * single pass instead of one round trip per pet.
+ */
+public class CreatePetsHandler {
+
+    private final PetRepository repository;
+
+    public CreatePetsHandler(PetRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates the pets for the given, already validated, requests.
+     *
+     * @return the created pets, in the same order as the requests
+     */
+    public List<PetDTO> handle(List<CreatePetRequest> requests) {
+        return repository.saveAll(requests.stream().map(CreatePetHandler::toPet).toList()).stream()
+                .map(PetDTO::fromPet)
+                .toList();
+    }
+}
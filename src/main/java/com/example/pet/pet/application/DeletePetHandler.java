@@ -17,4 +17,14 @@ public class DeletePetHandler {
     public boolean handle(Long id) {
         return repository.deleteById(id);
     }
+
+    /**
+     * Deletes the pet only if it still has {@code expectedVersion}, or unconditionally when that
+     * is null; a version conflict surfaces as an OptimisticLockException.
+     */
+    public boolean handle(Long id, Long expectedVersion) {
+        return expectedVersion != null
+                ? repository.deleteById(id, expectedVersion)
+                : repository.deleteById(id);
+    }
 }
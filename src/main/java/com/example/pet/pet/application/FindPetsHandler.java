@@ -0,0 +1,42 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PersonName;
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.domain.Species;
+import java.util.List;
+
+/**
+ * Query handler for finding pets by species and/or owner.
+ * Uses the repository's secondary lookups so the cost depends on the number of matches.
+ * When both filters are given, the owner lookup is used and narrowed by species, since an
+ * owner usually has far fewer pets than a species.
+ */
+public class FindPetsHandler {
+
+    private final PetRepository petRepository;
+
+    public FindPetsHandler(PetRepository petRepository) {
+        this.petRepository = petRepository;
+    }
+
+    public List<PetDTO> handle(String species, String ownerName) {
+        Species speciesFilter = species != null ? new Species(species) : null;
+        PersonName ownerFilter = PersonName.fromNullable(ownerName);
+
+        List<Pet> candidates =
+                ownerFilter != null
+                        ? petRepository.findByOwner(ownerFilter)
+                        : petRepository.findBySpecies(speciesFilter);
+
+        return candidates.stream()
+                .filter(pet -> matchesSpecies(pet, speciesFilter))
+                .map(PetDTO::fromPet)
+                .toList();
+    }
+
+    /** Narrows owner lookups by species; always true when no species filter is given. */
+    static boolean matchesSpecies(Pet pet, Species speciesFilter) {
+        return speciesFilter == null || speciesFilter.equals(pet.getSpecies());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetRepository;
+
+/**
+ * Query handler for delta sync: the pets created, updated or deleted after a modification
+ * sequence number, with the number to continue from.
+ */
+public class GetModifiedPetsHandler {
+
+    private final PetRepository petRepository;
+
+    public GetModifiedPetsHandler(PetRepository petRepository) {
+        this.petRepository = petRepository;
+    }
+
+    public PetDeltaDTO handle(long modifiedSince) {
+        return PetDeltaDTO.fromDelta(petRepository.findModifiedSince(modifiedSince));
+    }
+}
@@ -1,17 +1,39 @@
 package com.example.pet.pet.application;
 
+import com.example.pet.pet.domain.PetReplication;
 import com.example.pet.pet.domain.PetRepository;
 import java.util.Optional;
 
 public class GetPetByIdHandler {
 
     private final PetRepository repository;
+    private final PetReplication replication;
 
     public GetPetByIdHandler(PetRepository repository) {
+        this(repository, PetReplication.STANDALONE);
+    }
+
+    /**
+     * @param replication the replication role of this instance, which read-your-writes lookups
+     *     wait on
+     */
+    public GetPetByIdHandler(PetRepository repository, PetReplication replication) {
         this.repository = repository;
+        this.replication = replication;
     }
 
     public Optional<PetDTO> handle(Long id) {
+        return handle(id, false);
+    }
+
+    /**
+     * @param readYourWrites whether the lookup must see every write completed before it, even on
+     *     a read replica, which then first catches up with its leader
+     */
+    public Optional<PetDTO> handle(Long id, boolean readYourWrites) {
+        if (readYourWrites) {
+            replication.catchUp();
+        }
         return repository.findById(id).map(PetDTO::fromPet);
     }
 }
@@ -0,0 +1,32 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetRepository;
+import java.util.List;
+
+/**
+ * Query handler for cursor-based pagination over all pets.
+ * Fetches one extra pet to know whether a next page exists without a second query.
+ */
+public class GetPetPageHandler {
+
+    private final PetRepository petRepository;
+
+    public GetPetPageHandler(PetRepository petRepository) {
+        this.petRepository = petRepository;
+    }
+
+    public PetPageDTO handle(Long cursor, int limit) {
+        return toPage(petRepository.findPage(cursor, limit + 1), limit);
+    }
+
+    /** Builds the page from up to {@code limit + 1} pets fetched after the cursor. */
+    static PetPageDTO toPage(List<Pet> pets, int limit) {
+        boolean hasMore = pets.size() > limit;
+
+        List<PetDTO> items = pets.stream().limit(limit).map(PetDTO::fromPet).toList();
+        Long nextCursor = hasMore ? items.getLast().id() : null;
+
+        return new PetPageDTO(items, nextCursor);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetCache;
+import com.example.pet.pet.domain.PetRepository;
+
+/** Query handler for the aggregate counts of pets per species, owner and age. */
+public class GetPetStatisticsHandler {
+
+    private final PetRepository petRepository;
+    private final PetCache cache;
+
+    public GetPetStatisticsHandler(PetRepository petRepository) {
+        this(petRepository, null);
+    }
+
+    /** @param cache the cache in front of the repository, or null without one */
+    public GetPetStatisticsHandler(PetRepository petRepository, PetCache cache) {
+        this.petRepository = petRepository;
+        this.cache = cache;
+    }
+
+    public PetStatisticsDTO handle() {
+        return PetStatisticsDTO.fromStatistics(
+                petRepository.statistics(), cache != null ? cache.cacheStatistics() : null);
+    }
+}
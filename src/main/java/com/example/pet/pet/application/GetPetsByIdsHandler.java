@@ -0,0 +1,56 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Query handler for fetching many pets by ID in one call.
+ * The repository is asked once for all IDs; the result is then put back into request order, with
+ * each ID reported once.
+ */
+public class GetPetsByIdsHandler {
+
+    private final PetRepository petRepository;
+
+    public GetPetsByIdsHandler(PetRepository petRepository) {
+        this.petRepository = petRepository;
+    }
+
+    public PetLookupDTO handle(List<Long> ids) {
+        Set<Long> requestedIds = requestedIds(ids);
+        return inRequestOrder(requestedIds, petRepository.findAllById(requestedIds));
+    }
+
+    /** The distinct, non-null IDs in request order. */
+    static Set<Long> requestedIds(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        requestedIds.remove(null);
+        return requestedIds;
+    }
+
+    /** Puts the found pets into request order and lists the IDs that were not found. */
+    static PetLookupDTO inRequestOrder(Set<Long> requestedIds, Iterable<Pet> found) {
+        Map<Long, Pet> petsById = HashMap.newHashMap(requestedIds.size());
+        for (Pet pet : found) {
+            petsById.put(pet.getId(), pet);
+        }
+
+        List<PetDTO> items = new ArrayList<>(petsById.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Pet pet = petsById.get(id);
+            if (pet != null) {
+                items.add(PetDTO.fromPet(pet));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new PetLookupDTO(items, missingIds);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetReplication;
+
+/**
+ * Query handler for the replication state of this instance, shared by both web stacks since it
+ * reads a few in-memory fields.
+ */
+public class GetReplicationStatusHandler {
+
+    private final PetReplication replication;
+
+    public GetReplicationStatusHandler(PetReplication replication) {
+        this.replication = replication;
+    }
+
+    public ReplicationStatusDTO handle() {
+        return ReplicationStatusDTO.fromStatus(replication.status());
+    }
+}
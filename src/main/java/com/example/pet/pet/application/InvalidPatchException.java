@@ -0,0 +1,27 @@
+package com.example.pet.pet.application;
+
+import java.util.List;
+
+/** Thrown when a patch document names unknown fields or sets fields to invalid values. */
+public class InvalidPatchException extends RuntimeException {
+
+    private final List<FieldError> errors;
+
+    public InvalidPatchException(List<FieldError> errors) {
+        super("Invalid patch for fields: " + errors.stream().map(FieldError::field).toList());
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<FieldError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * One rejected member of the patch.
+     *
+     * @param field         the member name
+     * @param rejectedValue the value it was set to
+     * @param message       why it was rejected
+     */
+    public record FieldError(String field, Object rejectedValue, String message) {}
+}
@@ -0,0 +1,45 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.OptimisticLockException;
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetRepository;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Command handler for partial updates with JSON Merge Patch.
+ * The patch is validated before anything is read, then applied to the stored pet through the
+ * repository's atomic update, so the client needs no prior GET and no concurrent change is lost.
+ */
+public class PatchPetHandler {
+
+    private final PetRepository repository;
+
+    public PatchPetHandler(PetRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Applies the patch, only if the pet still has {@code expectedVersion} when one is given.
+     *
+     * @return the updated pet, or empty if there is no pet with this ID
+     * @throws InvalidPatchException   if the patch is invalid
+     * @throws OptimisticLockException if the pet does not have the expected version
+     */
+    public Optional<PetDTO> handle(Long id, Map<String, Object> mergePatch, Long expectedVersion) {
+        return repository
+                .update(id, change(id, PetMergePatch.from(mergePatch), expectedVersion))
+                .map(PetDTO::fromPet);
+    }
+
+    /** The change to run in the repository's atomic update: check the version, then patch. */
+    static UnaryOperator<Pet> change(Long id, PetMergePatch patch, Long expectedVersion) {
+        return pet -> {
+            if (expectedVersion != null && !pet.getVersion().equals(expectedVersion)) {
+                throw new OptimisticLockException(id, expectedVersion, pet.getVersion());
+            }
+            return patch.applyTo(pet);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetChange;
+import java.util.Locale;
+
+/**
+ * A change to one pet, as sent by the change feed.
+ * {@code type} is {@code created}, {@code updated} or {@code deleted}; {@code pet} is the pet
+ * after the change, or null for deletes.
+ */
+public record PetChangeDTO(long sequence, String type, long petId, PetDTO pet) {
+
+    public static PetChangeDTO fromChange(PetChange change) {
+        return new PetChangeDTO(
+                change.sequence(),
+                change.type().name().toLowerCase(Locale.ROOT),
+                change.petId(),
+                change.pet() != null ? PetDTO.fromPet(change.pet()) : null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetDelta;
+import java.util.List;
+
+/**
+ * The pets changed since a modification sequence number.
+ * {@code items} are the created or updated pets, {@code deletedIds} the IDs of deleted ones, and
+ * {@code highWaterMark} the value to pass as {@code modifiedSince} on the next call.
+ */
+public record PetDeltaDTO(List<PetDTO> items, List<Long> deletedIds, long highWaterMark) {
+
+    public static PetDeltaDTO fromDelta(PetDelta delta) {
+        return new PetDeltaDTO(
+                delta.changed().stream().map(PetDTO::fromPet).toList(),
+                delta.deletedIds(),
+                delta.highWaterMark());
+    }
+}
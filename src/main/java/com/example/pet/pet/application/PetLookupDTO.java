@@ -0,0 +1,10 @@
+package com.example.pet.pet.application;
+
+import java.util.List;
+
+/**
+ * Result of looking up pets by ID.
+ * {@code items} follows the order of the requested IDs; {@code missingIds} lists, in the same
+ * order, the requested IDs for which no pet exists.
+ */
+public record PetLookupDTO(List<PetDTO> items, List<Long> missingIds) {}
@@ -0,0 +1,89 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON Merge Patch (RFC 7396) of a pet, converted to domain values up front.
+ * Only the fields present in the patch are validated and changed; {@code null} removes the
+ * optional age and owner name, while name and species cannot be removed.
+ */
+public final class PetMergePatch {
+
+    private PetName name;
+    private Species species;
+    private boolean ageChanged;
+    private Age age;
+    private boolean ownerNameChanged;
+    private PersonName ownerName;
+
+    private PetMergePatch() {}
+
+    /**
+     * Validates the members of a merge patch document.
+     *
+     * @param patch the patch document as a JSON object
+     * @return the patch, ready to apply
+     * @throws InvalidPatchException listing every member that is unknown or invalid
+     */
+    public static PetMergePatch from(Map<String, Object> patch) {
+        PetMergePatch result = new PetMergePatch();
+        List<InvalidPatchException.FieldError> errors = new ArrayList<>();
+        patch.forEach(
+                (field, value) -> {
+                    try {
+                        result.set(field, value);
+                    } catch (IllegalArgumentException e) {
+                        errors.add(
+                                new InvalidPatchException.FieldError(field, value, e.getMessage()));
+                    }
+                });
+        if (!errors.isEmpty()) {
+            throw new InvalidPatchException(errors);
+        }
+        return result;
+    }
+
+    private void set(String field, Object value) {
+        switch (field) {
+            case "name" -> name = new PetName(string(value, "Pet name"));
+            case "species" -> species = new Species(string(value, "Species"));
+            case "age" -> {
+                ageChanged = true;
+                age = value != null ? new Age(integer(value)) : null;
+            }
+            case "ownerName" -> {
+                ownerNameChanged = true;
+                ownerName = PersonName.fromNullable(value != null ? string(value, "Owner") : null);
+            }
+            default -> throw new IllegalArgumentException("Unknown field");
+        }
+    }
+
+    private static String string(Object value, String label) {
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException(label + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static int integer(Object value) {
+        if (!(value instanceof Integer number)) {
+            throw new IllegalArgumentException("Age must be an integer");
+        }
+        return number;
+    }
+
+    /** Returns the pet with the patched fields replaced, keeping its ID and version. */
+    public Pet applyTo(Pet pet) {
+        return new Pet(
+                pet.getId(),
+                name != null ? name : pet.getName(),
+                species != null ? species : pet.getSpecies(),
+                ageChanged ? age : pet.getAge(),
+                ownerNameChanged ? ownerName : pet.getOwnerName(),
+                pet.getVersion());
+    }
+}
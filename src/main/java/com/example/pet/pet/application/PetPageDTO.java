@@ -0,0 +1,10 @@
+package com.example.pet.pet.application;
+
+import java.util.List;
+
+/**
+ * A page of pets ordered by ID.
+ * {@code nextCursor} is the value to pass as {@code cursor} to fetch the next page, or null when
+ * this is the last page.
+ */
+public record PetPageDTO(List<PetDTO> items, Long nextCursor) {}
@@ -0,0 +1,53 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PersonName;
+import com.example.pet.pet.domain.PetCacheStatistics;
+import com.example.pet.pet.domain.PetStatistics;
+import com.example.pet.pet.domain.Species;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Counts of pets, in total and per species, owner and age, with the keys in ascending order.
+ * Pets without an owner or an age are counted only in {@code total} and {@code bySpecies}.
+ * {@code cache} reports the lookups by ID of the repository cache, or is null without one.
+ */
+public record PetStatisticsDTO(
+        long total,
+        SortedMap<String, Long> bySpecies,
+        SortedMap<String, Long> byOwner,
+        SortedMap<Integer, Long> byAge,
+        CacheDTO cache) {
+
+    public record CacheDTO(long hits, long misses, long evictions, long size, double hitRate) {}
+
+    public static PetStatisticsDTO fromStatistics(PetStatistics statistics) {
+        return fromStatistics(statistics, null);
+    }
+
+    public static PetStatisticsDTO fromStatistics(
+            PetStatistics statistics, PetCacheStatistics cache) {
+        return new PetStatisticsDTO(
+                statistics.total(),
+                sorted(statistics.bySpecies(), Species::value),
+                sorted(statistics.byOwner(), PersonName::value),
+                sorted(statistics.byAge(), Function.identity()),
+                cache == null
+                        ? null
+                        : new CacheDTO(
+                                cache.hits(),
+                                cache.misses(),
+                                cache.evictions(),
+                                cache.size(),
+                                cache.hitRate()));
+    }
+
+    private static <K, T extends Comparable<T>> SortedMap<T, Long> sorted(
+            Map<K, Long> counts, Function<K, T> key) {
+        SortedMap<T, Long> sorted = new TreeMap<>();
+        counts.forEach((k, count) -> sorted.put(key.apply(k), count));
+        return sorted;
+    }
+}
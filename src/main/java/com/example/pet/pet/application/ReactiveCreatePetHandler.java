@@ -0,0 +1,20 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of CreatePetHandler. */
+public class ReactiveCreatePetHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveCreatePetHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<PetDTO> handle(CreatePetRequest request) {
+        return Mono.fromCallable(() -> CreatePetHandler.toPet(request))
+                .flatMap(repository::save)
+                .map(PetDTO::fromPet);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of CreatePetsHandler; the batch is still one repository call. */
+public class ReactiveCreatePetsHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveCreatePetsHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates the pets for the given, already validated, requests.
+     *
+     * @return the created pets, in the same order as the requests
+     */
+    public Mono<List<PetDTO>> handle(List<CreatePetRequest> requests) {
+        return Mono.fromCallable(() -> requests.stream().map(CreatePetHandler::toPet).toList())
+                .flatMapMany(repository::saveAll)
+                .map(PetDTO::fromPet)
+                .collectList();
+    }
+}
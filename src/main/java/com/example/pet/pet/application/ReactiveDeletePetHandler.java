@@ -0,0 +1,27 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of DeletePetHandler.
+ * Emits true if the pet was deleted, false if not found.
+ */
+public class ReactiveDeletePetHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveDeletePetHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Deletes the pet only if it still has {@code expectedVersion}, or unconditionally when that
+     * is null; a version conflict is signalled as an OptimisticLockException.
+     */
+    public Mono<Boolean> handle(Long id, Long expectedVersion) {
+        return expectedVersion != null
+                ? repository.deleteById(id, expectedVersion)
+                : repository.deleteById(id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.*;
+import reactor.core.publisher.Flux;
+
+/** Reactive counterpart of FindPetsHandler. */
+public class ReactiveFindPetsHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveFindPetsHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    public Flux<PetDTO> handle(String species, String ownerName) {
+        Species speciesFilter = species != null ? new Species(species) : null;
+        PersonName ownerFilter = PersonName.fromNullable(ownerName);
+
+        Flux<Pet> candidates =
+                ownerFilter != null
+                        ? repository.findByOwner(ownerFilter)
+                        : repository.findBySpecies(speciesFilter);
+
+        return candidates
+                .filter(pet -> FindPetsHandler.matchesSpecies(pet, speciesFilter))
+                .map(PetDTO::fromPet);
+    }
+}
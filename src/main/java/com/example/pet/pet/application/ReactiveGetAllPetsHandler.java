@@ -0,0 +1,22 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive counterpart of GetAllPetsHandler and StreamAllPetsHandler.
+ * The pets are emitted one at a time as the repository is iterated, so the same Flux serves both
+ * the JSON array and the NDJSON export.
+ */
+public class ReactiveGetAllPetsHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveGetAllPetsHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    public Flux<PetDTO> handle() {
+        return repository.findAll().map(PetDTO::fromPet);
+    }
+}
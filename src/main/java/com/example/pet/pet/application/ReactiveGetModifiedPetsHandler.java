@@ -0,0 +1,18 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of GetModifiedPetsHandler. */
+public class ReactiveGetModifiedPetsHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveGetModifiedPetsHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<PetDeltaDTO> handle(long modifiedSince) {
+        return repository.findModifiedSince(modifiedSince).map(PetDeltaDTO::fromDelta);
+    }
+}
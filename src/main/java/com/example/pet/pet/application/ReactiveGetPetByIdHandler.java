@@ -0,0 +1,38 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetReplication;
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/** Reactive counterpart of GetPetByIdHandler; completes empty if the pet does not exist. */
+public class ReactiveGetPetByIdHandler {
+
+    private final ReactivePetRepository repository;
+    private final PetReplication replication;
+
+    public ReactiveGetPetByIdHandler(ReactivePetRepository repository) {
+        this(repository, PetReplication.STANDALONE);
+    }
+
+    public ReactiveGetPetByIdHandler(ReactivePetRepository repository, PetReplication replication) {
+        this.repository = repository;
+        this.replication = replication;
+    }
+
+    public Mono<PetDTO> handle(Long id) {
+        return handle(id, false);
+    }
+
+    public Mono<PetDTO> handle(Long id, boolean readYourWrites) {
+        // A follower waits on a round trip to its leader, so this always leaves the event loop;
+        // reads only ask for it on request
+        Mono<Void> caughtUp =
+                readYourWrites
+                        ? Mono.fromRunnable(replication::catchUp)
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .then()
+                        : Mono.empty();
+        return caughtUp.then(repository.findById(id)).map(PetDTO::fromPet);
+    }
+}
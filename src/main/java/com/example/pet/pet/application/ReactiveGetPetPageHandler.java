@@ -0,0 +1,21 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of GetPetPageHandler. */
+public class ReactiveGetPetPageHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveGetPetPageHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<PetPageDTO> handle(Long cursor, int limit) {
+        return repository
+                .findPage(cursor, limit + 1)
+                .collectList()
+                .map(pets -> GetPetPageHandler.toPage(pets, limit));
+    }
+}
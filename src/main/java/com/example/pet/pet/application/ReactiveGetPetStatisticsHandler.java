@@ -0,0 +1,33 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetCache;
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of GetPetStatisticsHandler. */
+public class ReactiveGetPetStatisticsHandler {
+
+    private final ReactivePetRepository repository;
+    private final PetCache cache;
+
+    public ReactiveGetPetStatisticsHandler(ReactivePetRepository repository) {
+        this(repository, null);
+    }
+
+    /** @param cache the cache in front of the repository, or null without one */
+    public ReactiveGetPetStatisticsHandler(ReactivePetRepository repository, PetCache cache) {
+        this.repository = repository;
+        this.cache = cache;
+    }
+
+    public Mono<PetStatisticsDTO> handle() {
+        // Reading the cache counters never blocks
+        return repository
+                .statistics()
+                .map(
+                        statistics ->
+                                PetStatisticsDTO.fromStatistics(
+                                        statistics,
+                                        cache != null ? cache.cacheStatistics() : null));
+    }
+}
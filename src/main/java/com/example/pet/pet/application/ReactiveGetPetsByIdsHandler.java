@@ -0,0 +1,24 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import java.util.List;
+import java.util.Set;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of GetPetsByIdsHandler. */
+public class ReactiveGetPetsByIdsHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveGetPetsByIdsHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<PetLookupDTO> handle(List<Long> ids) {
+        Set<Long> requestedIds = GetPetsByIdsHandler.requestedIds(ids);
+        return repository
+                .findAllById(requestedIds)
+                .collectList()
+                .map(found -> GetPetsByIdsHandler.inRequestOrder(requestedIds, found));
+    }
+}
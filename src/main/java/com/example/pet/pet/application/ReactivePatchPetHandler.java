@@ -0,0 +1,31 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import java.util.Map;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of PatchPetHandler. */
+public class ReactivePatchPetHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactivePatchPetHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Applies the merge patch atomically, only if the pet still has {@code expectedVersion} when
+     * one is given. An invalid patch signals InvalidPatchException before the repository is
+     * touched.
+     *
+     * @return the patched pet, or empty if there is no pet with this ID
+     */
+    public Mono<PetDTO> handle(Long id, Map<String, Object> mergePatch, Long expectedVersion) {
+        return Mono.fromCallable(() -> PetMergePatch.from(mergePatch))
+                .flatMap(
+                        patch ->
+                                repository.update(
+                                        id, PatchPetHandler.change(id, patch, expectedVersion)))
+                .map(PetDTO::fromPet);
+    }
+}
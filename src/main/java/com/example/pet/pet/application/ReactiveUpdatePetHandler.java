@@ -0,0 +1,35 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReactivePetRepository;
+import reactor.core.publisher.Mono;
+
+/** Reactive counterpart of UpdatePetHandler. */
+public class ReactiveUpdatePetHandler {
+
+    private final ReactivePetRepository repository;
+
+    public ReactiveUpdatePetHandler(ReactivePetRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Updates the pet, only if it still has {@code expectedVersion} when one is given; like the
+     * blocking handler, a conditional update is written without reading the pet first and an
+     * unconditional one goes through the repository's atomic update.
+     *
+     * @return the updated pet, or empty if there is no pet with this ID
+     */
+    public Mono<PetDTO> handle(Long id, UpdatePetRequest request, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return repository
+                    .update(id, pet -> UpdatePetHandler.toPet(id, request, pet.getVersion()))
+                    .map(PetDTO::fromPet);
+        }
+
+        return repository
+                .save(UpdatePetHandler.toPet(id, request, expectedVersion))
+                .map(PetDTO::fromPet)
+                // The pet does not exist
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.empty());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.ReplicationStatus;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The replication state of this instance: {@code standalone}, a {@code leader} with the lag of
+ * each connected follower, or a {@code follower} with its own lag behind the leader. Lag is
+ * counted in changes; {@code millisSinceLeaderContact} is null until a follower first hears from
+ * its leader.
+ */
+public record ReplicationStatusDTO(
+        String role,
+        boolean connected,
+        long appliedSequence,
+        long leaderSequence,
+        long lag,
+        Long millisSinceLeaderContact,
+        List<FollowerDTO> followers) {
+
+    public record FollowerDTO(String address, long appliedSequence, long lag) {}
+
+    public static ReplicationStatusDTO fromStatus(ReplicationStatus status) {
+        return new ReplicationStatusDTO(
+                status.role().name().toLowerCase(Locale.ROOT),
+                status.connected(),
+                status.appliedSequence(),
+                status.leaderSequence(),
+                status.lag(),
+                status.sinceLeaderContact() == null ? null : status.sinceLeaderContact().toMillis(),
+                status.followers().stream()
+                        .map(
+                                follower ->
+                                        new FollowerDTO(
+                                                follower.address(),
+                                                follower.appliedSequence(),
+                                                follower.lag()))
+                        .toList());
+    }
+}
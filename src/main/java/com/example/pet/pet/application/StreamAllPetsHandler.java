@@ -0,0 +1,21 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetRepository;
+import java.util.stream.Stream;
+
+/**
+ * Query handler for exporting all pets one at a time.
+ * The returned stream must be closed by the caller.
+ */
+public class StreamAllPetsHandler {
+
+    private final PetRepository petRepository;
+
+    public StreamAllPetsHandler(PetRepository petRepository) {
+        this.petRepository = petRepository;
+    }
+
+    public Stream<PetDTO> handle() {
+        return petRepository.stream().map(PetDTO::fromPet);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.pet.pet.application;
+
+import com.example.pet.pet.domain.PetChange;
+import com.example.pet.pet.domain.PetChangeFeed;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Query handler for following the changes to the pets, used by both web stacks.
+ *
+ * <p>Each subscriber reads the PetChangeFeed from its own position, only as fast as it requests
+ * changes, and waits for new ones without holding a thread. A subscriber that falls so far behind
+ * that its next change is no longer retained gets a PetChangesExpiredException instead.
+ */
+public class StreamPetChangesHandler {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final PetChangeFeed changeFeed;
+    private final Scheduler scheduler = Schedulers.parallel();
+    private final Sinks.Empty<Void> closed = Sinks.empty();
+
+    public StreamPetChangesHandler(PetChangeFeed changeFeed) {
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Emits the changes after {@code lastSequence}, or after the latest change if it is null,
+     * until the subscriber cancels or the handler is closed.
+     */
+    public Flux<PetChangeDTO> handle(Long lastSequence) {
+        return Flux.<PetChangeDTO>create(
+                        sink ->
+                                new Subscription(
+                                                sink,
+                                                lastSequence != null
+                                                        ? lastSequence
+                                                        : changeFeed.lastSequence())
+                                        .start(),
+                        FluxSink.OverflowStrategy.ERROR)
+                .takeUntilOther(closed.asMono());
+    }
+
+    /**
+     * Completes every stream, now and in future, so that open connections do not hold up a
+     * graceful shutdown until it times out.
+     */
+    public void close() {
+        closed.tryEmitEmpty();
+    }
+
+    /** Emits changes as they are requested; only one thread drains at a time. */
+    private final class Subscription {
+
+        private final FluxSink<PetChangeDTO> sink;
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private long position;
+        private CompletableFuture<Void> awaited;
+
+        Subscription(FluxSink<PetChangeDTO> sink, long position) {
+            this.sink = sink;
+            this.position = position;
+        }
+
+        void start() {
+            sink.onRequest(requested -> drain());
+        }
+
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                // The thread that is draining will go round again
+                return;
+            }
+            int missed = 1;
+            do {
+                emitRequested();
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emitRequested() {
+            while (!sink.isCancelled() && sink.requestedFromDownstream() > 0) {
+                List<PetChange> changes;
+                try {
+                    changes =
+                            changeFeed.changesAfter(
+                                    position,
+                                    (int) Math.min(sink.requestedFromDownstream(), BATCH_SIZE));
+                } catch (PetChangesExpiredException e) {
+                    sink.error(e);
+                    return;
+                }
+                if (changes.isEmpty()) {
+                    awaitChangeAfter(position);
+                    return;
+                }
+                for (PetChange change : changes) {
+                    position = change.sequence();
+                    sink.next(PetChangeDTO.fromChange(change));
+                }
+            }
+        }
+
+        private void awaitChangeAfter(long sequence) {
+            CompletableFuture<Void> next = changeFeed.whenChangedAfter(sequence);
+            // Subscribers waiting together share one future; register on each one only once
+            if (next != awaited) {
+                awaited = next;
+                // Resumes on another thread, so the writer that completes the future is not
+                // held up by encoding changes for its subscribers
+                next.thenRunAsync(this::drain, task -> scheduler.schedule(task));
+            }
+        }
+    }
+}
@@ -12,20 +12,42 @@ public class UpdatePetHandler {
     }
 
     public Optional<PetDTO> handle(Long id, UpdatePetRequest request) {
-        return repository.findById(id).map(pet -> updatePet(id, request, pet)).map(PetDTO::fromPet);
+        return handle(id, request, null);
     }
 
-    private Pet updatePet(Long id, UpdatePetRequest request, Pet pet) {
-        Pet updatedPet =
-                new Pet(
-                        id,
-                        new PetName(request.name()),
-                        new Species(request.species()),
-                        Age.fromNullable(request.age()),
-                        PersonName.fromNullable(request.ownerName()),
-                        pet.getVersion());
-
-        repository.save(updatedPet);
-        return updatedPet;
+    /**
+     * Updates the pet, only if it still has {@code expectedVersion} when one is given. A
+     * conditional update is written without reading the pet first: the repository's version
+     * check rejects it with an OptimisticLockException if the pet has changed. An unconditional
+     * update replaces whatever version the pet has, through the repository's atomic update, so a
+     * concurrent change never fails it.
+     *
+     * @return the updated pet, or empty if there is no pet with this ID
+     */
+    public Optional<PetDTO> handle(Long id, UpdatePetRequest request, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return repository
+                    .update(id, pet -> toPet(id, request, pet.getVersion()))
+                    .map(PetDTO::fromPet);
+        }
+
+        Pet updatedPet = toPet(id, request, expectedVersion);
+
+        try {
+            return Optional.of(PetDTO.fromPet(repository.save(updatedPet)));
+        } catch (IllegalArgumentException e) {
+            // The pet does not exist
+            return Optional.empty();
+        }
+    }
+
+    static Pet toPet(Long id, UpdatePetRequest request, Long version) {
+        return new Pet(
+                id,
+                new PetName(request.name()),
+                new Species(request.species()),
+                Age.fromNullable(request.age()),
+                PersonName.fromNullable(request.ownerName()),
+                version);
     }
 }
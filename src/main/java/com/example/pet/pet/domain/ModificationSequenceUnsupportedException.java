@@ -0,0 +1,12 @@
+package com.example.pet.pet.domain;
+
+/**
+ * Exception thrown when changes since a modification sequence number are asked of a repository
+ * that keeps no modification sequence. The consumer has to reload all pets instead.
+ */
+public class ModificationSequenceUnsupportedException extends UnsupportedOperationException {
+
+    public ModificationSequenceUnsupportedException(String repository) {
+        super(repository + " does not keep a modification sequence");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.pet.pet.domain;
+
+/** A cache of pets in front of the storage, which counts how it serves lookups by ID. */
+public interface PetCache {
+
+    PetCacheStatistics cacheStatistics();
+}
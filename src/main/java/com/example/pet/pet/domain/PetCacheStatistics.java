@@ -0,0 +1,18 @@
+package com.example.pet.pet.domain;
+
+/**
+ * How a cache of pets in front of the storage has served lookups by ID since it was created.
+ *
+ * @param hits      lookups served from the cache
+ * @param misses    lookups that went to the storage
+ * @param evictions entries evicted to stay within the maximum size
+ * @param size      entries currently cached
+ */
+public record PetCacheStatistics(long hits, long misses, long evictions, long size) {
+
+    /** The share of lookups served from the cache, or 1 before the first lookup. */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 1.0 : (double) hits / lookups;
+    }
+}
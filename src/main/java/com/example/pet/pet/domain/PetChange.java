@@ -0,0 +1,19 @@
+package com.example.pet.pet.domain;
+
+/**
+ * A change to one pet, numbered by a sequence shared by all pets. Changes to the same pet get
+ * increasing sequence numbers in the order they were applied.
+ *
+ * @param sequence the position of the change in the change feed
+ * @param type     the kind of change
+ * @param petId    the ID of the changed pet
+ * @param pet      the pet after the change, or null for deletes
+ */
+public record PetChange(long sequence, Type type, long petId, Pet pet) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
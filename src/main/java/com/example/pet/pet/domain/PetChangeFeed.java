@@ -0,0 +1,31 @@
+package com.example.pet.pet.domain;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The most recent changes to the pets, in sequence order, for consumers that follow the store
+ * instead of polling it. Only a bounded number of changes is retained: a consumer that falls
+ * further behind must reload the pets and continue from {@link #lastSequence()}.
+ */
+public interface PetChangeFeed {
+
+    /** The sequence number of the latest change, or of the feed's start if there is none. */
+    long lastSequence();
+
+    /**
+     * Returns up to {@code limit} changes with a sequence number greater than {@code sequence},
+     * oldest first. Returns fewer, or none, if the following changes are not published yet.
+     *
+     * @throws PetChangesExpiredException if the change after {@code sequence} is no longer
+     *     retained, or {@code sequence} was not issued by this feed
+     */
+    List<PetChange> changesAfter(long sequence, int limit);
+
+    /**
+     * Completes when the change after {@code sequence} is published, or immediately if it
+     * already is. The future is completed on the writer's thread, so dependent actions should be
+     * asynchronous.
+     */
+    CompletableFuture<Void> whenChangedAfter(long sequence);
+}
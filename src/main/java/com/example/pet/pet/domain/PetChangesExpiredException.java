@@ -0,0 +1,22 @@
+package com.example.pet.pet.domain;
+
+/**
+ * Exception thrown when a consumer of the PetChangeFeed asks for changes that are no longer
+ * retained. The consumer must reload the pets and continue after {@link #lastSequence()}.
+ */
+public class PetChangesExpiredException extends RuntimeException {
+
+    private final long lastSequence;
+
+    public PetChangesExpiredException(long sequence, long lastSequence) {
+        super(
+                String.format(
+                        "Changes after sequence %d are no longer available; the latest is %d",
+                        sequence, lastSequence));
+        this.lastSequence = lastSequence;
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.pet.pet.domain;
+
+import java.util.List;
+
+/**
+ * What changed since a modification sequence number, for consumers that catch up in batches.
+ * Applying it to a copy that was current at the requested sequence number brings the copy up to
+ * {@code highWaterMark}; a pet may be reported with a state newer than the mark.
+ *
+ * @param changed       the pets created or updated since, in the order they were last changed
+ * @param deletedIds    the IDs of the pets deleted since
+ * @param highWaterMark the sequence number to ask from next time
+ */
+public record PetDelta(List<Pet> changed, List<Long> deletedIds, long highWaterMark) {}
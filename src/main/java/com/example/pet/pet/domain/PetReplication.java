@@ -0,0 +1,19 @@
+package com.example.pet.pet.domain;
+
+/** Reports where this instance stands in leader/follower replication of the pets. */
+public interface PetReplication {
+
+    /** A PetReplication for an instance that neither leads nor follows. */
+    PetReplication STANDALONE = ReplicationStatus::standalone;
+
+    ReplicationStatus status();
+
+    /**
+     * Waits until reads on this instance see every write the leader completed before the call.
+     * Returns at once unless this instance follows a leader, since it then takes the writes
+     * itself.
+     *
+     * @throws ReplicaUnavailableException if a follower cannot confirm in time that it is current
+     */
+    default void catchUp() {}
+}
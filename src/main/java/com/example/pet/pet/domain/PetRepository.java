@@ -1,7 +1,11 @@
 package com.example.pet.pet.domain;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 public interface PetRepository {
 
@@ -13,6 +17,18 @@ public interface PetRepository {
      */
     Optional<Pet> findById(Long id);
 
+    /**
+     * Finds the pets with the given IDs.
+     * The default implementation looks them up one at a time; implementations should override it
+     * with a single batched lookup.
+     *
+     * @param ids the IDs to look up; duplicates are ignored
+     * @return the pets found, each once, in no particular order (missing IDs are skipped)
+     */
+    default List<Pet> findAllById(Collection<Long> ids) {
+        return ids.stream().distinct().map(this::findById).flatMap(Optional::stream).toList();
+    }
+
     /**
      * Saves a pet (handles both create and update).
      * If the pet has no ID, it will be created and assigned a new ID.
@@ -23,6 +39,74 @@ public interface PetRepository {
      */
     Pet save(Pet pet);
 
+    /**
+     * Updates a pet atomically from its current state, without a separate read by the caller.
+     * {@code change} receives the stored pet and returns the pet with the new field values; the
+     * ID and version of the result are ignored and the version is incremented. If {@code change}
+     * throws, the pet is left unchanged and the exception propagates.
+     * The default implementation reads, applies and saves, retrying on a concurrent update, so
+     * {@code change} may be called more than once and must not have side effects; implementations
+     * should override it to apply the change under their per-pet lock.
+     *
+     * @param id     the pet's ID
+     * @param change computes the new field values from the current pet
+     * @return the updated pet, or empty if there is no pet with this ID
+     */
+    default Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        while (true) {
+            Optional<Pet> existingPet = findById(id);
+            if (existingPet.isEmpty()) {
+                return Optional.empty();
+            }
+            Pet changedPet = change.apply(existingPet.get());
+            try {
+                return Optional.of(
+                        save(
+                                new Pet(
+                                        id,
+                                        changedPet.getName(),
+                                        changedPet.getSpecies(),
+                                        changedPet.getAge(),
+                                        changedPet.getOwnerName(),
+                                        existingPet.get().getVersion())));
+            } catch (OptimisticLockException e) {
+                // Updated concurrently: apply the change again to the new version
+            } catch (IllegalArgumentException e) {
+                // Deleted concurrently
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Creates all the given pets in one call.
+     * The default implementation saves them one at a time; implementations should override it
+     * to create the whole batch in a single pass, with one round trip or flush.
+     *
+     * @param newPets the pets to create, none of which may have an ID yet
+     * @return the created pets with IDs assigned, in the same order
+     * @throws IllegalArgumentException if any of the pets already has an ID
+     */
+    default List<Pet> saveAll(List<Pet> newPets) {
+        requireNew(newPets);
+        return newPets.stream().map(this::save).toList();
+    }
+
+    /**
+     * Checks the precondition of {@link #saveAll(List)}, before anything is written.
+     *
+     * @param newPets the pets about to be created
+     * @throws IllegalArgumentException if any of the pets already has an ID
+     */
+    static void requireNew(List<Pet> newPets) {
+        for (Pet pet : newPets) {
+            if (pet.getId() != null) {
+                throw new IllegalArgumentException(
+                        "Cannot create pet that already has ID: " + pet.getId());
+            }
+        }
+    }
+
     /**
      * Deletes a pet by its unique identifier.
      *
@@ -31,10 +115,123 @@ public interface PetRepository {
      */
     boolean deleteById(Long id);
 
+    /**
+     * Deletes a pet only if it still has the expected version.
+     * The default implementation reads the pet and then deletes it, which lets a concurrent
+     * update slip in between; implementations should override it to check the version atomically
+     * with the delete.
+     *
+     * @param id              the pet's ID to delete
+     * @param expectedVersion the version the caller last saw
+     * @return true if the pet was deleted, false if not found
+     * @throws OptimisticLockException if the pet has a different version
+     */
+    default boolean deleteById(Long id, long expectedVersion) {
+        Optional<Pet> existingPet = findById(id);
+        if (existingPet.isEmpty()) {
+            return false;
+        }
+        if (existingPet.get().getVersion() != expectedVersion) {
+            throw new OptimisticLockException(id, expectedVersion, existingPet.get().getVersion());
+        }
+        return deleteById(id);
+    }
+
+    /**
+     * Finds the pets created, updated or deleted after the given modification sequence number.
+     * Every save and delete takes the next number of a sequence shared by all pets, the same one
+     * that numbers the changes of the PetChangeFeed, and deleted pets are remembered as
+     * tombstones. A consumer starts from a full load and the number reported with it, then
+     * passes each {@link PetDelta#highWaterMark()} to the next call.
+     * The default implementation keeps no modification sequence and throws
+     * ModificationSequenceUnsupportedException.
+     *
+     * @param sequence the high-water mark of the consumer's copy
+     * @return the changes after {@code sequence}, up to the new high-water mark
+     * @throws PetChangesExpiredException if {@code sequence} was not issued by this repository,
+     *     for instance before a restart; the consumer must reload the pets and continue from
+     *     {@link PetChangesExpiredException#lastSequence()}
+     */
+    default PetDelta findModifiedSince(long sequence) {
+        throw new ModificationSequenceUnsupportedException(getClass().getSimpleName());
+    }
+
     /**
      * Finds all pets.
      *
      * @return a list of all pets (empty list if none found)
      */
     List<Pet> findAll();
+
+    /**
+     * Finds a page of pets ordered by ID, starting after the given cursor.
+     * The default implementation scans {@link #findAll()}; implementations should override it
+     * with an ordered lookup so that the cost of a call depends on the page size only.
+     *
+     * @param afterId the ID of the last pet of the previous page, or null to start from the beginning
+     * @param limit   the maximum number of pets to return
+     * @return up to {@code limit} pets with an ID greater than {@code afterId}, in ascending ID order
+     */
+    default List<Pet> findPage(Long afterId, int limit) {
+        return findAll().stream()
+                .filter(pet -> afterId == null || pet.getId() > afterId)
+                .sorted(Comparator.comparing(Pet::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Streams all pets without materializing them into a list.
+     * The default implementation streams {@link #findAll()}; implementations should override it
+     * to iterate their storage directly. Callers must close the stream, which allows
+     * implementations to hold resources such as cursors while it is consumed.
+     *
+     * @return a stream of all pets, in no particular order
+     */
+    default Stream<Pet> stream() {
+        return findAll().stream();
+    }
+
+    /**
+     * Counts the pets, in total and per species, owner and age.
+     * The default implementation scans {@link #stream()}; implementations should override it
+     * with counters kept current by their writes.
+     *
+     * @return the counts of all pets
+     */
+    default PetStatistics statistics() {
+        try (Stream<Pet> pets = stream()) {
+            return PetStatistics.of(pets.toList());
+        }
+    }
+
+    /**
+     * Finds all pets of the given species.
+     * The default implementation scans {@link #findAll()}; implementations should override it
+     * with an index lookup.
+     *
+     * @param species the species to match
+     * @return the matching pets in ascending ID order (empty list if none found)
+     */
+    default List<Pet> findBySpecies(Species species) {
+        return findAll().stream()
+                .filter(pet -> species.equals(pet.getSpecies()))
+                .sorted(Comparator.comparing(Pet::getId))
+                .toList();
+    }
+
+    /**
+     * Finds all pets belonging to the given owner.
+     * The default implementation scans {@link #findAll()}; implementations should override it
+     * with an index lookup.
+     *
+     * @param ownerName the owner to match
+     * @return the matching pets in ascending ID order (empty list if none found)
+     */
+    default List<Pet> findByOwner(PersonName ownerName) {
+        return findAll().stream()
+                .filter(pet -> ownerName.equals(pet.getOwnerName()))
+                .sorted(Comparator.comparing(Pet::getId))
+                .toList();
+    }
 }
@@ -0,0 +1,54 @@
+package com.example.pet.pet.domain;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Counts of pets, in total and per species, owner and age.
+ *
+ * @param total     the number of pets
+ * @param bySpecies the number of pets of each species
+ * @param byOwner   the number of pets of each owner; pets without an owner are not counted
+ * @param byAge     the number of pets of each age in years; pets without an age are not counted
+ */
+public record PetStatistics(
+        long total,
+        Map<Species, Long> bySpecies,
+        Map<PersonName, Long> byOwner,
+        Map<Integer, Long> byAge) {
+
+    /** Counts the given pets. */
+    public static PetStatistics of(List<Pet> pets) {
+        return new PetStatistics(
+                pets.size(),
+                countBy(pets, Pet::getSpecies),
+                countBy(pets, Pet::getOwnerName),
+                countBy(pets, pet -> pet.getAge() != null ? pet.getAge().value() : null));
+    }
+
+    private static <K> Map<K, Long> countBy(List<Pet> pets, Function<Pet, K> key) {
+        return pets.stream()
+                .map(key)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    /** The counts of two disjoint sets of pets added together. */
+    public PetStatistics plus(PetStatistics other) {
+        return new PetStatistics(
+                total + other.total,
+                sum(bySpecies, other.bySpecies),
+                sum(byOwner, other.byOwner),
+                sum(byAge, other.byAge));
+    }
+
+    private static <K> Map<K, Long> sum(Map<K, Long> counts, Map<K, Long> otherCounts) {
+        Map<K, Long> sum = new HashMap<>(counts);
+        otherCounts.forEach((key, count) -> sum.merge(key, count, Long::sum));
+        return sum;
+    }
+}
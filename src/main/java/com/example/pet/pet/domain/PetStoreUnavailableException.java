@@ -0,0 +1,21 @@
+package com.example.pet.pet.domain;
+
+/**
+ * Exception thrown when the storage behind a repository, such as a database, fails to serve a
+ * call. A transient failure, such as a timeout waiting for a pooled connection, may go away on
+ * retry; any other one will not.
+ */
+public class PetStoreUnavailableException extends RuntimeException {
+
+    private final boolean isTransient;
+
+    public PetStoreUnavailableException(String message, Throwable cause, boolean isTransient) {
+        super(message, cause);
+        this.isTransient = isTransient;
+    }
+
+    /** Whether the failure may go away on retry. */
+    public boolean isTransient() {
+        return isTransient;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.pet.pet.domain;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of PetRepository for the reactive web stack.
+ * Each method has the semantics of the PetRepository method of the same name; results are
+ * emitted when they are ready instead of being returned on the calling thread, and failures
+ * (such as OptimisticLockException) are signalled as errors.
+ */
+public interface ReactivePetRepository {
+
+    /** Emits the pet with the given ID, or completes empty if there is none. */
+    Mono<Pet> findById(Long id);
+
+    /** Emits the found pets, each once, in no particular order; missing IDs are skipped. */
+    Flux<Pet> findAllById(Collection<Long> ids);
+
+    /** Creates or updates the pet and emits the saved pet. */
+    Mono<Pet> save(Pet pet);
+
+    /** Creates all the given new pets and emits them with IDs assigned, in the same order. */
+    Flux<Pet> saveAll(List<Pet> newPets);
+
+    /**
+     * Applies {@code change} to the current pet atomically and emits the updated pet, or
+     * completes empty if there is none.
+     */
+    Mono<Pet> update(Long id, UnaryOperator<Pet> change);
+
+    /** Emits true if the pet was deleted, false if not found. */
+    Mono<Boolean> deleteById(Long id);
+
+    /**
+     * Emits true if the pet was deleted, false if not found, or signals OptimisticLockException
+     * if it has a different version.
+     */
+    Mono<Boolean> deleteById(Long id, long expectedVersion);
+
+    /**
+     * Emits the pets changed after the given modification sequence number, or signals
+     * PetChangesExpiredException if the number was not issued by this repository.
+     */
+    Mono<PetDelta> findModifiedSince(long sequence);
+
+    /** Emits all pets, in no particular order, without materializing them into a list. */
+    Flux<Pet> findAll();
+
+    /** Emits up to {@code limit} pets with an ID greater than {@code afterId}, in ID order. */
+    Flux<Pet> findPage(Long afterId, int limit);
+
+    /** Emits the counts of all pets, in total and per species, owner and age. */
+    Mono<PetStatistics> statistics();
+
+    /** Emits the pets of the given species in ascending ID order. */
+    Flux<Pet> findBySpecies(Species species);
+
+    /** Emits the pets of the given owner in ascending ID order. */
+    Flux<Pet> findByOwner(PersonName ownerName);
+}
@@ -0,0 +1,20 @@
+package com.example.pet.pet.domain;
+
+/**
+ * Exception thrown when a write reaches a read replica. Replicas only apply the writes of their
+ * leader, so the write must be sent to {@link #leader()} instead.
+ */
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    private final String leader;
+
+    public ReadOnlyReplicaException(String leader) {
+        super("This instance is a read replica; send writes to the replication leader " + leader);
+        this.leader = leader;
+    }
+
+    /** The host and replication port of the leader. */
+    public String leader() {
+        return leader;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.pet.pet.domain;
+
+/**
+ * Exception thrown when a read replica cannot confirm in time that it has applied every write
+ * the leader had completed, for a read that asked to see them. The read can be retried, or sent
+ * to the leader.
+ */
+public class ReplicaUnavailableException extends RuntimeException {
+
+    public ReplicaUnavailableException(String message) {
+        super(message);
+    }
+
+    public ReplicaUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.pet.pet.domain;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The replication state of one instance. Positions are numbers of the leader's change sequence,
+ * the one that numbers its PetChangeFeed, and lag is counted in changes.
+ *
+ * @param role               the part this instance plays
+ * @param connected          whether a follower is connected to its leader; true otherwise
+ * @param appliedSequence    the latest change applied on this instance, or -1 if none
+ * @param leaderSequence     the latest change on the leader, as last reported to a follower
+ * @param sinceLeaderContact how long ago a follower last heard from its leader, or null
+ * @param followers          the followers connected to a leader, as they last reported
+ */
+public record ReplicationStatus(
+        Role role,
+        boolean connected,
+        long appliedSequence,
+        long leaderSequence,
+        Duration sinceLeaderContact,
+        List<Follower> followers) {
+
+    public enum Role {
+        STANDALONE,
+        LEADER,
+        FOLLOWER
+    }
+
+    /**
+     * @param address         the follower's address
+     * @param appliedSequence the latest change the follower reported applying, or -1 if none
+     * @param lag             the number of changes on the leader the follower has not applied
+     */
+    public record Follower(String address, long appliedSequence, long lag) {}
+
+    public static ReplicationStatus standalone() {
+        return new ReplicationStatus(Role.STANDALONE, true, -1, -1, null, List.of());
+    }
+
+    /** The number of changes on the leader this instance has not applied. */
+    public long lag() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.infrastructure.web.GlobalExceptionHandler.ValidationError;
+import com.example.pet.infrastructure.web.ValidationErrorResponse;
+import com.example.pet.pet.application.CreatePetRequest;
+import com.example.pet.pet.application.CreatePetsHandler;
+import com.example.pet.pet.application.PetDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Bulk operations on pets. Mapped separately from PetController because the {@code :batch}
+ * custom method is a suffix of the collection path rather than a sub-path of it.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/v1")
+@Tag(name = "Pet", description = "Pet management APIs")
+public class PetBatchController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final CreatePetsHandler createPetsHandler;
+    private final Validator validator;
+
+    public PetBatchController(CreatePetsHandler createPetsHandler, Validator validator) {
+        this.createPetsHandler = createPetsHandler;
+        this.validator = validator;
+    }
+
+    @PostMapping("/pets:batch")
+    @Operation(
+            summary = "Create many pets",
+            description =
+                    "Creates all valid pets of the array in one repository call and reports a"
+                            + " result per pet, in request order. Invalid pets are rejected"
+                            + " individually and do not prevent the others from being created")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Batch processed; see the status of each item",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PetBatchResponse.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Batch too large",
+                        content =
+                                @Content(
+                                        mediaType = "application/problem+json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ValidationErrorResponse.class)))
+            })
+    public ResponseEntity<PetBatchResponse> createPets(
+            @RequestBody
+                    @Size(max = MAX_BATCH_SIZE, message = "Batch must contain at most 1000 pets")
+                    List<CreatePetRequest> requests) {
+        List<CreatePetRequest> validRequests = new ArrayList<>(requests.size());
+        List<PetBatchResponse.Item> items = rejectInvalid(validator, requests, validRequests);
+        return ResponseEntity.ok(complete(items, createPetsHandler.handle(validRequests)));
+    }
+
+    /**
+     * Validates each pet of the batch, so one bad pet is reported instead of failing the whole
+     * batch, and collects the valid ones into {@code validRequests}.
+     *
+     * @return one item per request, with a null placeholder for each valid pet
+     */
+    static List<PetBatchResponse.Item> rejectInvalid(
+            Validator validator,
+            List<CreatePetRequest> requests,
+            List<CreatePetRequest> validRequests) {
+        List<PetBatchResponse.Item> items = new ArrayList<>(requests.size());
+        for (int index = 0; index < requests.size(); index++) {
+            List<ValidationError> errors = validate(validator, requests.get(index));
+            if (errors.isEmpty()) {
+                validRequests.add(requests.get(index));
+                items.add(null);
+            } else {
+                items.add(
+                        new PetBatchResponse.Item(
+                                index, HttpStatus.BAD_REQUEST.value(), null, errors));
+            }
+        }
+        return items;
+    }
+
+    /** Fills the placeholders left by {@link #rejectInvalid} with the pets created for them. */
+    static PetBatchResponse complete(List<PetBatchResponse.Item> items, List<PetDTO> createdPets) {
+        Iterator<PetDTO> created = createdPets.iterator();
+        for (int index = 0; index < items.size(); index++) {
+            if (items.get(index) == null) {
+                items.set(
+                        index,
+                        new PetBatchResponse.Item(
+                                index, HttpStatus.CREATED.value(), created.next(), null));
+            }
+        }
+        return new PetBatchResponse(createdPets.size(), items.size() - createdPets.size(), items);
+    }
+
+    private static List<ValidationError> validate(Validator validator, CreatePetRequest request) {
+        if (request == null) {
+            return List.of(new ValidationError("", null, "Pet must not be null"));
+        }
+        return validator.validate(request).stream()
+                .map(
+                        violation ->
+                                new ValidationError(
+                                        violation.getPropertyPath().toString(),
+                                        violation.getInvalidValue(),
+                                        violation.getMessage()))
+                .sorted(Comparator.comparing(ValidationError::field))
+                .toList();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.infrastructure.web.GlobalExceptionHandler.ValidationError;
+import com.example.pet.pet.application.PetDTO;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * Outcome of a bulk create: one item per submitted pet, in request order.
+ *
+ * @param created the number of pets created
+ * @param failed  the number of pets rejected
+ * @param items   the per-pet results
+ */
+@Schema(description = "Per-pet results of a bulk create")
+public record PetBatchResponse(int created, int failed, List<Item> items) {
+
+    /**
+     * Result for one submitted pet.
+     *
+     * @param index  the position of the pet in the request
+     * @param status 201 if the pet was created, 400 if it was rejected
+     * @param pet    the created pet, if any
+     * @param errors why the pet was rejected, if it was
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Item(int index, int status, PetDTO pet, List<ValidationError> errors) {}
+}
@@ -0,0 +1,44 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetChangeDTO;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import java.util.Map;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Server-Sent Events of the change feed. Each change is an event named after its type, with the
+ * sequence number as its ID, so a reconnecting client resumes with {@code Last-Event-ID}. A
+ * client that fell off the feed gets a final {@code resync} event: it must reload the pets and
+ * reconnect with that event's ID.
+ */
+final class PetChangeEvents {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private PetChangeEvents() {}
+
+    static Flux<ServerSentEvent<Object>> of(Flux<PetChangeDTO> changes) {
+        // Both stacks send the response headers with the first event; an opening comment sends
+        // them straight away, so clients and proxies see the stream open while it is quiet
+        ServerSentEvent<Object> opened = ServerSentEvent.builder().comment("connected").build();
+        return changes.map(
+                        change ->
+                                ServerSentEvent.<Object>builder(change)
+                                        .id(Long.toString(change.sequence()))
+                                        .event(change.type())
+                                        .build())
+                .onErrorResume(
+                        PetChangesExpiredException.class, e -> Mono.just(resync(e.lastSequence())))
+                .startWith(opened);
+    }
+
+    private static ServerSentEvent<Object> resync(long lastSequence) {
+        // EventSource ignores events without data, so the sequence is repeated in the body
+        return ServerSentEvent.<Object>builder(Map.of("sequence", lastSequence))
+                .id(Long.toString(lastSequence))
+                .event("resync")
+                .build();
+    }
+}
@@ -1,14 +1,38 @@
 package com.example.pet.pet.infrastructure.api;
 
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.IDS;
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.MODIFIED_SINCE;
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.OWNER;
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.SPECIES;
+
 import com.example.pet.infrastructure.web.ValidationErrorResponse;
 import com.example.pet.pet.application.CreatePetHandler;
 import com.example.pet.pet.application.CreatePetRequest;
 import com.example.pet.pet.application.DeletePetHandler;
+import com.example.pet.pet.application.FindPetsHandler;
 import com.example.pet.pet.application.GetAllPetsHandler;
+import com.example.pet.pet.application.GetModifiedPetsHandler;
 import com.example.pet.pet.application.GetPetByIdHandler;
+import com.example.pet.pet.application.GetPetPageHandler;
+import com.example.pet.pet.application.GetPetStatisticsHandler;
+import com.example.pet.pet.application.GetPetsByIdsHandler;
+import com.example.pet.pet.application.GetReplicationStatusHandler;
+import com.example.pet.pet.application.PatchPetHandler;
+import com.example.pet.pet.application.PetChangeDTO;
 import com.example.pet.pet.application.PetDTO;
+import com.example.pet.pet.application.PetDeltaDTO;
+import com.example.pet.pet.application.PetLookupDTO;
+import com.example.pet.pet.application.PetPageDTO;
+import com.example.pet.pet.application.PetStatisticsDTO;
+import com.example.pet.pet.application.ReplicationStatusDTO;
+import com.example.pet.pet.application.StreamAllPetsHandler;
+import com.example.pet.pet.application.StreamPetChangesHandler;
 import com.example.pet.pet.application.UpdatePetHandler;
 import com.example.pet.pet.application.UpdatePetRequest;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,34 +41,87 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.publisher.Flux;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/pets")
 @Tag(name = "Pet", description = "Pet management APIs")
 public class PetController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_LOOKUP_SIZE = 1000;
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final GetPetByIdHandler queryHandler;
     private final GetAllPetsHandler getAllPetsHandler;
+    private final FindPetsHandler findPetsHandler;
+    private final GetPetPageHandler getPetPageHandler;
+    private final GetPetsByIdsHandler getPetsByIdsHandler;
+    private final GetModifiedPetsHandler getModifiedPetsHandler;
+    private final GetPetStatisticsHandler getPetStatisticsHandler;
+    private final GetReplicationStatusHandler getReplicationStatusHandler;
+    private final StreamAllPetsHandler streamAllPetsHandler;
+    private final StreamPetChangesHandler streamPetChangesHandler;
     private final CreatePetHandler createHandler;
     private final UpdatePetHandler updateHandler;
+    private final PatchPetHandler patchHandler;
     private final DeletePetHandler deleteHandler;
+    private final PetJsonCache petJsonCache;
+    private final ObjectMapper objectMapper;
 
     public PetController(
             GetPetByIdHandler queryHandler,
             GetAllPetsHandler getAllPetsHandler,
+            FindPetsHandler findPetsHandler,
+            GetPetPageHandler getPetPageHandler,
+            GetPetsByIdsHandler getPetsByIdsHandler,
+            GetModifiedPetsHandler getModifiedPetsHandler,
+            GetPetStatisticsHandler getPetStatisticsHandler,
+            GetReplicationStatusHandler getReplicationStatusHandler,
+            StreamAllPetsHandler streamAllPetsHandler,
+            StreamPetChangesHandler streamPetChangesHandler,
             CreatePetHandler createHandler,
             UpdatePetHandler updateHandler,
-            DeletePetHandler deleteHandler) {
+            PatchPetHandler patchHandler,
+            DeletePetHandler deleteHandler,
+            PetJsonCache petJsonCache,
+            ObjectMapper objectMapper) {
         this.queryHandler = queryHandler;
         this.getAllPetsHandler = getAllPetsHandler;
+        this.findPetsHandler = findPetsHandler;
+        this.getPetPageHandler = getPetPageHandler;
+        this.getPetsByIdsHandler = getPetsByIdsHandler;
+        this.getModifiedPetsHandler = getModifiedPetsHandler;
+        this.getPetStatisticsHandler = getPetStatisticsHandler;
+        this.getReplicationStatusHandler = getReplicationStatusHandler;
+        this.streamAllPetsHandler = streamAllPetsHandler;
+        this.streamPetChangesHandler = streamPetChangesHandler;
         this.createHandler = createHandler;
         this.updateHandler = updateHandler;
+        this.patchHandler = patchHandler;
         this.deleteHandler = deleteHandler;
+        this.petJsonCache = petJsonCache;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -71,7 +148,10 @@ public class PetController {
                                                         implementation =
                                                                 ValidationErrorResponse.class)))
             })
-    public ResponseEntity<PetDTO> createPet(@Valid @RequestBody CreatePetRequest request) {
+    public ResponseEntity<PetDTO> createPet(
+            @Valid @RequestBody CreatePetRequest request,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                    String accept) {
         PetDTO createdPet = createHandler.handle(request);
 
         // Build Location header: /api/v1/pets/{id}
@@ -81,11 +161,15 @@ public class PetController {
                         .buildAndExpand(createdPet.id())
                         .toUri();
 
-        return ResponseEntity.created(location).body(createdPet);
+        return petResponse(ResponseEntity.created(location), createdPet, accept);
     }
 
     @GetMapping
-    @Operation(summary = "Get all pets", description = "Returns a list of all pets in the system")
+    @Operation(
+            summary = "Get all pets",
+            description =
+                    "Returns a list of all pets in the system, optionally filtered by species"
+                            + " and/or owner name")
     @ApiResponses(
             value = {
                 @ApiResponse(
@@ -94,15 +178,275 @@ public class PetController {
                         content =
                                 @Content(
                                         mediaType = "application/json",
-                                        schema = @Schema(implementation = PetDTO.class)))
+                                        schema = @Schema(implementation = PetDTO.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid filter",
+                        content =
+                                @Content(
+                                        mediaType = "application/problem+json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ValidationErrorResponse.class)))
             })
-    public ResponseEntity<List<PetDTO>> getAllPets() {
-        List<PetDTO> pets = getAllPetsHandler.handle();
+    public ResponseEntity<List<PetDTO>> getAllPets(
+            @Parameter(description = "Only return pets of this species", example = "Dog")
+                    @RequestParam(required = false)
+                    @Pattern(regexp = ".*\\S.*", message = "Species must not be blank")
+                    String species,
+            @Parameter(description = "Only return pets of this owner", example = "John Doe")
+                    @RequestParam(required = false)
+                    @Pattern(regexp = ".*\\S.*", message = "Owner must not be blank")
+                    String owner) {
+        List<PetDTO> pets =
+                species == null && owner == null
+                        ? getAllPetsHandler.handle()
+                        : findPetsHandler.handle(species, owner);
         return ResponseEntity.ok(pets);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all pets as NDJSON",
+            description =
+                    "Streams every pet as one JSON object per line while iterating the"
+                            + " repository, without building the full list in memory. Cannot"
+                            + " be combined with the species and owner filters")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Stream of pets, one per line",
+                        content =
+                                @Content(
+                                        mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                        schema = @Schema(implementation = PetDTO.class)))
+            })
+    public ResponseEntity<StreamingResponseBody> streamAllPets(
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "the NDJSON export", SPECIES, OWNER);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(this::writeAllPetsAsNdjson);
+    }
+
+    private void writeAllPetsAsNdjson(OutputStream out) throws IOException {
+        // Flushing per value would turn every pet into its own network write; the servlet
+        // buffer already pushes data out as it fills
+        ObjectWriter writer =
+                objectMapper
+                        .writerFor(PetDTO.class)
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (Stream<PetDTO> pets = streamAllPetsHandler.handle();
+                JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (PetDTO pet : (Iterable<PetDTO>) pets::iterator) {
+                writer.writeValue(generator, pet);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(
+            summary = "Get a page of pets",
+            description =
+                    "Returns up to 'limit' pets ordered by ID, starting after 'cursor'. Pass the"
+                            + " returned nextCursor to fetch the following page. Cannot be"
+                            + " combined with 'ids', 'modifiedSince' or the species and owner"
+                            + " filters")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successfully retrieved page of pets",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PetPageDTO.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid page size, or combined with a filter",
+                        content =
+                                @Content(
+                                        mediaType = "application/problem+json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ValidationErrorResponse.class)))
+            })
+    public ResponseEntity<PetPageDTO> getPetPage(
+            @Parameter(description = "ID of the last pet of the previous page", example = "123")
+                    @RequestParam(required = false)
+                    Long cursor,
+            @Parameter(description = "Maximum number of pets to return", example = "100")
+                    @RequestParam
+                    @Min(value = 1, message = "Limit must be at least 1")
+                    @Max(value = MAX_PAGE_SIZE, message = "Limit must be at most 1000")
+                    int limit,
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "'limit'", IDS, MODIFIED_SINCE, SPECIES, OWNER);
+        return ResponseEntity.ok(getPetPageHandler.handle(cursor, limit));
+    }
+
+    @GetMapping(params = {"ids", "!limit"})
+    @Operation(
+            summary = "Get pets by IDs",
+            description =
+                    "Returns the pets with the given IDs in request order, in one call, and"
+                            + " lists the IDs for which no pet exists. Cannot be combined with the"
+                            + " other query parameters")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successfully retrieved pets",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PetLookupDTO.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Too many IDs, or combined with another query parameter",
+                        content =
+                                @Content(
+                                        mediaType = "application/problem+json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ValidationErrorResponse.class)))
+            })
+    public ResponseEntity<PetLookupDTO> getPetsByIds(
+            @Parameter(description = "Comma-separated pet IDs", example = "1,2,3")
+                    @RequestParam
+                    @Size(max = MAX_LOOKUP_SIZE, message = "At most 1000 IDs can be requested")
+                    List<Long> ids,
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "'ids'", MODIFIED_SINCE, SPECIES, OWNER);
+        return ResponseEntity.ok(getPetsByIdsHandler.handle(ids));
+    }
+
+    @GetMapping(params = {"modifiedSince", "!limit", "!ids"})
+    @Operation(
+            summary = "Get pets modified since a sequence number",
+            description =
+                    "Returns the pets created or updated and the IDs of the pets deleted after"
+                            + " 'modifiedSince', with the highWaterMark to pass next time. Answers"
+                            + " 410 with the current sequence number if 'modifiedSince' is no"
+                            + " longer known, for instance after a restart: reload all pets,"
+                            + " then continue from that number. Cannot be combined with the other"
+                            + " query parameters")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successfully retrieved changed pets",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PetDeltaDTO.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Combined with another query parameter",
+                        content = @Content(mediaType = "application/problem+json")),
+                @ApiResponse(
+                        responseCode = "410",
+                        description = "Sequence number not known; a full reload is needed",
+                        content = @Content(mediaType = "application/problem+json"))
+            })
+    public ResponseEntity<PetDeltaDTO> getModifiedPets(
+            @Parameter(description = "High-water mark of the previous call", example = "42")
+                    @RequestParam
+                    long modifiedSince,
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "'modifiedSince'", SPECIES, OWNER);
+        return ResponseEntity.ok(getModifiedPetsHandler.handle(modifiedSince));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get pet statistics",
+            description =
+                    "Returns the number of pets in total and per species, owner and age, from"
+                            + " counters kept current by every write rather than a scan of all"
+                            + " pets. With the repository cache enabled, also its hits, misses"
+                            + " and evictions")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successfully retrieved statistics",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PetStatisticsDTO.class)))
+            })
+    public ResponseEntity<PetStatisticsDTO> getStatistics() {
+        return ResponseEntity.ok(getPetStatisticsHandler.handle());
+    }
+
+    @GetMapping("/replication")
+    @Operation(
+            summary = "Get replication status",
+            description =
+                    "Returns whether this instance is standalone, a leader or a follower. A"
+                            + " leader lists its connected followers with the number of changes"
+                            + " each has yet to apply; a follower reports its own lag and how"
+                            + " long ago it last heard from the leader")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successfully retrieved replication status",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ReplicationStatusDTO.class)))
+            })
+    public ResponseEntity<ReplicationStatusDTO> getReplicationStatus() {
+        return ResponseEntity.ok(getReplicationStatusHandler.handle());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Follow changes to pets",
+            description =
+                    "Streams every create, update and delete as a Server-Sent Event named"
+                            + " created, updated or deleted, with the change's sequence number as"
+                            + " its ID. Starts after Last-Event-ID, or with the next change. A"
+                            + " client that falls behind the retained changes gets a final resync"
+                            + " event: reload the pets, then reconnect with its ID")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Stream of changes",
+                        content =
+                                @Content(
+                                        mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                        schema = @Schema(implementation = PetChangeDTO.class)))
+            })
+    public Flux<ServerSentEvent<Object>> streamChanges(
+            @Parameter(description = "Sequence number of the last change received", example = "42")
+                    @RequestHeader(name = PetChangeEvents.LAST_EVENT_ID, required = false)
+                    Long lastEventId) {
+        return PetChangeEvents.of(streamPetChangesHandler.handle(lastEventId));
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get a pet by ID", description = "Returns a pet based on the provided ID")
+    @Operation(
+            summary = "Get a pet by ID",
+            description =
+                    "Returns a pet based on the provided ID, with an ETag derived from its version"
+                        + " and encoding. Answers 304 without a body when If-None-Match matches. On"
+                        + " a read replica, readYourWrites=true first waits until every write"
+                        + " completed on the leader is applied")
     @ApiResponses(
             value = {
                 @ApiResponse(
@@ -112,25 +456,42 @@ public class PetController {
                                 @Content(
                                         mediaType = "application/json",
                                         schema = @Schema(implementation = PetDTO.class))),
+                @ApiResponse(
+                        responseCode = "304",
+                        description = "Pet unchanged since the ETag in If-None-Match",
+                        content = @Content),
                 @ApiResponse(
                         responseCode = "404",
                         description = "Pet not found",
-                        content = @Content)
+                        content = @Content),
+                @ApiResponse(
+                        responseCode = "503",
+                        description = "Read replica could not catch up with the leader in time",
+                        content = @Content(mediaType = "application/problem+json"))
             })
     public ResponseEntity<PetDTO> getPetById(
             @Parameter(name = "id", description = "Pet ID", required = true, example = "123")
                     @PathVariable
-                    Long id) {
+                    Long id,
+            @Parameter(description = "See every write completed before the request")
+                    @RequestParam(defaultValue = "false")
+                    boolean readYourWrites,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                    String accept) {
+        // Spring compares the ETag with If-None-Match and, on a match, sends 304 without
+        // writing the body
         return queryHandler
-                .handle(id)
-                .map(ResponseEntity::ok)
+                .handle(id, readYourWrites)
+                .map(pet -> petResponse(ResponseEntity.ok(), pet, accept))
                 .orElseGet(ResponseEntity.notFound()::build);
     }
 
     @PutMapping("/{id}")
     @Operation(
             summary = "Update an existing pet",
-            description = "Updates a pet with new information")
+            description =
+                    "Updates a pet with new information. With If-Match, the update only"
+                            + " applies if the pet still has that ETag")
     @ApiResponses(
             value = {
                 @ApiResponse(
@@ -153,36 +514,140 @@ public class PetController {
                                         schema =
                                                 @Schema(
                                                         implementation =
-                                                                ValidationErrorResponse.class)))
+                                                                ValidationErrorResponse.class))),
+                @ApiResponse(
+                        responseCode = "412",
+                        description = "Pet was changed since the ETag in If-Match",
+                        content = @Content(mediaType = "application/problem+json"))
             })
     public ResponseEntity<PetDTO> updatePet(
             @Parameter(name = "id", description = "Pet ID", required = true, example = "123")
                     @PathVariable
                     Long id,
+            @Parameter(
+                            description = "ETags of the version being replaced; any one may match",
+                            example = "\"3\"")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                    String accept,
             @Valid @RequestBody UpdatePetRequest request) {
         return updateHandler
-                .handle(id, request)
-                .map(ResponseEntity::ok)
+                .handle(id, request, expectedVersion(id, ifMatch))
+                .map(pet -> petResponse(ResponseEntity.ok(), pet, accept))
+                .orElseGet(ResponseEntity.notFound()::build);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+    @Operation(
+            summary = "Partially update a pet",
+            description =
+                    "Applies a JSON Merge Patch (RFC 7396): only the supplied fields change, and"
+                            + " null removes the age or owner name. With If-Match, the patch only"
+                            + " applies if the pet still has that ETag")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Pet updated successfully",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = PetDTO.class))),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "Pet not found",
+                        content = @Content),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid patch",
+                        content =
+                                @Content(
+                                        mediaType = "application/problem+json",
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ValidationErrorResponse.class))),
+                @ApiResponse(
+                        responseCode = "412",
+                        description = "Pet was changed since the ETag in If-Match",
+                        content = @Content(mediaType = "application/problem+json"))
+            })
+    public ResponseEntity<PetDTO> patchPet(
+            @Parameter(name = "id", description = "Pet ID", required = true, example = "123")
+                    @PathVariable
+                    Long id,
+            @Parameter(
+                            description = "ETags of the version being patched; any one may match",
+                            example = "\"3\"")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch,
+            @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                    String accept,
+            @RequestBody Map<String, Object> patch) {
+        return patchHandler
+                .handle(id, patch, expectedVersion(id, ifMatch))
+                .map(pet -> petResponse(ResponseEntity.ok(), pet, accept))
                 .orElseGet(ResponseEntity.notFound()::build);
     }
 
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Delete a pet",
-            description = "Deletes a pet by ID. Returns 204 if successful, 404 if not found")
+            description =
+                    "Deletes a pet by ID. Returns 204 if successful, 404 if not found. With"
+                            + " If-Match, the pet is only deleted if it still has that ETag")
     @ApiResponses(
             value = {
                 @ApiResponse(responseCode = "204", description = "Pet deleted successfully"),
                 @ApiResponse(
                         responseCode = "404",
                         description = "Pet not found",
-                        content = @Content)
+                        content = @Content),
+                @ApiResponse(
+                        responseCode = "412",
+                        description = "Pet was changed since the ETag in If-Match",
+                        content = @Content(mediaType = "application/problem+json"))
             })
     public ResponseEntity<Void> deletePet(
             @Parameter(name = "id", description = "Pet ID", required = true, example = "123")
                     @PathVariable
-                    Long id) {
-        boolean deleted = deleteHandler.handle(id);
-        return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+                    Long id,
+            @Parameter(
+                            description = "ETags of the version being deleted; any one may match",
+                            example = "\"3\"")
+                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                    String ifMatch) {
+        boolean deleted = deleteHandler.handle(id, expectedVersion(id, ifMatch));
+        if (!deleted) {
+            return ResponseEntity.notFound().build();
+        }
+        petJsonCache.invalidate(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * The version If-Match requires, or null for none. A list of several versions is narrowed to
+     * the current one with a read; the write then still checks it atomically.
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        List<Long> versions = PetETags.expectedVersions(ifMatch);
+        return switch (versions.size()) {
+            case 0 -> null;
+            case 1 -> versions.getFirst();
+            // A missing pet matches none: the write answers 404
+            default ->
+                    queryHandler
+                            .handle(id)
+                            .map(pet -> PetETags.select(versions, pet.version()))
+                            .orElse(versions.getFirst());
+        };
+    }
+
+    private static ResponseEntity<PetDTO> petResponse(
+            ResponseEntity.BodyBuilder response, PetDTO pet, String accept) {
+        return response.eTag(PetETags.of(pet.version(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(pet);
     }
 }
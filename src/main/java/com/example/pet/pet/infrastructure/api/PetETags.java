@@ -0,0 +1,123 @@
+package com.example.pet.pet.infrastructure.api;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Strong entity tags derived from the pet version and the encoding of the response. The version
+ * changes on every update of a pet and JSON, CBOR and Smile encode it in different bytes, so
+ * {@code "<version>"}, {@code "<version>-cbor"} and {@code "<version>-smile"} each identify one
+ * representation of one pet URL. Responses carrying them vary by {@code Accept}.
+ */
+final class PetETags {
+
+    /** The tag suffix of each encoding, in the order the message converters prefer them. */
+    private static final Map<MediaType, String> ENCODINGS = new LinkedHashMap<>();
+
+    static {
+        ENCODINGS.put(MediaType.APPLICATION_JSON, "");
+        ENCODINGS.put(MediaType.APPLICATION_CBOR, "-cbor");
+        ENCODINGS.put(MediaType.parseMediaType("application/x-jackson-smile"), "-smile");
+    }
+
+    private PetETags() {}
+
+    /**
+     * @param version the version of the pet
+     * @param accept  the {@code Accept} header of the request, which picks the encoding the same
+     *     way content negotiation does; null or unparsable means JSON
+     */
+    static String of(long version, String accept) {
+        return "\"" + version + suffix(accept) + "\"";
+    }
+
+    private static String suffix(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+            // Quality first, then specificity, as for content negotiation
+            MimeTypeUtils.sortBySpecificity(accepted);
+        } catch (IllegalArgumentException e) {
+            // Invalid or too many media types: content negotiation rejects the request
+            return "";
+        }
+        for (MediaType type : accepted) {
+            for (Map.Entry<MediaType, String> encoding : ENCODINGS.entrySet()) {
+                if (type.isCompatibleWith(encoding.getKey())) {
+                    return encoding.getValue();
+                }
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Reads the versions an {@code If-Match} header lists. A tag of any encoding names the version
+     * it was issued for; weak tags and tags not issued by {@link #of(long, String)} are skipped,
+     * since they never match.
+     *
+     * @return the distinct versions in header order, or an empty list if the header is absent or
+     *     {@code *}
+     * @throws ResponseStatusException with 412 if the header lists no tag of ours
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return List.of();
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String tag : ifMatch.split(",")) {
+            Long version = version(tag.strip());
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        if (versions.isEmpty()) {
+            throw preconditionFailed();
+        }
+        return List.copyOf(versions);
+    }
+
+    /**
+     * Chooses the listed version that can match, so that the write checks only that one.
+     *
+     * @param versions       the versions from {@link #expectedVersions(String)}
+     * @param currentVersion the version the pet has now
+     * @throws ResponseStatusException with 412 if the current version is not listed
+     */
+    static long select(List<Long> versions, long currentVersion) {
+        if (!versions.contains(currentVersion)) {
+            throw preconditionFailed();
+        }
+        return currentVersion;
+    }
+
+    private static Long version(String tag) {
+        if (tag.length() <= 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            return null;
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        for (String suffix : ENCODINGS.values()) {
+            if (!suffix.isEmpty() && opaque.endsWith(suffix)) {
+                opaque = opaque.substring(0, opaque.length() - suffix.length());
+                break;
+            }
+        }
+        try {
+            return Long.parseLong(opaque);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static ResponseStatusException preconditionFailed() {
+        return new ResponseStatusException(
+                HttpStatus.PRECONDITION_FAILED, "If-Match does not match the current version");
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetChangeDTO;
+import com.example.pet.pet.application.PetDTO;
+import com.example.pet.pet.application.PetDeltaDTO;
+import com.example.pet.pet.application.PetLookupDTO;
+import com.example.pet.pet.application.PetPageDTO;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import java.util.List;
+
+/**
+ * Jackson module that writes pet IDs, and the page cursor that is one, as strings rather than
+ * numbers. JavaScript numbers hold integers exactly only up to 2<sup>53</sup>, which 63-bit IDs
+ * such as those of the snowflake allocator exceed. Requests may still send IDs as numbers or
+ * strings.
+ */
+public final class PetIdJsonModule extends SimpleModule {
+
+    public PetIdJsonModule() {
+        super(PetIdJsonModule.class.getSimpleName());
+        setMixInAnnotation(PetDTO.class, PetDTOMixIn.class);
+        setMixInAnnotation(PetChangeDTO.class, PetChangeDTOMixIn.class);
+        setMixInAnnotation(PetDeltaDTO.class, PetDeltaDTOMixIn.class);
+        setMixInAnnotation(PetLookupDTO.class, PetLookupDTOMixIn.class);
+        setMixInAnnotation(PetPageDTO.class, PetPageDTOMixIn.class);
+    }
+
+    private interface PetDTOMixIn {
+        @JsonSerialize(using = ToStringSerializer.class)
+        Long id();
+    }
+
+    private interface PetChangeDTOMixIn {
+        @JsonSerialize(using = ToStringSerializer.class)
+        long petId();
+    }
+
+    private interface PetDeltaDTOMixIn {
+        @JsonSerialize(contentUsing = ToStringSerializer.class)
+        List<Long> deletedIds();
+    }
+
+    private interface PetLookupDTOMixIn {
+        @JsonSerialize(contentUsing = ToStringSerializer.class)
+        List<Long> missingIds();
+    }
+
+    private interface PetPageDTOMixIn {
+        @JsonSerialize(using = ToStringSerializer.class)
+        Long nextCursor();
+    }
+}
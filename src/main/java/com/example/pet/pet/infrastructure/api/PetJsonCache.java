@@ -0,0 +1,79 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.UncheckedIOException;
+
+/**
+ * UTF-8 JSON of single-pet responses, encoded once per pet version.
+ *
+ * <p>A pet's representation only changes with its version, so the bytes are cached per ID
+ * together with the version they encode and served as long as the pet still has that version.
+ * A new version replaces the entry when it is first served, and a stale entry is never returned,
+ * whichever path changed the pet. Entries are held in a bounded Caffeine cache.
+ */
+public class PetJsonCache {
+
+    private final ObjectWriter writer;
+    private final Cache<Long, Entry> cache;
+
+    private PetJsonCache(ObjectMapper objectMapper, Cache<Long, Entry> cache) {
+        this.writer = objectMapper.writerFor(PetDTO.class);
+        this.cache = cache;
+    }
+
+    /** Caches the JSON of up to {@code maximumSize} pets. */
+    public static PetJsonCache bounded(ObjectMapper objectMapper, long maximumSize) {
+        return new PetJsonCache(
+                objectMapper, Caffeine.newBuilder().maximumSize(maximumSize).build());
+    }
+
+    /** Encodes every response anew. */
+    public static PetJsonCache disabled(ObjectMapper objectMapper) {
+        return new PetJsonCache(objectMapper, null);
+    }
+
+    private record Entry(long version, byte[] json) {}
+
+    /**
+     * Returns the JSON of the pet, from the cache if it holds this version.
+     * The returned array is shared and must not be modified.
+     */
+    public byte[] toJson(PetDTO pet) {
+        if (cache == null) {
+            return encode(pet);
+        }
+        Entry cached = cache.getIfPresent(pet.id());
+        if (cached != null && cached.version() == pet.version()) {
+            return cached.json();
+        }
+        Entry encoded = new Entry(pet.version(), encode(pet));
+        // A response for an older version, finishing late, must not replace a newer entry
+        cache.asMap()
+                .merge(
+                        pet.id(),
+                        encoded,
+                        (existing, fresh) ->
+                                existing.version() >= fresh.version() ? existing : fresh);
+        return encoded.json();
+    }
+
+    /** Drops the entry of a deleted pet. */
+    public void invalidate(Long id) {
+        if (cache != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    private byte[] encode(PetDTO pet) {
+        try {
+            return writer.writeValueAsBytes(pet);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetDTO;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of PetJsonHttpMessageConverter: encodes a single pet from the PetJsonCache.
+ * A Flux of pets is passed on to {@code listEncoder}, the regular Jackson JSON encoder, so lists
+ * are still streamed as one array and do not churn the cache.
+ */
+public class PetJsonEncoder implements Encoder<PetDTO> {
+
+    private final PetJsonCache petJsonCache;
+    private final Encoder<Object> listEncoder;
+
+    public PetJsonEncoder(PetJsonCache petJsonCache, Encoder<Object> listEncoder) {
+        this.petJsonCache = petJsonCache;
+        this.listEncoder = listEncoder;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return PetDTO.class == elementType.toClass()
+                && (mimeType == null || MediaType.APPLICATION_JSON.equalsTypeAndSubtype(mimeType));
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+            Publisher<? extends PetDTO> inputStream,
+            DataBufferFactory bufferFactory,
+            ResolvableType elementType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        if (inputStream instanceof Mono<? extends PetDTO> pet) {
+            return pet.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                    .flux();
+        }
+        return listEncoder.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+    }
+
+    @Override
+    public DataBuffer encodeValue(
+            PetDTO pet,
+            DataBufferFactory bufferFactory,
+            ResolvableType valueType,
+            MimeType mimeType,
+            Map<String, Object> hints) {
+        return bufferFactory.wrap(petJsonCache.toJson(pet));
+    }
+
+    @Override
+    public List<MimeType> getEncodableMimeTypes() {
+        return List.of(MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetDTO;
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes single-pet JSON responses from the PetJsonCache instead of through Jackson.
+ * Registered ahead of the Jackson converters, so it only takes over when JSON is negotiated;
+ * other encodings, lists of pets and all request bodies are left to them.
+ */
+public class PetJsonHttpMessageConverter extends AbstractHttpMessageConverter<PetDTO> {
+
+    private final PetJsonCache petJsonCache;
+
+    public PetJsonHttpMessageConverter(PetJsonCache petJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.petJsonCache = petJsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PetDTO.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PetDTO readInternal(Class<? extends PetDTO> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Pets are read by Jackson", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(PetDTO pet, MediaType contentType) {
+        return (long) petJsonCache.toJson(pet).length;
+    }
+
+    @Override
+    protected void writeInternal(PetDTO pet, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(petJsonCache.toJson(pet));
+    }
+}
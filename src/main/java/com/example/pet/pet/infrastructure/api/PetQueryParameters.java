@@ -0,0 +1,37 @@
+package com.example.pet.pet.infrastructure.api;
+
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Query parameters of {@code GET /api/v1/pets}. Each request mapping honours only some of them,
+ * so the others are rejected rather than silently ignored.
+ */
+final class PetQueryParameters {
+
+    static final String SPECIES = "species";
+    static final String OWNER = "owner";
+    static final String IDS = "ids";
+    static final String MODIFIED_SINCE = "modifiedSince";
+
+    private PetQueryParameters() {}
+
+    /**
+     * @param parameters  the names of the query parameters of the request
+     * @param usage       what the request asks for, for the error message
+     * @param unsupported the parameters that {@code usage} does not honour
+     * @throws ResponseStatusException with 400 naming the first unsupported parameter present
+     */
+    static void reject(Set<String> parameters, String usage, String... unsupported) {
+        for (String parameter : unsupported) {
+            if (parameters.contains(parameter)) {
+                throw new ResponseStatusException(
+                        HttpStatus.BAD_REQUEST,
+                        String.format(
+                                "Query parameter '%s' cannot be combined with %s",
+                                parameter, usage));
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.CreatePetRequest;
+import com.example.pet.pet.application.ReactiveCreatePetsHandler;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/** WebFlux counterpart of PetBatchController, active with the {@code reactive} profile. */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1")
+@Tag(name = "Pet", description = "Pet management APIs")
+public class ReactivePetBatchController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ReactiveCreatePetsHandler createPetsHandler;
+    private final Validator validator;
+
+    public ReactivePetBatchController(
+            ReactiveCreatePetsHandler createPetsHandler, Validator validator) {
+        this.createPetsHandler = createPetsHandler;
+        this.validator = validator;
+    }
+
+    @PostMapping("/pets:batch")
+    public Mono<PetBatchResponse> createPets(
+            @RequestBody
+                    @Size(max = MAX_BATCH_SIZE, message = "Batch must contain at most 1000 pets")
+                    List<CreatePetRequest> requests) {
+        List<CreatePetRequest> validRequests = new ArrayList<>(requests.size());
+        List<PetBatchResponse.Item> items =
+                PetBatchController.rejectInvalid(validator, requests, validRequests);
+        return createPetsHandler
+                .handle(validRequests)
+                .map(createdPets -> PetBatchController.complete(items, createdPets));
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.pet.pet.infrastructure.api;
+
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.IDS;
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.MODIFIED_SINCE;
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.OWNER;
+import static com.example.pet.pet.infrastructure.api.PetQueryParameters.SPECIES;
+
+import com.example.pet.pet.application.CreatePetRequest;
+import com.example.pet.pet.application.GetReplicationStatusHandler;
+import com.example.pet.pet.application.PetDTO;
+import com.example.pet.pet.application.PetDeltaDTO;
+import com.example.pet.pet.application.PetLookupDTO;
+import com.example.pet.pet.application.PetPageDTO;
+import com.example.pet.pet.application.PetStatisticsDTO;
+import com.example.pet.pet.application.ReactiveCreatePetHandler;
+import com.example.pet.pet.application.ReactiveDeletePetHandler;
+import com.example.pet.pet.application.ReactiveFindPetsHandler;
+import com.example.pet.pet.application.ReactiveGetAllPetsHandler;
+import com.example.pet.pet.application.ReactiveGetModifiedPetsHandler;
+import com.example.pet.pet.application.ReactiveGetPetByIdHandler;
+import com.example.pet.pet.application.ReactiveGetPetPageHandler;
+import com.example.pet.pet.application.ReactiveGetPetStatisticsHandler;
+import com.example.pet.pet.application.ReactiveGetPetsByIdsHandler;
+import com.example.pet.pet.application.ReactivePatchPetHandler;
+import com.example.pet.pet.application.ReactiveUpdatePetHandler;
+import com.example.pet.pet.application.ReplicationStatusDTO;
+import com.example.pet.pet.application.StreamPetChangesHandler;
+import com.example.pet.pet.application.UpdatePetRequest;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of PetController, active with the {@code reactive} profile. Serves the same
+ * routes, status codes, headers and Problem Details errors; see PetController for the API
+ * documentation.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/v1/pets")
+@Tag(name = "Pet", description = "Pet management APIs")
+public class ReactivePetController {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_LOOKUP_SIZE = 1000;
+    private static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    private final ReactiveGetPetByIdHandler queryHandler;
+    private final ReactiveGetAllPetsHandler getAllPetsHandler;
+    private final ReactiveFindPetsHandler findPetsHandler;
+    private final ReactiveGetPetPageHandler getPetPageHandler;
+    private final ReactiveGetPetsByIdsHandler getPetsByIdsHandler;
+    private final ReactiveGetModifiedPetsHandler getModifiedPetsHandler;
+    private final ReactiveGetPetStatisticsHandler getPetStatisticsHandler;
+    private final GetReplicationStatusHandler getReplicationStatusHandler;
+    private final ReactiveCreatePetHandler createHandler;
+    private final ReactiveUpdatePetHandler updateHandler;
+    private final ReactivePatchPetHandler patchHandler;
+    private final ReactiveDeletePetHandler deleteHandler;
+    private final StreamPetChangesHandler streamPetChangesHandler;
+    private final PetJsonCache petJsonCache;
+
+    public ReactivePetController(
+            ReactiveGetPetByIdHandler queryHandler,
+            ReactiveGetAllPetsHandler getAllPetsHandler,
+            ReactiveFindPetsHandler findPetsHandler,
+            ReactiveGetPetPageHandler getPetPageHandler,
+            ReactiveGetPetsByIdsHandler getPetsByIdsHandler,
+            ReactiveGetModifiedPetsHandler getModifiedPetsHandler,
+            ReactiveGetPetStatisticsHandler getPetStatisticsHandler,
+            GetReplicationStatusHandler getReplicationStatusHandler,
+            ReactiveCreatePetHandler createHandler,
+            ReactiveUpdatePetHandler updateHandler,
+            ReactivePatchPetHandler patchHandler,
+            ReactiveDeletePetHandler deleteHandler,
+            StreamPetChangesHandler streamPetChangesHandler,
+            PetJsonCache petJsonCache) {
+        this.queryHandler = queryHandler;
+        this.getAllPetsHandler = getAllPetsHandler;
+        this.findPetsHandler = findPetsHandler;
+        this.getPetPageHandler = getPetPageHandler;
+        this.getPetsByIdsHandler = getPetsByIdsHandler;
+        this.getModifiedPetsHandler = getModifiedPetsHandler;
+        this.getPetStatisticsHandler = getPetStatisticsHandler;
+        this.getReplicationStatusHandler = getReplicationStatusHandler;
+        this.createHandler = createHandler;
+        this.updateHandler = updateHandler;
+        this.patchHandler = patchHandler;
+        this.deleteHandler = deleteHandler;
+        this.streamPetChangesHandler = streamPetChangesHandler;
+        this.petJsonCache = petJsonCache;
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<PetDTO>> createPet(
+            @Valid @RequestBody CreatePetRequest request,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            ServerHttpRequest httpRequest) {
+        return createHandler
+                .handle(request)
+                .map(
+                        createdPet -> {
+                            // Build Location header: /api/v1/pets/{id}
+                            URI location =
+                                    UriComponentsBuilder.fromUri(httpRequest.getURI())
+                                            .path("/{id}")
+                                            .buildAndExpand(createdPet.id())
+                                            .toUri();
+
+                            return petResponse(
+                                    ResponseEntity.created(location), createdPet, accept);
+                        });
+    }
+
+    @GetMapping
+    public Flux<PetDTO> getAllPets(
+            @RequestParam(required = false)
+                    @Pattern(regexp = ".*\\S.*", message = "Species must not be blank")
+                    String species,
+            @RequestParam(required = false)
+                    @Pattern(regexp = ".*\\S.*", message = "Owner must not be blank")
+                    String owner) {
+        // Encoded into a JSON array element by element, without collecting the list first
+        return species == null && owner == null
+                ? getAllPetsHandler.handle()
+                : findPetsHandler.handle(species, owner);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PetDTO> streamAllPets(@RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "the NDJSON export", SPECIES, OWNER);
+        return getAllPetsHandler.handle();
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<PetPageDTO> getPetPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam
+                    @Min(value = 1, message = "Limit must be at least 1")
+                    @Max(value = MAX_PAGE_SIZE, message = "Limit must be at most 1000")
+                    int limit,
+            @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "'limit'", IDS, MODIFIED_SINCE, SPECIES, OWNER);
+        return getPetPageHandler.handle(cursor, limit);
+    }
+
+    @GetMapping(params = {"ids", "!limit"})
+    public Mono<PetLookupDTO> getPetsByIds(
+            @RequestParam
+                    @Size(max = MAX_LOOKUP_SIZE, message = "At most 1000 IDs can be requested")
+                    List<Long> ids,
+            @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "'ids'", MODIFIED_SINCE, SPECIES, OWNER);
+        return getPetsByIdsHandler.handle(ids);
+    }
+
+    @GetMapping(params = {"modifiedSince", "!limit", "!ids"})
+    public Mono<PetDeltaDTO> getModifiedPets(
+            @RequestParam long modifiedSince, @RequestParam MultiValueMap<String, String> query) {
+        PetQueryParameters.reject(query.keySet(), "'modifiedSince'", SPECIES, OWNER);
+        return getModifiedPetsHandler.handle(modifiedSince);
+    }
+
+    @GetMapping("/stats")
+    public Mono<PetStatisticsDTO> getStatistics() {
+        return getPetStatisticsHandler.handle();
+    }
+
+    @GetMapping("/replication")
+    public Mono<ReplicationStatusDTO> getReplicationStatus() {
+        // Reads a few fields, so it needs no offloading from the event loop
+        return Mono.fromSupplier(getReplicationStatusHandler::handle);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(
+            @RequestHeader(name = PetChangeEvents.LAST_EVENT_ID, required = false)
+                    Long lastEventId) {
+        return PetChangeEvents.of(streamPetChangesHandler.handle(lastEventId));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<PetDTO>> getPetById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean readYourWrites,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // As with Spring MVC, the ETag is compared with If-None-Match and a match sends 304
+        return withETag(queryHandler.handle(id, readYourWrites), accept);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<PetDTO>> updatePet(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Valid @RequestBody UpdatePetRequest request) {
+        return withETag(
+                withExpectedVersion(
+                        id, ifMatch, version -> updateHandler.handle(id, request, version)),
+                accept);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON_VALUE)
+    public Mono<ResponseEntity<PetDTO>> patchPet(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestBody Map<String, Object> patch) {
+        return withETag(
+                withExpectedVersion(
+                        id, ifMatch, version -> patchHandler.handle(id, patch, version)),
+                accept);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletePet(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return withExpectedVersion(id, ifMatch, version -> deleteHandler.handle(id, version))
+                .map(
+                        deleted -> {
+                            if (!deleted) {
+                                return ResponseEntity.notFound().build();
+                            }
+                            petJsonCache.invalidate(id);
+                            return ResponseEntity.noContent().build();
+                        });
+    }
+
+    /**
+     * Runs the write with the version If-Match requires, or null for none. As with Spring MVC, a
+     * list of several versions is narrowed to the current one with a read.
+     */
+    private <T> Mono<T> withExpectedVersion(
+            Long id, String ifMatch, Function<Long, Mono<T>> write) {
+        List<Long> versions = PetETags.expectedVersions(ifMatch);
+        return switch (versions.size()) {
+            case 0 -> write.apply(null);
+            case 1 -> write.apply(versions.getFirst());
+            default ->
+                    queryHandler
+                            .handle(id)
+                            .map(pet -> PetETags.select(versions, pet.version()))
+                            .defaultIfEmpty(versions.getFirst())
+                            .flatMap(write);
+        };
+    }
+
+    private static Mono<ResponseEntity<PetDTO>> withETag(Mono<PetDTO> pet, String accept) {
+        return pet.map(found -> petResponse(ResponseEntity.ok(), found, accept))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<PetDTO> petResponse(
+            ResponseEntity.BodyBuilder response, PetDTO pet, String accept) {
+        return response.eTag(PetETags.of(pet.version(), accept))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(pet);
+    }
+}
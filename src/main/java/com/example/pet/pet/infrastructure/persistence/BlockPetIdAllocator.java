@@ -0,0 +1,157 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PetIdAllocator that leases blocks of IDs from a lease file shared by every instance, on the
+ * same host or a shared file system.
+ *
+ * <p>The file holds the end of the last block leased by any instance. Leasing a block takes an
+ * exclusive lock on the file, moves the end on by the block size and forces the file to disk
+ * before the lock is released, so no two instances lease the same block, even after a crash.
+ *
+ * <p>Each platform thread hands out IDs from a block of its own, so the hot path reads and
+ * increments a thread-local counter with no shared write; only every {@code blockSize}-th ID
+ * takes a lease. Virtual threads are too many and too short-lived for a block each: they share a
+ * fixed set of blocks, picked by thread ID, each guarded by its own lock. IDs of blocks that are
+ * not used up before a thread ends or the instance stops are never handed out.
+ */
+public final class BlockPetIdAllocator implements PetIdAllocator {
+
+    // FileLock excludes other processes but not other channels in this JVM, which throw
+    // OverlappingFileLockException instead of waiting; allocators on the same file in one JVM
+    // take turns on a shared lock
+    private static final Map<Path, Lock> LEASE_LOCKS = new ConcurrentHashMap<>();
+
+    private final FileChannel channel;
+    private final Lock leaseLock;
+    private final int blockSize;
+    private final ThreadLocal<Block> threadBlocks = ThreadLocal.withInitial(Block::new);
+    private final Block[] sharedBlocks;
+    // Guarded by leaseLock
+    private long floor;
+    private long leasedEnd;
+
+    /**
+     * @param leaseFile the lease file, created with a first ID of 0 if it does not exist
+     * @param blockSize the number of IDs leased at a time
+     */
+    public BlockPetIdAllocator(Path leaseFile, int blockSize) throws IOException {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        Path parent = leaseFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel =
+                FileChannel.open(
+                        leaseFile,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        this.leaseLock =
+                LEASE_LOCKS.computeIfAbsent(leaseFile.toRealPath(), path -> new ReentrantLock());
+        this.blockSize = blockSize;
+        this.sharedBlocks = new Block[Runtime.getRuntime().availableProcessors() * 4];
+        for (int i = 0; i < sharedBlocks.length; i++) {
+            sharedBlocks[i] = new Block();
+        }
+    }
+
+    @Override
+    public long nextId() {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return threadBlocks.get().next();
+        }
+        Block block =
+                sharedBlocks[(int) Math.floorMod(thread.threadId(), (long) sharedBlocks.length)];
+        block.lock.lock();
+        try {
+            return block.next();
+        } finally {
+            block.lock.unlock();
+        }
+    }
+
+    @Override
+    public void skipPast(long id) {
+        leaseLock.lock();
+        try {
+            // Applied to the file by the next lease, so restoring many IDs writes it once
+            floor = Math.max(floor, id + 1);
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    @Override
+    public long limit() {
+        leaseLock.lock();
+        try {
+            return Math.max(floor, leasedEnd);
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /** Leases the next block of IDs and returns its first ID. */
+    private long lease() {
+        leaseLock.lock();
+        try {
+            FileLock lock = channel.lock();
+            try {
+                ByteBuffer end = ByteBuffer.allocate(Long.BYTES);
+                long start = channel.read(end, 0) == Long.BYTES ? end.flip().getLong() : 0;
+                start = Math.max(start, floor);
+                end.clear().putLong(start + blockSize).flip();
+                while (end.hasRemaining()) {
+                    channel.write(end, end.position());
+                }
+                channel.force(false);
+                leasedEnd = Math.max(leasedEnd, start + blockSize);
+                return start;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to lease a block of pet IDs", e);
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** The unused rest of a leased block; used by one thread at a time. */
+    private final class Block {
+
+        // Taken by the virtual threads sharing the block; a thread's own block needs none
+        private final Lock lock = new ReentrantLock();
+        private long next;
+        private long end;
+
+        long next() {
+            if (next == end) {
+                next = lease();
+                end = next + blockSize;
+            }
+            return next++;
+        }
+    }
+}
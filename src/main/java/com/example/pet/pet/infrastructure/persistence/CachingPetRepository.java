@@ -0,0 +1,154 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of another PetRepository, for stores slower than a heap map.
+ *
+ * <p>Only lookups by ID are cached, in a bounded Caffeine cache with W-TinyLFU eviction. Loads,
+ * updates and deletes of a pet all run inside the cache's per-key compute, so they are
+ * serialized: a load that read an old version can never be stored after the update that
+ * replaced it, and an update stores the new version it wrote. Queries over many pets go straight
+ * to the delegate. Hits, misses and evictions are counted and reported as PetCacheStatistics.
+ */
+public class CachingPetRepository implements PetRepository, PetCache, AutoCloseable {
+
+    private final PetRepository delegate;
+    private final Cache<Long, Pet> cache;
+
+    public CachingPetRepository(PetRepository delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        // Absent pets are not cached, so a later create is seen immediately
+        return Optional.ofNullable(cache.get(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    @Override
+    public List<Pet> findAllById(Collection<Long> ids) {
+        Map<Long, Pet> cached = cache.getAllPresent(ids);
+        if (cached.size() == ids.size()) {
+            return List.copyOf(cached.values());
+        }
+        // Misses are fetched in one delegate call but not cached: a bulk load cannot run inside
+        // the per-key compute, so storing its result could resurrect a concurrently deleted pet
+        List<Long> missingIds = ids.stream().filter(id -> !cached.containsKey(id)).toList();
+        List<Pet> found = new ArrayList<>(cached.values());
+        found.addAll(delegate.findAllById(missingIds));
+        return found;
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        if (pet.getId() == null) {
+            // A new ID cannot be cached yet; the first lookup loads it
+            return delegate.save(pet);
+        }
+        // A failed update (missing pet, stale version) throws out of compute and leaves the
+        // cached entry as it was
+        return cache.asMap().compute(pet.getId(), (id, cached) -> delegate.save(pet));
+    }
+
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        return Optional.ofNullable(
+                cache.asMap()
+                        .compute(id, (key, cached) -> delegate.update(key, change).orElse(null)));
+    }
+
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        return delegate.saveAll(newPets);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        boolean[] deleted = new boolean[1];
+        cache.asMap()
+                .compute(
+                        id,
+                        (key, cached) -> {
+                            deleted[0] = delegate.deleteById(key);
+                            return null;
+                        });
+        return deleted[0];
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        boolean[] deleted = new boolean[1];
+        // A version conflict throws out of compute and keeps the cached entry
+        cache.asMap()
+                .compute(
+                        id,
+                        (key, cached) -> {
+                            deleted[0] = delegate.deleteById(key, expectedVersion);
+                            return null;
+                        });
+        return deleted[0];
+    }
+
+    @Override
+    public PetDelta findModifiedSince(long sequence) {
+        return delegate.findModifiedSince(sequence);
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<Pet> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public PetStatistics statistics() {
+        return delegate.statistics();
+    }
+
+    @Override
+    public List<Pet> findBySpecies(Species species) {
+        return delegate.findBySpecies(species);
+    }
+
+    @Override
+    public List<Pet> findByOwner(PersonName ownerName) {
+        return delegate.findByOwner(ownerName);
+    }
+
+    /** Returns the statistics since the cache was created, after finishing pending evictions. */
+    @Override
+    public PetCacheStatistics cacheStatistics() {
+        cache.cleanUp();
+        CacheStats stats = cache.stats();
+        return new PetCacheStatistics(
+                stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Buffered input stream over a channel for single-threaded bulk decoding. Unlike
+ * BufferedInputStream it takes no lock per call, which matters when the varint codec reads a
+ * byte at a time: restoring a snapshot is several times faster.
+ */
+final class ChannelInputStream extends InputStream {
+
+    private final ReadableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer window;
+    private int position;
+    private int limit;
+
+    ChannelInputStream(ReadableByteChannel channel, int bufferBytes) {
+        this.channel = channel;
+        this.buffer = new byte[bufferBytes];
+        this.window = ByteBuffer.wrap(buffer);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        int count = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, target, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        window.clear();
+        int read;
+        do {
+            read = channel.read(window);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+/**
+ * A PetRepository that can apply a run of writes and then make them durable together, for a
+ * caller that writes many pets in a row such as the writer of a SingleWriterPetRepository.
+ */
+interface GroupCommit {
+
+    /**
+     * Runs {@code writes}, whose repository calls return without waiting to be durable, then
+     * waits once until all of them are.
+     */
+    void writeBatch(Runnable writes);
+}
@@ -1,28 +1,278 @@
 package com.example.pet.pet.infrastructure.persistence;
 
 import com.example.pet.pet.domain.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * In-memory implementation of PetRepository.
  * Useful for development, testing, and demos without requiring a real database.
+ * Optionally backed by a WriteAheadLog, which makes the data survive restarts, and publishing
+ * every change to a PetChangeRing. With a PetChangeRing, each pet is also stamped with the
+ * sequence number of its latest change, which lets {@link #findModifiedSince} answer from an
+ * index of the changed pets instead of scanning them all. Per-species, per-owner and per-age
+ * counts are kept in PetCounters alongside the indexes. IDs of new pets come from a
+ * PetIdAllocator, sequential unless another is given.
  */
-public class InMemoryPetRepository implements PetRepository {
+public class InMemoryPetRepository implements PetRepository, GroupCommit, AutoCloseable {
 
-    private final Map<Long, Pet> pets = new ConcurrentHashMap<>();
-    private final AtomicLong idGenerator = new AtomicLong(0);
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryPetRepository.class);
+
+    private final Map<Long, Pet> pets;
+    private final NavigableSet<Long> orderedIds = new ConcurrentSkipListSet<>();
+    private final SecondaryIndex<Species> idsBySpecies = new SecondaryIndex<>();
+    private final SecondaryIndex<PersonName> idsByOwner = new SecondaryIndex<>();
+    private final PetCounters counters = new PetCounters();
+    // Each pet changed since startup, by the sequence number of its latest change; deleted pets
+    // stay in it as tombstones while the PetChangeRing retains their delete
+    private final NavigableMap<Long, Long> idsBySequence = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> sequenceById = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, Long> tombstonesBySequence = new ConcurrentSkipListMap<>();
+    // The sequence number of the latest tombstone dropped; deltas from before it would miss it
+    private final AtomicLong droppedTombstone = new AtomicLong(Long.MIN_VALUE);
+    private final PetIdAllocator ids;
+    private final WriteBarrier writes = new WriteBarrier();
+    private final WriteAheadLog log;
+    private final Path snapshotPath;
+    private final PetChangeRing changes;
+    private final AtomicReference<ScheduledExecutorService> snapshotScheduler =
+            new AtomicReference<>();
+    // Set on a thread inside writeBatch, whose writes leave the wait for the log to the batch
+    private final ThreadLocal<Boolean> inBatch = new ThreadLocal<>();
 
     public InMemoryPetRepository() {
         // No seed data - pets are created via the API
+        this(List.of());
     }
 
+    /** Seeds the repository with pets that already have IDs; new IDs continue after the highest. */
     public InMemoryPetRepository(List<Pet> initialPets) {
-        initialPets.forEach(pet -> pets.put(pet.getId(), pet));
+        this(new SequentialPetIdAllocator(), initialPets);
+    }
+
+    /**
+     * A repository that assigns the IDs {@code firstId}, {@code firstId + idStride}, ..., so that
+     * repositories with the same stride and different first IDs never assign the same ID. Seeded
+     * pets must have IDs of that form; new IDs continue after the highest.
+     */
+    InMemoryPetRepository(long firstId, int idStride, List<Pet> initialPets) {
+        this(new SequentialPetIdAllocator(firstId, idStride), initialPets);
+    }
+
+    /**
+     * Seeds the repository with pets that already have IDs and takes the IDs of new pets from
+     * {@code ids}, which skips past the seeded IDs. The repository closes the allocator.
+     */
+    public InMemoryPetRepository(PetIdAllocator ids, List<Pet> initialPets) {
+        this.pets = new ConcurrentHashMap<>();
+        this.log = null;
+        this.snapshotPath = null;
+        this.changes = null;
+        this.ids = ids;
+        initialPets.forEach(
+                pet -> {
+                    pets.put(pet.getId(), pet);
+                    addToIndexes(pet);
+                    ids.skipPast(pet.getId());
+                });
+    }
+
+    /**
+     * Rebuilds the repository by replaying the given log, then records every change in it. IDs
+     * continue after the highest ID in the log, including IDs of deleted pets.
+     */
+    public InMemoryPetRepository(WriteAheadLog log) {
+        this(PetSnapshot.empty(), log, null, null, new SequentialPetIdAllocator());
+    }
+
+    /**
+     * Restores the repository from the snapshot at {@code snapshotPath}, if there is one, and
+     * replays only the part of the log written after it. {@link #snapshot()} writes new snapshots
+     * to the same path. The log may be null, in which case changes since the last snapshot are
+     * not kept. A corrupt snapshot is set aside and the whole log replayed instead; without a log
+     * it fails the restore.
+     *
+     * @throws IOException if the snapshot cannot be read, or is corrupt and there is no log
+     */
+    public InMemoryPetRepository(WriteAheadLog log, Path snapshotPath) throws IOException {
+        this(log, snapshotPath, null);
+    }
+
+    /**
+     * Like {@link #InMemoryPetRepository(WriteAheadLog, Path)}, and publishes every change
+     * applied after the restore to {@code changes}. Any of the arguments may be null; without a
+     * snapshot path the repository starts from the log alone.
+     */
+    public InMemoryPetRepository(WriteAheadLog log, Path snapshotPath, PetChangeRing changes)
+            throws IOException {
+        this(log, snapshotPath, changes, new SequentialPetIdAllocator());
+    }
+
+    /**
+     * Like {@link #InMemoryPetRepository(WriteAheadLog, Path, PetChangeRing)}, and takes the IDs
+     * of new pets from {@code ids}, which skips past every ID restored. The repository closes the
+     * allocator.
+     */
+    public InMemoryPetRepository(
+            WriteAheadLog log, Path snapshotPath, PetChangeRing changes, PetIdAllocator ids)
+            throws IOException {
+        this(restore(snapshotPath, log != null), log, snapshotPath, changes, ids);
+    }
+
+    private InMemoryPetRepository(
+            PetSnapshot snapshot,
+            WriteAheadLog log,
+            Path snapshotPath,
+            PetChangeRing changes,
+            PetIdAllocator ids) {
+        this.pets = snapshot.pets();
+        this.log = log;
+        this.snapshotPath = snapshotPath;
+        this.changes = changes;
+        this.ids = ids;
+        ids.skipPast(snapshot.nextId() - 1);
+        if (log != null) {
+            long start = System.nanoTime();
+            long[] replayed = new long[1];
+            log.replay(
+                    snapshot.logPosition(),
+                    mutation -> {
+                        apply(mutation);
+                        replayed[0]++;
+                    });
+            LOGGER.info(
+                    "Replayed {} log records in {} ms",
+                    replayed[0],
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        // Index once at the end rather than moving entries for every replayed update; the
+        // indexes are concurrent, so a large restore can build them in parallel
+        pets.values().parallelStream().forEach(this::addToIndexes);
+    }
+
+    private static PetSnapshot restore(Path snapshotPath, boolean logged) throws IOException {
+        long start = System.nanoTime();
+        PetSnapshot snapshot;
+        try {
+            snapshot = PetSnapshot.readIfExists(snapshotPath);
+        } catch (PetSnapshot.CorruptSnapshotException e) {
+            if (!logged) {
+                // Starting empty would silently drop every pet; the file stays where it is
+                throw new IOException(
+                        "Corrupt snapshot at "
+                                + snapshotPath
+                                + " and no write-ahead log to restore the pets from; remove it"
+                                + " to start empty",
+                        e);
+            }
+            // The log is never trimmed, so replaying all of it restores the same pets. The file is
+            // kept for inspection rather than overwritten by the next snapshot
+            Path corrupt = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".corrupt");
+            Files.move(snapshotPath, corrupt, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.warn(
+                    "Ignoring the corrupt snapshot, moved to {}, and replaying the whole log: {}",
+                    corrupt,
+                    e.getMessage());
+            return PetSnapshot.empty();
+        }
+        if (snapshot.bytes() > 0) {
+            LOGGER.info(
+                    "Restored {} pets from a {} byte snapshot in {} ms",
+                    snapshot.pets().size(),
+                    snapshot.bytes(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return snapshot;
+    }
+
+    private void apply(PetMutation mutation) {
+        switch (mutation.type()) {
+            case CREATE, UPDATE -> pets.put(mutation.petId(), mutation.pet());
+            case DELETE -> pets.remove(mutation.petId());
+        }
+        ids.skipPast(mutation.petId());
+    }
+
+    /**
+     * Writes a snapshot of the current pets to the snapshot path without blocking writers.
+     *
+     * <p>The scan is fuzzy: writes that land while it runs may or may not be included. That is
+     * safe because the snapshot records the log position from before the scan, and every write
+     * logged before that position is already applied when the scan starts; replaying the log
+     * from there re-applies the rest in order.
+     *
+     * @return the size of the snapshot in bytes
+     */
+    public long snapshot() throws IOException {
+        if (snapshotPath == null) {
+            throw new IllegalStateException("No snapshot path configured");
+        }
+        long start = System.nanoTime();
+        long logPosition = log != null ? log.position() : 0;
+        writes.awaitWritersInProgress();
+        long bytes =
+                PetSnapshot.write(
+                        snapshotPath, logPosition, ids.limit(), pets.size(), pets.values());
+        LOGGER.info(
+                "Wrote a {} byte snapshot in {} ms",
+                bytes,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return bytes;
+    }
+
+    /** Takes a snapshot every {@code interval} until the repository is closed. */
+    public void scheduleSnapshots(Duration interval) {
+        ScheduledExecutorService scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "pet-snapshot");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        if (!snapshotScheduler.compareAndSet(null, scheduler)) {
+            scheduler.shutdown();
+            throw new IllegalStateException("Snapshots are already scheduled");
+        }
+        long intervalNanos = interval.toNanos();
+        scheduler.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        snapshot();
+                    } catch (IOException | UncheckedIOException e) {
+                        LOGGER.warn("Snapshot failed; the next one will retry", e);
+                    }
+                },
+                intervalNanos,
+                intervalNanos,
+                TimeUnit.NANOSECONDS);
     }
 
     @Override
@@ -40,53 +290,454 @@ public class InMemoryPetRepository implements PetRepository {
     }
 
     private Pet updatePet(Pet pet) {
-        // Find existing pet to validate version
-        Pet existingPet = pets.get(pet.getId());
-        if (existingPet == null) {
-            throw new IllegalArgumentException(
-                    "Cannot update non-existent pet with ID: " + pet.getId());
+        long[] logPosition = new long[1];
+        // Registered with the write barrier, so a snapshot waits until this update is applied
+        int epoch = writes.enter();
+        Pet updatedPet;
+        try {
+            // Version check and replacement run inside compute, so concurrent writers to the
+            // same pet are serialized and a stale version can never overwrite a newer one
+            updatedPet =
+                    pets.compute(
+                            pet.getId(),
+                            (id, existingPet) -> {
+                                if (existingPet == null) {
+                                    throw new IllegalArgumentException(
+                                            "Cannot update non-existent pet with ID: " + id);
+                                }
+
+                                // Validate optimistic lock - version must match
+                                if (!existingPet.getVersion().equals(pet.getVersion())) {
+                                    throw new OptimisticLockException(
+                                            id, pet.getVersion(), existingPet.getVersion());
+                                }
+
+                                return replace(existingPet, pet, logPosition);
+                            });
+        } finally {
+            writes.exit(epoch);
         }
+        awaitDurable(logPosition[0]);
+        return updatedPet;
+    }
 
-        // Validate optimistic lock - version must match
-        if (!existingPet.getVersion().equals(pet.getVersion())) {
-            throw new OptimisticLockException(
-                    pet.getId(), pet.getVersion(), existingPet.getVersion());
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        long[] logPosition = new long[1];
+        int epoch = writes.enter();
+        Pet updatedPet;
+        try {
+            // The change runs under the per-key lock, so it always sees the latest version and is
+            // applied exactly once
+            updatedPet =
+                    pets.computeIfPresent(
+                            id,
+                            (key, existingPet) ->
+                                    replace(existingPet, change.apply(existingPet), logPosition));
+        } finally {
+            writes.exit(epoch);
+        }
+        if (updatedPet == null) {
+            return Optional.empty();
         }
+        awaitDurable(logPosition[0]);
+        return Optional.of(updatedPet);
+    }
 
-        // Version matches - proceed with update
-        Pet updatedPet =
+    /**
+     * Builds the next version of {@code existingPet} from the fields of {@code changedPet}, logs
+     * it and moves the indexes. Must run inside the compute for this pet.
+     */
+    private Pet replace(Pet existingPet, Pet changedPet, long[] logPosition) {
+        Long id = existingPet.getId();
+        Pet newPet =
                 new Pet(
-                        pet.getId(),
-                        pet.getName(),
-                        pet.getSpecies(),
-                        pet.getAge(),
-                        pet.getOwnerName(),
-                        pet.getVersion() + 1);
-        pets.put(pet.getId(), updatedPet);
-        return updatedPet;
+                        id,
+                        changedPet.getName(),
+                        changedPet.getSpecies(),
+                        changedPet.getAge(),
+                        changedPet.getOwnerName(),
+                        existingPet.getVersion() + 1);
+        logPosition[0] = moveTo(existingPet, newPet);
+        return newPet;
+    }
+
+    /**
+     * Logs the update of {@code existingPet} to {@code newPet}, moves the indexes and publishes
+     * it. Must run inside the compute for this pet.
+     */
+    private long moveTo(Pet existingPet, Pet newPet) {
+        Long id = existingPet.getId();
+        // Logged first, so a failed append leaves the pet and indexes unchanged
+        long logPosition = append(PetMutation.updated(newPet));
+
+        // Indexes are moved under the same per-key lock, so they follow the order in which
+        // updates to this pet are applied
+        idsBySpecies.move(existingPet.getSpecies(), newPet.getSpecies(), id);
+        idsByOwner.move(existingPet.getOwnerName(), newPet.getOwnerName(), id);
+        counters.move(existingPet, newPet);
+        publish(PetChange.Type.UPDATED, id, newPet);
+        return logPosition;
     }
 
     private Pet createPet(Pet pet) {
-        Long newId = idGenerator.getAndIncrement();
-        Pet persistedPet =
-                new Pet(
-                        newId,
-                        pet.getName(),
-                        pet.getSpecies(),
-                        pet.getAge(),
-                        pet.getOwnerName(),
-                        0L);
-        pets.put(newId, persistedPet);
+        Pet persistedPet = withId(ids.nextId(), pet);
+        long logPosition;
+        int epoch = writes.enter();
+        try {
+            logPosition = insert(persistedPet);
+        } finally {
+            writes.exit(epoch);
+        }
+        awaitDurable(logPosition);
         return persistedPet;
     }
 
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        PetRepository.requireNew(newPets);
+        if (newPets.isEmpty()) {
+            return List.of();
+        }
+        long[] newIds = ids.nextIds(newPets.size());
+        List<Pet> persistedPets = new ArrayList<>(newPets.size());
+        long logPosition = 0;
+        int epoch = writes.enter();
+        try {
+            for (Pet pet : newPets) {
+                Pet persistedPet = withId(newIds[persistedPets.size()], pet);
+                logPosition = insert(persistedPet);
+                persistedPets.add(persistedPet);
+            }
+        } finally {
+            writes.exit(epoch);
+        }
+        // The log is forced in order, so waiting for the last record covers the whole batch
+        awaitDurable(logPosition);
+        return persistedPets;
+    }
+
+    private static Pet withId(long id, Pet pet) {
+        return new Pet(id, pet.getName(), pet.getSpecies(), pet.getAge(), pet.getOwnerName(), 0L);
+    }
+
+    /** Logs, indexes and publishes a new pet; the caller must be registered with the barrier. */
+    private long insert(Pet persistedPet) {
+        // Index before the pet becomes visible, so an update racing with the create
+        // always finds it in the indexes
+        long[] logPosition = new long[1];
+        pets.compute(
+                persistedPet.getId(),
+                (id, existingPet) -> {
+                    logPosition[0] = append(PetMutation.created(persistedPet));
+                    addToIndexes(persistedPet);
+                    publish(PetChange.Type.CREATED, id, persistedPet);
+                    return persistedPet;
+                });
+        return logPosition[0];
+    }
+
     @Override
     public boolean deleteById(Long id) {
-        return pets.remove(id) != null;
+        return delete(id, null);
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        return delete(id, expectedVersion);
+    }
+
+    private boolean delete(Long id, Long expectedVersion) {
+        Pet[] removedPet = new Pet[1];
+        long[] logPosition = new long[1];
+        int epoch = writes.enter();
+        try {
+            pets.computeIfPresent(
+                    id,
+                    (key, existingPet) -> {
+                        if (expectedVersion != null
+                                && !existingPet.getVersion().equals(expectedVersion)) {
+                            throw new OptimisticLockException(
+                                    key, expectedVersion, existingPet.getVersion());
+                        }
+                        logPosition[0] = append(PetMutation.deleted(key));
+                        publish(PetChange.Type.DELETED, key, null);
+                        removedPet[0] = existingPet;
+                        return null;
+                    });
+        } finally {
+            writes.exit(epoch);
+        }
+        if (removedPet[0] == null) {
+            return false;
+        }
+        removeFromIndexes(removedPet[0]);
+        awaitDurable(logPosition[0]);
+        return true;
+    }
+
+    /**
+     * Applies a change made on the replication leader, keeping the leader's version of the pet.
+     * A pet is stored only if it is absent or older here, since a follower that was just reset
+     * may receive changes its reset already contained. The change is logged, indexed and
+     * published like a local write, but nothing waits for the log: the leader holds the data.
+     */
+    void applyReplicated(PetMutation mutation) {
+        storeReplicated(mutation, false);
+    }
+
+    /**
+     * Replaces every pet with the leader's pets, for a follower whose position the leader no
+     * longer retains. The leader's pets win whatever their versions, since a leader that
+     * restarted without a log numbers its pets afresh.
+     */
+    void resetReplicated(Collection<Pet> leaderPets) {
+        Set<Long> leaderIds = HashSet.newHashSet(leaderPets.size());
+        for (Pet pet : leaderPets) {
+            leaderIds.add(pet.getId());
+            storeReplicated(PetMutation.updated(pet), true);
+        }
+        for (Long id : pets.keySet()) {
+            if (!leaderIds.contains(id)) {
+                storeReplicated(PetMutation.deleted(id), true);
+            }
+        }
+    }
+
+    private void storeReplicated(PetMutation mutation, boolean anyVersion) {
+        Pet[] removedPet = new Pet[1];
+        int epoch = writes.enter();
+        try {
+            switch (mutation.type()) {
+                case CREATE, UPDATE ->
+                        pets.compute(
+                                mutation.petId(),
+                                (id, existingPet) -> {
+                                    Pet pet = mutation.pet();
+                                    if (existingPet == null) {
+                                        append(PetMutation.created(pet));
+                                        addToIndexes(pet);
+                                        publish(PetChange.Type.CREATED, id, pet);
+                                        return pet;
+                                    }
+                                    boolean replace =
+                                            anyVersion
+                                                    ? !sameState(existingPet, pet)
+                                                    : existingPet.getVersion() < pet.getVersion();
+                                    if (!replace) {
+                                        return existingPet;
+                                    }
+                                    moveTo(existingPet, pet);
+                                    return pet;
+                                });
+                case DELETE ->
+                        pets.computeIfPresent(
+                                mutation.petId(),
+                                (id, existingPet) -> {
+                                    append(mutation);
+                                    publish(PetChange.Type.DELETED, id, null);
+                                    removedPet[0] = existingPet;
+                                    return null;
+                                });
+            }
+        } finally {
+            writes.exit(epoch);
+        }
+        if (removedPet[0] != null) {
+            removeFromIndexes(removedPet[0]);
+        }
+    }
+
+    private static boolean sameState(Pet a, Pet b) {
+        return a.getVersion().equals(b.getVersion())
+                && a.getName().equals(b.getName())
+                && a.getSpecies().equals(b.getSpecies())
+                && Objects.equals(a.getAge(), b.getAge())
+                && Objects.equals(a.getOwnerName(), b.getOwnerName());
+    }
+
+    private long append(PetMutation mutation) {
+        return log != null ? log.append(mutation) : 0;
+    }
+
+    /**
+     * Publishes a change while the pet's lock is held, so its sequence number follows the order
+     * of the changes to this pet, and moves the pet to that number in the modification index.
+     * Readers may see it before it is durable in the log.
+     */
+    private void publish(PetChange.Type type, long petId, Pet pet) {
+        if (changes != null) {
+            long sequence = changes.publish(type, petId, pet).sequence();
+            Long previous = sequenceById.put(petId, sequence);
+            if (previous != null) {
+                idsBySequence.remove(previous);
+                tombstonesBySequence.remove(previous);
+            }
+            idsBySequence.put(sequence, petId);
+            if (type == PetChange.Type.DELETED) {
+                tombstonesBySequence.put(sequence, petId);
+            }
+            dropTombstonesBefore(sequence - changes.capacity());
+        }
+    }
+
+    /**
+     * Drops the tombstones of deletes the PetChangeRing no longer retains, so churn does not grow
+     * the modification index without bound. The mark is raised before a tombstone is removed, so
+     * a delta that could have missed it sees the raised mark.
+     */
+    private void dropTombstonesBefore(long sequence) {
+        Map.Entry<Long, Long> oldest;
+        while ((oldest = tombstonesBySequence.firstEntry()) != null && oldest.getKey() < sequence) {
+            if (tombstonesBySequence.remove(oldest.getKey(), oldest.getValue())) {
+                droppedTombstone.accumulateAndGet(oldest.getKey(), Math::max);
+                idsBySequence.remove(oldest.getKey(), oldest.getValue());
+                sequenceById.remove(oldest.getValue(), oldest.getKey());
+            }
+        }
+    }
+
+    private void awaitDurable(long logPosition) {
+        // Waits outside compute, so other pets can be written while this one is forced to disk
+        if (log != null && inBatch.get() == null) {
+            log.awaitDurable(logPosition);
+        }
+    }
+
+    @Override
+    public void writeBatch(Runnable writes) {
+        inBatch.set(Boolean.TRUE);
+        try {
+            writes.run();
+        } finally {
+            inBatch.remove();
+        }
+        // The log is forced in order, so waiting for its end covers every write of the batch
+        if (log != null) {
+            log.awaitDurable(log.position());
+        }
+    }
+
+    private void addToIndexes(Pet pet) {
+        orderedIds.add(pet.getId());
+        idsBySpecies.add(pet.getSpecies(), pet.getId());
+        idsByOwner.add(pet.getOwnerName(), pet.getId());
+        counters.add(pet);
+    }
+
+    private void removeFromIndexes(Pet pet) {
+        orderedIds.remove(pet.getId());
+        idsBySpecies.remove(pet.getSpecies(), pet.getId());
+        idsByOwner.remove(pet.getOwnerName(), pet.getId());
+        counters.remove(pet);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Pets restored at startup count as unchanged since the number just before the ring's
+     * first one. Tombstones are kept while the ring retains their delete; a {@code sequence}
+     * before a dropped tombstone has expired.
+     */
+    @Override
+    public PetDelta findModifiedSince(long sequence) {
+        if (changes == null) {
+            return PetRepository.super.findModifiedSince(sequence);
+        }
+        long highWaterMark = changes.lastSequence();
+        // Writers may have taken numbers up to the mark without indexing them yet; they are all
+        // registered with the barrier, so once they have left every number up to it is indexed
+        writes.awaitWritersInProgress();
+        if (sequence < changes.firstSequence() - 1
+                || sequence > highWaterMark
+                || sequence < droppedTombstone.get()) {
+            throw new PetChangesExpiredException(sequence, highWaterMark);
+        }
+        List<Pet> changed = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (Long id : idsBySequence.subMap(sequence, false, highWaterMark, true).values()) {
+            Pet pet = pets.get(id);
+            if (pet != null) {
+                changed.add(pet);
+            } else {
+                deletedIds.add(id);
+            }
+        }
+        if (sequence < droppedTombstone.get()) {
+            // A tombstone after sequence was dropped while the index was read
+            throw new PetChangesExpiredException(sequence, highWaterMark);
+        }
+        return new PetDelta(changed, deletedIds, highWaterMark);
     }
 
     @Override
     public List<Pet> findAll() {
         return new ArrayList<>(pets.values());
     }
+
+    @Override
+    public Stream<Pet> stream() {
+        // Weakly consistent view over the live map: no copy, O(1) extra memory
+        return pets.values().stream();
+    }
+
+    @Override
+    public List<Pet> findPage(Long afterId, int limit) {
+        // Walk the ordered ID index from the cursor; the cost is bounded by the page size
+        NavigableSet<Long> candidates =
+                afterId == null ? orderedIds : orderedIds.tailSet(afterId, false);
+        List<Pet> page = new ArrayList<>();
+        for (Long id : candidates) {
+            if (page.size() >= limit) {
+                break;
+            }
+            Pet pet = pets.get(id);
+            if (pet != null) {
+                page.add(pet);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public PetStatistics statistics() {
+        // Read from counters moved with the indexes, instead of scanning the pets
+        return counters.statistics();
+    }
+
+    @Override
+    public List<Pet> findBySpecies(Species species) {
+        return findIndexed(idsBySpecies.get(species), pet -> species.equals(pet.getSpecies()));
+    }
+
+    @Override
+    public List<Pet> findByOwner(PersonName ownerName) {
+        return findIndexed(idsByOwner.get(ownerName), pet -> ownerName.equals(pet.getOwnerName()));
+    }
+
+    private List<Pet> findIndexed(Set<Long> ids, Predicate<Pet> stillMatches) {
+        // Re-check each pet: a concurrent update may have moved it after we read the bucket
+        return ids.stream()
+                .map(pets::get)
+                .filter(Objects::nonNull)
+                .filter(stillMatches)
+                .sorted(Comparator.comparing(Pet::getId))
+                .toList();
+    }
+
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService scheduler = snapshotScheduler.get();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // A final snapshot keeps the next startup from replaying everything since the last one
+        if (snapshotPath != null) {
+            snapshot();
+        }
+        if (log != null) {
+            log.close();
+        }
+        ids.close();
+    }
 }
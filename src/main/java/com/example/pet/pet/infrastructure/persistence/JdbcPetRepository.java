@@ -0,0 +1,395 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+/**
+ * Relational implementation of PetRepository on plain JDBC.
+ *
+ * <p>Expects a pooled DataSource. Statements are prepared and closed through the pool's
+ * connections, so the pool tracks them. Whether the parsed statements are reused therefore
+ * depends on the driver's statement cache: H2 sizes it with QUERY_CACHE_SIZE in the JDBC URL,
+ * other drivers take their settings as data source properties of the pool.
+ *
+ * <p>Optimistic locking is a single conditional {@code UPDATE ... WHERE id = ? AND version = ?},
+ * so the database serializes concurrent writers. The schema is created on startup if it does not
+ * exist; the SQL is standard and runs on H2 and PostgreSQL.
+ */
+public class JdbcPetRepository implements PetRepository {
+
+    private static final String COLUMNS = "id, name, species, age, owner_name, version";
+
+    private static final String CREATE_TABLE =
+            """
+            CREATE TABLE IF NOT EXISTS pets (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                name VARCHAR(255) NOT NULL,
+                species VARCHAR(255) NOT NULL,
+                age INTEGER,
+                owner_name VARCHAR(255),
+                version BIGINT NOT NULL
+            )\
+            """;
+    private static final String CREATE_SPECIES_INDEX =
+            "CREATE INDEX IF NOT EXISTS pets_species ON pets (species)";
+    private static final String CREATE_OWNER_INDEX =
+            "CREATE INDEX IF NOT EXISTS pets_owner_name ON pets (owner_name)";
+
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM pets WHERE id = ?";
+    private static final String SELECT_BY_IDS =
+            "SELECT " + COLUMNS + " FROM pets WHERE id = ANY(?)";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM pets ORDER BY id";
+    private static final String SELECT_PAGE =
+            "SELECT " + COLUMNS + " FROM pets WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String SELECT_BY_SPECIES =
+            "SELECT " + COLUMNS + " FROM pets WHERE species = ? ORDER BY id";
+    private static final String SELECT_BY_OWNER =
+            "SELECT " + COLUMNS + " FROM pets WHERE owner_name = ? ORDER BY id";
+    private static final String SELECT_VERSION = "SELECT version FROM pets WHERE id = ?";
+    private static final String INSERT =
+            "INSERT INTO pets (name, species, age, owner_name, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String INSERT_WITH_ID =
+            "INSERT INTO pets (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE pets SET name = ?, species = ?, age = ?, owner_name = ?, version = version + 1"
+                    + " WHERE id = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM pets WHERE id = ?";
+    private static final String DELETE_VERSION = "DELETE FROM pets WHERE id = ? AND version = ?";
+
+    private static final int STREAM_BATCH_SIZE = 1000;
+
+    private final DataSource dataSource;
+
+    public JdbcPetRepository(DataSource dataSource) {
+        this.dataSource = dataSource;
+        createSchema();
+    }
+
+    /** Seeds the store with pets that already have IDs; new IDs continue after the highest. */
+    public JdbcPetRepository(DataSource dataSource, List<Pet> initialPets) {
+        this(dataSource);
+        if (initialPets.isEmpty()) {
+            return;
+        }
+        long maxId = initialPets.stream().mapToLong(Pet::getId).max().orElseThrow();
+        withConnection(
+                connection -> {
+                    try (PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+                        for (Pet pet : initialPets) {
+                            insert.setLong(1, pet.getId());
+                            bindFields(insert, 2, pet);
+                            insert.setLong(6, pet.getVersion());
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                    }
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute(
+                                "ALTER TABLE pets ALTER COLUMN id RESTART WITH " + (maxId + 1));
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement select = connection.prepareStatement(SELECT_BY_ID)) {
+                        select.setLong(1, id);
+                        List<Pet> pets = readPets(select);
+                        return pets.isEmpty() ? Optional.empty() : Optional.of(pets.getFirst());
+                    }
+                });
+    }
+
+    @Override
+    public List<Pet> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // One statement for any number of IDs: the IDs are bound as a single array parameter
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement select = connection.prepareStatement(SELECT_BY_IDS)) {
+                        select.setArray(
+                                1,
+                                connection.createArrayOf(
+                                        "BIGINT", ids.stream().distinct().toArray()));
+                        return readPets(select);
+                    }
+                });
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        if (pet.getId() == null) {
+            return saveAll(List.of(pet)).getFirst();
+        } else {
+            return updatePet(pet);
+        }
+    }
+
+    /**
+     * Inserts new pets with one JDBC batch in a single transaction and returns them with their
+     * generated IDs, in the same order.
+     */
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        PetRepository.requireNew(newPets);
+        if (newPets.isEmpty()) {
+            return List.of();
+        }
+        return inTransaction(
+                connection -> {
+                    try (PreparedStatement insert =
+                            connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                        for (Pet pet : newPets) {
+                            bindFields(insert, 1, pet);
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                        List<Pet> persisted = new ArrayList<>(newPets.size());
+                        try (ResultSet keys = insert.getGeneratedKeys()) {
+                            for (Pet pet : newPets) {
+                                if (!keys.next()) {
+                                    throw new SQLException(
+                                            "Missing generated key for batch insert");
+                                }
+                                persisted.add(
+                                        new Pet(
+                                                keys.getLong(1),
+                                                pet.getName(),
+                                                pet.getSpecies(),
+                                                pet.getAge(),
+                                                pet.getOwnerName(),
+                                                0L));
+                            }
+                        }
+                        return persisted;
+                    }
+                });
+    }
+
+    private Pet updatePet(Pet pet) {
+        return withConnection(
+                connection -> {
+                    int updated;
+                    try (PreparedStatement update = connection.prepareStatement(UPDATE)) {
+                        bindFields(update, 1, pet);
+                        update.setLong(5, pet.getId());
+                        update.setLong(6, pet.getVersion());
+                        updated = update.executeUpdate();
+                    }
+                    if (updated == 0) {
+                        // Nothing matched: tell a missing pet apart from a stale version
+                        Long currentVersion = selectVersion(connection, pet.getId());
+                        if (currentVersion == null) {
+                            throw new IllegalArgumentException(
+                                    "Cannot update non-existent pet with ID: " + pet.getId());
+                        }
+                        throw new OptimisticLockException(
+                                pet.getId(), pet.getVersion(), currentVersion);
+                    }
+                    return new Pet(
+                            pet.getId(),
+                            pet.getName(),
+                            pet.getSpecies(),
+                            pet.getAge(),
+                            pet.getOwnerName(),
+                            pet.getVersion() + 1);
+                });
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement delete = connection.prepareStatement(DELETE)) {
+                        delete.setLong(1, id);
+                        return delete.executeUpdate() > 0;
+                    }
+                });
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement delete = connection.prepareStatement(DELETE_VERSION)) {
+                        delete.setLong(1, id);
+                        delete.setLong(2, expectedVersion);
+                        if (delete.executeUpdate() > 0) {
+                            return true;
+                        }
+                    }
+                    // Nothing matched: tell a missing pet apart from a stale version
+                    Long currentVersion = selectVersion(connection, id);
+                    if (currentVersion == null) {
+                        return false;
+                    }
+                    throw new OptimisticLockException(id, expectedVersion, currentVersion);
+                });
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement select = connection.prepareStatement(SELECT_ALL)) {
+                        return readPets(select);
+                    }
+                });
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        // Keyset pages rather than one open cursor, so no connection is held while the caller
+        // consumes the stream
+        return Stream.iterate(
+                        findPage(null, STREAM_BATCH_SIZE),
+                        page -> !page.isEmpty(),
+                        page ->
+                                page.size() < STREAM_BATCH_SIZE
+                                        ? List.of()
+                                        : findPage(page.getLast().getId(), STREAM_BATCH_SIZE))
+                .flatMap(List::stream);
+    }
+
+    @Override
+    public List<Pet> findPage(Long afterId, int limit) {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement select = connection.prepareStatement(SELECT_PAGE)) {
+                        select.setLong(1, afterId == null ? Long.MIN_VALUE : afterId);
+                        select.setInt(2, limit);
+                        return readPets(select);
+                    }
+                });
+    }
+
+    @Override
+    public List<Pet> findBySpecies(Species species) {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement select =
+                            connection.prepareStatement(SELECT_BY_SPECIES)) {
+                        select.setString(1, species.value());
+                        return readPets(select);
+                    }
+                });
+    }
+
+    @Override
+    public List<Pet> findByOwner(PersonName ownerName) {
+        return withConnection(
+                connection -> {
+                    try (PreparedStatement select = connection.prepareStatement(SELECT_BY_OWNER)) {
+                        select.setString(1, ownerName.value());
+                        return readPets(select);
+                    }
+                });
+    }
+
+    private void createSchema() {
+        withConnection(
+                connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute(CREATE_TABLE);
+                        statement.execute(CREATE_SPECIES_INDEX);
+                        statement.execute(CREATE_OWNER_INDEX);
+                    }
+                    return null;
+                });
+    }
+
+    /** Returns the version of the pet, or null if it does not exist. */
+    private static Long selectVersion(Connection connection, long id) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_VERSION)) {
+            select.setLong(1, id);
+            try (ResultSet rows = select.executeQuery()) {
+                return rows.next() ? rows.getLong(1) : null;
+            }
+        }
+    }
+
+    /** Binds name, species, age and owner name starting at the given parameter index. */
+    private static void bindFields(PreparedStatement statement, int index, Pet pet)
+            throws SQLException {
+        statement.setString(index, pet.getName().value());
+        statement.setString(index + 1, pet.getSpecies().value());
+        if (pet.getAge() != null) {
+            statement.setInt(index + 2, pet.getAge().value());
+        } else {
+            statement.setNull(index + 2, Types.INTEGER);
+        }
+        if (pet.getOwnerName() != null) {
+            statement.setString(index + 3, pet.getOwnerName().value());
+        } else {
+            statement.setNull(index + 3, Types.VARCHAR);
+        }
+    }
+
+    private static List<Pet> readPets(PreparedStatement select) throws SQLException {
+        List<Pet> pets = new ArrayList<>();
+        try (ResultSet rows = select.executeQuery()) {
+            while (rows.next()) {
+                int age = rows.getInt(4);
+                Age petAge = rows.wasNull() ? null : new Age(age);
+                String ownerName = rows.getString(5);
+                pets.add(
+                        new Pet(
+                                rows.getLong(1),
+                                new PetName(rows.getString(2)),
+                                new Species(rows.getString(3)),
+                                petAge,
+                                ownerName != null ? new PersonName(ownerName) : null,
+                                rows.getLong(6)));
+            }
+        }
+        return pets;
+    }
+
+    private <T> T withConnection(SqlFunction<T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.apply(connection);
+        } catch (SQLException e) {
+            throw new PetStoreUnavailableException(
+                    e.getMessage(), e, e instanceof SQLTransientException);
+        }
+    }
+
+    private <T> T inTransaction(SqlFunction<T> work) {
+        return withConnection(
+                connection -> {
+                    connection.setAutoCommit(false);
+                    try {
+                        T result = work.apply(connection);
+                        connection.commit();
+                        return result;
+                    } catch (SQLException | RuntimeException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface SqlFunction<T> {
+        T apply(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Concurrent hash map from primitive long keys to pets, using open addressing with linear probing.
+ * Keys live in a flat long[] next to a parallel Pet[], so an entry costs two array slots instead
+ * of a node object plus a boxed Long, and a probe sequence walks adjacent memory.
+ *
+ * <p>The table is split into segments, each guarded by a StampedLock. Lookups run as optimistic
+ * reads and only fall back to the read lock when they race with a write to the same segment.
+ * Deletes use backward-shift deletion, so no tombstones accumulate.
+ */
+final class LongPetHashMap {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+    private static final double MAX_LOAD_FACTOR = 0.7;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    LongPetHashMap() {
+        this(0);
+    }
+
+    LongPetHashMap(int expectedSize) {
+        int perSegment = expectedSize / SEGMENT_COUNT + 1;
+        int capacity = tableSizeFor((int) Math.ceil(perSegment / MAX_LOAD_FACTOR));
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(capacity);
+        }
+    }
+
+    /** Returns the pet stored under the key, or null. Does not allocate. */
+    Pet get(long key) {
+        long hash = mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    void put(long key, Pet pet) {
+        compute(key, existing -> pet);
+    }
+
+    Pet remove(long key) {
+        Pet[] removed = new Pet[1];
+        compute(
+                key,
+                existing -> {
+                    removed[0] = existing;
+                    return null;
+                });
+        return removed[0];
+    }
+
+    /**
+     * Atomically replaces the value for the key with the result of the function, which receives
+     * the current value or null. Returning null removes the entry. If the function throws, the
+     * map is left unchanged.
+     */
+    Pet compute(long key, UnaryOperator<Pet> remapping) {
+        long hash = mix(key);
+        return segmentFor(hash).compute(key, hash, remapping);
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    List<Pet> values() {
+        List<Pet> values = new ArrayList<>(size());
+        for (Segment segment : segments) {
+            segment.copyValuesTo(values);
+        }
+        return values;
+    }
+
+    /** Streams the values one segment at a time, so at most one segment is copied at once. */
+    Stream<Pet> stream() {
+        return Arrays.stream(segments)
+                .flatMap(
+                        segment -> {
+                            List<Pet> values = new ArrayList<>(segment.size());
+                            segment.copyValuesTo(values);
+                            return values.stream();
+                        });
+    }
+
+    private Segment segmentFor(long hash) {
+        return segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, MIN_SEGMENT_CAPACITY) - 1) << 1;
+        return Math.max(size, MIN_SEGMENT_CAPACITY);
+    }
+
+    /** Keys and values are swapped together on resize so readers never mix two tables. */
+    private record Table(long[] keys, Pet[] values) {
+
+        Table(int capacity) {
+            this(new long[capacity], new Pet[capacity]);
+        }
+
+        int mask() {
+            return keys.length - 1;
+        }
+    }
+
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table;
+        private int size;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        Pet get(long key, long hash) {
+            long stamp = lock.tryOptimisticRead();
+            Pet pet = find(table, key, hash);
+            if (lock.validate(stamp)) {
+                return pet;
+            }
+            stamp = lock.readLock();
+            try {
+                return find(table, key, hash);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        Pet compute(long key, long hash, UnaryOperator<Pet> remapping) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(table, key, hash);
+                Pet existing = index >= 0 ? table.values()[index] : null;
+                Pet updated = remapping.apply(existing);
+                if (updated == null) {
+                    if (existing != null) {
+                        removeAt(index);
+                    }
+                } else if (existing != null) {
+                    table.values()[index] = updated;
+                } else {
+                    insert(key, hash, updated);
+                }
+                return updated;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void copyValuesTo(List<Pet> target) {
+            long stamp = lock.readLock();
+            try {
+                for (Pet pet : table.values()) {
+                    if (pet != null) {
+                        target.add(pet);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private static Pet find(Table table, long key, long hash) {
+            // Bounded by the capacity: an optimistic read may observe a table mid-update
+            int mask = table.mask();
+            int index = (int) hash & mask;
+            for (int probes = 0; probes <= mask; probes++) {
+                Pet pet = table.values()[index];
+                if (pet == null) {
+                    return null;
+                }
+                if (table.keys()[index] == key) {
+                    return pet;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int indexOf(Table table, long key, long hash) {
+            int mask = table.mask();
+            int index = (int) hash & mask;
+            while (table.values()[index] != null) {
+                if (table.keys()[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long key, long hash, Pet pet) {
+            if (size + 1 > table.keys().length * MAX_LOAD_FACTOR) {
+                resize();
+            }
+            placeInto(table, key, hash, pet);
+            size++;
+        }
+
+        private static void placeInto(Table table, long key, long hash, Pet pet) {
+            int mask = table.mask();
+            int index = (int) hash & mask;
+            while (table.values()[index] != null) {
+                index = (index + 1) & mask;
+            }
+            table.keys()[index] = key;
+            table.values()[index] = pet;
+        }
+
+        private void resize() {
+            Table resized = new Table(table.keys().length * 2);
+            for (int i = 0; i < table.keys().length; i++) {
+                Pet pet = table.values()[i];
+                if (pet != null) {
+                    long key = table.keys()[i];
+                    placeInto(resized, key, mix(key), pet);
+                }
+            }
+            table = resized;
+        }
+
+        private void removeAt(int index) {
+            long[] keys = table.keys();
+            Pet[] values = table.values();
+            int mask = table.mask();
+
+            // Backward-shift deletion: pull later entries of the probe run into the hole
+            // when the hole lies between their ideal slot and their current slot
+            int hole = index;
+            int next = (hole + 1) & mask;
+            while (values[next] != null) {
+                int ideal = (int) mix(keys[next]) & mask;
+                if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
+            values[hole] = null;
+            keys[hole] = 0L;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Growable, zero-initialized off-heap buffer. Each generation of the buffer owns its own shared
+ * arena, so growing frees the previous memory immediately instead of keeping it until the whole
+ * store is closed. Not thread-safe: callers must exclude readers while the buffer grows.
+ */
+final class OffHeapBuffer implements AutoCloseable {
+
+    private static final long ALIGNMENT = Long.BYTES;
+
+    private Arena arena;
+    private MemorySegment segment;
+
+    OffHeapBuffer(long initialBytes) {
+        this.arena = Arena.ofShared();
+        this.segment = arena.allocate(Math.max(initialBytes, ALIGNMENT), ALIGNMENT);
+    }
+
+    MemorySegment segment() {
+        return segment;
+    }
+
+    /** Grows the buffer (at least doubling it) so that it holds {@code bytes} bytes. */
+    void ensureCapacity(long bytes) {
+        if (bytes <= segment.byteSize()) {
+            return;
+        }
+        long newSize = Math.max(bytes, segment.byteSize() * 2);
+        Arena newArena = Arena.ofShared();
+        MemorySegment grown = newArena.allocate(newSize, ALIGNMENT);
+        MemorySegment.copy(segment, 0, grown, 0, segment.byteSize());
+        arena.close();
+        arena = newArena;
+        segment = grown;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
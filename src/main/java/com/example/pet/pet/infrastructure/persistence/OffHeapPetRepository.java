@@ -0,0 +1,506 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+import com.example.pet.pet.domain.*;
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Off-heap implementation of PetRepository built on the Foreign Function &amp; Memory API.
+ * Pets are stored as rows of fixed-width columns outside the Java heap: ID, version and age as
+ * primitives, species and owner as codes into small on-heap dictionaries, and names as UTF-8
+ * bytes in an append-only string arena. Pet objects are only materialized on read, so the heap
+ * holds no per-pet objects and the garbage collector never has to trace them.
+ *
+ * <p>An off-heap open-addressing index maps IDs to rows. All access is guarded by a read-write
+ * lock. Rows freed by deletes are reused; name bytes that no longer fit in place are left behind
+ * in the arena until the repository is closed.
+ */
+public class OffHeapPetRepository implements PetRepository, AutoCloseable {
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int STREAM_BATCH_SIZE = 1024;
+    private static final long DELETED = -1L;
+    private static final int NO_VALUE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Row columns
+    private final OffHeapBuffer ids = new OffHeapBuffer(INITIAL_ROWS * JAVA_LONG.byteSize());
+    private final OffHeapBuffer versions = new OffHeapBuffer(INITIAL_ROWS * JAVA_LONG.byteSize());
+    private final OffHeapBuffer ages = new OffHeapBuffer(INITIAL_ROWS * JAVA_INT.byteSize());
+    private final OffHeapBuffer speciesCodes =
+            new OffHeapBuffer(INITIAL_ROWS * JAVA_INT.byteSize());
+    private final OffHeapBuffer ownerCodes = new OffHeapBuffer(INITIAL_ROWS * JAVA_INT.byteSize());
+    private final OffHeapBuffer nameOffsets =
+            new OffHeapBuffer(INITIAL_ROWS * JAVA_LONG.byteSize());
+    private final OffHeapBuffer nameLengths = new OffHeapBuffer(INITIAL_ROWS * JAVA_INT.byteSize());
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeRowCount;
+
+    // String arena for names
+    private final OffHeapBuffer names = new OffHeapBuffer(INITIAL_ROWS * 16L);
+    private long namesSize;
+
+    // Dictionaries for low-cardinality attributes
+    private final Dictionary<Species> speciesDictionary = new Dictionary<>();
+    private final Dictionary<PersonName> ownerDictionary = new Dictionary<>();
+
+    // ID -> row index: open addressing over parallel key/row columns, row stored as row + 1
+    private OffHeapBuffer indexKeys;
+    private OffHeapBuffer indexRows;
+    private long indexCapacity;
+    private long indexSize;
+
+    private long nextId;
+
+    public OffHeapPetRepository() {
+        this(List.of());
+    }
+
+    public OffHeapPetRepository(List<Pet> initialPets) {
+        allocateIndex(INITIAL_ROWS * 2L);
+        for (Pet pet : initialPets) {
+            insertRow(pet.getId(), pet.getVersion(), pet);
+            nextId = Math.max(nextId, pet.getId() + 1);
+        }
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int row = indexGet(id);
+            return row == NO_VALUE ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Pet> findAllById(Collection<Long> ids) {
+        // One read lock acquisition for all IDs
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            List<Pet> found = new ArrayList<>(ids.size());
+            for (long id : ids.stream().distinct().toList()) {
+                int row = indexGet(id);
+                if (row != NO_VALUE) {
+                    found.add(materialize(row));
+                }
+            }
+            return found;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            if (pet.getId() == null) {
+                return createPet(pet);
+            } else {
+                return updatePet(pet);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        PetRepository.requireNew(newPets);
+        // One write lock acquisition for the whole batch
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            List<Pet> persistedPets = new ArrayList<>(newPets.size());
+            for (Pet pet : newPets) {
+                persistedPets.add(createPet(pet));
+            }
+            return persistedPets;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Pet createPet(Pet pet) {
+        long newId = nextId++;
+        insertRow(newId, 0L, pet);
+        return new Pet(
+                newId, pet.getName(), pet.getSpecies(), pet.getAge(), pet.getOwnerName(), 0L);
+    }
+
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int row = indexGet(id);
+            if (row == NO_VALUE) {
+                return Optional.empty();
+            }
+            Pet existingPet = materialize(row);
+            Pet changedPet = change.apply(existingPet);
+            return Optional.of(
+                    updatePet(
+                            new Pet(
+                                    id,
+                                    changedPet.getName(),
+                                    changedPet.getSpecies(),
+                                    changedPet.getAge(),
+                                    changedPet.getOwnerName(),
+                                    existingPet.getVersion())));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Pet updatePet(Pet pet) {
+        int row = indexGet(pet.getId());
+        if (row == NO_VALUE) {
+            throw new IllegalArgumentException(
+                    "Cannot update non-existent pet with ID: " + pet.getId());
+        }
+
+        // Validate optimistic lock - version must match
+        long currentVersion = versions.segment().getAtIndex(JAVA_LONG, row);
+        if (currentVersion != pet.getVersion()) {
+            throw new OptimisticLockException(pet.getId(), pet.getVersion(), currentVersion);
+        }
+
+        long newVersion = currentVersion + 1;
+        writeRow(row, pet.getId(), newVersion, pet);
+        return new Pet(
+                pet.getId(),
+                pet.getName(),
+                pet.getSpecies(),
+                pet.getAge(),
+                pet.getOwnerName(),
+                newVersion);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return deleteRow(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            int row = indexGet(id);
+            if (row == NO_VALUE) {
+                return false;
+            }
+            long currentVersion = versions.segment().getAtIndex(JAVA_LONG, row);
+            if (currentVersion != expectedVersion) {
+                throw new OptimisticLockException(id, expectedVersion, currentVersion);
+            }
+            return deleteRow(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean deleteRow(long id) {
+        int row = indexRemove(id);
+        if (row == NO_VALUE) {
+            return false;
+        }
+        versions.segment().setAtIndex(JAVA_LONG, row, DELETED);
+        pushFreeRow(row);
+        return true;
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return readRows(0, rowCount);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        // Materialize one batch of rows at a time, releasing the lock between batches
+        return Stream.iterate(0, start -> start < rowCount(), start -> start + STREAM_BATCH_SIZE)
+                .flatMap(start -> readBatch(start).stream());
+    }
+
+    @Override
+    public void close() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            for (OffHeapBuffer buffer :
+                    List.of(
+                            ids,
+                            versions,
+                            ages,
+                            speciesCodes,
+                            ownerCodes,
+                            nameOffsets,
+                            nameLengths,
+                            names,
+                            indexKeys,
+                            indexRows)) {
+                buffer.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private int rowCount() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return rowCount;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<Pet> readBatch(int start) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return readRows(start, Math.min(rowCount, start + STREAM_BATCH_SIZE));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private List<Pet> readRows(int fromRow, int toRow) {
+        List<Pet> pets = new ArrayList<>();
+        MemorySegment versionColumn = versions.segment();
+        for (int row = fromRow; row < toRow; row++) {
+            if (versionColumn.getAtIndex(JAVA_LONG, row) != DELETED) {
+                pets.add(materialize(row));
+            }
+        }
+        return pets;
+    }
+
+    // --- Rows ---
+
+    private void insertRow(long id, long version, Pet pet) {
+        // A reused row keeps its old name bytes, which are overwritten in place when they fit
+        int row = freeRowCount > 0 ? freeRows[--freeRowCount] : appendRow();
+        writeRow(row, id, version, pet);
+        indexPut(id, row);
+    }
+
+    private int appendRow() {
+        int row = rowCount++;
+        ensureRowCapacity(rowCount);
+        return row;
+    }
+
+    private void ensureRowCapacity(long rows) {
+        ids.ensureCapacity(rows * JAVA_LONG.byteSize());
+        versions.ensureCapacity(rows * JAVA_LONG.byteSize());
+        ages.ensureCapacity(rows * JAVA_INT.byteSize());
+        speciesCodes.ensureCapacity(rows * JAVA_INT.byteSize());
+        ownerCodes.ensureCapacity(rows * JAVA_INT.byteSize());
+        nameOffsets.ensureCapacity(rows * JAVA_LONG.byteSize());
+        nameLengths.ensureCapacity(rows * JAVA_INT.byteSize());
+    }
+
+    private void writeRow(int row, long id, long version, Pet pet) {
+        ids.segment().setAtIndex(JAVA_LONG, row, id);
+        versions.segment().setAtIndex(JAVA_LONG, row, version);
+        ages.segment()
+                .setAtIndex(JAVA_INT, row, pet.getAge() != null ? pet.getAge().value() : NO_VALUE);
+        speciesCodes
+                .segment()
+                .setAtIndex(JAVA_INT, row, speciesDictionary.encode(pet.getSpecies()));
+        ownerCodes
+                .segment()
+                .setAtIndex(
+                        JAVA_INT,
+                        row,
+                        pet.getOwnerName() != null
+                                ? ownerDictionary.encode(pet.getOwnerName())
+                                : NO_VALUE);
+        writeName(row, pet.getName().value().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeName(int row, byte[] bytes) {
+        int currentLength = nameLengths.segment().getAtIndex(JAVA_INT, row);
+        long offset;
+        if (currentLength >= bytes.length) {
+            offset = nameOffsets.segment().getAtIndex(JAVA_LONG, row);
+        } else {
+            offset = namesSize;
+            namesSize += bytes.length;
+            names.ensureCapacity(namesSize);
+            nameOffsets.segment().setAtIndex(JAVA_LONG, row, offset);
+        }
+        MemorySegment.copy(bytes, 0, names.segment(), JAVA_BYTE, offset, bytes.length);
+        nameLengths.segment().setAtIndex(JAVA_INT, row, bytes.length);
+    }
+
+    private Pet materialize(int row) {
+        long offset = nameOffsets.segment().getAtIndex(JAVA_LONG, row);
+        int length = nameLengths.segment().getAtIndex(JAVA_INT, row);
+        byte[] nameBytes = new byte[length];
+        MemorySegment.copy(names.segment(), JAVA_BYTE, offset, nameBytes, 0, length);
+
+        int age = ages.segment().getAtIndex(JAVA_INT, row);
+        int ownerCode = ownerCodes.segment().getAtIndex(JAVA_INT, row);
+        return new Pet(
+                ids.segment().getAtIndex(JAVA_LONG, row),
+                new PetName(new String(nameBytes, StandardCharsets.UTF_8)),
+                speciesDictionary.decode(speciesCodes.segment().getAtIndex(JAVA_INT, row)),
+                age != NO_VALUE ? new Age(age) : null,
+                ownerCode != NO_VALUE ? ownerDictionary.decode(ownerCode) : null,
+                versions.segment().getAtIndex(JAVA_LONG, row));
+    }
+
+    private void pushFreeRow(int row) {
+        if (freeRowCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+        }
+        freeRows[freeRowCount++] = row;
+    }
+
+    // --- ID index ---
+
+    private void allocateIndex(long capacity) {
+        indexCapacity = capacity;
+        indexKeys = new OffHeapBuffer(capacity * JAVA_LONG.byteSize());
+        indexRows = new OffHeapBuffer(capacity * JAVA_INT.byteSize());
+    }
+
+    private int indexGet(long id) {
+        long slot = findSlot(id);
+        int stored = indexRows.segment().getAtIndex(JAVA_INT, slot);
+        return stored == 0 ? NO_VALUE : stored - 1;
+    }
+
+    private void indexPut(long id, int row) {
+        if ((indexSize + 1) * 10 > indexCapacity * 7) {
+            resizeIndex();
+        }
+        long slot = findSlot(id);
+        if (indexRows.segment().getAtIndex(JAVA_INT, slot) == 0) {
+            indexSize++;
+        }
+        indexKeys.segment().setAtIndex(JAVA_LONG, slot, id);
+        indexRows.segment().setAtIndex(JAVA_INT, slot, row + 1);
+    }
+
+    private int indexRemove(long id) {
+        long slot = findSlot(id);
+        MemorySegment keys = indexKeys.segment();
+        MemorySegment rows = indexRows.segment();
+        int stored = rows.getAtIndex(JAVA_INT, slot);
+        if (stored == 0) {
+            return NO_VALUE;
+        }
+
+        // Backward-shift deletion keeps probe runs intact without tombstones
+        long mask = indexCapacity - 1;
+        long hole = slot;
+        long next = (hole + 1) & mask;
+        while (rows.getAtIndex(JAVA_INT, next) != 0) {
+            long ideal = mix(keys.getAtIndex(JAVA_LONG, next)) & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys.setAtIndex(JAVA_LONG, hole, keys.getAtIndex(JAVA_LONG, next));
+                rows.setAtIndex(JAVA_INT, hole, rows.getAtIndex(JAVA_INT, next));
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        rows.setAtIndex(JAVA_INT, hole, 0);
+        indexSize--;
+        return stored - 1;
+    }
+
+    /** Returns the slot holding the ID, or the empty slot where it would be inserted. */
+    private long findSlot(long id) {
+        MemorySegment keys = indexKeys.segment();
+        MemorySegment rows = indexRows.segment();
+        long mask = indexCapacity - 1;
+        long slot = mix(id) & mask;
+        while (rows.getAtIndex(JAVA_INT, slot) != 0 && keys.getAtIndex(JAVA_LONG, slot) != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resizeIndex() {
+        OffHeapBuffer oldKeys = indexKeys;
+        OffHeapBuffer oldRows = indexRows;
+        long oldCapacity = indexCapacity;
+
+        allocateIndex(oldCapacity * 2);
+        indexSize = 0;
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            int stored = oldRows.segment().getAtIndex(JAVA_INT, slot);
+            if (stored != 0) {
+                indexPut(oldKeys.segment().getAtIndex(JAVA_LONG, slot), stored - 1);
+            }
+        }
+        oldKeys.close();
+        oldRows.close();
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 29);
+    }
+
+    /** Bidirectional mapping between values and dense int codes. Guarded by the repository lock. */
+    private static final class Dictionary<T> {
+
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> values = new ArrayList<>();
+
+        int encode(T value) {
+            return codes.computeIfAbsent(
+                    value,
+                    v -> {
+                        values.add(v);
+                        return values.size() - 1;
+                    });
+        }
+
+        T decode(int code) {
+            return values.get(code);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * In-memory implementation of PetRepository backed by a primitive long-keyed open-addressing
+ * hash table. Trades the secondary indexes of {@link InMemoryPetRepository} for a much smaller
+ * per-entry footprint, which matters at tens of millions of pets. Ordered and filtered queries
+ * fall back to the scanning defaults of PetRepository.
+ */
+public class OpenAddressingPetRepository implements PetRepository {
+
+    private final LongPetHashMap pets;
+    private final AtomicLong idGenerator = new AtomicLong(0);
+
+    public OpenAddressingPetRepository() {
+        this.pets = new LongPetHashMap();
+    }
+
+    /** Seeds the repository with pets that already have IDs; new IDs continue after the highest. */
+    public OpenAddressingPetRepository(List<Pet> initialPets) {
+        this.pets = new LongPetHashMap(initialPets.size());
+        initialPets.forEach(
+                pet -> {
+                    pets.put(pet.getId(), pet);
+                    idGenerator.accumulateAndGet(pet.getId() + 1, Math::max);
+                });
+    }
+
+    /**
+     * Finds a pet by its primitive ID without boxing the key or wrapping the result.
+     *
+     * @param id the pet's ID
+     * @return the pet, or null if not found
+     */
+    public Pet getById(long id) {
+        return pets.get(id);
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        return Optional.ofNullable(pets.get(id));
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        if (pet.getId() == null) {
+            return createPet(pet);
+        } else {
+            return updatePet(pet);
+        }
+    }
+
+    private Pet updatePet(Pet pet) {
+        long id = pet.getId();
+        return pets.compute(
+                id,
+                existingPet -> {
+                    if (existingPet == null) {
+                        throw new IllegalArgumentException(
+                                "Cannot update non-existent pet with ID: " + id);
+                    }
+
+                    // Validate optimistic lock - version must match
+                    if (!existingPet.getVersion().equals(pet.getVersion())) {
+                        throw new OptimisticLockException(
+                                id, pet.getVersion(), existingPet.getVersion());
+                    }
+
+                    return new Pet(
+                            id,
+                            pet.getName(),
+                            pet.getSpecies(),
+                            pet.getAge(),
+                            pet.getOwnerName(),
+                            pet.getVersion() + 1);
+                });
+    }
+
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        return Optional.ofNullable(
+                pets.compute(
+                        id,
+                        existingPet -> {
+                            if (existingPet == null) {
+                                return null;
+                            }
+                            Pet changedPet = change.apply(existingPet);
+                            return new Pet(
+                                    id,
+                                    changedPet.getName(),
+                                    changedPet.getSpecies(),
+                                    changedPet.getAge(),
+                                    changedPet.getOwnerName(),
+                                    existingPet.getVersion() + 1);
+                        }));
+    }
+
+    private Pet createPet(Pet pet) {
+        long newId = idGenerator.getAndIncrement();
+        Pet persistedPet =
+                new Pet(
+                        newId,
+                        pet.getName(),
+                        pet.getSpecies(),
+                        pet.getAge(),
+                        pet.getOwnerName(),
+                        0L);
+        pets.put(newId, persistedPet);
+        return persistedPet;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return pets.remove(id) != null;
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        boolean[] deleted = new boolean[1];
+        pets.compute(
+                id,
+                existingPet -> {
+                    if (existingPet == null) {
+                        return null;
+                    }
+                    if (existingPet.getVersion() != expectedVersion) {
+                        throw new OptimisticLockException(
+                                id, expectedVersion, existingPet.getVersion());
+                    }
+                    deleted[0] = true;
+                    return null;
+                });
+        return deleted[0];
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return pets.values();
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        return pets.stream();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * PetChangeFeed over a fixed-size ring buffer that keeps the latest {@code capacity} changes.
+ *
+ * <p>Publishing never waits: a writer takes the next sequence number, stores its change over the
+ * oldest one and completes the future readers are waiting on, if any. Readers keep their own
+ * position and never hold writers back; one that falls more than {@code capacity} changes behind
+ * finds its next change overwritten and gets a PetChangesExpiredException. Writers of different
+ * pets may store their changes out of order, so a reader stops at the first sequence number that
+ * is taken but not stored yet.
+ */
+public class PetChangeRing implements PetChangeFeed {
+
+    private final AtomicReferenceArray<PetChange> slots;
+    private final long firstSequence;
+    private final AtomicLong lastSequence;
+    private final AtomicReference<CompletableFuture<Void>> waiting = new AtomicReference<>();
+
+    /**
+     * @param capacity      the number of changes retained
+     * @param firstSequence the sequence number of the first change; a feed that replaces one of
+     *     an earlier run should start above every number the earlier one issued, so positions
+     *     saved by readers of the earlier run are recognized as expired
+     */
+    public PetChangeRing(int capacity, long firstSequence) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.firstSequence = firstSequence;
+        this.lastSequence = new AtomicLong(firstSequence - 1);
+    }
+
+    /**
+     * Numbers a change and stores it over the oldest one. Called by the repository while it
+     * holds the pet's lock, so changes to one pet are numbered in the order they are applied.
+     */
+    PetChange publish(PetChange.Type type, long petId, Pet pet) {
+        PetChange change = new PetChange(lastSequence.incrementAndGet(), type, petId, pet);
+        // A writer that was descheduled for a whole lap of the ring must not overwrite the newer
+        // change stored in its slot meanwhile
+        slots.accumulateAndGet(
+                slot(change.sequence()),
+                change,
+                (stored, published) ->
+                        stored == null || stored.sequence() < published.sequence()
+                                ? published
+                                : stored);
+        if (waiting.get() != null) {
+            CompletableFuture<Void> readers = waiting.getAndSet(null);
+            if (readers != null) {
+                readers.complete(null);
+            }
+        }
+        return change;
+    }
+
+    @Override
+    public long lastSequence() {
+        return lastSequence.get();
+    }
+
+    @Override
+    public List<PetChange> changesAfter(long sequence, int limit) {
+        long last = lastSequence.get();
+        if (sequence < firstSequence - 1 || sequence > last || last - sequence > capacity()) {
+            throw new PetChangesExpiredException(sequence, last);
+        }
+        List<PetChange> changes = new ArrayList<>((int) Math.min(limit, last - sequence));
+        for (long next = sequence + 1; next <= last && changes.size() < limit; next++) {
+            PetChange change = slots.get(slot(next));
+            if (change == null || change.sequence() < next) {
+                // Taken by a writer that has not stored it yet
+                break;
+            }
+            if (change.sequence() > next) {
+                throw new PetChangesExpiredException(sequence, lastSequence.get());
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    @Override
+    public CompletableFuture<Void> whenChangedAfter(long sequence) {
+        CompletableFuture<Void> readers =
+                waiting.updateAndGet(
+                        current -> current != null ? current : new CompletableFuture<>());
+        // Checked after registering: a writer that stored the change before the registration
+        // may have found no future to complete
+        PetChange next = slots.get(slot(sequence + 1));
+        if (next != null && next.sequence() >= sequence + 1) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return readers;
+    }
+
+    /** The sequence number of the first change published to this ring. */
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    /** The number of changes retained. */
+    int capacity() {
+        return slots.length();
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) slots.length());
+    }
+}
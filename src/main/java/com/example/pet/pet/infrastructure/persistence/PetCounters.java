@@ -0,0 +1,74 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of the pets of a repository, in total and per species, owner and age, kept current as
+ * pets are added, changed and removed, so that PetStatistics are read without a scan.
+ *
+ * <p>The total is a LongAdder. The count of each species, owner and age is changed atomically in
+ * a concurrent map, so writers contend only on the same key, and is removed when it drops to
+ * zero: the maps hold only keys that some pet has, however many have come and gone. Reading
+ * copies the maps: the result is exact when no write is in progress, and otherwise may include
+ * only part of a concurrent update.
+ */
+final class PetCounters {
+
+    private final LongAdder total = new LongAdder();
+    private final Map<Species, Long> bySpecies = new ConcurrentHashMap<>();
+    private final Map<PersonName, Long> byOwner = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> byAge = new ConcurrentHashMap<>();
+
+    void add(Pet pet) {
+        total.increment();
+        count(bySpecies, pet.getSpecies(), 1);
+        count(byOwner, pet.getOwnerName(), 1);
+        count(byAge, age(pet), 1);
+    }
+
+    void remove(Pet pet) {
+        total.decrement();
+        count(bySpecies, pet.getSpecies(), -1);
+        count(byOwner, pet.getOwnerName(), -1);
+        count(byAge, age(pet), -1);
+    }
+
+    /** Moves the counts of a pet from its old to its new species, owner and age. */
+    void move(Pet oldPet, Pet newPet) {
+        move(bySpecies, oldPet.getSpecies(), newPet.getSpecies());
+        move(byOwner, oldPet.getOwnerName(), newPet.getOwnerName());
+        move(byAge, age(oldPet), age(newPet));
+    }
+
+    PetStatistics statistics() {
+        return new PetStatistics(
+                total.sum(),
+                new HashMap<>(bySpecies),
+                new HashMap<>(byOwner),
+                new HashMap<>(byAge));
+    }
+
+    private static Integer age(Pet pet) {
+        return pet.getAge() != null ? pet.getAge().value() : null;
+    }
+
+    private static <K> void move(Map<K, Long> counts, K oldKey, K newKey) {
+        if (oldKey != null && oldKey.equals(newKey)) {
+            return;
+        }
+        count(counts, oldKey, -1);
+        count(counts, newKey, 1);
+    }
+
+    private static <K> void count(Map<K, Long> counts, K key, long delta) {
+        if (key != null) {
+            // A null result removes the key, under the same lock as the update
+            counts.merge(
+                    key, delta, (count, change) -> count + change != 0 ? count + change : null);
+        }
+    }
+}
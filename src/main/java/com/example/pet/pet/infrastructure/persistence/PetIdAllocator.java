@@ -0,0 +1,41 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.io.IOException;
+
+/**
+ * Hands out the IDs of new pets for an InMemoryPetRepository. IDs are never handed out twice,
+ * but need not be dense or follow the order in which pets are created.
+ *
+ * <p>SequentialPetIdAllocator counts up from one number and suits a single instance.
+ * BlockPetIdAllocator and SnowflakePetIdAllocator let several instances create pets side by side
+ * without assigning the same ID.
+ */
+public interface PetIdAllocator extends AutoCloseable {
+
+    /** The ID for a new pet; called concurrently by the threads that create pets. */
+    long nextId();
+
+    /**
+     * IDs for {@code count} new pets. The default implementation calls {@link #nextId()} for
+     * each; implementations should override it if they can reserve many IDs in one step.
+     */
+    default long[] nextIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = nextId();
+        }
+        return ids;
+    }
+
+    /**
+     * Makes sure {@code id} and every ID below it are never handed out, for pets restored from
+     * a snapshot or log or seeded with their IDs. Called before the first {@link #nextId()}.
+     */
+    void skipPast(long id);
+
+    /** A number above every ID handed out or skipped so far; snapshots record it. */
+    long limit();
+
+    @Override
+    default void close() throws IOException {}
+}
@@ -0,0 +1,32 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+
+/**
+ * A single change applied to the pet store.
+ * Creates and updates carry the full state of the pet after the change; deletes only the ID.
+ *
+ * @param type  the kind of change
+ * @param petId the ID of the changed pet
+ * @param pet   the pet after the change, or null for deletes
+ */
+public record PetMutation(Type type, long petId, Pet pet) {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+
+    public static PetMutation created(Pet pet) {
+        return new PetMutation(Type.CREATE, pet.getId(), pet);
+    }
+
+    public static PetMutation updated(Pet pet) {
+        return new PetMutation(Type.UPDATE, pet.getId(), pet);
+    }
+
+    public static PetMutation deleted(long petId) {
+        return new PetMutation(Type.DELETE, petId, null);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Compact binary encoding of pets and mutations shared by the write-ahead log and snapshots.
+ * IDs, versions, ages and string lengths are unsigned LEB128 varints, so small values take one
+ * byte; strings are length-prefixed UTF-8. Optional fields are encoded as value + 1, with 0
+ * meaning absent.
+ */
+final class PetRecordCodec {
+
+    private static final PetMutation.Type[] TYPES = PetMutation.Type.values();
+
+    private PetRecordCodec() {}
+
+    static void writeMutation(DataOutput out, PetMutation mutation) throws IOException {
+        out.writeByte(mutation.type().ordinal());
+        if (mutation.type() == PetMutation.Type.DELETE) {
+            writeVarLong(out, mutation.petId());
+        } else {
+            writePet(out, mutation.pet());
+        }
+    }
+
+    static PetMutation readMutation(DataInput in) throws IOException {
+        PetMutation.Type type = TYPES[in.readUnsignedByte()];
+        if (type == PetMutation.Type.DELETE) {
+            return PetMutation.deleted(readVarLong(in));
+        }
+        Pet pet = readPet(in);
+        return new PetMutation(type, pet.getId(), pet);
+    }
+
+    static void writePet(DataOutput out, Pet pet) throws IOException {
+        writeVarLong(out, pet.getId());
+        writeVarLong(out, pet.getVersion());
+        writeString(out, pet.getName().value());
+        writeString(out, pet.getSpecies().value());
+        writeVarLong(out, pet.getAge() != null ? pet.getAge().value() + 1L : 0L);
+        writeOptionalString(out, pet.getOwnerName() != null ? pet.getOwnerName().value() : null);
+    }
+
+    static Pet readPet(DataInput in) throws IOException {
+        return readPet(in, Species::new, PersonName::new);
+    }
+
+    /**
+     * Reads a pet, creating species and owner names through the given factories, which bulk
+     * loads use to share one instance per distinct value.
+     */
+    static Pet readPet(
+            DataInput in,
+            Function<String, Species> speciesFactory,
+            Function<String, PersonName> ownerFactory)
+            throws IOException {
+        long id = readVarLong(in);
+        long version = readVarLong(in);
+        PetName name = new PetName(readString(in));
+        Species species = speciesFactory.apply(readString(in));
+        long age = readVarLong(in);
+        String ownerName = readOptionalString(in);
+        return new Pet(
+                id,
+                name,
+                species,
+                age != 0 ? new Age((int) (age - 1)) : null,
+                ownerName != null ? ownerFactory.apply(ownerName) : null,
+                version);
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeOptionalString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readOptionalString(DataInput in) throws IOException {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) (length - 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
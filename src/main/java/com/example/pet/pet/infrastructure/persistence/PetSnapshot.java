@@ -0,0 +1,188 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.PersonName;
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.Species;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time image of the pets, written in the compact PetRecordCodec encoding.
+ *
+ * <p>Layout: magic, format version, then varints for the write-ahead log position the snapshot
+ * covers, the next ID and the number of pets when the snapshot started (used to pre-size the map
+ * on restore); then each pet preceded by a 1 byte, a 0 byte, and a CRC32C of everything before it.
+ *
+ * @param logPosition the log position to resume replay from
+ * @param nextId      the next ID to hand out, before replaying the log
+ * @param pets        the restored pets
+ * @param bytes       the size of the snapshot file
+ */
+record PetSnapshot(long logPosition, long nextId, Map<Long, Pet> pets, long bytes) {
+
+    private static final int MAGIC = 0x50455453; // "PETS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final int MAX_CANONICAL_VALUES = 1 << 16;
+
+    static PetSnapshot empty() {
+        return new PetSnapshot(0, 0, new ConcurrentHashMap<>(), 0);
+    }
+
+    /**
+     * Writes the pets to a temporary file and atomically moves it over {@code path}, so a crash
+     * while writing leaves the previous snapshot intact. The file is forced to disk before the
+     * move and the directory after it, so the move never survives a crash without the data.
+     *
+     * @return the size of the snapshot in bytes
+     */
+    static long write(
+            Path path, long logPosition, long nextId, int expectedPets, Iterable<Pet> pets)
+            throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel =
+                        FileChannel.open(
+                                temporary,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE);
+                OutputStream file = Channels.newOutputStream(channel)) {
+            // Checksum below the buffer, so the CRC is updated per block rather than per byte
+            DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(
+                                    new CheckedOutputStream(file, crc), BUFFER_BYTES));
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            PetRecordCodec.writeVarLong(out, logPosition);
+            PetRecordCodec.writeVarLong(out, nextId);
+            PetRecordCodec.writeVarLong(out, expectedPets);
+            for (Pet pet : pets) {
+                out.writeByte(1);
+                PetRecordCodec.writePet(out, pet);
+            }
+            out.writeByte(0);
+            out.flush();
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(
+                temporary,
+                path,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(path.toAbsolutePath().getParent());
+        return Files.size(path);
+    }
+
+    /** Makes a rename in {@code directory} durable. */
+    private static void forceDirectory(Path directory) throws IOException {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory; it makes the rename durable with the file
+        }
+    }
+
+    /** A snapshot file that is not a snapshot, or whose checksum does not match. */
+    static final class CorruptSnapshotException extends IOException {
+
+        CorruptSnapshotException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Reads the snapshot at {@code path}, or returns an empty one if there is none.
+     *
+     * @throws CorruptSnapshotException if the file is not an intact snapshot
+     */
+    static PetSnapshot readIfExists(Path path) throws IOException {
+        if (path == null || !Files.exists(path)) {
+            return empty();
+        }
+        long bytes = Files.size(path);
+        verifyChecksum(path, bytes);
+        try (DataInputStream in =
+                new DataInputStream(new ChannelInputStream(FileChannel.open(path), BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != FORMAT_VERSION) {
+                throw new CorruptSnapshotException("Not a pet snapshot: " + path);
+            }
+            long logPosition = PetRecordCodec.readVarLong(in);
+            long nextId = PetRecordCodec.readVarLong(in);
+            int expectedPets = (int) PetRecordCodec.readVarLong(in);
+            // Pre-sized, so the bulk load never rehashes
+            Map<Long, Pet> pets = new ConcurrentHashMap<>(expectedPets);
+            // Species and owners repeat across pets; sharing them keeps millions of duplicate
+            // objects off the heap and out of the garbage collector's way
+            Function<String, Species> species = canonicalizing(Species::new);
+            Function<String, PersonName> owners = canonicalizing(PersonName::new);
+            while (in.readUnsignedByte() == 1) {
+                Pet pet = PetRecordCodec.readPet(in, species, owners);
+                pets.put(pet.getId(), pet);
+            }
+            return new PetSnapshot(logPosition, nextId, pets, bytes);
+        }
+    }
+
+    private static <T> Function<String, T> canonicalizing(Function<String, T> factory) {
+        Map<String, T> canonical = new HashMap<>();
+        return value -> {
+            T existing = canonical.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            T created = factory.apply(value);
+            // Bounded, so mostly unique values cannot double the memory of a restore
+            if (canonical.size() < MAX_CANONICAL_VALUES) {
+                canonical.put(value, created);
+            }
+            return created;
+        };
+    }
+
+    /** Checks the trailing CRC32C before anything is decoded. */
+    private static void verifyChecksum(Path path, long bytes) throws IOException {
+        if (bytes < Integer.BYTES) {
+            throw new CorruptSnapshotException("Corrupt pet snapshot: " + path);
+        }
+        CRC32C crc = new CRC32C();
+        try (DataInputStream in =
+                new DataInputStream(
+                        new CheckedInputStream(
+                                new ChannelInputStream(FileChannel.open(path), BUFFER_BYTES),
+                                crc))) {
+            in.skipNBytes(bytes - Integer.BYTES);
+            int computed = (int) crc.getValue();
+            if (in.readInt() != computed) {
+                throw new CorruptSnapshotException("Corrupt pet snapshot: " + path);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ReactivePetRepository over a PetRepository.
+ *
+ * <p>The in-memory repositories answer from memory without waiting on anything, so their calls
+ * can run directly on the event loop ({@link #nonBlocking}). Repositories that wait on I/O, such
+ * as JDBC or a write-ahead log that forces every write to disk, must be wrapped with {@link
+ * #blocking}, which moves each call to a bounded elastic worker so that no event-loop thread is
+ * ever parked. Calls are deferred until subscription in both cases.
+ *
+ * <p>{@link #findModifiedSince} runs on a bounded elastic worker either way: the in-memory
+ * repository parks it until writes in progress have indexed their changes.
+ */
+public class ReactivePetRepositoryAdapter implements ReactivePetRepository {
+
+    private final PetRepository delegate;
+    private final Scheduler scheduler;
+
+    private ReactivePetRepositoryAdapter(PetRepository delegate, Scheduler scheduler) {
+        this.delegate = delegate;
+        this.scheduler = scheduler;
+    }
+
+    /** Adapts a repository whose calls never block the calling thread. */
+    public static ReactivePetRepositoryAdapter nonBlocking(PetRepository delegate) {
+        return new ReactivePetRepositoryAdapter(delegate, Schedulers.immediate());
+    }
+
+    /** Adapts a repository whose calls may block, running them off the event loop. */
+    public static ReactivePetRepositoryAdapter blocking(PetRepository delegate) {
+        return new ReactivePetRepositoryAdapter(delegate, Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Pet> findById(Long id) {
+        return mono(() -> delegate.findById(id).orElse(null));
+    }
+
+    @Override
+    public Flux<Pet> findAllById(Collection<Long> ids) {
+        return flux(() -> delegate.findAllById(ids));
+    }
+
+    @Override
+    public Mono<Pet> save(Pet pet) {
+        return mono(() -> delegate.save(pet));
+    }
+
+    @Override
+    public Flux<Pet> saveAll(List<Pet> newPets) {
+        return flux(() -> delegate.saveAll(newPets));
+    }
+
+    @Override
+    public Mono<Pet> update(Long id, UnaryOperator<Pet> change) {
+        return mono(() -> delegate.update(id, change).orElse(null));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Long id) {
+        return mono(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(Long id, long expectedVersion) {
+        return mono(() -> delegate.deleteById(id, expectedVersion));
+    }
+
+    @Override
+    public Mono<PetDelta> findModifiedSince(long sequence) {
+        return Mono.fromCallable(() -> delegate.findModifiedSince(sequence))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Flux<Pet> findAll() {
+        // Streams the repository without copying it; the stream is closed when the Flux
+        // terminates or is cancelled
+        return Flux.fromStream(delegate::stream).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<Pet> findPage(Long afterId, int limit) {
+        return flux(() -> delegate.findPage(afterId, limit));
+    }
+
+    @Override
+    public Mono<PetStatistics> statistics() {
+        return mono(delegate::statistics);
+    }
+
+    @Override
+    public Flux<Pet> findBySpecies(Species species) {
+        return flux(() -> delegate.findBySpecies(species));
+    }
+
+    @Override
+    public Flux<Pet> findByOwner(PersonName ownerName) {
+        return flux(() -> delegate.findByOwner(ownerName));
+    }
+
+    /** A Mono of the call's result, completing empty when the call returns null. */
+    private <T> Mono<T> mono(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    private <T> Flux<T> flux(Callable<List<T>> call) {
+        return mono(call).flatMapIterable(list -> list);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Read-only PetRepository of a follower instance, serving reads from the copy of the leader's
+ * pets that a ReplicationFollower keeps current.
+ *
+ * <p>Reads see the leader's writes after the replication lag; {@link #catchUp()} waits until
+ * they see every write the leader completed before the call. Writes throw
+ * ReadOnlyReplicaException: they must go to the leader.
+ */
+public class ReplicaPetRepository implements PetRepository, PetReplication, AutoCloseable {
+
+    private final InMemoryPetRepository replica;
+    private final ReplicationFollower follower;
+    private final Duration catchUpTimeout;
+
+    /**
+     * @param replica        the copy the follower applies the leader's changes to
+     * @param follower       the follower of the leader
+     * @param catchUpTimeout how long {@link #catchUp()} waits for the leader's latest changes
+     */
+    public ReplicaPetRepository(
+            InMemoryPetRepository replica, ReplicationFollower follower, Duration catchUpTimeout) {
+        this.replica = replica;
+        this.follower = follower;
+        this.catchUpTimeout = catchUpTimeout;
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        return replica.findById(id);
+    }
+
+    @Override
+    public List<Pet> findAllById(Collection<Long> ids) {
+        return replica.findAllById(ids);
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        throw readOnly();
+    }
+
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        throw readOnly();
+    }
+
+    private ReadOnlyReplicaException readOnly() {
+        return new ReadOnlyReplicaException(follower.leader());
+    }
+
+    @Override
+    public PetDelta findModifiedSince(long sequence) {
+        return replica.findModifiedSince(sequence);
+    }
+
+    @Override
+    public void catchUp() {
+        follower.awaitLeader(catchUpTimeout);
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return replica.findAll();
+    }
+
+    @Override
+    public List<Pet> findPage(Long afterId, int limit) {
+        return replica.findPage(afterId, limit);
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        return replica.stream();
+    }
+
+    @Override
+    public PetStatistics statistics() {
+        return replica.statistics();
+    }
+
+    @Override
+    public List<Pet> findBySpecies(Species species) {
+        return replica.findBySpecies(species);
+    }
+
+    @Override
+    public List<Pet> findByOwner(PersonName ownerName) {
+        return replica.findByOwner(ownerName);
+    }
+
+    @Override
+    public ReplicationStatus status() {
+        return follower.status();
+    }
+
+    @Override
+    public void close() throws Exception {
+        follower.close();
+        replica.close();
+    }
+}
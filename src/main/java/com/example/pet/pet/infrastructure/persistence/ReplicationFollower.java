@@ -0,0 +1,355 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static com.example.pet.pet.infrastructure.persistence.ReplicationProtocol.*;
+
+import com.example.pet.pet.domain.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps an InMemoryPetRepository a copy of a ReplicationLeader's pets, by applying the changes
+ * the leader streams to it in sequence order.
+ *
+ * <p>One thread connects to the leader, applies what it receives and reports its position back
+ * whenever it has applied everything received so far, or at least every 100 ms. If the
+ * connection drops it reconnects after {@code reconnectDelay} and resumes from its position, or
+ * is sent every pet again if the leader no longer retains it, for instance after a restart of
+ * the leader.
+ *
+ * <p>{@link #awaitLeader} gives reads that ask for it read-your-writes consistency across
+ * instances: it asks the leader for its latest sequence number, which covers every write the
+ * leader completed before, and waits until this copy has applied up to it.
+ */
+public class ReplicationFollower implements PetReplication, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final long ACK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final InMemoryPetRepository replica;
+    private final InetSocketAddress leader;
+    private final Duration reconnectDelay;
+    private final Lock lifecycle = new ReentrantLock();
+    private Thread thread;
+    private final AtomicLong requestIds = new AtomicLong();
+    private final Map<Long, CompletableFuture<Long>> readIndexRequests = new ConcurrentHashMap<>();
+    // Signalled whenever the follower connects or applies the lowest awaited sequence number
+    private final Lock appliedLock = new ReentrantLock();
+    private final Condition appliedChanged = appliedLock.newCondition();
+    // Number of readers waiting for each sequence number, guarded by appliedLock
+    private final NavigableMap<Long, Integer> awaited = new TreeMap<>();
+    private volatile long lowestAwaited = Long.MAX_VALUE;
+    private final Lock output = new ReentrantLock();
+    private volatile DataOutputStream out;
+    private volatile Socket socket;
+    private volatile long appliedSequence = NO_SEQUENCE;
+    private volatile long leaderSequence = NO_SEQUENCE;
+    private volatile long lastContactNanos;
+    private volatile boolean connected;
+    private volatile boolean closed;
+
+    /**
+     * Follows the leader at {@code host}:{@code port} once {@link #start()} is called, applying
+     * its changes to {@code replica}, which must not be written to otherwise.
+     */
+    public ReplicationFollower(
+            InMemoryPetRepository replica, String host, int port, Duration reconnectDelay) {
+        this.replica = replica;
+        this.leader = InetSocketAddress.createUnresolved(host, port);
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    /** Starts following the leader. */
+    public void start() {
+        lifecycle.lock();
+        try {
+            if (thread == null && !closed) {
+                thread =
+                        Thread.ofPlatform()
+                                .name("pet-replication-follower")
+                                .daemon()
+                                .start(this::run);
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    /** The host and port of the leader. */
+    public String leader() {
+        return leader.getHostString() + ":" + leader.getPort();
+    }
+
+    @Override
+    public ReplicationStatus status() {
+        Duration sinceContact =
+                lastContactNanos == 0
+                        ? null
+                        : Duration.ofNanos(System.nanoTime() - lastContactNanos);
+        return new ReplicationStatus(
+                ReplicationStatus.Role.FOLLOWER,
+                connected,
+                appliedSequence,
+                leaderSequence,
+                sinceContact,
+                List.of());
+    }
+
+    /**
+     * Waits until this copy has applied every write the leader completed before the call,
+     * first waiting for a connection to the leader if there is none.
+     *
+     * @throws ReplicaUnavailableException if the leader cannot be asked, or the changes are not
+     *     applied, within {@code timeout}
+     */
+    public void awaitLeader(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long requestId = requestIds.incrementAndGet();
+        CompletableFuture<Long> reply = new CompletableFuture<>();
+        readIndexRequests.put(requestId, reply);
+        try {
+            awaitConnected(deadline);
+            output.lock();
+            try {
+                DataOutputStream leaderOut = out;
+                leaderOut.writeByte(READ_INDEX);
+                leaderOut.writeLong(requestId);
+                leaderOut.flush();
+            } finally {
+                output.unlock();
+            }
+            long target = reply.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            awaitApplied(target, deadline);
+        } catch (IOException | ExecutionException e) {
+            throw new ReplicaUnavailableException("Lost the connection to the leader " + leader, e);
+        } catch (TimeoutException e) {
+            throw new ReplicaUnavailableException(
+                    "The leader " + leader + " did not answer within " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReplicaUnavailableException("Interrupted while waiting for the leader", e);
+        } finally {
+            readIndexRequests.remove(requestId);
+        }
+    }
+
+    private void awaitConnected(long deadline) throws InterruptedException {
+        appliedLock.lock();
+        try {
+            while (!connected) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new ReplicaUnavailableException("Not connected to the leader " + leader);
+                }
+                appliedChanged.awaitNanos(remaining);
+            }
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    private void awaitApplied(long sequence, long deadline) throws InterruptedException {
+        appliedLock.lock();
+        try {
+            awaited.merge(sequence, 1, Integer::sum);
+            lowestAwaited = awaited.firstKey();
+            try {
+                while (appliedSequence < sequence) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new ReplicaUnavailableException(
+                                String.format(
+                                        "Applied up to sequence %d, not %d, in time",
+                                        appliedSequence, sequence));
+                    }
+                    appliedChanged.awaitNanos(remaining);
+                }
+            } finally {
+                awaited.computeIfPresent(sequence, (key, count) -> count > 1 ? count - 1 : null);
+                lowestAwaited = awaited.isEmpty() ? Long.MAX_VALUE : awaited.firstKey();
+            }
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try (Socket leaderSocket = new Socket()) {
+                socket = leaderSocket;
+                leaderSocket.connect(
+                        new InetSocketAddress(leader.getHostString(), leader.getPort()),
+                        CONNECT_TIMEOUT_MILLIS);
+                leaderSocket.setTcpNoDelay(true);
+                DataInputStream in =
+                        new DataInputStream(new BufferedInputStream(leaderSocket.getInputStream()));
+                out =
+                        new DataOutputStream(
+                                new BufferedOutputStream(leaderSocket.getOutputStream()));
+                output.lock();
+                try {
+                    out.writeInt(MAGIC);
+                    out.writeByte(VERSION);
+                    out.writeLong(appliedSequence);
+                    out.flush();
+                } finally {
+                    output.unlock();
+                }
+                connected = true;
+                signalApplied();
+                LOGGER.info("Following {} from sequence {}", leader, appliedSequence);
+                receive(in);
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.warn(
+                            "Lost the connection to the leader {}, reconnecting in {}: {}",
+                            leader,
+                            reconnectDelay,
+                            e.toString());
+                }
+            } catch (RuntimeException e) {
+                // A change this copy cannot apply leaves it in an unknown state: drop the
+                // connection and have the leader send every pet again
+                appliedSequence = NO_SEQUENCE;
+                LOGGER.error(
+                        "Failed to apply the changes of the leader {}, resetting in {}",
+                        leader,
+                        reconnectDelay,
+                        e);
+            } finally {
+                connected = false;
+                IOException lost = new IOException("Disconnected from the leader");
+                readIndexRequests.values().forEach(reply -> reply.completeExceptionally(lost));
+            }
+            try {
+                Thread.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void receive(DataInputStream in) throws IOException {
+        List<Pet> resetPets = null;
+        long resetSequence = NO_SEQUENCE;
+        long acknowledged = NO_SEQUENCE;
+        long acknowledgedNanos = System.nanoTime();
+        while (true) {
+            byte type = in.readByte();
+            lastContactNanos = System.nanoTime();
+            switch (type) {
+                case RESET -> {
+                    resetSequence = in.readLong();
+                    resetPets = new ArrayList<>();
+                }
+                case PET -> {
+                    if (resetPets == null) {
+                        throw new IOException("Pet frame outside a reset");
+                    }
+                    resetPets.add(PetRecordCodec.readPet(in));
+                }
+                case RESET_END -> {
+                    if (resetPets == null) {
+                        throw new IOException("Reset end frame outside a reset");
+                    }
+                    replica.resetReplicated(resetPets);
+                    LOGGER.info(
+                            "Reset to {} pets of the leader at sequence {}",
+                            resetPets.size(),
+                            resetSequence);
+                    resetPets = null;
+                    applied(resetSequence);
+                }
+                case CHANGE -> {
+                    long sequence = in.readLong();
+                    replica.applyReplicated(PetRecordCodec.readMutation(in));
+                    applied(sequence);
+                }
+                case HEARTBEAT -> leaderSequence = Math.max(leaderSequence, in.readLong());
+                case READ_INDEX -> {
+                    long requestId = in.readLong();
+                    long sequence = in.readLong();
+                    leaderSequence = Math.max(leaderSequence, sequence);
+                    CompletableFuture<Long> reply = readIndexRequests.get(requestId);
+                    if (reply != null) {
+                        reply.complete(sequence);
+                    }
+                }
+                default -> throw new IOException("Unexpected frame " + type);
+            }
+            // Reports the position once per burst rather than per change, and at least every
+            // ACK_INTERVAL_NANOS while changes keep arriving
+            if (appliedSequence != acknowledged
+                    && resetPets == null
+                    && (in.available() == 0
+                            || System.nanoTime() - acknowledgedNanos >= ACK_INTERVAL_NANOS)) {
+                acknowledged = appliedSequence;
+                acknowledgedNanos = System.nanoTime();
+                output.lock();
+                try {
+                    out.writeByte(ACK);
+                    out.writeLong(acknowledged);
+                    out.flush();
+                } finally {
+                    output.unlock();
+                }
+            }
+        }
+    }
+
+    private void applied(long sequence) {
+        appliedSequence = sequence;
+        leaderSequence = Math.max(leaderSequence, sequence);
+        if (sequence >= lowestAwaited) {
+            signalApplied();
+        }
+    }
+
+    private void signalApplied() {
+        appliedLock.lock();
+        try {
+            appliedChanged.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lifecycle.lock();
+        try {
+            closed = true;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        } finally {
+            lifecycle.unlock();
+        }
+        Socket leaderSocket = socket;
+        if (leaderSocket != null) {
+            leaderSocket.close();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static com.example.pet.pet.infrastructure.persistence.ReplicationProtocol.*;
+
+import com.example.pet.pet.domain.*;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ships the changes of the pet store to ReplicationFollowers over TCP, in the format of
+ * ReplicationProtocol.
+ *
+ * <p>The changes are read from the PetChangeFeed, which numbers every create, update and delete
+ * in the order it was applied to each pet. Each follower has its own thread, which reads the
+ * feed from the follower's position at its own pace, like a subscriber of the change stream. A
+ * follower that is new, or whose position the feed no longer retains, is first sent every pet,
+ * taken after all changes up to a sequence number are applied, and then the changes after that
+ * number; changes that were also in the scan are applied again, which is harmless.
+ *
+ * <p>The repository must keep a modification sequence (see PetRepository#findModifiedSince),
+ * which the in-memory repository with a change feed does.
+ */
+public class ReplicationLeader implements PetReplication, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationLeader.class);
+    private static final int BATCH_SIZE = 256;
+
+    private final PetRepository repository;
+    private final PetChangeFeed changes;
+    private final long heartbeatNanos;
+    private final ServerSocket serverSocket;
+    private final Lock lifecycle = new ReentrantLock();
+    private Thread acceptor;
+    private final Set<FollowerConnection> followers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /**
+     * Binds to {@code address}, on a free port if its port is 0; followers are accepted once
+     * {@link #start()} is called. Followers are not authenticated, so the address should only be
+     * reachable by them.
+     *
+     * @param heartbeatInterval how often an idle follower is sent the latest sequence number
+     */
+    public ReplicationLeader(
+            PetRepository repository,
+            PetChangeFeed changes,
+            InetSocketAddress address,
+            Duration heartbeatInterval)
+            throws IOException {
+        this.repository = repository;
+        this.changes = changes;
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.serverSocket = new ServerSocket();
+        // A restarted leader can listen again while connections of the old one linger
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(address);
+    }
+
+    /** Starts accepting followers. */
+    public void start() {
+        lifecycle.lock();
+        try {
+            if (acceptor != null || closed) {
+                return;
+            }
+            acceptor =
+                    Thread.ofPlatform()
+                            .name("pet-replication-leader")
+                            .daemon()
+                            .start(this::acceptFollowers);
+        } finally {
+            lifecycle.unlock();
+        }
+        LOGGER.info("Replication leader listening on {}", serverSocket.getLocalSocketAddress());
+    }
+
+    /** The port followers connect to. */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public ReplicationStatus status() {
+        long last = changes.lastSequence();
+        List<ReplicationStatus.Follower> connected =
+                followers.stream()
+                        .map(
+                                follower ->
+                                        new ReplicationStatus.Follower(
+                                                follower.address,
+                                                follower.appliedSequence,
+                                                Math.max(0, last - follower.appliedSequence)))
+                        .toList();
+        return new ReplicationStatus(
+                ReplicationStatus.Role.LEADER, true, last, last, null, connected);
+    }
+
+    private void acceptFollowers() {
+        while (!closed) {
+            try {
+                FollowerConnection follower = new FollowerConnection(serverSocket.accept());
+                followers.add(follower);
+                Thread.ofPlatform()
+                        .name("pet-replication-" + follower.address)
+                        .daemon()
+                        .start(follower::run);
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.warn("Failed to accept a follower", e);
+                }
+            }
+        }
+    }
+
+    /** Disconnects the followers and returns once the port is free to listen on again. */
+    @Override
+    public void close() throws IOException {
+        Thread accepting;
+        lifecycle.lock();
+        try {
+            closed = true;
+            accepting = acceptor;
+        } finally {
+            lifecycle.unlock();
+        }
+        serverSocket.close();
+        for (FollowerConnection follower : followers) {
+            follower.close();
+        }
+        if (accepting == null) {
+            return;
+        }
+        try {
+            // The socket is released only when the thread blocked accepting on it has returned
+            accepting.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Streams changes to one follower and answers its requests. */
+    private final class FollowerConnection {
+
+        private final Socket socket;
+        private final String address;
+        // Held for each frame, or run of frames, so the replies to read-index requests written
+        // by the reader thread are never interleaved with the stream
+        private final Lock output = new ReentrantLock();
+        private volatile DataOutputStream out;
+        private volatile long appliedSequence = NO_SEQUENCE;
+
+        FollowerConnection(Socket socket) {
+            this.socket = socket;
+            this.address = socket.getRemoteSocketAddress().toString();
+        }
+
+        void run() {
+            try (socket) {
+                socket.setTcpNoDelay(true);
+                DataInputStream in =
+                        new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                    throw new IOException("Not a replication follower of this version");
+                }
+                long position = in.readLong();
+                appliedSequence = position;
+                LOGGER.info("Follower {} connected at sequence {}", address, position);
+                Thread.ofPlatform()
+                        .name("pet-replication-requests-" + address)
+                        .daemon()
+                        .start(() -> readRequests(in));
+                if (position == NO_SEQUENCE) {
+                    position = sendReset();
+                }
+                while (!closed) {
+                    position = sendChangesAfter(position);
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    LOGGER.info("Follower {} disconnected: {}", address, e.toString());
+                }
+            } finally {
+                followers.remove(this);
+            }
+        }
+
+        /** Sends the next batch of changes, or a heartbeat once none arrive for a while. */
+        private long sendChangesAfter(long position) throws IOException {
+            List<PetChange> batch;
+            try {
+                batch = changes.changesAfter(position, BATCH_SIZE);
+            } catch (PetChangesExpiredException e) {
+                return sendReset();
+            }
+            if (batch.isEmpty()) {
+                try {
+                    changes.whenChangedAfter(position).get(heartbeatNanos, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    send(HEARTBEAT, changes.lastSequence());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for changes");
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("The change feed failed", e.getCause());
+                }
+                return position;
+            }
+            output.lock();
+            try {
+                for (PetChange change : batch) {
+                    writeChange(out, change);
+                }
+                out.flush();
+            } finally {
+                output.unlock();
+            }
+            return batch.getLast().sequence();
+        }
+
+        /** Sends every pet and returns the sequence number the follower continues after. */
+        private long sendReset() throws IOException {
+            // Returns once every change up to its high-water mark is applied to the pets, so the
+            // scan below includes them all
+            long mark = repository.findModifiedSince(changes.lastSequence()).highWaterMark();
+            long pets = 0;
+            output.lock();
+            try (Stream<Pet> all = repository.stream()) {
+                out.writeByte(RESET);
+                out.writeLong(mark);
+                for (Iterator<Pet> it = all.iterator(); it.hasNext(); pets++) {
+                    out.writeByte(PET);
+                    PetRecordCodec.writePet(out, it.next());
+                }
+                out.writeByte(RESET_END);
+                out.flush();
+            } finally {
+                output.unlock();
+            }
+            LOGGER.info("Sent {} pets to follower {} up to sequence {}", pets, address, mark);
+            return mark;
+        }
+
+        private void send(byte type, long value) throws IOException {
+            output.lock();
+            try {
+                out.writeByte(type);
+                out.writeLong(value);
+                out.flush();
+            } finally {
+                output.unlock();
+            }
+        }
+
+        private void readRequests(DataInputStream in) {
+            try {
+                while (true) {
+                    byte type = in.readByte();
+                    switch (type) {
+                        case READ_INDEX -> {
+                            long requestId = in.readLong();
+                            // Every write that completed before the request arrived has a
+                            // number up to this one
+                            long sequence = changes.lastSequence();
+                            output.lock();
+                            try {
+                                out.writeByte(READ_INDEX);
+                                out.writeLong(requestId);
+                                out.writeLong(sequence);
+                                out.flush();
+                            } finally {
+                                output.unlock();
+                            }
+                        }
+                        case ACK -> appliedSequence = in.readLong();
+                        default -> throw new IOException("Unexpected frame " + type);
+                    }
+                }
+            } catch (IOException e) {
+                // Also stops the streaming thread, at its next write
+                close();
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.debug("Failed to close the connection to {}", address, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Wire format of leader/follower replication, over one TCP connection per follower.
+ *
+ * <p>The follower opens with {@link #MAGIC}, {@link #VERSION} and the sequence number of the
+ * last change it applied, or {@link #NO_SEQUENCE}. The leader answers with a stream of frames,
+ * each a type byte followed by its fields:
+ *
+ * <ul>
+ *   <li>{@link #RESET} (sequence), then one {@link #PET} (pet) per pet and {@link #RESET_END}:
+ *       the follower replaces its pets with these and continues after the sequence number
+ *   <li>{@link #CHANGE} (sequence, mutation): one change, in sequence order
+ *   <li>{@link #HEARTBEAT} (sequence): the leader's latest sequence number, when idle
+ *   <li>{@link #READ_INDEX} (request ID, sequence): the answer to a follower's request
+ * </ul>
+ *
+ * <p>The follower sends {@link #READ_INDEX} (request ID) to learn the leader's latest sequence
+ * number, and {@link #ACK} (sequence) to report how far it has applied. Sequence numbers and IDs
+ * are fixed 8-byte longs; pets and mutations use PetRecordCodec.
+ */
+final class ReplicationProtocol {
+
+    static final int MAGIC = 0x50455452; // "PETR"
+    static final int VERSION = 1;
+    static final long NO_SEQUENCE = -1;
+
+    static final byte RESET = 1;
+    static final byte PET = 2;
+    static final byte RESET_END = 3;
+    static final byte CHANGE = 4;
+    static final byte HEARTBEAT = 5;
+    static final byte READ_INDEX = 6;
+    static final byte ACK = 7;
+
+    private ReplicationProtocol() {}
+
+    static void writeChange(DataOutput out, PetChange change) throws IOException {
+        out.writeByte(CHANGE);
+        out.writeLong(change.sequence());
+        PetRecordCodec.writeMutation(
+                out,
+                switch (change.type()) {
+                    case CREATED -> PetMutation.created(change.pet());
+                    case UPDATED -> PetMutation.updated(change.pet());
+                    case DELETED -> PetMutation.deleted(change.petId());
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent non-unique index from an attribute value to the IDs of the pets having it.
+ * Null keys are not indexed. Empty buckets are removed so the index never outgrows the data.
+ */
+final class SecondaryIndex<K> {
+
+    private final Map<K, Set<Long>> idsByKey = new ConcurrentHashMap<>();
+
+    void add(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        // Add inside compute so a concurrent remove cannot drop the bucket we are adding to
+        idsByKey.compute(
+                key,
+                (k, ids) -> {
+                    Set<Long> bucket = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    bucket.add(id);
+                    return bucket;
+                });
+    }
+
+    void remove(K key, Long id) {
+        if (key == null) {
+            return;
+        }
+        idsByKey.computeIfPresent(
+                key,
+                (k, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+    }
+
+    /** Moves the ID from one key to another; a no-op when the key did not change. */
+    void move(K oldKey, K newKey, Long id) {
+        if (oldKey != null && oldKey.equals(newKey)) {
+            return;
+        }
+        remove(oldKey, id);
+        add(newKey, id);
+    }
+
+    Set<Long> get(K key) {
+        return idsByKey.getOrDefault(key, Set.of());
+    }
+}
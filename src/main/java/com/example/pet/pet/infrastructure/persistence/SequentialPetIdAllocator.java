@@ -0,0 +1,56 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PetIdAllocator that hands out {@code firstId}, {@code firstId + stride}, ... from one counter,
+ * so that allocators with the same stride and different first IDs never hand out the same ID.
+ * Every ID costs an atomic add on the shared counter; IDs are dense and follow creation order.
+ */
+public final class SequentialPetIdAllocator implements PetIdAllocator {
+
+    private final long firstId;
+    private final int stride;
+    private final AtomicLong next;
+
+    public SequentialPetIdAllocator() {
+        this(0, 1);
+    }
+
+    public SequentialPetIdAllocator(long firstId, int stride) {
+        if (stride < 1) {
+            throw new IllegalArgumentException("ID stride must be positive: " + stride);
+        }
+        this.firstId = firstId;
+        this.stride = stride;
+        this.next = new AtomicLong(firstId);
+    }
+
+    @Override
+    public long nextId() {
+        return next.getAndAdd(stride);
+    }
+
+    @Override
+    public long[] nextIds(int count) {
+        // One atomic step reserves the IDs of the whole batch
+        long first = next.getAndAdd((long) count * stride);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = first + (long) i * stride;
+        }
+        return ids;
+    }
+
+    @Override
+    public void skipPast(long id) {
+        // The first ID of the form firstId + k * stride above id
+        long above = id + 1 + Math.floorMod(firstId - (id + 1), stride);
+        next.accumulateAndGet(above, Math::max);
+    }
+
+    @Override
+    public long limit() {
+        return next.get();
+    }
+}
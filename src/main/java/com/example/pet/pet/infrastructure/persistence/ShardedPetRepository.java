@@ -0,0 +1,155 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * PetRepository that partitions the pets by ID across independent InMemoryPetRepository shards.
+ *
+ * <p>Shard {@code i} of {@code n} owns the IDs {@code i}, {@code i + n}, {@code i + 2n}, ... and
+ * assigns them itself, so a pet's shard follows from its ID and creates on different shards
+ * share no map, lock or ID generator. A new pet goes to the shard of the calling thread, which
+ * spreads concurrent writers over the shards. Queries over many pets run on all shards in
+ * parallel, on the common fork-join pool, and merge the results.
+ *
+ * <p>Shards do not publish changes, so the change feed and delta sync are not available.
+ */
+public class ShardedPetRepository implements PetRepository, AutoCloseable {
+
+    private final InMemoryPetRepository[] shards;
+
+    public ShardedPetRepository(int shardCount) {
+        this(shardCount, List.of());
+    }
+
+    /** Seeds each shard with the given pets whose IDs it owns. */
+    public ShardedPetRepository(int shardCount, List<Pet> initialPets) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        Map<Integer, List<Pet>> petsByShard =
+                initialPets.stream()
+                        .collect(
+                                Collectors.groupingBy(
+                                        pet -> Math.floorMod(pet.getId(), shardCount)));
+        this.shards = new InMemoryPetRepository[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] =
+                    new InMemoryPetRepository(
+                            i, shardCount, petsByShard.getOrDefault(i, List.of()));
+        }
+    }
+
+    private InMemoryPetRepository shardOf(long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    /** The shard for pets created by the calling thread. */
+    private InMemoryPetRepository shardForNewPets() {
+        return shards[(int) Math.floorMod(Thread.currentThread().threadId(), (long) shards.length)];
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        return shardOf(id).findById(id);
+    }
+
+    @Override
+    public List<Pet> findAllById(Collection<Long> ids) {
+        Map<InMemoryPetRepository, List<Long>> idsByShard =
+                ids.stream().distinct().collect(Collectors.groupingBy(this::shardOf));
+        List<Pet> found = new ArrayList<>(idsByShard.size());
+        idsByShard.forEach((shard, shardIds) -> found.addAll(shard.findAllById(shardIds)));
+        return found;
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        return pet.getId() == null ? shardForNewPets().save(pet) : shardOf(pet.getId()).save(pet);
+    }
+
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        return shardOf(id).update(id, change);
+    }
+
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        // One shard takes the whole batch, so its IDs are reserved in one step
+        return shardForNewPets().saveAll(newPets);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return shardOf(id).deleteById(id);
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        return shardOf(id).deleteById(id, expectedVersion);
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return onAllShards(InMemoryPetRepository::findAll).toList();
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        return Arrays.stream(shards).flatMap(InMemoryPetRepository::stream);
+    }
+
+    @Override
+    public List<Pet> findPage(Long afterId, int limit) {
+        // The page is among the first 'limit' pets of each shard after the cursor
+        return onAllShards(shard -> shard.findPage(afterId, limit))
+                .sorted(Comparator.comparing(Pet::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public PetStatistics statistics() {
+        return Arrays.stream(shards)
+                .parallel()
+                .map(InMemoryPetRepository::statistics)
+                .reduce(PetStatistics::plus)
+                .orElseThrow();
+    }
+
+    @Override
+    public List<Pet> findBySpecies(Species species) {
+        return onAllShards(shard -> shard.findBySpecies(species))
+                .sorted(Comparator.comparing(Pet::getId))
+                .toList();
+    }
+
+    @Override
+    public List<Pet> findByOwner(PersonName ownerName) {
+        return onAllShards(shard -> shard.findByOwner(ownerName))
+                .sorted(Comparator.comparing(Pet::getId))
+                .toList();
+    }
+
+    /** Runs the query on every shard in parallel and concatenates the results. */
+    private Stream<Pet> onAllShards(Function<InMemoryPetRepository, List<Pet>> query) {
+        return Arrays.stream(shards).parallel().map(query).flatMap(List::stream);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (InMemoryPetRepository shard : shards) {
+            shard.close();
+        }
+    }
+}
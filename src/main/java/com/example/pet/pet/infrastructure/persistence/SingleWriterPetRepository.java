@@ -0,0 +1,261 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Applies every write to another PetRepository on one writer thread.
+ *
+ * <p>Callers put their saves, updates and deletes on a bounded queue (an array ring buffer) and
+ * wait for the result; when the queue is full they wait for room. The writer takes up to {@code
+ * maxBatchSize} queued writes at a time and applies them in order, so callers no longer contend
+ * with each other on the delegate's locks and ID generator. If the delegate supports
+ * GroupCommit, a whole batch is made durable with a single wait, and results are only handed back
+ * once it is. Reads go straight to the delegate.
+ *
+ * <p>The writer thread runs from {@link #start()}; writes submitted before then wait for it.
+ */
+public class SingleWriterPetRepository implements PetRepository, AutoCloseable {
+
+    private static final Write<Void> STOP = new Write<>(null);
+
+    private final PetRepository delegate;
+    private final BlockingQueue<Write<?>> queue;
+    private final int maxBatchSize;
+    private final WriteBarrier submitters = new WriteBarrier();
+    private final ReentrantLock lifecycle = new ReentrantLock();
+    private Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate     the repository the writes are applied to
+     * @param capacity     the number of writes that can wait in the queue
+     * @param maxBatchSize the most writes applied, and made durable, as one batch
+     */
+    public SingleWriterPetRepository(PetRepository delegate, int capacity, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /** Starts the writer thread. */
+    public void start() {
+        startWriter();
+    }
+
+    @Override
+    public Optional<Pet> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Pet> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public Pet save(Pet pet) {
+        return submit(() -> delegate.save(pet));
+    }
+
+    @Override
+    public Optional<Pet> update(Long id, UnaryOperator<Pet> change) {
+        return submit(() -> delegate.update(id, change));
+    }
+
+    @Override
+    public List<Pet> saveAll(List<Pet> newPets) {
+        PetRepository.requireNew(newPets);
+        return submit(() -> delegate.saveAll(newPets));
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return submit(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public boolean deleteById(Long id, long expectedVersion) {
+        return submit(() -> delegate.deleteById(id, expectedVersion));
+    }
+
+    @Override
+    public PetDelta findModifiedSince(long sequence) {
+        return delegate.findModifiedSince(sequence);
+    }
+
+    @Override
+    public List<Pet> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Pet> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public List<Pet> findPage(Long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public PetStatistics statistics() {
+        return delegate.statistics();
+    }
+
+    @Override
+    public List<Pet> findBySpecies(Species species) {
+        return delegate.findBySpecies(species);
+    }
+
+    @Override
+    public List<Pet> findByOwner(PersonName ownerName) {
+        return delegate.findByOwner(ownerName);
+    }
+
+    /** The number of writes waiting for the writer thread. */
+    int queuedWrites() {
+        return queue.size();
+    }
+
+    private <T> T submit(Supplier<T> action) {
+        Write<T> write = new Write<>(action);
+        // Registered with the barrier, so close() can wait until every write that passed the
+        // check is queued, and queue its stop signal behind them
+        int epoch = submitters.enter();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Repository is closed");
+            }
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a write", e);
+        } finally {
+            submitters.exit(epoch);
+        }
+        try {
+            return write.result.join();
+        } catch (CompletionException e) {
+            switch (e.getCause()) {
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw e;
+            }
+        }
+    }
+
+    private Thread startWriter() {
+        lifecycle.lock();
+        try {
+            if (writer == null) {
+                writer = Thread.ofPlatform().name("pet-writer").daemon().start(this::drain);
+            }
+            return writer;
+        } finally {
+            lifecycle.unlock();
+        }
+    }
+
+    private void drain() {
+        List<Write<?>> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            batch.add(take());
+            queue.drainTo(batch, maxBatchSize - 1);
+            // Nothing is queued after the stop signal, so it can only be last
+            boolean stop = batch.getLast() == STOP;
+            if (stop) {
+                batch.removeLast();
+            }
+            apply(batch);
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private Write<?> take() {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                // The writer stops only at the stop signal, once every queued write is applied
+            }
+        }
+    }
+
+    private void apply(List<Write<?>> batch) {
+        try {
+            if (delegate instanceof GroupCommit groupCommit) {
+                groupCommit.writeBatch(() -> batch.forEach(Write::apply));
+            } else {
+                batch.forEach(Write::apply);
+            }
+        } catch (RuntimeException e) {
+            // The batch may not be durable: report it as failed to every caller
+            batch.forEach(write -> write.failure = e);
+        }
+        batch.forEach(Write::complete);
+    }
+
+    /** Stops taking writes, applies the queued ones and closes the delegate. */
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        // Started here if it never was, so that writes already queued, and callers waiting for
+        // room in a full queue, are not left waiting forever
+        Thread drainer = startWriter();
+        submitters.awaitWritersInProgress();
+        queue.put(STOP);
+        drainer.join();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /** A write waiting for the writer thread; its outcome is kept until the batch is durable. */
+    private static final class Write<T> {
+
+        private final Supplier<T> action;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private Throwable failure;
+
+        Write(Supplier<T> action) {
+            this.action = action;
+        }
+
+        void apply() {
+            try {
+                value = action.get();
+            } catch (RuntimeException | Error e) {
+                // Kept for the caller, so that the writer thread survives any write
+                failure = e;
+            }
+        }
+
+        void complete() {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
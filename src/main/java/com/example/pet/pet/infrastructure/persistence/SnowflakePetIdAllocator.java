@@ -0,0 +1,78 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PetIdAllocator that composes each ID, Snowflake-style, from the time in milliseconds since
+ * 2025-01-01 (41 bits), the node ID of this instance (10 bits) and a sequence number within the
+ * millisecond (12 bits). Instances with different node IDs never hand out the same ID and need
+ * nothing shared between them; the IDs of all instances sort roughly by creation time.
+ *
+ * <p>The last ID handed out is kept in one atomic counter. A node hands out up to 4096 IDs per
+ * millisecond; beyond that, and while the clock is behind the last ID, it carries on into the
+ * next millisecond rather than waiting, so IDs only ever increase. IDs are 63-bit numbers, above
+ * the 2<sup>53</sup> that JavaScript numbers hold exactly, so the API then writes them as strings.
+ */
+public final class SnowflakePetIdAllocator implements PetIdAllocator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+
+    private static final int TIME_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final InstantSource clock;
+    private final AtomicLong last = new AtomicLong(-1);
+
+    /** @param node the ID of this instance, from 0 to 1023, unique among the instances */
+    public SnowflakePetIdAllocator(int node) {
+        this(node, InstantSource.system());
+    }
+
+    SnowflakePetIdAllocator(int node, InstantSource clock) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException(
+                    "Node ID must be between 0 and " + MAX_NODE + ": " + node);
+        }
+        this.node = node;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        return last.updateAndGet(this::after);
+    }
+
+    /** The smallest ID of this node above both {@code previous} and the current time. */
+    private long after(long previous) {
+        long now = id(clock.millis() - EPOCH_MILLIS, 0);
+        if (now > previous) {
+            return now;
+        }
+        long millis = previous >>> TIME_SHIFT;
+        long previousNode = (previous >>> SEQUENCE_BITS) & MAX_NODE;
+        if (previousNode == node && (previous & SEQUENCE_MASK) < SEQUENCE_MASK) {
+            return previous + 1;
+        }
+        return previousNode < node ? id(millis, 0) : id(millis + 1, 0);
+    }
+
+    private long id(long millis, long sequence) {
+        return millis << TIME_SHIFT | node << SEQUENCE_BITS | sequence;
+    }
+
+    @Override
+    public void skipPast(long id) {
+        last.accumulateAndGet(id, Math::max);
+    }
+
+    @Override
+    public long limit() {
+        return last.get() + 1;
+    }
+}
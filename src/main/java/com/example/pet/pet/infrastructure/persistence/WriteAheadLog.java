@@ -0,0 +1,338 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, memory-mapped log of pet mutations.
+ *
+ * <p>Records are framed as {@code [int length][int CRC32C][body]} and written into a mapped region
+ * of the file, so an append is a memory copy rather than a system call. A zero length marks the
+ * end of the log; replay also stops at the first record whose checksum does not match, which
+ * discards a record torn by a crash.
+ *
+ * <p>The log is a single file that is never trimmed: positions are offsets into it, and a
+ * snapshot only records the position it covers. The file therefore grows with every write.
+ *
+ * <p>When a write is durable depends on the {@link FsyncPolicy}. With {@code ALWAYS}, concurrent
+ * writers share fsyncs (group commit): one of them forces everything appended so far while the
+ * others wait for it instead of issuing their own.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+    public enum FsyncPolicy {
+        /** Every write waits until it is on disk; concurrent writers share one fsync. */
+        ALWAYS,
+        /**
+         * Writes return immediately and are forced to disk every batch window. Once a force
+         * fails, the log rejects every further write.
+         */
+        BATCH,
+        /** Leave flushing to the operating system; the log is only forced on close. */
+        OS
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    static final long DEFAULT_REGION_SIZE = 64L * 1024 * 1024;
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final FsyncPolicy fsyncPolicy;
+    private final long regionSize;
+    private final ScheduledExecutorService flusher;
+    private final long batchWindowNanos;
+    // Set once by the flusher; the writes it failed to force may be lost
+    private volatile RuntimeException flushFailure;
+
+    // Append state, guarded by appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long writePosition;
+
+    // Group commit state, guarded by syncLock
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition synced = syncLock.newCondition();
+    private long durablePosition;
+    private boolean syncInProgress;
+
+    public WriteAheadLog(Path path, FsyncPolicy fsyncPolicy, Duration batchWindow)
+            throws IOException {
+        this(path, fsyncPolicy, batchWindow, DEFAULT_REGION_SIZE);
+    }
+
+    WriteAheadLog(Path path, FsyncPolicy fsyncPolicy, Duration batchWindow, long regionSize)
+            throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        this.fsyncPolicy = fsyncPolicy;
+        this.regionSize = regionSize;
+        if (fsyncPolicy == FsyncPolicy.BATCH) {
+            this.flusher =
+                    Executors.newSingleThreadScheduledExecutor(
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "wal-flusher");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+        } else {
+            this.flusher = null;
+        }
+        this.batchWindowNanos = batchWindow.toNanos();
+    }
+
+    /**
+     * Replays the log from the given position and prepares it for appending after the last intact
+     * record. Must be called once before the first {@link #append}; with the {@code BATCH} policy
+     * the periodic flush starts here.
+     *
+     * @return the position after the last replayed record
+     */
+    public long replay(long fromPosition, Consumer<PetMutation> consumer) {
+        appendLock.lock();
+        try {
+            long position = fromPosition;
+            long fileSize = channel.size();
+            // Not closed: closing the stream would close the log's channel
+            DataInputStream in =
+                    new DataInputStream(
+                            new ChannelInputStream(channel.position(fromPosition), 1 << 16));
+            CRC32C crc = new CRC32C();
+            while (position + HEADER_BYTES <= fileSize) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length <= 0 || position + HEADER_BYTES + length > fileSize) {
+                    break;
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                consumer.accept(
+                        PetRecordCodec.readMutation(
+                                new DataInputStream(new ByteArrayInputStream(body))));
+                position += HEADER_BYTES + length;
+            }
+            if (position < fileSize) {
+                // Drop whatever follows the last intact record: a torn record, the zeros of an
+                // unused region, or older records after one. Left in place, a later append could
+                // end on the boundary of an older record, which the next replay would pick up
+                channel.truncate(position);
+                channel.force(true);
+            }
+            writePosition = position;
+            mapRegion(position, regionSize);
+            syncLock.lock();
+            try {
+                durablePosition = position;
+            } finally {
+                syncLock.unlock();
+            }
+            if (flusher != null) {
+                flusher.scheduleWithFixedDelay(
+                        this::flush, batchWindowNanos, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+            return position;
+        } catch (EOFException e) {
+            throw new UncheckedIOException("Write-ahead log truncated during replay", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay write-ahead log", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a mutation to the log. The record is visible to a later replay once it is durable,
+     * see {@link #awaitDurable}.
+     *
+     * @return the log position after the record
+     * @throws IllegalStateException if the periodic flush has failed
+     */
+    public long append(PetMutation mutation) {
+        checkFlushed();
+        byte[] body = encode(mutation);
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        int recordBytes = HEADER_BYTES + body.length;
+
+        appendLock.lock();
+        try {
+            if (region == null) {
+                throw new IllegalStateException(
+                        "Write-ahead log must be replayed before appending");
+            }
+            // Leave room for the zero length that terminates the log
+            if (writePosition + recordBytes + Integer.BYTES > regionStart + region.capacity()) {
+                region.force();
+                mapRegion(writePosition, Math.max(regionSize, recordBytes + Integer.BYTES));
+            }
+            int offset = (int) (writePosition - regionStart);
+            // Terminator, body and checksum first, length last: a record whose length is visible
+            // is complete, and is followed by the zero length that ends the log
+            region.putInt(offset + recordBytes, 0);
+            region.put(offset + HEADER_BYTES, body);
+            region.putInt(offset + Integer.BYTES, (int) crc.getValue());
+            region.putInt(offset, body.length);
+            writePosition += recordBytes;
+            return writePosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to extend write-ahead log", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until everything up to the given position is on disk if the policy is {@code
+     * ALWAYS}; returns immediately for the other policies.
+     *
+     * @throws IllegalStateException if the periodic flush has failed since the write was appended
+     */
+    public void awaitDurable(long position) {
+        if (fsyncPolicy != FsyncPolicy.ALWAYS) {
+            checkFlushed();
+            return;
+        }
+        syncLock.lock();
+        try {
+            while (durablePosition < position) {
+                if (syncInProgress) {
+                    // Another writer is forcing the log; its fsync may already cover us
+                    synced.awaitUninterruptibly();
+                    continue;
+                }
+                syncInProgress = true;
+                syncLock.unlock();
+                long reached = 0;
+                try {
+                    reached = force();
+                } finally {
+                    syncLock.lock();
+                    syncInProgress = false;
+                    durablePosition = Math.max(durablePosition, reached);
+                    synced.signalAll();
+                }
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** Returns the position after the last appended record. */
+    public long position() {
+        appendLock.lock();
+        try {
+            return writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        try {
+            if (region != null) {
+                force();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Forces everything appended so far to disk and returns the position it covers. */
+    private long force() {
+        MappedByteBuffer current;
+        long end;
+        appendLock.lock();
+        try {
+            current = region;
+            end = writePosition;
+        } finally {
+            appendLock.unlock();
+        }
+        // Earlier regions were forced when the log moved past them
+        current.force();
+        return end;
+    }
+
+    /** Forces the log once for the {@code BATCH} policy, and stops the log if that fails. */
+    void flush() {
+        if (flushFailure != null) {
+            return;
+        }
+        try {
+            long end = force();
+            syncLock.lock();
+            try {
+                durablePosition = Math.max(durablePosition, end);
+            } finally {
+                syncLock.unlock();
+            }
+        } catch (RuntimeException e) {
+            // Not retried: after a failed force the kernel may have dropped the dirty pages, so a
+            // later force that succeeds would not make the earlier writes durable
+            LOGGER.error("Failed to force the write-ahead log; rejecting further writes", e);
+            flushFailure = e;
+        }
+    }
+
+    private void checkFlushed() {
+        RuntimeException failure = flushFailure;
+        if (failure != null) {
+            throw new IllegalStateException(
+                    "Write-ahead log failed to force earlier writes to disk", failure);
+        }
+    }
+
+    private void mapRegion(long start, long size) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, size);
+        regionStart = start;
+    }
+
+    private static byte[] encode(PetMutation mutation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try {
+            PetRecordCodec.writeMutation(new DataOutputStream(bytes), mutation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lets a reader wait for the writes that are in progress, without ever making writers wait. Each
+ * writer registers in the current epoch; the reader starts a new epoch and waits until the writers
+ * of the previous one have left (a grace period, as in RCU). Registration is a striped counter
+ * increment, so writers do not contend with each other either.
+ */
+final class WriteBarrier {
+
+    private final LongAdder[] writers = {new LongAdder(), new LongAdder()};
+    private final ReentrantLock epochLock = new ReentrantLock();
+    private volatile int epoch;
+
+    /** Registers a writer; pass the returned epoch to {@link #exit}. */
+    int enter() {
+        while (true) {
+            int current = epoch;
+            writers[current & 1].increment();
+            // Re-check: if the epoch moved on, the reader may already have counted this slot
+            if (epoch == current) {
+                return current;
+            }
+            writers[current & 1].decrement();
+        }
+    }
+
+    void exit(int enteredEpoch) {
+        writers[enteredEpoch & 1].decrement();
+    }
+
+    /** Waits until every writer that entered before this call has exited. */
+    void awaitWritersInProgress() {
+        epochLock.lock();
+        try {
+            int previous = epoch;
+            epoch = previous + 1;
+            LongAdder draining = writers[previous & 1];
+            while (draining.sum() != 0) {
+                LockSupport.parkNanos(10_000);
+            }
+        } finally {
+            epochLock.unlock();
+        }
+    }
+}
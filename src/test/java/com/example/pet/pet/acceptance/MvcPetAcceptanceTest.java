@@ -0,0 +1,14 @@
+package com.example.pet.pet.acceptance;
+
+import com.example.pet.config.ApplicationConfiguration;
+import com.example.pet.config.WebMvcConfiguration;
+import com.example.pet.infrastructure.web.GlobalExceptionHandler;
+import com.example.pet.pet.infrastructure.api.PetBatchController;
+import com.example.pet.pet.infrastructure.api.PetController;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+
+/** Runs the acceptance tests against the Spring MVC stack, through a MockMvc-bound client. */
+@WebMvcTest(controllers = {PetController.class, PetBatchController.class})
+@Import({ApplicationConfiguration.class, WebMvcConfiguration.class, GlobalExceptionHandler.class})
+class MvcPetAcceptanceTest extends PetAcceptanceTest {}
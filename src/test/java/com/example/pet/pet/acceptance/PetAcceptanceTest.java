@@ -1,35 +1,41 @@
 package com.example.pet.pet.acceptance;
 
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
-
-import com.example.pet.config.ApplicationConfiguration;
-import com.example.pet.infrastructure.web.GlobalExceptionHandler;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
 
-@WebMvcTest(controllers = com.example.pet.pet.infrastructure.api.PetController.class)
-@Import({ApplicationConfiguration.class, GlobalExceptionHandler.class})
+/**
+ * The HTTP contract of the pet API. Runs against each web stack through a subclass that sets up
+ * the stack: MvcPetAcceptanceTest for Spring MVC and WebFluxPetAcceptanceTest for WebFlux.
+ */
 @DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
-class PetAcceptanceTest {
+abstract class PetAcceptanceTest {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
 
-    @Autowired private MockMvc mockMvc;
+    @Autowired private WebTestClient client;
 
     @Autowired private ObjectMapper objectMapper;
 
     @Test
-    void shouldCreateAndRetrievePet() throws Exception {
+    void shouldCreateAndRetrievePet() throws IOException {
         // Create a pet
         String createRequest =
                 """
@@ -41,64 +47,72 @@ class PetAcceptanceTest {
                 }
                 """;
 
-        MvcResult createResult =
-                mockMvc.perform(
-                                post("/api/v1/pets")
-                                        .contentType(MediaType.APPLICATION_JSON)
-                                        .content(createRequest))
-                        .andExpect(status().isCreated())
-                        .andExpect(header().exists("Location"))
-                        .andExpect(jsonPath("$.id").exists())
-                        .andExpect(jsonPath("$.name").value("Buddy"))
-                        .andExpect(jsonPath("$.species").value("Dog"))
-                        .andExpect(jsonPath("$.age").value(3))
-                        .andExpect(jsonPath("$.ownerName").value("John Doe"))
-                        .andReturn();
+        byte[] responseBody =
+                client.post()
+                        .uri("/api/v1/pets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(createRequest)
+                        .exchange()
+                        .expectStatus()
+                        .isCreated()
+                        .expectHeader()
+                        .exists("Location")
+                        .expectBody()
+                        .jsonPath("$.id")
+                        .exists()
+                        .jsonPath("$.name")
+                        .isEqualTo("Buddy")
+                        .jsonPath("$.species")
+                        .isEqualTo("Dog")
+                        .jsonPath("$.age")
+                        .isEqualTo(3)
+                        .jsonPath("$.ownerName")
+                        .isEqualTo("John Doe")
+                        .returnResult()
+                        .getResponseBody();
 
         // Extract the created pet's ID from the response
-        String responseBody = createResult.getResponse().getContentAsString();
         Long createdPetId = objectMapper.readTree(responseBody).get("id").asLong();
 
         // Retrieve the pet by ID
-        mockMvc.perform(get("/api/v1/pets/" + createdPetId).contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.id").value(createdPetId))
-                .andExpect(jsonPath("$.name").value("Buddy"))
-                .andExpect(jsonPath("$.species").value("Dog"))
-                .andExpect(jsonPath("$.age").value(3))
-                .andExpect(jsonPath("$.ownerName").value("John Doe"));
+        client.get()
+                .uri("/api/v1/pets/" + createdPetId)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id")
+                .isEqualTo(createdPetId)
+                .jsonPath("$.name")
+                .isEqualTo("Buddy")
+                .jsonPath("$.species")
+                .isEqualTo("Dog")
+                .jsonPath("$.age")
+                .isEqualTo(3)
+                .jsonPath("$.ownerName")
+                .isEqualTo("John Doe");
     }
 
     @Test
-    void shouldReturnNotFoundWhenPetDoesNotExist() throws Exception {
-        mockMvc.perform(get("/api/v1/pets/999").contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+    void shouldReturnNotFoundWhenPetDoesNotExist() {
+        client.get().uri("/api/v1/pets/999").exchange().expectStatus().isNotFound();
     }
 
     @Test
-    void shouldUpdatePetSuccessfully() throws Exception {
+    void shouldUpdatePetSuccessfully() throws IOException {
         // Create a pet first
-        String createRequest =
-                """
-                {
-                    "name": "Max",
-                    "species": "Cat",
-                    "age": 2,
-                    "ownerName": "Jane Smith"
-                }
-                """;
-
-        MvcResult createResult =
-                mockMvc.perform(
-                                post("/api/v1/pets")
-                                        .contentType(MediaType.APPLICATION_JSON)
-                                        .content(createRequest))
-                        .andExpect(status().isCreated())
-                        .andReturn();
-
-        String responseBody = createResult.getResponse().getContentAsString();
-        Long createdPetId = objectMapper.readTree(responseBody).get("id").asLong();
+        long createdPetId =
+                createPet(
+                        """
+                        {
+                            "name": "Max",
+                            "species": "Cat",
+                            "age": 2,
+                            "ownerName": "Jane Smith"
+                        }
+                        """);
 
         // Update the pet
         String updateRequest =
@@ -111,28 +125,44 @@ class PetAcceptanceTest {
                 }
                 """;
 
-        mockMvc.perform(
-                        put("/api/v1/pets/" + createdPetId)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(updateRequest))
-                .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.id").value(createdPetId))
-                .andExpect(jsonPath("$.name").value("Maximus"))
-                .andExpect(jsonPath("$.species").value("Cat"))
-                .andExpect(jsonPath("$.age").value(3))
-                .andExpect(jsonPath("$.ownerName").value("Jane Doe"));
+        client.put()
+                .uri("/api/v1/pets/" + createdPetId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.id")
+                .isEqualTo(createdPetId)
+                .jsonPath("$.name")
+                .isEqualTo("Maximus")
+                .jsonPath("$.species")
+                .isEqualTo("Cat")
+                .jsonPath("$.age")
+                .isEqualTo(3)
+                .jsonPath("$.ownerName")
+                .isEqualTo("Jane Doe");
 
         // Verify the update persisted by fetching the pet
-        mockMvc.perform(get("/api/v1/pets/" + createdPetId).contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value("Maximus"))
-                .andExpect(jsonPath("$.age").value(3))
-                .andExpect(jsonPath("$.ownerName").value("Jane Doe"));
+        client.get()
+                .uri("/api/v1/pets/" + createdPetId)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("Maximus")
+                .jsonPath("$.age")
+                .isEqualTo(3)
+                .jsonPath("$.ownerName")
+                .isEqualTo("Jane Doe");
     }
 
     @Test
-    void shouldReturnNotFoundWhenUpdatingNonExistentPet() throws Exception {
+    void shouldReturnNotFoundWhenUpdatingNonExistentPet() {
         String updateRequest =
                 """
                 {
@@ -143,61 +173,59 @@ class PetAcceptanceTest {
                 }
                 """;
 
-        mockMvc.perform(
-                        put("/api/v1/pets/999")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(updateRequest))
-                .andExpect(status().isNotFound());
+        client.put()
+                .uri("/api/v1/pets/999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(updateRequest)
+                .exchange()
+                .expectStatus()
+                .isNotFound();
     }
 
     @Test
-    void shouldDeletePetSuccessfully() throws Exception {
+    void shouldDeletePetSuccessfully() throws IOException {
         // Create a pet first
-        String createRequest =
-                """
-                {
-                    "name": "Charlie",
-                    "species": "Dog",
-                    "age": 4,
-                    "ownerName": "Bob Smith"
-                }
-                """;
-
-        MvcResult createResult =
-                mockMvc.perform(
-                                post("/api/v1/pets")
-                                        .contentType(MediaType.APPLICATION_JSON)
-                                        .content(createRequest))
-                        .andExpect(status().isCreated())
-                        .andReturn();
-
-        String responseBody = createResult.getResponse().getContentAsString();
-        Long createdPetId = objectMapper.readTree(responseBody).get("id").asLong();
+        long createdPetId =
+                createPet(
+                        """
+                        {
+                            "name": "Charlie",
+                            "species": "Dog",
+                            "age": 4,
+                            "ownerName": "Bob Smith"
+                        }
+                        """);
 
         // Delete the pet
-        mockMvc.perform(delete("/api/v1/pets/" + createdPetId)).andExpect(status().isNoContent());
+        client.delete().uri("/api/v1/pets/" + createdPetId).exchange().expectStatus().isNoContent();
 
         // Verify the pet no longer exists
-        mockMvc.perform(get("/api/v1/pets/" + createdPetId).contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound());
+        client.get().uri("/api/v1/pets/" + createdPetId).exchange().expectStatus().isNotFound();
     }
 
     @Test
-    void shouldReturnNotFoundWhenDeletingNonExistentPet() throws Exception {
-        mockMvc.perform(delete("/api/v1/pets/999")).andExpect(status().isNotFound());
+    void shouldReturnNotFoundWhenDeletingNonExistentPet() {
+        client.delete().uri("/api/v1/pets/999").exchange().expectStatus().isNotFound();
     }
 
     @Test
-    void shouldReturnEmptyListWhenNoPetsExist() throws Exception {
-        mockMvc.perform(get("/api/v1/pets").contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$").isEmpty());
+    void shouldReturnEmptyListWhenNoPetsExist() {
+        client.get()
+                .uri("/api/v1/pets")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$")
+                .isArray()
+                .jsonPath("$")
+                .isEmpty();
     }
 
     @Test
-    void shouldReturnProblemDetailsWhenValidationFails() throws Exception {
+    void shouldReturnProblemDetailsWhenValidationFails() {
         // Attempt to create a pet with multiple validation violations
         String invalidRequest =
                 """
@@ -209,55 +237,53 @@ class PetAcceptanceTest {
                 }
                 """;
 
-        mockMvc.perform(
-                        post("/api/v1/pets")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(invalidRequest))
-                .andExpect(status().isBadRequest())
-                .andExpect(content().contentType("application/problem+json"))
-                .andExpect(jsonPath("$.type").exists())
-                .andExpect(jsonPath("$.title").value("Bad Request"))
-                .andExpect(jsonPath("$.status").value(400))
-                .andExpect(jsonPath("$.detail").exists())
-                .andExpect(jsonPath("$.instance").value("/api/v1/pets"))
+        client.post()
+                .uri("/api/v1/pets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invalidRequest)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.type")
+                .exists()
+                .jsonPath("$.title")
+                .isEqualTo("Bad Request")
+                .jsonPath("$.status")
+                .isEqualTo(400)
+                .jsonPath("$.detail")
+                .exists()
+                .jsonPath("$.instance")
+                .isEqualTo("/api/v1/pets")
                 // Verify detailed validation errors are included
-                .andExpect(jsonPath("$.errors").isArray())
-                .andExpect(jsonPath("$.errors.length()").value(3))
+                .jsonPath("$.errors")
+                .isArray()
+                .jsonPath("$.errors.length()")
+                .isEqualTo(3)
                 // Check that validation messages contain expected text
-                .andExpect(
-                        jsonPath("$.errors[?(@.field == 'name')].message")
-                                .value("Pet name is required"))
-                .andExpect(
-                        jsonPath("$.errors[?(@.field == 'species')].message")
-                                .value("Species is required"))
-                .andExpect(
-                        jsonPath("$.errors[?(@.field == 'age')].message")
-                                .value("Age must be non-negative"));
+                .jsonPath("$.errors[?(@.field == 'name')].message")
+                .isEqualTo("Pet name is required")
+                .jsonPath("$.errors[?(@.field == 'species')].message")
+                .isEqualTo("Species is required")
+                .jsonPath("$.errors[?(@.field == 'age')].message")
+                .isEqualTo("Age must be non-negative");
     }
 
     @Test
-    void shouldReturnProblemDetailsWhenUpdateValidationFails() throws Exception {
+    void shouldReturnProblemDetailsWhenUpdateValidationFails() throws IOException {
         // Create a valid pet first
-        String createRequest =
-                """
-                {
-                    "name": "Buddy",
-                    "species": "Dog",
-                    "age": 3,
-                    "ownerName": "John Doe"
-                }
-                """;
-
-        MvcResult createResult =
-                mockMvc.perform(
-                                post("/api/v1/pets")
-                                        .contentType(MediaType.APPLICATION_JSON)
-                                        .content(createRequest))
-                        .andExpect(status().isCreated())
-                        .andReturn();
-
-        String responseBody = createResult.getResponse().getContentAsString();
-        long createdPetId = objectMapper.readTree(responseBody).get("id").asLong();
+        long createdPetId =
+                createPet(
+                        """
+                        {
+                            "name": "Buddy",
+                            "species": "Dog",
+                            "age": 3,
+                            "ownerName": "John Doe"
+                        }
+                        """);
 
         // Attempt to update with invalid data
         String invalidUpdateRequest =
@@ -270,36 +296,44 @@ class PetAcceptanceTest {
                 }
                 """;
 
-        mockMvc.perform(
-                        put("/api/v1/pets/" + createdPetId)
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(invalidUpdateRequest))
-                .andExpect(status().isBadRequest())
-                .andExpect(content().contentType("application/problem+json"))
-                .andExpect(jsonPath("$.type").exists())
-                .andExpect(jsonPath("$.title").value("Bad Request"))
-                .andExpect(jsonPath("$.status").value(400))
-                .andExpect(jsonPath("$.detail").exists())
-                .andExpect(jsonPath("$.instance").value("/api/v1/pets/" + createdPetId))
+        client.put()
+                .uri("/api/v1/pets/" + createdPetId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(invalidUpdateRequest)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.type")
+                .exists()
+                .jsonPath("$.title")
+                .isEqualTo("Bad Request")
+                .jsonPath("$.status")
+                .isEqualTo(400)
+                .jsonPath("$.detail")
+                .exists()
+                .jsonPath("$.instance")
+                .isEqualTo("/api/v1/pets/" + createdPetId)
                 // Verify detailed validation errors are included
-                .andExpect(jsonPath("$.errors").isArray())
-                .andExpect(jsonPath("$.errors.length()").value(3))
+                .jsonPath("$.errors")
+                .isArray()
+                .jsonPath("$.errors.length()")
+                .isEqualTo(3)
                 // Check that validation messages contain expected text
-                .andExpect(
-                        jsonPath("$.errors[?(@.field == 'name')].message")
-                                .value("Pet name is required"))
-                .andExpect(
-                        jsonPath("$.errors[?(@.field == 'species')].message")
-                                .value("Species is required"))
-                .andExpect(
-                        jsonPath("$.errors[?(@.field == 'age')].message")
-                                .value("Age must be non-negative"));
+                .jsonPath("$.errors[?(@.field == 'name')].message")
+                .isEqualTo("Pet name is required")
+                .jsonPath("$.errors[?(@.field == 'species')].message")
+                .isEqualTo("Species is required")
+                .jsonPath("$.errors[?(@.field == 'age')].message")
+                .isEqualTo("Age must be non-negative");
     }
 
     @Test
-    void shouldReturnAllPetsWhenMultiplePetsExist() throws Exception {
+    void shouldReturnAllPetsWhenMultiplePetsExist() throws IOException {
         // Create first pet
-        String createRequest1 =
+        createPet(
                 """
                 {
                     "name": "Buddy",
@@ -307,16 +341,10 @@ class PetAcceptanceTest {
                     "age": 3,
                     "ownerName": "John Doe"
                 }
-                """;
-
-        mockMvc.perform(
-                        post("/api/v1/pets")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(createRequest1))
-                .andExpect(status().isCreated());
+                """);
 
         // Create second pet
-        String createRequest2 =
+        createPet(
                 """
                 {
                     "name": "Whiskers",
@@ -324,46 +352,909 @@ class PetAcceptanceTest {
                     "age": 2,
                     "ownerName": "Jane Smith"
                 }
-                """;
-
-        mockMvc.perform(
-                        post("/api/v1/pets")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(createRequest2))
-                .andExpect(status().isCreated());
+                """);
 
         // Create third pet without optional fields
-        String createRequest3 =
+        createPet(
                 """
                 {
                     "name": "Goldie",
                     "species": "Fish"
                 }
+                """);
+
+        // Get all pets and verify
+        client.get()
+                .uri("/api/v1/pets")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$")
+                .isArray()
+                .jsonPath("$.length()")
+                .isEqualTo(3)
+                .jsonPath("$[0].name")
+                .isEqualTo("Buddy")
+                .jsonPath("$[0].species")
+                .isEqualTo("Dog")
+                .jsonPath("$[0].age")
+                .isEqualTo(3)
+                .jsonPath("$[0].ownerName")
+                .isEqualTo("John Doe")
+                .jsonPath("$[1].name")
+                .isEqualTo("Whiskers")
+                .jsonPath("$[1].species")
+                .isEqualTo("Cat")
+                .jsonPath("$[1].age")
+                .isEqualTo(2)
+                .jsonPath("$[1].ownerName")
+                .isEqualTo("Jane Smith")
+                .jsonPath("$[2].name")
+                .isEqualTo("Goldie")
+                .jsonPath("$[2].species")
+                .isEqualTo("Fish")
+                .jsonPath("$[2].age")
+                .isEmpty()
+                .jsonPath("$[2].ownerName")
+                .isEmpty();
+    }
+
+    @Test
+    void shouldPaginatePetsWithCursor() throws IOException {
+        for (String name : new String[] {"Buddy", "Whiskers", "Goldie"}) {
+            createPet(
+                    """
+                    {"name": "%s", "species": "Dog"}
+                    """
+                            .formatted(name));
+        }
+
+        // First page
+        byte[] firstPage =
+                client.get()
+                        .uri("/api/v1/pets?limit=2")
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectBody()
+                        .jsonPath("$.items.length()")
+                        .isEqualTo(2)
+                        .jsonPath("$.items[0].name")
+                        .isEqualTo("Buddy")
+                        .jsonPath("$.items[1].name")
+                        .isEqualTo("Whiskers")
+                        .jsonPath("$.nextCursor")
+                        .exists()
+                        .returnResult()
+                        .getResponseBody();
+
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        // Second (last) page
+        client.get()
+                .uri("/api/v1/pets?cursor=" + nextCursor + "&limit=2")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.items.length()")
+                .isEqualTo(1)
+                .jsonPath("$.items[0].name")
+                .isEqualTo("Goldie")
+                .jsonPath("$.nextCursor")
+                .isEmpty();
+    }
+
+    @Test
+    void shouldReturnProblemDetailsWhenPageLimitIsInvalid() {
+        client.get()
+                .uri("/api/v1/pets?limit=0")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.errors[0].field")
+                .isEqualTo("limit")
+                .jsonPath("$.errors[0].message")
+                .isEqualTo("Limit must be at least 1");
+    }
+
+    @Test
+    void shouldStreamAllPetsAsNdjson() throws IOException {
+        for (String name : new String[] {"Buddy", "Whiskers"}) {
+            createPet(
+                    """
+                    {"name": "%s", "species": "Dog"}
+                    """
+                            .formatted(name));
+        }
+
+        String body =
+                client.get()
+                        .uri("/api/v1/pets")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .expectBody(String.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(body).endsWith("\n");
+        assertThat(lines)
+                .extracting(line -> objectMapper.readTree(line).get("name").asText())
+                .containsExactlyInAnyOrder("Buddy", "Whiskers");
+    }
+
+    @Test
+    void shouldFilterPetsBySpeciesAndOwner() throws IOException {
+        String[] pets = {
+            """
+            {"name": "Buddy", "species": "Dog", "ownerName": "John Doe"}
+            """,
+            """
+            {"name": "Whiskers", "species": "Cat", "ownerName": "John Doe"}
+            """,
+            """
+            {"name": "Rex", "species": "Dog", "ownerName": "Jane Smith"}
+            """
+        };
+        for (String pet : pets) {
+            createPet(pet);
+        }
+
+        client.get()
+                .uri("/api/v1/pets?species=Dog")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(2)
+                .jsonPath("$[0].name")
+                .isEqualTo("Buddy")
+                .jsonPath("$[1].name")
+                .isEqualTo("Rex");
+
+        client.get()
+                .uri("/api/v1/pets?owner=John Doe")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(2)
+                .jsonPath("$[0].name")
+                .isEqualTo("Buddy")
+                .jsonPath("$[1].name")
+                .isEqualTo("Whiskers");
+
+        client.get()
+                .uri("/api/v1/pets?species=Dog&owner=John Doe")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(1)
+                .jsonPath("$[0].name")
+                .isEqualTo("Buddy");
+
+        client.get()
+                .uri("/api/v1/pets?species=Parrot")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$")
+                .isEmpty();
+    }
+
+    @Test
+    void shouldRejectFiltersCombinedWithPagingOrExport() throws IOException {
+        createPet(
+                """
+                {"name": "Whiskers", "species": "Cat"}
+                """);
+
+        client.get()
+                .uri("/api/v1/pets?species=Dog&limit=10")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.detail")
+                .isEqualTo("Query parameter 'species' cannot be combined with 'limit'");
+
+        client.get()
+                .uri("/api/v1/pets?owner=John Doe")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.detail")
+                .isEqualTo("Query parameter 'owner' cannot be combined with the NDJSON export");
+    }
+
+    @Test
+    void shouldReturnProblemDetailsWhenFilterIsBlank() {
+        client.get()
+                .uri("/api/v1/pets?species= ")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType("application/problem+json")
+                .expectBody()
+                .jsonPath("$.errors[0].field")
+                .isEqualTo("species")
+                .jsonPath("$.errors[0].message")
+                .isEqualTo("Species must not be blank");
+    }
+
+    @Test
+    void shouldCreatePetsInBatchAndReportEachItem() {
+        String batchRequest =
+                """
+                [
+                    {"name": "Buddy", "species": "Dog", "age": 3, "ownerName": "John Doe"},
+                    {"name": "", "species": "Cat", "age": -1},
+                    {"name": "Nemo", "species": "Fish"}
+                ]
                 """;
 
-        mockMvc.perform(
-                        post("/api/v1/pets")
-                                .contentType(MediaType.APPLICATION_JSON)
-                                .content(createRequest3))
-                .andExpect(status().isCreated());
+        client.post()
+                .uri("/api/v1/pets:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batchRequest)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.created")
+                .isEqualTo(2)
+                .jsonPath("$.failed")
+                .isEqualTo(1)
+                .jsonPath("$.items.length()")
+                .isEqualTo(3)
+                .jsonPath("$.items[0].index")
+                .isEqualTo(0)
+                .jsonPath("$.items[0].status")
+                .isEqualTo(201)
+                .jsonPath("$.items[0].pet.name")
+                .isEqualTo("Buddy")
+                .jsonPath("$.items[0].errors")
+                .doesNotExist()
+                .jsonPath("$.items[1].status")
+                .isEqualTo(400)
+                .jsonPath("$.items[1].pet")
+                .doesNotExist()
+                .jsonPath("$.items[1].errors[0].field")
+                .isEqualTo("age")
+                .jsonPath("$.items[1].errors[1].field")
+                .isEqualTo("name")
+                .jsonPath("$.items[1].errors[1].message")
+                .isEqualTo("Pet name is required")
+                .jsonPath("$.items[2].status")
+                .isEqualTo(201)
+                .jsonPath("$.items[2].pet.name")
+                .isEqualTo("Nemo");
 
-        // Get all pets and verify
-        mockMvc.perform(get("/api/v1/pets").contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(3))
-                .andExpect(jsonPath("$[0].name").value("Buddy"))
-                .andExpect(jsonPath("$[0].species").value("Dog"))
-                .andExpect(jsonPath("$[0].age").value(3))
-                .andExpect(jsonPath("$[0].ownerName").value("John Doe"))
-                .andExpect(jsonPath("$[1].name").value("Whiskers"))
-                .andExpect(jsonPath("$[1].species").value("Cat"))
-                .andExpect(jsonPath("$[1].age").value(2))
-                .andExpect(jsonPath("$[1].ownerName").value("Jane Smith"))
-                .andExpect(jsonPath("$[2].name").value("Goldie"))
-                .andExpect(jsonPath("$[2].species").value("Fish"))
-                .andExpect(jsonPath("$[2].age").isEmpty())
-                .andExpect(jsonPath("$[2].ownerName").isEmpty());
+        client.get()
+                .uri("/api/v1/pets")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnProblemDetailsWhenBatchIsTooLarge() {
+        String batchRequest =
+                "["
+                        + String.join(
+                                ",",
+                                Collections.nCopies(
+                                        1001, "{\"name\": \"Rex\", \"species\": \"Dog\"}"))
+                        + "]";
+
+        client.post()
+                .uri("/api/v1/pets:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batchRequest)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.errors[0].message")
+                .isEqualTo("Batch must contain at most 1000 pets");
+    }
+
+    @Test
+    void shouldGetPetsByIdsInRequestOrderAndReportMissingIds() throws IOException {
+        String batchRequest =
+                """
+                [{"name": "Buddy", "species": "Dog"}, {"name": "Max", "species": "Cat"}]
+                """;
+        byte[] createResult =
+                client.post()
+                        .uri("/api/v1/pets:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(batchRequest)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        JsonNode created = objectMapper.readTree(createResult);
+        long buddyId = created.at("/items/0/pet/id").asLong();
+        long maxId = created.at("/items/1/pet/id").asLong();
+
+        client.get()
+                .uri("/api/v1/pets?ids=" + maxId + ",999," + buddyId + "," + maxId)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.items.length()")
+                .isEqualTo(2)
+                .jsonPath("$.items[0].name")
+                .isEqualTo("Max")
+                .jsonPath("$.items[1].name")
+                .isEqualTo("Buddy")
+                .jsonPath("$.missingIds.length()")
+                .isEqualTo(1)
+                .jsonPath("$.missingIds[0]")
+                .isEqualTo(999);
+    }
+
+    @Test
+    void shouldRejectIdsLimitAndModifiedSinceCombined() {
+        Map<String, String> expectedDetails =
+                Map.of(
+                        "/api/v1/pets?ids=1&limit=5",
+                        "Query parameter 'ids' cannot be combined with 'limit'",
+                        "/api/v1/pets?modifiedSince=0&limit=5",
+                        "Query parameter 'modifiedSince' cannot be combined with 'limit'",
+                        "/api/v1/pets?ids=1&modifiedSince=0",
+                        "Query parameter 'modifiedSince' cannot be combined with 'ids'",
+                        "/api/v1/pets?modifiedSince=0&species=Dog",
+                        "Query parameter 'species' cannot be combined with 'modifiedSince'");
+
+        expectedDetails.forEach(
+                (uri, detail) ->
+                        client.get()
+                                .uri(uri)
+                                .exchange()
+                                .expectStatus()
+                                .isBadRequest()
+                                .expectBody()
+                                .jsonPath("$.detail")
+                                .isEqualTo(detail));
+    }
+
+    @Test
+    void shouldAnswerIfNoneMatchWithNotModified() throws IOException {
+        long id = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+
+        client.get()
+                .uri("/api/v1/pets/" + id)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals("ETag", "\"0\"")
+                .expectBody()
+                .jsonPath("$.version")
+                .isEqualTo(0);
+
+        client.get()
+                .uri("/api/v1/pets/" + id)
+                .header("If-None-Match", "\"0\"")
+                .exchange()
+                .expectStatus()
+                .isNotModified()
+                .expectHeader()
+                .valueEquals("ETag", "\"0\"")
+                .expectHeader()
+                .valueEquals("Vary", "Accept")
+                .expectBody()
+                .isEmpty();
+    }
+
+    @Test
+    void shouldApplyUpdateOnlyWhenIfMatchIsCurrent() throws IOException {
+        long id = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+        String update = "{\"name\": \"Rex\", \"species\": \"Dog\"}";
+
+        client.put()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.version")
+                .isEqualTo(1);
+
+        client.put()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(412)
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status")
+                .isEqualTo(412);
+
+        client.put()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "W/\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(update)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(412);
+    }
+
+    @Test
+    void shouldApplyWritesWhenAnyListedIfMatchIsCurrent() throws IOException {
+        long id = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+
+        client.put()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"5\", W/\"1\", \"0-cbor\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Rex\", \"species\": \"Dog\"}")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals("ETag", "\"1\"");
+        client.patch()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\", \"2\"")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"name\": \"Max\"}")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(412);
+        client.delete()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\", \"1\"")
+                .exchange()
+                .expectStatus()
+                .isNoContent();
+        client.delete()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\", \"1\"")
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void shouldDeleteOnlyWhenIfMatchIsCurrent() throws IOException {
+        long id = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+
+        client.delete()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"7\"")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(412);
+        client.delete()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\"")
+                .exchange()
+                .expectStatus()
+                .isNoContent();
+        client.delete()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\"")
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void shouldPatchOnlySuppliedFields() throws IOException {
+        long id =
+                createPet(
+                        "{\"name\": \"Buddy\", \"species\": \"Dog\", \"age\": 3,"
+                                + " \"ownerName\": \"John Doe\"}");
+
+        client.patch()
+                .uri("/api/v1/pets/" + id)
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"ownerName\": \"Jane Smith\", \"age\": null}")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .valueEquals("ETag", "\"1\"")
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("Buddy")
+                .jsonPath("$.species")
+                .isEqualTo("Dog")
+                .jsonPath("$.age")
+                .doesNotExist()
+                .jsonPath("$.ownerName")
+                .isEqualTo("Jane Smith")
+                .jsonPath("$.version")
+                .isEqualTo(1);
+
+        client.patch()
+                .uri("/api/v1/pets/" + id)
+                .header("If-Match", "\"0\"")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"name\": \"Rex\"}")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(412);
+
+        client.patch()
+                .uri("/api/v1/pets/999")
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"name\": \"Rex\"}")
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void shouldReturnProblemDetailsWhenPatchIsInvalid() throws IOException {
+        long id = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+
+        client.patch()
+                .uri("/api/v1/pets/" + id)
+                .contentType(MediaType.parseMediaType("application/merge-patch+json"))
+                .bodyValue("{\"name\": \" \", \"age\": \"old\", \"color\": \"red\"}")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.errors.length()")
+                .isEqualTo(3)
+                .jsonPath("$.errors[0].field")
+                .isEqualTo("name")
+                .jsonPath("$.errors[1].field")
+                .isEqualTo("age")
+                .jsonPath("$.errors[1].message")
+                .isEqualTo("Age must be an integer")
+                .jsonPath("$.errors[2].message")
+                .isEqualTo("Unknown field");
+
+        client.patch()
+                .uri("/api/v1/pets/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Rex\"}")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(415);
+
+        client.get()
+                .uri("/api/v1/pets/" + id)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("Buddy")
+                .jsonPath("$.version")
+                .isEqualTo(0);
+    }
+
+    @Test
+    void shouldCreateAndRetrievePetAsCbor() throws IOException {
+        byte[] created =
+                client.post()
+                        .uri("/api/v1/pets")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .bodyValue(
+                                cborMapper.writeValueAsBytes(
+                                        Map.of("name", "Buddy", "species", "Dog", "age", 3)))
+                        .exchange()
+                        .expectStatus()
+                        .isCreated()
+                        .expectHeader()
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .expectHeader()
+                        .valueEquals("ETag", "\"0-cbor\"")
+                        .expectHeader()
+                        .valueEquals("Vary", "Accept")
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        JsonNode createdPet = cborMapper.readTree(created);
+        assertThat(createdPet.get("name").asText()).isEqualTo("Buddy");
+        long id = createdPet.get("id").asLong();
+
+        byte[] pet =
+                client.get()
+                        .uri("/api/v1/pets/" + id)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        // The tag of the JSON representation does not validate the CBOR one
+                        .header("If-None-Match", "\"0\"")
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        assertThat(cborMapper.readTree(pet)).isEqualTo(createdPet);
+
+        byte[] pets =
+                client.get()
+                        .uri("/api/v1/pets")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        assertThat(cborMapper.readTree(pets)).containsExactly(createdPet);
+    }
+
+    @Test
+    void shouldCreateAndUpdatePetsAsSmile() throws IOException {
+        byte[] batch =
+                client.post()
+                        .uri("/api/v1/pets:batch")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .bodyValue(
+                                smileMapper.writeValueAsBytes(
+                                        List.of(
+                                                Map.of("name", "Buddy", "species", "Dog"),
+                                                Map.of("name", "Max", "species", "Cat"))))
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(SMILE)
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        JsonNode created = smileMapper.readTree(batch);
+        assertThat(created.get("created").asInt()).isEqualTo(2);
+        long maxId = created.at("/items/1/pet/id").asLong();
+
+        byte[] updated =
+                client.put()
+                        .uri("/api/v1/pets/" + maxId)
+                        .header("If-Match", "\"0-smile\"")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .bodyValue(
+                                smileMapper.writeValueAsBytes(
+                                        Map.of("name", "Maximus", "species", "Cat")))
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(SMILE)
+                        .expectHeader()
+                        .valueEquals("ETag", "\"1-smile\"")
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        assertThat(smileMapper.readTree(updated).get("name").asText()).isEqualTo("Maximus");
+
+        // JSON clients still get JSON, including the cached single-pet encoding
+        client.get()
+                .uri("/api/v1/pets/" + maxId)
+                .accept(MediaType.ALL)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("Maximus");
+    }
+
+    @Test
+    void shouldReturnProblemDetailsAsJsonWhenCborBodyIsInvalid() throws IOException {
+        // Problem Details have no binary media type, so errors stay application/problem+json
+        client.post()
+                .uri("/api/v1/pets")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(cborMapper.writeValueAsBytes(Map.of("name", "", "species", "Dog")))
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status")
+                .isEqualTo(400)
+                .jsonPath("$.errors[0].field")
+                .isEqualTo("name")
+                .jsonPath("$.errors[0].message")
+                .isEqualTo("Pet name is required");
+    }
+
+    @Test
+    void shouldTellChangeFeedClientToResyncWhenLastEventIdIsNotRetained() {
+        String events =
+                client.get()
+                        .uri("/api/v1/pets/changes")
+                        .header("Last-Event-ID", "0")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                        .expectBody(String.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        assertThat(events).contains("event:resync").containsPattern("id:\\d+");
+    }
+
+    @Test
+    void shouldReturnOnlyPetsModifiedSinceHighWaterMark() throws IOException {
+        // An unknown sequence number answers with the current one, to start from after a reload
+        byte[] gone =
+                client.get()
+                        .uri("/api/v1/pets?modifiedSince=0")
+                        .exchange()
+                        .expectStatus()
+                        .isEqualTo(HttpStatus.GONE)
+                        .expectHeader()
+                        .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        long start = objectMapper.readTree(gone).get("sequence").asLong();
+
+        createPet("{\"name\": \"Rex\", \"species\": \"Dog\"}");
+        byte[] afterCreate =
+                client.get()
+                        .uri("/api/v1/pets?modifiedSince=" + start)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        long mark = objectMapper.readTree(afterCreate).get("highWaterMark").asLong();
+
+        long buddyId = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+        long maxId = createPet("{\"name\": \"Max\", \"species\": \"Dog\"}");
+        client.put()
+                .uri("/api/v1/pets/" + maxId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Max\", \"species\": \"Cat\", \"version\": 0}")
+                .exchange()
+                .expectStatus()
+                .isOk();
+        client.delete().uri("/api/v1/pets/" + buddyId).exchange().expectStatus().isNoContent();
+
+        client.get()
+                .uri("/api/v1/pets?modifiedSince=" + mark)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.items.length()")
+                .isEqualTo(1)
+                .jsonPath("$.items[0].id")
+                .isEqualTo(maxId)
+                .jsonPath("$.items[0].species")
+                .isEqualTo("Cat")
+                .jsonPath("$.deletedIds")
+                .isEqualTo(List.of((int) buddyId))
+                .jsonPath("$.highWaterMark")
+                .isEqualTo(mark + 4);
+    }
+
+    @Test
+    void shouldReturnPetStatistics() throws IOException {
+        createPet("{\"name\": \"Rex\", \"species\": \"Dog\", \"age\": 3, \"ownerName\": \"John\"}");
+        long buddyId = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\", \"age\": 3}");
+        long maxId = createPet("{\"name\": \"Max\", \"species\": \"Dog\"}");
+        client.put()
+                .uri("/api/v1/pets/" + maxId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(
+                        "{\"name\": \"Max\", \"species\": \"Cat\", \"age\": 5,"
+                                + " \"ownerName\": \"John\", \"version\": 0}")
+                .exchange()
+                .expectStatus()
+                .isOk();
+        client.delete().uri("/api/v1/pets/" + buddyId).exchange().expectStatus().isNoContent();
+
+        client.get()
+                .uri("/api/v1/pets/stats")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.total")
+                .isEqualTo(2)
+                .jsonPath("$.bySpecies")
+                .isEqualTo(Map.of("Cat", 1, "Dog", 1))
+                .jsonPath("$.byOwner")
+                .isEqualTo(Map.of("John", 2))
+                .jsonPath("$.byAge")
+                .isEqualTo(Map.of("3", 1, "5", 1));
+    }
+
+    @Test
+    void shouldReadOwnWritesAndReportStandaloneReplicationStatus() throws IOException {
+        long buddyId = createPet("{\"name\": \"Buddy\", \"species\": \"Dog\"}");
+
+        client.get()
+                .uri("/api/v1/pets/" + buddyId + "?readYourWrites=true")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("Buddy");
+        client.get()
+                .uri("/api/v1/pets/replication")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.role")
+                .isEqualTo("standalone")
+                .jsonPath("$.lag")
+                .isEqualTo(0)
+                .jsonPath("$.followers")
+                .isEmpty();
+    }
+
+    private long createPet(String json) throws IOException {
+        byte[] body =
+                client.post()
+                        .uri("/api/v1/pets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(json)
+                        .exchange()
+                        .expectStatus()
+                        .isCreated()
+                        .expectBody()
+                        .returnResult()
+                        .getResponseBody();
+        return objectMapper.readTree(body).get("id").asLong();
     }
 }
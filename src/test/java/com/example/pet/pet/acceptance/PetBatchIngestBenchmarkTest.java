@@ -0,0 +1,75 @@
+package com.example.pet.pet.acceptance;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.pet.config.ApplicationConfiguration;
+import com.example.pet.infrastructure.web.GlobalExceptionHandler;
+import com.example.pet.pet.infrastructure.api.PetBatchController;
+import com.example.pet.pet.infrastructure.api.PetController;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Compares ingest throughput of one POST per pet with {@code POST /api/v1/pets:batch}, against a
+ * write-ahead log that forces every write to disk, where per-request overhead and one fsync per
+ * pet dominate single creates. Run with {@code make bench}.
+ */
+@Tag("benchmark")
+@WebMvcTest(controllers = {PetController.class, PetBatchController.class})
+@Import({ApplicationConfiguration.class, GlobalExceptionHandler.class})
+class PetBatchIngestBenchmarkTest {
+
+    private static final int PETS = Integer.getInteger("bench.pets", 10_000);
+    private static final int BATCH_SIZE = 1000;
+    private static final String PET = "{\"name\": \"Rex\", \"species\": \"Dog\", \"age\": 3}";
+
+    @Autowired private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void durableLog(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("pet-batch-bench");
+        registry.add("pet.repository.wal.enabled", () -> "true");
+        registry.add("pet.repository.wal.fsync", () -> "always");
+        registry.add("pet.repository.wal.path", () -> directory.resolve("pets.wal").toString());
+    }
+
+    @Test
+    void measureSingleVersusBatchIngest() throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < PETS; i++) {
+            mockMvc.perform(
+                            post("/api/v1/pets")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(PET))
+                    .andExpect(status().isCreated());
+        }
+        double singlePerSecond = PETS * 1e9 / (System.nanoTime() - start);
+
+        String batch = "[" + String.join(",", Collections.nCopies(BATCH_SIZE, PET)) + "]";
+        start = System.nanoTime();
+        for (int i = 0; i < PETS / BATCH_SIZE; i++) {
+            mockMvc.perform(
+                            post("/api/v1/pets:batch")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(batch))
+                    .andExpect(status().isOk());
+        }
+        double batchPerSecond = PETS * 1e9 / (System.nanoTime() - start);
+
+        System.out.printf(
+                "single: %,10.0f pets/sec  batch of %d: %,10.0f pets/sec  (%.1fx)%n",
+                singlePerSecond, BATCH_SIZE, batchPerSecond, batchPerSecond / singlePerSecond);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.pet.pet.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.pet.pet.application.PetChangeDTO;
+import com.example.pet.pet.application.PetDTO;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * The change feed over a real HTTP connection, which MockMvc cannot hold open: replay after
+ * {@code Last-Event-ID}, and delivery of changes made while a client is connected.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "pet.repository.changes.capacity=16")
+class PetChangeFeedTest {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<PetChangeDTO>> CHANGE_EVENT =
+            new ParameterizedTypeReference<>() {};
+
+    @Autowired private WebTestClient client;
+
+    @Test
+    void shouldReplayChangesAfterLastEventId() {
+        long start = resyncSequence();
+        PetDTO buddy = createPet("Buddy");
+        client.put()
+                .uri("/api/v1/pets/" + buddy.id())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Buddy", "species", "Cat", "version", 0))
+                .exchange()
+                .expectStatus()
+                .isOk();
+        client.delete().uri("/api/v1/pets/" + buddy.id()).exchange().expectStatus().isNoContent();
+
+        List<ServerSentEvent<PetChangeDTO>> events = changes(start).take(3).collectList().block();
+
+        assertThat(events)
+                .extracting(ServerSentEvent::event, ServerSentEvent::id)
+                .containsExactly(
+                        tuple("created", Long.toString(start + 1)),
+                        tuple("updated", Long.toString(start + 2)),
+                        tuple("deleted", Long.toString(start + 3)));
+        assertThat(events.get(1).data().pet().species()).isEqualTo("Cat");
+        assertThat(events.get(2).data().petId()).isEqualTo(buddy.id());
+        assertThat(events.get(2).data().pet()).isNull();
+    }
+
+    @Test
+    void shouldDeliverChangesMadeWhileConnected() {
+        Flux<ServerSentEvent<PetChangeDTO>> live = changes(resyncSequence());
+        var next = live.next().toFuture();
+
+        PetDTO max = createPet("Max");
+
+        assertThat(next)
+                .succeedsWithin(Duration.ofSeconds(10))
+                .satisfies(
+                        event -> {
+                            assertThat(event.event()).isEqualTo("created");
+                            assertThat(event.data().pet()).isEqualTo(max);
+                        });
+    }
+
+    @Test
+    void shouldTellClientThatFellBehindToResync() {
+        long start = resyncSequence();
+        // More changes than the feed retains
+        for (int i = 0; i < 20; i++) {
+            createPet("Pet " + i);
+        }
+
+        List<ServerSentEvent<PetChangeDTO>> events = changes(start).collectList().block();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().event()).isEqualTo("resync");
+        assertThat(events.getFirst().id()).isEqualTo(Long.toString(start + 20));
+    }
+
+    /** The latest sequence number, as reported by the resync event for an unknown position. */
+    private long resyncSequence() {
+        ServerSentEvent<PetChangeDTO> resync = changes(0).blockFirst(Duration.ofSeconds(10));
+        assertThat(resync.event()).isEqualTo("resync");
+        return Long.parseLong(resync.id());
+    }
+
+    private Flux<ServerSentEvent<PetChangeDTO>> changes(long lastEventId) {
+        return client.get()
+                .uri("/api/v1/pets/changes")
+                .header("Last-Event-ID", Long.toString(lastEventId))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .returnResult(CHANGE_EVENT)
+                .getResponseBody()
+                // Skips the opening comment
+                .filter(event -> event.event() != null)
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    private PetDTO createPet(String name) {
+        return client.post()
+                .uri("/api/v1/pets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", name, "species", "Dog"))
+                .exchange()
+                .expectStatus()
+                .isCreated()
+                .expectBody(PetDTO.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.pet.pet.acceptance;
+
+import com.example.pet.PetApplication;
+import com.example.pet.pet.application.PetDTO;
+import com.example.pet.pet.infrastructure.persistence.ReplicationLeader;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * A leader and a follower instance on localhost, each a full application over real HTTP: writes
+ * go to the leader and are read back from the follower.
+ */
+class ReplicationAcceptanceTest {
+
+    private static ConfigurableApplicationContext leader;
+    private static ConfigurableApplicationContext follower;
+    private static WebTestClient leaderClient;
+    private static WebTestClient followerClient;
+    private static int replicationPort;
+
+    @BeforeAll
+    static void startInstances() {
+        leader =
+                new SpringApplicationBuilder(PetApplication.class)
+                        .run(
+                                "--server.port=0",
+                                "--pet.repository.replication.role=leader",
+                                "--pet.repository.replication.port=0",
+                                "--logging.level.root=warn");
+        replicationPort = leader.getBean(ReplicationLeader.class).port();
+        follower =
+                new SpringApplicationBuilder(PetApplication.class)
+                        .run(
+                                "--server.port=0",
+                                "--pet.repository.replication.role=follower",
+                                "--pet.repository.replication.leader-host=localhost",
+                                "--pet.repository.replication.port=" + replicationPort,
+                                "--logging.level.root=warn");
+        leaderClient = clientOf(leader);
+        followerClient = clientOf(follower);
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        follower.close();
+        leader.close();
+    }
+
+    @Test
+    void follower_shouldServeTheLeadersWritesWithReadYourWrites() {
+        PetDTO buddy =
+                leaderClient
+                        .post()
+                        .uri("/api/v1/pets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("name", "Buddy", "species", "Dog", "age", 3))
+                        .exchange()
+                        .expectStatus()
+                        .isCreated()
+                        .expectBody(PetDTO.class)
+                        .returnResult()
+                        .getResponseBody();
+
+        followerClient
+                .get()
+                .uri("/api/v1/pets/{id}?readYourWrites=true", buddy.id())
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.name")
+                .isEqualTo("Buddy")
+                .jsonPath("$.version")
+                .isEqualTo(0);
+    }
+
+    @Test
+    void follower_shouldRejectWrites() {
+        followerClient
+                .post()
+                .uri("/api/v1/pets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("name", "Max", "species", "Cat"))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(421)
+                .expectBody()
+                .jsonPath("$.title")
+                .isEqualTo("Misdirected Request")
+                .jsonPath("$.leader")
+                .isEqualTo("localhost:" + replicationPort);
+    }
+
+    @Test
+    void shouldReportReplicationStatusOnBothInstances() {
+        // Waits for the follower to connect and catch up
+        followerClient
+                .get()
+                .uri("/api/v1/pets/0?readYourWrites=true")
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+
+        followerClient
+                .get()
+                .uri("/api/v1/pets/replication")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.role")
+                .isEqualTo("follower")
+                .jsonPath("$.connected")
+                .isEqualTo(true)
+                .jsonPath("$.lag")
+                .isEqualTo(0);
+        leaderClient
+                .get()
+                .uri("/api/v1/pets/replication")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.role")
+                .isEqualTo("leader")
+                .jsonPath("$.followers.length()")
+                .isEqualTo(1);
+    }
+
+    private static WebTestClient clientOf(ConfigurableApplicationContext context) {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        return WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.pet.pet.acceptance;
+
+import com.example.pet.PetApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares the Tomcat platform-thread pool with the {@code virtual-threads} profile over real
+ * HTTP connections. Each connection is a closed-loop client; 90% of requests read a pet and 10%
+ * create one against a write-ahead log with {@code fsync=always}, so requests block on disk the
+ * way they would on a database. Prints throughput and p99 latency per mode and connection count.
+ *
+ * <p>Run with {@code make bench}; tune with {@code -Dbench.connections=1000,10000} and {@code
+ * -Dbench.seconds=20}. Needs JDK 24+ and an open-file limit above the connection count.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final int[] CONNECTIONS =
+            Arrays.stream(System.getProperty("bench.connections", "1000,10000").split(","))
+                    .mapToInt(Integer::parseInt)
+                    .toArray();
+    private static final Duration MEASURE =
+            Duration.ofSeconds(Integer.getInteger("bench.seconds", 20));
+    private static final Duration WARM_UP = MEASURE.dividedBy(4);
+    private static final int SEEDED_PETS = 1000;
+    private static final String PET = "{\"name\": \"Rex\", \"species\": \"Dog\", \"age\": 3}";
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        for (int connections : CONNECTIONS) {
+            for (boolean virtualThreads : new boolean[] {false, true}) {
+                Result result = run(virtualThreads, connections);
+                System.out.printf(
+                        "%-8s threads, %,6d connections: %,9.0f req/sec  p99 %,7.1f ms"
+                                + "  (%d errors)%n",
+                        virtualThreads ? "virtual" : "platform",
+                        connections,
+                        result.requestsPerSecond(),
+                        result.p99Millis(),
+                        result.errors());
+            }
+        }
+    }
+
+    private static Result run(boolean virtualThreads, int connections) throws Exception {
+        Path directory = Files.createTempDirectory("pet-vt-bench");
+        ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(PetApplication.class)
+                        .profiles(virtualThreads ? "virtual-threads" : "default")
+                        .properties(
+                                "server.port=0",
+                                "server.tomcat.max-connections=" + (connections + 1000),
+                                "server.tomcat.accept-count=" + connections,
+                                "pet.repository.wal.enabled=true",
+                                "pet.repository.wal.fsync=always",
+                                "pet.repository.wal.path=" + directory.resolve("pets.wal"),
+                                "logging.level.root=warn")
+                        .run();
+        try (context;
+                ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient http =
+                        HttpClient.newBuilder()
+                                .version(HttpClient.Version.HTTP_1_1)
+                                .executor(clients)
+                                .build()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI pets = URI.create("http://localhost:" + port + "/api/v1/pets");
+            seed(http, pets);
+            return load(http, clients, pets, connections);
+        }
+    }
+
+    private static void seed(HttpClient http, URI pets) throws IOException, InterruptedException {
+        String batch = "[" + String.join(",", Collections.nCopies(SEEDED_PETS, PET)) + "]";
+        http.send(
+                HttpRequest.newBuilder(URI.create(pets + ":batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(batch))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static Result load(HttpClient http, ExecutorService clients, URI pets, int connections)
+            throws Exception {
+        long warmUpEnd = System.nanoTime() + WARM_UP.toNanos();
+        long end = warmUpEnd + MEASURE.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<Latencies>> futures = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            futures.add(clients.submit(() -> runClient(http, pets, warmUpEnd, end, errors)));
+        }
+        Latencies all = new Latencies();
+        for (Future<Latencies> future : futures) {
+            all.addAll(future.get());
+        }
+        return new Result(
+                all.size() / (double) MEASURE.toSeconds(),
+                all.percentile(0.99) / 1e6,
+                errors.get());
+    }
+
+    /** Sends one request after another until {@code end}, timing those after the warm-up. */
+    private static Latencies runClient(
+            HttpClient http, URI pets, long warmUpEnd, long end, AtomicLong errors)
+            throws InterruptedException {
+        Latencies latencies = new Latencies();
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            try {
+                int status =
+                        http.send(nextRequest(pets), HttpResponse.BodyHandlers.discarding())
+                                .statusCode();
+                if (status >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            }
+            if (start >= warmUpEnd) {
+                latencies.add(System.nanoTime() - start);
+            }
+        }
+        return latencies;
+    }
+
+    private static HttpRequest nextRequest(URI pets) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (random.nextInt(10) == 0) {
+            return HttpRequest.newBuilder(pets)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(PET))
+                    .build();
+        }
+        return HttpRequest.newBuilder(pets.resolve("pets/" + random.nextInt(SEEDED_PETS))).build();
+    }
+
+    private record Result(double requestsPerSecond, double p99Millis, long errors) {}
+
+    /** Growable array of latencies in nanoseconds, one per client so recording needs no lock. */
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        long percentile(double fraction) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted[Math.min(size - 1, (int) Math.ceil(fraction * size) - 1)];
+        }
+    }
+}
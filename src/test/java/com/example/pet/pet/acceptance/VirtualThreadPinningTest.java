@@ -0,0 +1,135 @@
+package com.example.pet.pet.acceptance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.pet.config.ApplicationConfiguration;
+import com.example.pet.infrastructure.web.GlobalExceptionHandler;
+import com.example.pet.pet.infrastructure.api.PetBatchController;
+import com.example.pet.pet.infrastructure.api.PetController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Drives the request path from many virtual threads at once and fails if any of them pins its
+ * carrier thread, as reported by the JFR {@code jdk.VirtualThreadPinned} event. The writers
+ * contend on a few pets, so they block inside ConcurrentHashMap and Caffeine computes (which
+ * hold a monitor) on the write-ahead log's locks and group-commit fsync. That only stays
+ * unpinned since JDK 24, where virtual threads can block while holding a monitor.
+ */
+@EnabledForJreRange(minVersion = 24)
+@WebMvcTest(controllers = {PetController.class, PetBatchController.class})
+@Import({ApplicationConfiguration.class, GlobalExceptionHandler.class})
+class VirtualThreadPinningTest {
+
+    private static final int CLIENTS = 500;
+    private static final int HOT_PETS = 4;
+
+    @Autowired private MockMvc mockMvc;
+
+    @Autowired private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void durableCachedRepository(DynamicPropertyRegistry registry) throws IOException {
+        Path directory = Files.createTempDirectory("pet-pinning");
+        registry.add("pet.repository.wal.enabled", () -> "true");
+        registry.add("pet.repository.wal.fsync", () -> "always");
+        registry.add("pet.repository.wal.path", () -> directory.resolve("pets.wal").toString());
+        registry.add("pet.repository.cache.enabled", () -> "true");
+    }
+
+    @Test
+    // Pinned carriers can deadlock the scheduler instead of merely slowing it down, so fail
+    // rather than hang
+    @Timeout(value = 2, unit = TimeUnit.MINUTES, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    void requestPathShouldNotPinCarrierThreads() throws Exception {
+        List<Long> hotIds = new ArrayList<>();
+        for (int i = 0; i < HOT_PETS; i++) {
+            String body =
+                    mockMvc.perform(
+                                    post("/api/v1/pets")
+                                            .contentType(MediaType.APPLICATION_JSON)
+                                            .content("{\"name\": \"Hot\", \"species\": \"Dog\"}"))
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString();
+            hotIds.add(objectMapper.readTree(body).get("id").asLong());
+        }
+
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording
+                    .enable("jdk.VirtualThreadPinned")
+                    .withThreshold(Duration.ZERO)
+                    .withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int client = 0; client < CLIENTS; client++) {
+                    long hotId = hotIds.get(client % HOT_PETS);
+                    futures.add(executor.submit(() -> exerciseRequestPath(hotId)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            recording.stop();
+        }
+
+        assertThat(pinned)
+                .as(
+                        "virtual threads pinned at:%n%s",
+                        pinned.stream().map(RecordedEvent::getStackTrace).toList())
+                .isEmpty();
+    }
+
+    private Void exerciseRequestPath(long hotId) throws Exception {
+        String created =
+                mockMvc.perform(
+                                post("/api/v1/pets")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"name\": \"Rex\", \"species\": \"Dog\"}"))
+                        .andExpect(status().isCreated())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+        mockMvc.perform(
+                patch("/api/v1/pets/" + hotId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"ownerName\": \"Owner " + id + "\"}"));
+        mockMvc.perform(get("/api/v1/pets/" + hotId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/pets").param("ids", hotId + "," + id))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/pets/" + id)).andExpect(status().isNoContent());
+        return null;
+    }
+}
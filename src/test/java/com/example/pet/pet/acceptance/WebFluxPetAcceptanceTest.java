@@ -0,0 +1,18 @@
+package com.example.pet.pet.acceptance;
+
+import com.example.pet.config.ApplicationConfiguration;
+import com.example.pet.config.ReactiveConfiguration;
+import com.example.pet.infrastructure.web.ReactiveGlobalExceptionHandler;
+import com.example.pet.pet.infrastructure.api.ReactivePetBatchController;
+import com.example.pet.pet.infrastructure.api.ReactivePetController;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+
+/** Runs the acceptance tests against the WebFlux stack of the {@code reactive} profile. */
+@WebFluxTest(controllers = {ReactivePetController.class, ReactivePetBatchController.class})
+@Import({
+    ApplicationConfiguration.class,
+    ReactiveConfiguration.class,
+    ReactiveGlobalExceptionHandler.class
+})
+class WebFluxPetAcceptanceTest extends PetAcceptanceTest {}
@@ -0,0 +1,62 @@
+package com.example.pet.pet.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.OptimisticLockException;
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.Species;
+import com.example.pet.pet.infrastructure.persistence.InMemoryPetRepository;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class UpdatePetHandlerTest {
+
+    private static final UpdatePetRequest REX = new UpdatePetRequest("Rex", "Dog", null, null);
+
+    @Test
+    void handle_shouldReplaceWhateverVersionThePetHasWithoutIfMatch() {
+        StaleReadRepository repository = new StaleReadRepository();
+        Pet buddy = repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+        repository.update(buddy.getId(), pet -> pet);
+
+        PetDTO updated = new UpdatePetHandler(repository).handle(buddy.getId(), REX).orElseThrow();
+
+        assertThat(updated.name()).isEqualTo("Rex");
+        assertThat(updated.version()).isEqualTo(2);
+    }
+
+    @Test
+    void handle_shouldRejectAStaleIfMatch() {
+        StaleReadRepository repository = new StaleReadRepository();
+        Pet buddy = repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+        repository.update(buddy.getId(), pet -> pet);
+
+        assertThatThrownBy(() -> new UpdatePetHandler(repository).handle(buddy.getId(), REX, 0L))
+                .isInstanceOf(OptimisticLockException.class);
+    }
+
+    /** Reports every pet at version 0, as a read that raced with a concurrent update would. */
+    private static final class StaleReadRepository extends InMemoryPetRepository {
+
+        StaleReadRepository() {
+            super(List.of());
+        }
+
+        @Override
+        public Optional<Pet> findById(Long id) {
+            return super.findById(id)
+                    .map(
+                            pet ->
+                                    new Pet(
+                                            pet.getId(),
+                                            pet.getName(),
+                                            pet.getSpecies(),
+                                            pet.getAge(),
+                                            pet.getOwnerName(),
+                                            0L));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
@@ -52,6 +53,16 @@ public abstract class PetRepositoryContractTest {
         assertThat(result.get().getSpecies()).isEqualTo(new Species("Dog"));
     }
 
+    @Test
+    void findAllById_shouldReturnFoundPetsAndSkipMissingIds() {
+        PetRepository repository = repoWithData();
+
+        List<Pet> pets = repository.findAllById(List.of(2L, 999L, 1L, 2L));
+
+        assertThat(pets).extracting(Pet::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(repository.findAllById(List.of())).isEmpty();
+    }
+
     @Test
     void findAll_shouldReturnEmptyListWhenNoPets() {
         PetRepository repository = repoWithNoData();
@@ -71,6 +82,117 @@ public abstract class PetRepositoryContractTest {
         assertThat(pets).extracting(Pet::getId).containsExactlyInAnyOrder(1L, 2L);
     }
 
+    @Test
+    void findPage_shouldReturnPetsInIdOrderUpToLimit() {
+        PetRepository repository = repoWithData();
+
+        List<Pet> page = repository.findPage(null, 1);
+
+        assertThat(page).extracting(Pet::getId).containsExactly(1L);
+    }
+
+    @Test
+    void findPage_shouldContinueAfterCursor() {
+        PetRepository repository = repoWithData();
+
+        List<Pet> page = repository.findPage(1L, 10);
+
+        assertThat(page).extracting(Pet::getId).containsExactly(2L);
+    }
+
+    @Test
+    void findPage_shouldReturnEmptyListAfterLastPet() {
+        PetRepository repository = repoWithData();
+
+        List<Pet> page = repository.findPage(2L, 10);
+
+        assertThat(page).isEmpty();
+    }
+
+    @Test
+    void findPage_shouldSkipDeletedPets() {
+        PetRepository repository = repoWithData();
+        repository.deleteById(1L);
+
+        List<Pet> page = repository.findPage(null, 10);
+
+        assertThat(page).extracting(Pet::getId).containsExactly(2L);
+    }
+
+    @Test
+    void findBySpecies_shouldReturnOnlyPetsOfThatSpecies() {
+        PetRepository repository = repoWithData();
+
+        assertThat(repository.findBySpecies(new Species("Dog")))
+                .extracting(Pet::getId)
+                .containsExactly(1L);
+        assertThat(repository.findBySpecies(new Species("Parrot"))).isEmpty();
+    }
+
+    @Test
+    void findByOwner_shouldReturnOnlyPetsOfThatOwner() {
+        PetRepository repository = repoWithData();
+
+        assertThat(repository.findByOwner(new PersonName("Jane Smith")))
+                .extracting(Pet::getId)
+                .containsExactly(2L);
+        assertThat(repository.findByOwner(new PersonName("Nobody"))).isEmpty();
+    }
+
+    @Test
+    void findBySpeciesAndOwner_shouldFollowPetAfterUpdate() {
+        PetRepository repository = repoWithData();
+        Pet existingPet = repository.findById(1L).orElseThrow();
+
+        repository.save(
+                new Pet(
+                        existingPet.getId(),
+                        existingPet.getName(),
+                        new Species("Cat"),
+                        existingPet.getAge(),
+                        new PersonName("Jane Smith"),
+                        existingPet.getVersion()));
+
+        assertThat(repository.findBySpecies(new Species("Dog"))).isEmpty();
+        assertThat(repository.findBySpecies(new Species("Cat")))
+                .extracting(Pet::getId)
+                .containsExactly(1L, 2L);
+        assertThat(repository.findByOwner(new PersonName("John Doe"))).isEmpty();
+        assertThat(repository.findByOwner(new PersonName("Jane Smith")))
+                .extracting(Pet::getId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    void findBySpeciesAndOwner_shouldNotReturnDeletedPets() {
+        PetRepository repository = repoWithData();
+
+        repository.deleteById(1L);
+
+        assertThat(repository.findBySpecies(new Species("Dog"))).isEmpty();
+        assertThat(repository.findByOwner(new PersonName("John Doe"))).isEmpty();
+    }
+
+    @Test
+    void findBySpecies_shouldIncludeNewlyCreatedPets() {
+        PetRepository repository = repoWithNoData();
+
+        Pet saved =
+                repository.save(
+                        new Pet(
+                                new PetName("Rex"),
+                                new Species("Dog"),
+                                null,
+                                new PersonName("Al")));
+
+        assertThat(repository.findBySpecies(new Species("Dog")))
+                .extracting(Pet::getId)
+                .containsExactly(saved.getId());
+        assertThat(repository.findByOwner(new PersonName("Al")))
+                .extracting(Pet::getId)
+                .containsExactly(saved.getId());
+    }
+
     @Test
     void save_shouldCreateNewPetWithIdAssigned() {
         PetRepository repository = repoWithNoData();
@@ -273,6 +395,176 @@ public abstract class PetRepositoryContractTest {
         assertThat(finalPet.getVersion()).isEqualTo(2L);
     }
 
+    @Test
+    void update_shouldApplyChangeToCurrentPetAndIncrementVersion() {
+        PetRepository repository = repoWithData();
+
+        Optional<Pet> updated =
+                repository.update(
+                        1L,
+                        pet ->
+                                new Pet(
+                                        pet.getId(),
+                                        pet.getName(),
+                                        new Species("Wolf"),
+                                        pet.getAge(),
+                                        null,
+                                        pet.getVersion()));
+
+        assertThat(updated).isPresent();
+        assertThat(updated.get().getVersion()).isEqualTo(1L);
+        assertThat(updated.get().getName()).isEqualTo(new PetName("Buddy"));
+        Pet stored = repository.findById(1L).orElseThrow();
+        assertThat(stored.getSpecies()).isEqualTo(new Species("Wolf"));
+        assertThat(stored.getOwnerName()).isNull();
+        assertThat(repository.findBySpecies(new Species("Wolf")))
+                .extracting(Pet::getId)
+                .containsExactly(1L);
+        assertThat(repository.findBySpecies(new Species("Dog"))).isEmpty();
+    }
+
+    @Test
+    void update_shouldReturnEmptyWhenPetNotFound() {
+        PetRepository repository = repoWithData();
+
+        assertThat(repository.update(999L, pet -> pet)).isEmpty();
+    }
+
+    @Test
+    void update_shouldLeavePetUnchangedWhenChangeThrows() {
+        PetRepository repository = repoWithData();
+
+        assertThatThrownBy(
+                        () ->
+                                repository.update(
+                                        1L,
+                                        pet -> {
+                                            throw new OptimisticLockException(1L, 5L, 0L);
+                                        }))
+                .isInstanceOf(OptimisticLockException.class);
+        assertThat(repository.findById(1L).orElseThrow().getVersion()).isEqualTo(0L);
+    }
+
+    @Test
+    void deleteByIdWithVersion_shouldDeleteWhenVersionMatches() {
+        PetRepository repository = repoWithData();
+
+        assertThat(repository.deleteById(1L, 0L)).isTrue();
+        assertThat(repository.findById(1L)).isEmpty();
+        assertThat(repository.deleteById(999L, 0L)).isFalse();
+    }
+
+    @Test
+    void deleteByIdWithVersion_shouldRejectStaleVersionAndKeepPet() {
+        PetRepository repository = repoWithData();
+        Pet pet = repository.findById(1L).orElseThrow();
+        repository.save(
+                new Pet(
+                        pet.getId(),
+                        new PetName("Renamed"),
+                        pet.getSpecies(),
+                        pet.getAge(),
+                        pet.getOwnerName(),
+                        pet.getVersion()));
+
+        assertThatThrownBy(() -> repository.deleteById(1L, 0L))
+                .isInstanceOf(OptimisticLockException.class);
+        assertThat(repository.findById(1L)).isPresent();
+    }
+
+    @Test
+    void saveAll_shouldCreateAllPetsWithDistinctIdsInOrder() {
+        PetRepository repository = repoWithData();
+
+        List<Pet> created =
+                repository.saveAll(
+                        List.of(
+                                new Pet(new PetName("Nemo"), new Species("Fish"), null, null),
+                                new Pet(
+                                        new PetName("Rex"),
+                                        new Species("Dog"),
+                                        new Age(2),
+                                        new PersonName("John Doe"))));
+
+        assertThat(created)
+                .extracting(Pet::getName)
+                .containsExactly(new PetName("Nemo"), new PetName("Rex"));
+        assertThat(created).extracting(Pet::getVersion).containsOnly(0L);
+        assertThat(created).extracting(Pet::getId).doesNotHaveDuplicates().doesNotContain(1L, 2L);
+        assertThat(repository.findAll()).hasSize(4);
+        assertThat(repository.findById(created.get(1).getId()))
+                .get()
+                .extracting(Pet::getName)
+                .isEqualTo(new PetName("Rex"));
+        assertThat(repository.findBySpecies(new Species("Fish")))
+                .extracting(Pet::getId)
+                .containsExactly(created.getFirst().getId());
+    }
+
+    @Test
+    void saveAll_shouldReturnEmptyListForEmptyBatch() {
+        PetRepository repository = repoWithNoData();
+
+        assertThat(repository.saveAll(List.of())).isEmpty();
+        assertThat(repository.findAll()).isEmpty();
+    }
+
+    @Test
+    void saveAll_shouldRejectPetsThatAlreadyHaveIdsWithoutCreatingAny() {
+        PetRepository repository = repoWithNoData();
+
+        assertThatThrownBy(
+                        () ->
+                                repository.saveAll(
+                                        List.of(
+                                                new Pet(
+                                                        new PetName("Nemo"),
+                                                        new Species("Fish"),
+                                                        null,
+                                                        null),
+                                                BUDDY)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.findAll()).isEmpty();
+    }
+
+    @Test
+    void statistics_shouldCountPetsAfterCreatesUpdatesAndDeletes() {
+        PetRepository repository = repoWithData();
+        Pet nemo =
+                repository.save(
+                        new Pet(new PetName("Nemo"), new Species("Fish"), new Age(1), null));
+        // Moves Max to another species, owner and age
+        repository.update(
+                MAX.getId(),
+                pet ->
+                        new Pet(
+                                pet.getId(),
+                                pet.getName(),
+                                new Species("Dog"),
+                                new Age(4),
+                                new PersonName("John Doe"),
+                                pet.getVersion()));
+        repository.deleteById(nemo.getId());
+
+        PetStatistics statistics = repository.statistics();
+
+        assertThat(statistics).isEqualTo(PetStatistics.of(repository.findAll()));
+        assertThat(statistics.total()).isEqualTo(2);
+        assertThat(statistics.bySpecies()).containsExactly(Map.entry(new Species("Dog"), 2L));
+        assertThat(statistics.byOwner()).containsExactly(Map.entry(new PersonName("John Doe"), 2L));
+        assertThat(statistics.byAge()).containsOnly(Map.entry(3, 1L), Map.entry(4, 1L));
+    }
+
+    @Test
+    void statistics_shouldBeEmptyForEmptyRepository() {
+        PetStatistics statistics = repoWithNoData().statistics();
+
+        assertThat(statistics.total()).isZero();
+        assertThat(statistics.bySpecies()).isEmpty();
+        assertThat(statistics.byOwner()).isEmpty();
+        assertThat(statistics.byAge()).isEmpty();
+    }
+
     /**
      * Factory method to create a repository with no data.
      * @return empty repository
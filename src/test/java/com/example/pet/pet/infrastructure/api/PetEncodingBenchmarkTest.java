@@ -0,0 +1,105 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the negotiable encodings of the pet API: payload size and encode and decode time of a
+ * single pet and of a page of pets, as JSON, CBOR and Smile. Run with {@code make bench}.
+ */
+@Tag("benchmark")
+class PetEncodingBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ITERATIONS = 20_000;
+    private static final TypeReference<List<PetDTO>> PET_LIST = new TypeReference<>() {};
+
+    @Test
+    void compareJsonCborAndSmile() throws IOException {
+        List<PetDTO> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(
+                    new PetDTO(
+                            1_000_000L + i,
+                            "Buddy " + i,
+                            i % 2 == 0 ? "Dog" : "Cat",
+                            i % 15,
+                            i % 3 == 0 ? null : "John Doe " + i,
+                            (long) i % 7));
+        }
+        System.out.printf(
+                "%-6s %10s %12s %12s %10s %12s %12s%n",
+                "", "pet bytes", "encode ns", "decode ns", "page bytes", "encode ns", "decode ns");
+        List<Format> formats =
+                List.of(
+                        new Format("JSON", new ObjectMapper()),
+                        new Format("CBOR", new ObjectMapper(new CBORFactory())),
+                        new Format("Smile", new ObjectMapper(new SmileFactory())));
+        // Warm up every format before measuring any
+        for (Format format : formats) {
+            measure(format.mapper(), page.getFirst());
+            measure(format.mapper(), page);
+        }
+        for (Format format : formats) {
+            Result single = measure(format.mapper(), page.getFirst());
+            Result list = measure(format.mapper(), page);
+            System.out.printf(
+                    "%-6s %10d %12.0f %12.0f %10d %12.0f %12.0f%n",
+                    format.name(),
+                    single.bytes(),
+                    single.encodeNanos(),
+                    single.decodeNanos(),
+                    list.bytes(),
+                    list.encodeNanos(),
+                    list.decodeNanos());
+        }
+    }
+
+    private static Result measure(ObjectMapper mapper, PetDTO pet) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(pet);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoded = mapper.writeValueAsBytes(pet);
+        }
+        long encoding = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (!pet.equals(mapper.readValue(encoded, PetDTO.class))) {
+                throw new AssertionError("round trip changed the pet");
+            }
+        }
+        long decoding = System.nanoTime() - start;
+        return new Result(
+                encoded.length, (double) encoding / ITERATIONS, (double) decoding / ITERATIONS);
+    }
+
+    private static Result measure(ObjectMapper mapper, List<PetDTO> pets) throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(pets);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoded = mapper.writeValueAsBytes(pets);
+        }
+        long encoding = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (mapper.readValue(encoded, PET_LIST).size() != pets.size()) {
+                throw new AssertionError("round trip lost pets");
+            }
+        }
+        long decoding = System.nanoTime() - start;
+        return new Result(
+                encoded.length, (double) encoding / ITERATIONS, (double) decoding / ITERATIONS);
+    }
+
+    private record Format(String name, ObjectMapper mapper) {}
+
+    private record Result(int bytes, double encodeNanos, double decodeNanos) {}
+}
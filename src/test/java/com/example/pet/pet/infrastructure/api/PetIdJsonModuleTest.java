@@ -0,0 +1,48 @@
+package com.example.pet.pet.infrastructure.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.application.PetChangeDTO;
+import com.example.pet.pet.application.PetDTO;
+import com.example.pet.pet.application.PetDeltaDTO;
+import com.example.pet.pet.application.PetLookupDTO;
+import com.example.pet.pet.application.PetPageDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PetIdJsonModuleTest {
+
+    // Above 2^53: a JavaScript number would round it
+    private static final long ID = 9_007_199_254_740_993L;
+    private static final PetDTO BUDDY = new PetDTO(ID, "Buddy", "Dog", 3, "John Doe", 4L);
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().registerModule(new PetIdJsonModule());
+
+    @Test
+    void shouldWritePetIdsAsStrings() {
+        JsonNode pet = objectMapper.valueToTree(BUDDY);
+        JsonNode change = objectMapper.valueToTree(new PetChangeDTO(7, "updated", ID, BUDDY));
+        JsonNode delta = objectMapper.valueToTree(new PetDeltaDTO(List.of(), List.of(ID), 7));
+        JsonNode lookup = objectMapper.valueToTree(new PetLookupDTO(List.of(), List.of(ID)));
+        JsonNode page = objectMapper.valueToTree(new PetPageDTO(List.of(BUDDY), ID));
+
+        assertThat(pet.get("id").textValue()).isEqualTo(String.valueOf(ID));
+        assertThat(pet.get("version").isNumber()).isTrue();
+        assertThat(change.get("petId").textValue()).isEqualTo(String.valueOf(ID));
+        assertThat(change.get("sequence").isNumber()).isTrue();
+        assertThat(delta.at("/deletedIds/0").textValue()).isEqualTo(String.valueOf(ID));
+        assertThat(lookup.at("/missingIds/0").textValue()).isEqualTo(String.valueOf(ID));
+        assertThat(page.get("nextCursor").textValue()).isEqualTo(String.valueOf(ID));
+        assertThat(page.at("/items/0/id").textValue()).isEqualTo(String.valueOf(ID));
+    }
+
+    @Test
+    void shouldReadPetIdsWrittenAsStrings() throws Exception {
+        PetDTO pet = objectMapper.readValue(objectMapper.writeValueAsBytes(BUDDY), PetDTO.class);
+
+        assertThat(pet).isEqualTo(BUDDY);
+    }
+}
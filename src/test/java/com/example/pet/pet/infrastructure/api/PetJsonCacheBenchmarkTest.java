@@ -0,0 +1,60 @@
+package com.example.pet.pet.infrastructure.api;
+
+import com.example.pet.pet.application.PetDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares encoding a single-pet response with Jackson on every request against serving it from
+ * PetJsonCache: time and heap allocated per response, over a hot set of pets that do not change.
+ * Run with {@code make bench}.
+ */
+@Tag("benchmark")
+class PetJsonCacheBenchmarkTest {
+
+    private static final int PETS = 10_000;
+    private static final int RESPONSES = 5_000_000;
+
+    @Test
+    void compareJacksonWithCachedJson() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        PetDTO[] pets = new PetDTO[PETS];
+        for (int i = 0; i < PETS; i++) {
+            pets[i] = new PetDTO((long) i, "Buddy", "Dog", 3, "John Doe", 7L);
+        }
+        PetJsonCache disabled = PetJsonCache.disabled(objectMapper);
+        PetJsonCache cached = PetJsonCache.bounded(objectMapper, PETS);
+
+        // Warm up both paths, which also fills the cache
+        measure(disabled, pets);
+        measure(cached, pets);
+        Result jackson = measure(disabled, pets);
+        Result cache = measure(cached, pets);
+
+        System.out.printf(
+                "Jackson per response:      %6.1f ns/op, %6.1f bytes/op%n"
+                        + "PetJsonCache per response: %6.1f ns/op, %6.1f bytes/op%n",
+                jackson.nanos(), jackson.bytes(), cache.nanos(), cache.bytes());
+    }
+
+    private static Result measure(PetJsonCache cache, PetDTO[] pets) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long length = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < RESPONSES; i++) {
+            length += cache.toJson(pets[i % PETS]).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (length == 0) {
+            throw new AssertionError("nothing encoded");
+        }
+        return new Result((double) elapsed / RESPONSES, (double) allocated / RESPONSES);
+    }
+
+    private record Result(double nanos, double bytes) {}
+}
@@ -0,0 +1,67 @@
+package com.example.pet.pet.infrastructure.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.application.PetDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class PetJsonCacheTest {
+
+    private static final PetDTO BUDDY_V0 = new PetDTO(1L, "Buddy", "Dog", 3, "John Doe", 0L);
+    private static final PetDTO BUDDY_V1 = new PetDTO(1L, "Buddy", "Wolf", 3, "John Doe", 1L);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void toJson_shouldEncodeLikeJackson() throws Exception {
+        PetJsonCache cache = PetJsonCache.bounded(objectMapper, 100);
+
+        assertThat(new String(cache.toJson(BUDDY_V0), StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(BUDDY_V0));
+    }
+
+    @Test
+    void toJson_shouldReuseBytesWhileVersionIsUnchanged() {
+        PetJsonCache cache = PetJsonCache.bounded(objectMapper, 100);
+
+        assertThat(cache.toJson(BUDDY_V0)).isSameAs(cache.toJson(BUDDY_V0));
+    }
+
+    @Test
+    void toJson_shouldEncodeNewVersion() throws Exception {
+        PetJsonCache cache = PetJsonCache.bounded(objectMapper, 100);
+        cache.toJson(BUDDY_V0);
+
+        assertThat(cache.toJson(BUDDY_V1)).isEqualTo(objectMapper.writeValueAsBytes(BUDDY_V1));
+        assertThat(cache.toJson(BUDDY_V1)).isSameAs(cache.toJson(BUDDY_V1));
+    }
+
+    @Test
+    void toJson_shouldNotReplaceNewerVersionWithOlder() {
+        PetJsonCache cache = PetJsonCache.bounded(objectMapper, 100);
+        byte[] newer = cache.toJson(BUDDY_V1);
+
+        // A slow response for the previous version still gets its own bytes
+        assertThat(cache.toJson(BUDDY_V0)).isNotEqualTo(newer);
+        assertThat(cache.toJson(BUDDY_V1)).isSameAs(newer);
+    }
+
+    @Test
+    void invalidate_shouldDropEntry() {
+        PetJsonCache cache = PetJsonCache.bounded(objectMapper, 100);
+        byte[] cached = cache.toJson(BUDDY_V0);
+
+        cache.invalidate(1L);
+
+        assertThat(cache.toJson(BUDDY_V0)).isNotSameAs(cached).isEqualTo(cached);
+    }
+
+    @Test
+    void disabled_shouldEncodeEveryTime() {
+        PetJsonCache cache = PetJsonCache.disabled(objectMapper);
+
+        assertThat(cache.toJson(BUDDY_V0)).isNotSameAs(cache.toJson(BUDDY_V0));
+    }
+}
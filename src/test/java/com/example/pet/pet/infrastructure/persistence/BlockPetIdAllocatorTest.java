@@ -0,0 +1,116 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.domain.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for BlockPetIdAllocator, with allocators on the same lease file standing in for
+ * instances behind a load balancer.
+ */
+class BlockPetIdAllocatorTest {
+
+    @TempDir Path directory;
+
+    @Test
+    void shouldHandOutConsecutiveIdsFromTheBlockOfTheCallingThread() throws IOException {
+        try (BlockPetIdAllocator allocator =
+                new BlockPetIdAllocator(directory.resolve("pets.ids"), 10)) {
+            long first = allocator.nextId();
+
+            assertThat(allocator.nextId()).isEqualTo(first + 1);
+            assertThat(allocator.nextIds(3)).containsExactly(first + 2, first + 3, first + 4);
+            assertThat(allocator.limit()).isEqualTo(first + 10);
+        }
+    }
+
+    @Test
+    void shouldNeverHandOutAnIdTwiceAcrossInstancesAndThreads() throws Exception {
+        Path leaseFile = directory.resolve("pets.ids");
+        try (BlockPetIdAllocator first = new BlockPetIdAllocator(leaseFile, 7);
+                BlockPetIdAllocator second = new BlockPetIdAllocator(leaseFile, 7);
+                ExecutorService platformThreads = Executors.newFixedThreadPool(8);
+                ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                BlockPetIdAllocator allocator = i % 2 == 0 ? first : second;
+                ExecutorService executor = i % 4 < 2 ? platformThreads : virtualThreads;
+                futures.add(executor.submit(() -> allocate(allocator, 1000)));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                ids.addAll(future.get());
+            }
+
+            assertThat(ids).hasSize(16 * 1000);
+        }
+    }
+
+    @Test
+    void shouldContinueAfterTheBlocksLeasedBeforeARestart() throws IOException {
+        Path leaseFile = directory.resolve("data/pets.ids");
+        long beforeRestart;
+        try (BlockPetIdAllocator allocator = new BlockPetIdAllocator(leaseFile, 100)) {
+            beforeRestart = allocator.nextId();
+        }
+
+        try (BlockPetIdAllocator allocator = new BlockPetIdAllocator(leaseFile, 100)) {
+            // The rest of the block leased before the restart is skipped
+            assertThat(allocator.nextId()).isEqualTo(beforeRestart + 100);
+        }
+    }
+
+    @Test
+    void shouldLeaseAboveSkippedIds() throws IOException {
+        try (BlockPetIdAllocator allocator =
+                new BlockPetIdAllocator(directory.resolve("pets.ids"), 100)) {
+            allocator.skipPast(41);
+
+            assertThat(allocator.nextId()).isEqualTo(42);
+        }
+    }
+
+    @Test
+    void repositoriesSharingALeaseFileShouldAssignDistinctIds() throws IOException {
+        Path leaseFile = directory.resolve("pets.ids");
+        try (InMemoryPetRepository first =
+                        new InMemoryPetRepository(
+                                new BlockPetIdAllocator(leaseFile, 2), List.of());
+                InMemoryPetRepository second =
+                        new InMemoryPetRepository(
+                                new BlockPetIdAllocator(leaseFile, 2), List.of())) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                ids.add(first.save(newPet()).getId());
+                ids.add(second.save(newPet()).getId());
+            }
+            first.saveAll(List.of(newPet(), newPet(), newPet()))
+                    .forEach(pet -> ids.add(pet.getId()));
+
+            assertThat(ids).doesNotHaveDuplicates().hasSize(13);
+        }
+    }
+
+    private static List<Long> allocate(PetIdAllocator allocator, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(allocator.nextId());
+        }
+        return ids;
+    }
+
+    private static Pet newPet() {
+        return new Pet(new PetName("Rex"), new Species("Dog"), null, null);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for CachingPetRepository in front of InMemoryPetRepository.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class CachingPetRepositoryTest extends PetRepositoryContractTest {
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return new CachingPetRepository(new InMemoryPetRepository(List.of()), 100);
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        return new CachingPetRepository(new InMemoryPetRepository(List.of(BUDDY, MAX)), 100);
+    }
+
+    @Test
+    void findById_shouldServeRepeatedLookupsFromCache() {
+        CountingRepository delegate = new CountingRepository();
+        CachingPetRepository repository = new CachingPetRepository(delegate, 100);
+
+        repository.findById(1L);
+        repository.findById(1L);
+        repository.findById(1L);
+
+        assertThat(delegate.lookups.get()).isEqualTo(1);
+        assertThat(repository.cacheStatistics()).isEqualTo(new PetCacheStatistics(2, 1, 0, 1));
+    }
+
+    @Test
+    void cacheStatistics_shouldCountHitsAndMissesOfLookups() {
+        CachingPetRepository repository =
+                new CachingPetRepository(new InMemoryPetRepository(List.of(BUDDY, MAX)), 100);
+        assertThat(repository.cacheStatistics()).isEqualTo(new PetCacheStatistics(0, 0, 0, 0));
+
+        repository.findById(1L);
+        repository.findById(2L);
+        repository.findById(1L);
+        // Absent pets are not cached, so each lookup misses
+        repository.findById(99L);
+        repository.findById(99L);
+
+        PetCacheStatistics statistics = repository.cacheStatistics();
+        assertThat(statistics.hits()).isEqualTo(1);
+        assertThat(statistics.misses()).isEqualTo(4);
+        assertThat(statistics.size()).isEqualTo(2);
+        assertThat(statistics.hitRate()).isEqualTo(0.2);
+    }
+
+    @Test
+    void save_shouldServeNewVersionAfterUpdate() {
+        CachingPetRepository repository =
+                new CachingPetRepository(new InMemoryPetRepository(List.of(BUDDY, MAX)), 100);
+        repository.findById(1L);
+
+        repository.save(new Pet(1L, new PetName("Buddy"), new Species("Wolf"), null, null, 0L));
+
+        Pet cached = repository.findById(1L).orElseThrow();
+        assertThat(cached.getVersion()).isEqualTo(1L);
+        assertThat(cached.getSpecies()).isEqualTo(new Species("Wolf"));
+    }
+
+    @Test
+    void save_shouldKeepCachedPetWhenUpdateIsRejected() {
+        CachingPetRepository repository =
+                new CachingPetRepository(new InMemoryPetRepository(List.of(BUDDY, MAX)), 100);
+        repository.findById(1L);
+
+        assertThatThrownBy(
+                        () ->
+                                repository.save(
+                                        new Pet(
+                                                1L,
+                                                new PetName("Buddy"),
+                                                new Species("Wolf"),
+                                                null,
+                                                null,
+                                                5L)))
+                .isInstanceOf(OptimisticLockException.class);
+
+        assertThat(repository.findById(1L).orElseThrow().getVersion()).isZero();
+    }
+
+    @Test
+    void deleteById_shouldEvictDeletedPet() {
+        CachingPetRepository repository =
+                new CachingPetRepository(new InMemoryPetRepository(List.of(BUDDY, MAX)), 100);
+        repository.findById(1L);
+
+        repository.deleteById(1L);
+
+        assertThat(repository.findById(1L)).isEmpty();
+    }
+
+    @Test
+    void findById_shouldEvictToStayWithinMaximumSize() {
+        CachingPetRepository repository = new CachingPetRepository(new CountingRepository(), 10);
+
+        for (long id = 0; id < 100; id++) {
+            repository.findById(id);
+        }
+
+        PetCacheStatistics statistics = repository.cacheStatistics();
+        assertThat(statistics.size()).isLessThanOrEqualTo(10);
+        assertThat(statistics.evictions()).isEqualTo(100 - statistics.size());
+    }
+
+    /** Answers every lookup with a pet and counts how often it is asked. */
+    private static final class CountingRepository extends InMemoryPetRepository {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public Optional<Pet> findById(Long id) {
+            lookups.incrementAndGet();
+            return Optional.of(new Pet(id, new PetName("Pet"), new Species("Dog"), null, null, 0L));
+        }
+    }
+}
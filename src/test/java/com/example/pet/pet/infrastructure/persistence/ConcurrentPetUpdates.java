@@ -0,0 +1,178 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.domain.Age;
+import com.example.pet.pet.domain.OptimisticLockException;
+import com.example.pet.pet.domain.PersonName;
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.domain.Species;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Named;
+
+/**
+ * Concurrent read-modify-write cycles on a few hot pets, shared by PetRepositoryStressTest and
+ * PetRepositoryThroughputBenchmarkTest. Each update increments a pet's age and retries on an
+ * optimistic lock failure, so a lost update shows up as an age that lags behind the version.
+ */
+final class ConcurrentPetUpdates {
+
+    static final List<Pet> HOT_PETS =
+            List.of(
+                    new Pet(
+                            1L,
+                            new PetName("Buddy"),
+                            new Species("Dog"),
+                            new Age(3),
+                            new PersonName("John Doe"),
+                            0L),
+                    new Pet(
+                            2L,
+                            new PetName("Max"),
+                            new Species("Cat"),
+                            new Age(5),
+                            new PersonName("Jane Smith"),
+                            0L));
+
+    private ConcurrentPetUpdates() {}
+
+    /** Every PetRepository implementation, each created holding the given pets. */
+    static Stream<Named<Function<List<Pet>, PetRepository>>> repositories() {
+        return Stream.of(
+                Named.of("in-memory", InMemoryPetRepository::new),
+                Named.of("open-addressing", OpenAddressingPetRepository::new),
+                Named.of("off-heap", OffHeapPetRepository::new),
+                Named.of("sharded", pets -> new ShardedPetRepository(4, pets)),
+                Named.of(
+                        "single-writer",
+                        pets -> {
+                            SingleWriterPetRepository repository =
+                                    new SingleWriterPetRepository(
+                                            new InMemoryPetRepository(pets), 1024, 256);
+                            repository.start();
+                            return repository;
+                        }),
+                Named.of(
+                        "jdbc",
+                        pets -> new PooledJdbcPetRepository(H2DataSources.newInMemory(), pets)));
+    }
+
+    /** Runs the updates from the given number of threads at once. */
+    static Result run(PetRepository repository, int threads, int updatesPerThread)
+            throws Exception {
+        List<Long> hotIds = HOT_PETS.stream().map(Pet::getId).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < threads; t++) {
+                final int threadIndex = t;
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    start.await();
+                                    long retries = 0;
+                                    for (int i = 0; i < updatesPerThread; i++) {
+                                        Long id = hotIds.get((threadIndex + i) % hotIds.size());
+                                        retries += updateWithRetry(repository, id);
+                                    }
+                                    return retries;
+                                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            long retries = 0;
+            for (Future<Long> result : results) {
+                retries += result.get(1, TimeUnit.MINUTES);
+            }
+            return new Result(
+                    (long) threads * updatesPerThread, retries, System.nanoTime() - startedAt);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Asserts that every successful update was applied exactly once. */
+    static void assertNoLostUpdates(PetRepository repository, long updates) {
+        long appliedUpdates = 0;
+        for (Pet initial : HOT_PETS) {
+            Pet pet = repository.findById(initial.getId()).orElseThrow();
+            assertThat(pet.getAge().value() - initial.getAge().value())
+                    .as("age increments applied to pet %d", pet.getId())
+                    .isEqualTo(pet.getVersion().intValue());
+            appliedUpdates += pet.getVersion();
+        }
+        assertThat(appliedUpdates)
+                .as("every successful save must bump the version exactly once")
+                .isEqualTo(updates);
+    }
+
+    static void close(PetRepository repository) throws Exception {
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static long updateWithRetry(PetRepository repository, Long id) {
+        long retries = 0;
+        while (true) {
+            Pet current = repository.findById(id).orElseThrow();
+            Pet update =
+                    new Pet(
+                            current.getId(),
+                            current.getName(),
+                            current.getSpecies(),
+                            new Age(current.getAge().value() + 1),
+                            current.getOwnerName(),
+                            current.getVersion());
+            try {
+                repository.save(update);
+                return retries;
+            } catch (OptimisticLockException e) {
+                retries++;
+            }
+        }
+    }
+
+    /**
+     * @param updates      the successful updates
+     * @param retries      the optimistic lock failures retried on the way
+     * @param elapsedNanos the time from the start of the first update to the end of the last
+     */
+    record Result(long updates, long retries, long elapsedNanos) {
+
+        double updatesPerSecond() {
+            return updates / (elapsedNanos / 1_000_000_000.0);
+        }
+    }
+
+    /** Closes its pool along with the repository, so every run starts from its own database. */
+    private static final class PooledJdbcPetRepository extends JdbcPetRepository
+            implements AutoCloseable {
+
+        private final HikariDataSource dataSource;
+
+        PooledJdbcPetRepository(HikariDataSource dataSource, List<Pet> pets) {
+            super(dataSource, pets);
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public void close() {
+            dataSource.close();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Pooled DataSources over private in-memory H2 databases, one per call. */
+final class H2DataSources {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private H2DataSources() {}
+
+    static HikariDataSource newInMemory() {
+        return newInMemory(16);
+    }
+
+    static HikariDataSource newInMemory(int maximumPoolSize) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(
+                "jdbc:h2:mem:pets-"
+                        + DATABASES.incrementAndGet()
+                        + ";DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=32");
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(maximumPoolSize);
+        return new HikariDataSource(config);
+    }
+}
@@ -1,8 +1,19 @@
 package com.example.pet.pet.infrastructure.persistence;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.ModificationSequenceUnsupportedException;
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import com.example.pet.pet.domain.PetDelta;
+import com.example.pet.pet.domain.PetName;
 import com.example.pet.pet.domain.PetRepository;
 import com.example.pet.pet.domain.PetRepositoryContractTest;
+import com.example.pet.pet.domain.Species;
+import java.io.IOException;
 import java.util.List;
+import org.junit.jupiter.api.Test;
 
 /**
  * Tests for InMemoryPetRepository.
@@ -19,4 +30,69 @@ class InMemoryPetRepositoryTest extends PetRepositoryContractTest {
     public PetRepository repoWithData() {
         return new InMemoryPetRepository(List.of(BUDDY, MAX));
     }
+
+    @Test
+    void findModifiedSince_shouldReturnLatestStateOfChangedPetsAndTombstones() throws IOException {
+        InMemoryPetRepository repository =
+                new InMemoryPetRepository(null, null, new PetChangeRing(4, 100));
+        Pet rex = repository.save(newPet("Rex"));
+        long mark = repository.findModifiedSince(99).highWaterMark();
+
+        Pet buddy = repository.save(newPet("Buddy"));
+        Pet max = repository.save(newPet("Max"));
+        repository.update(max.getId(), pet -> pet);
+        Pet latestMax = repository.update(max.getId(), pet -> pet).orElseThrow();
+        repository.deleteById(buddy.getId());
+
+        // More changes than the ring retains: the index does not depend on it
+        PetDelta delta = repository.findModifiedSince(mark);
+
+        assertThat(mark).isEqualTo(100);
+        assertThat(delta.changed()).containsExactly(latestMax);
+        assertThat(delta.deletedIds()).containsExactly(buddy.getId());
+        assertThat(delta.highWaterMark()).isEqualTo(105);
+        assertThat(repository.findModifiedSince(99).changed()).containsExactly(rex, latestMax);
+        assertThat(repository.findModifiedSince(105).changed()).isEmpty();
+    }
+
+    @Test
+    void findModifiedSince_shouldDropTombstonesTheRingNoLongerRetains() throws IOException {
+        InMemoryPetRepository repository =
+                new InMemoryPetRepository(null, null, new PetChangeRing(4, 100));
+        Pet buddy = repository.save(newPet("Buddy"));
+        long beforeDelete = repository.findModifiedSince(99).highWaterMark();
+        repository.deleteById(buddy.getId());
+        long afterDelete = repository.findModifiedSince(99).highWaterMark();
+
+        Pet rex = repository.save(newPet("Rex"));
+        for (int i = 0; i < 4; i++) {
+            repository.update(rex.getId(), pet -> pet);
+        }
+
+        assertThatThrownBy(() -> repository.findModifiedSince(beforeDelete))
+                .isInstanceOf(PetChangesExpiredException.class);
+        PetDelta delta = repository.findModifiedSince(afterDelete);
+        assertThat(delta.changed()).extracting(Pet::getId).containsExactly(rex.getId());
+        assertThat(delta.deletedIds()).isEmpty();
+    }
+
+    @Test
+    void findModifiedSince_shouldExpireSequencesNotIssuedByThisRepository() throws IOException {
+        InMemoryPetRepository repository =
+                new InMemoryPetRepository(null, null, new PetChangeRing(4, 100));
+        repository.save(newPet("Rex"));
+
+        assertThatThrownBy(() -> repository.findModifiedSince(42))
+                .isInstanceOf(PetChangesExpiredException.class)
+                .extracting(e -> ((PetChangesExpiredException) e).lastSequence())
+                .isEqualTo(100L);
+        assertThatThrownBy(() -> repository.findModifiedSince(101))
+                .isInstanceOf(PetChangesExpiredException.class);
+        assertThatThrownBy(() -> new InMemoryPetRepository(List.of()).findModifiedSince(0))
+                .isInstanceOf(ModificationSequenceUnsupportedException.class);
+    }
+
+    private static Pet newPet(String name) {
+        return new Pet(new PetName(name), new Species("Dog"), null, null);
+    }
 }
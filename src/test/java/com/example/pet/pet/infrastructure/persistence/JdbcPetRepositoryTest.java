@@ -0,0 +1,107 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for JdbcPetRepository against an embedded H2 database.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class JdbcPetRepositoryTest extends PetRepositoryContractTest {
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+
+    @AfterEach
+    void closeDataSources() {
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return new JdbcPetRepository(newDataSource());
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        return new JdbcPetRepository(newDataSource(), List.of(BUDDY, MAX));
+    }
+
+    @Test
+    void saveAll_shouldInsertBatchAndReturnGeneratedIdsInOrder() {
+        JdbcPetRepository repository = new JdbcPetRepository(newDataSource(), List.of(BUDDY, MAX));
+        List<Pet> newPets =
+                IntStream.range(0, 250)
+                        .mapToObj(
+                                i ->
+                                        new Pet(
+                                                new PetName("Pet " + i),
+                                                new Species("Dog"),
+                                                null,
+                                                null))
+                        .toList();
+
+        List<Pet> saved = repository.saveAll(newPets);
+
+        assertThat(saved).hasSize(250);
+        assertThat(saved).extracting(Pet::getId).doesNotHaveDuplicates().isSorted();
+        assertThat(saved.getFirst().getId()).isGreaterThan(MAX.getId());
+        assertThat(saved).extracting(Pet::getVersion).containsOnly(0L);
+        assertThat(repository.findById(saved.get(42).getId()))
+                .get()
+                .extracting(Pet::getName)
+                .isEqualTo(new PetName("Pet 42"));
+        assertThat(repository.findAll()).hasSize(252);
+    }
+
+    @Test
+    void stream_shouldPageThroughAllPetsInIdOrder() {
+        JdbcPetRepository repository = new JdbcPetRepository(newDataSource());
+        repository.saveAll(
+                IntStream.range(0, 2_500)
+                        .mapToObj(
+                                i ->
+                                        new Pet(
+                                                new PetName("Pet " + i),
+                                                new Species("Cat"),
+                                                null,
+                                                null))
+                        .toList());
+
+        try (Stream<Pet> pets = repository.stream()) {
+            assertThat(pets.map(Pet::getId).toList()).hasSize(2_500).isSorted();
+        }
+    }
+
+    @Test
+    void shouldReportATimeoutWaitingForAConnectionAsTransient() throws SQLException {
+        HikariDataSource dataSource = H2DataSources.newInMemory(1);
+        dataSources.add(dataSource);
+        JdbcPetRepository repository = new JdbcPetRepository(dataSource);
+        dataSource.setConnectionTimeout(250);
+
+        try (Connection held = dataSource.getConnection()) {
+            assertThatThrownBy(() -> repository.findById(1L))
+                    .isInstanceOfSatisfying(
+                            PetStoreUnavailableException.class,
+                            e -> assertThat(e.isTransient()).isTrue());
+        }
+        assertThat(repository.findById(1L)).isEmpty();
+    }
+
+    private HikariDataSource newDataSource() {
+        HikariDataSource dataSource = H2DataSources.newInMemory();
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.Species;
+import java.lang.ref.Reference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares LongPetHashMap with the ConcurrentHashMap&lt;Long, Pet&gt; used by
+ * InMemoryPetRepository: retained heap per entry (excluding the Pet objects, which both share)
+ * and single-threaded lookup latency. Run with {@code make bench}; the entry count can be
+ * raised with {@code -Dbench.entries=20000000} given enough heap.
+ */
+@Tag("benchmark")
+class LongPetHashMapBenchmarkTest {
+
+    private static final int ENTRIES = Integer.getInteger("bench.entries", 2_000_000);
+    private static final int LOOKUPS = 20_000_000;
+
+    @Test
+    void compareWithConcurrentHashMap() {
+        Pet[] pets = new Pet[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            pets[i] = new Pet((long) i, new PetName("Pet"), new Species("Dog"), null, null, 0L);
+        }
+
+        long chmBytes =
+                retainedBytes(
+                        () -> {
+                            Map<Long, Pet> map = new ConcurrentHashMap<>();
+                            for (Pet pet : pets) {
+                                map.put(pet.getId(), pet);
+                            }
+                            return map;
+                        });
+        long openAddressingBytes =
+                retainedBytes(
+                        () -> {
+                            LongPetHashMap map = new LongPetHashMap();
+                            for (Pet pet : pets) {
+                                map.put(pet.getId(), pet);
+                            }
+                            return map;
+                        });
+
+        Map<Long, Pet> chm = new ConcurrentHashMap<>();
+        LongPetHashMap openAddressing = new LongPetHashMap();
+        for (Pet pet : pets) {
+            chm.put(pet.getId(), pet);
+            openAddressing.put(pet.getId(), pet);
+        }
+
+        // Warm up both paths before measuring
+        lookupNanos(chm::get);
+        lookupNanos(openAddressing::get);
+        double chmNanos = lookupNanos(chm::get);
+        double openAddressingNanos = lookupNanos(openAddressing::get);
+
+        System.out.printf(
+                "%,d entries%n"
+                        + "  ConcurrentHashMap<Long, Pet>: %5.1f bytes/entry, %5.1f ns/lookup%n"
+                        + "  LongPetHashMap:               %5.1f bytes/entry, %5.1f ns/lookup%n",
+                ENTRIES,
+                (double) chmBytes / ENTRIES,
+                chmNanos,
+                (double) openAddressingBytes / ENTRIES,
+                openAddressingNanos);
+    }
+
+    private static double lookupNanos(LongFunction<Pet> lookup) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (lookup.apply(random.nextInt(ENTRIES)) != null) {
+                found++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        if (found != LOOKUPS) {
+            throw new AssertionError("missing entries: " + (LOOKUPS - found));
+        }
+        return (double) elapsed / LOOKUPS;
+    }
+
+    private static long retainedBytes(Supplier<Object> builder) {
+        long before = usedHeap();
+        Object structure = builder.get();
+        long after = usedHeap();
+        Reference.reachabilityFence(structure);
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
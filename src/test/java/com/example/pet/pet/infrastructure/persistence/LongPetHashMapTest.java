@@ -0,0 +1,76 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.Species;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongPetHashMapTest {
+
+    @Test
+    void shouldBehaveLikeHashMapUnderRandomOperations() {
+        LongPetHashMap map = new LongPetHashMap();
+        Map<Long, Pet> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        // Small key space forces long probe runs, resizes and backward shifts
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Pet pet = pet(key);
+                    map.put(key, pet);
+                    reference.put(key, pet);
+                }
+                case 1 -> assertThat(map.remove(key)).isSameAs(reference.remove(key));
+                default -> assertThat(map.get(key)).isSameAs(reference.get(key));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(reference.size());
+        assertThat(map.values()).containsExactlyInAnyOrderElementsOf(reference.values());
+        assertThat(map.stream()).containsExactlyInAnyOrderElementsOf(reference.values());
+    }
+
+    @Test
+    void shouldSupportNegativeAndLargeKeys() {
+        LongPetHashMap map = new LongPetHashMap();
+        long[] keys = {0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 40};
+
+        for (long key : keys) {
+            map.put(key, pet(key));
+        }
+
+        for (long key : keys) {
+            assertThat(map.get(key).getId()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void compute_shouldLeaveEntryUnchangedWhenFunctionThrows() {
+        LongPetHashMap map = new LongPetHashMap();
+        Pet original = pet(7L);
+        map.put(7L, original);
+
+        assertThatThrownBy(
+                        () ->
+                                map.compute(
+                                        7L,
+                                        existing -> {
+                                            throw new IllegalStateException("boom");
+                                        }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(map.get(7L)).isSameAs(original);
+    }
+
+    private static Pet pet(long id) {
+        return new Pet(id, new PetName("Pet " + id), new Species("Dog"), null, null, 0L);
+    }
+}
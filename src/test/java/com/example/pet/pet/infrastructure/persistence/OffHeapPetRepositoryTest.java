@@ -0,0 +1,87 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for OffHeapPetRepository.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class OffHeapPetRepositoryTest extends PetRepositoryContractTest {
+
+    private final List<OffHeapPetRepository> repositories = new ArrayList<>();
+
+    @AfterEach
+    void releaseOffHeapMemory() {
+        repositories.forEach(OffHeapPetRepository::close);
+    }
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return track(new OffHeapPetRepository(List.of()));
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        return track(new OffHeapPetRepository(List.of(BUDDY, MAX)));
+    }
+
+    @Test
+    void shouldRoundTripAllFieldsThroughOffHeapColumns() {
+        PetRepository repository = repoWithNoData();
+
+        Pet saved =
+                repository.save(
+                        new Pet(
+                                new PetName("Zoë 🐶"),
+                                new Species("Dog"),
+                                new Age(0),
+                                new PersonName("José")));
+        Pet withoutOptionals =
+                repository.save(new Pet(new PetName("Nemo"), new Species("Fish"), null, null));
+
+        Pet loaded = repository.findById(saved.getId()).orElseThrow();
+        assertThat(loaded.getName()).isEqualTo(new PetName("Zoë 🐶"));
+        assertThat(loaded.getSpecies()).isEqualTo(new Species("Dog"));
+        assertThat(loaded.getAge()).isEqualTo(new Age(0));
+        assertThat(loaded.getOwnerName()).isEqualTo(new PersonName("José"));
+
+        Pet loadedWithoutOptionals = repository.findById(withoutOptionals.getId()).orElseThrow();
+        assertThat(loadedWithoutOptionals.getAge()).isNull();
+        assertThat(loadedWithoutOptionals.getOwnerName()).isNull();
+    }
+
+    @Test
+    void shouldGrowColumnsAndIndexAndReuseDeletedRows() {
+        PetRepository repository = repoWithNoData();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(
+                    repository
+                            .save(new Pet(new PetName("Pet " + i), new Species("Dog"), null, null))
+                            .getId());
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            repository.deleteById(ids.get(i));
+        }
+        for (int i = 0; i < 1_000; i++) {
+            repository.save(new Pet(new PetName("New " + i), new Species("Cat"), null, null));
+        }
+
+        assertThat(repository.findAll()).hasSize(3_500);
+        assertThat(repository.stream()).hasSize(3_500);
+        assertThat(repository.findById(ids.get(1)).orElseThrow().getName())
+                .isEqualTo(new PetName("Pet 1"));
+        assertThat(repository.findById(ids.get(0))).isEmpty();
+    }
+
+    private OffHeapPetRepository track(OffHeapPetRepository repository) {
+        repositories.add(repository);
+        return repository;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.domain.PetRepositoryContractTest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for OpenAddressingPetRepository.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class OpenAddressingPetRepositoryTest extends PetRepositoryContractTest {
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return new OpenAddressingPetRepository(List.of());
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        return new OpenAddressingPetRepository(List.of(BUDDY, MAX));
+    }
+
+    @Test
+    void getById_shouldReturnPetOrNull() {
+        OpenAddressingPetRepository repository = new OpenAddressingPetRepository(List.of(BUDDY));
+
+        assertThat(repository.getById(1L)).isSameAs(BUDDY);
+        assertThat(repository.getById(999L)).isNull();
+    }
+}
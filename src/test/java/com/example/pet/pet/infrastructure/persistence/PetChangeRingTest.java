@@ -0,0 +1,115 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetChange;
+import com.example.pet.pet.domain.PetChangesExpiredException;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.Species;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class PetChangeRingTest {
+
+    @Test
+    void shouldReturnChangesAfterSequenceInOrder() {
+        PetChangeRing ring = new PetChangeRing(8, 100);
+        ring.publish(PetChange.Type.CREATED, 1L, pet(1L, 0L));
+        ring.publish(PetChange.Type.UPDATED, 1L, pet(1L, 1L));
+        ring.publish(PetChange.Type.DELETED, 1L, null);
+
+        assertThat(ring.lastSequence()).isEqualTo(102);
+        assertThat(ring.changesAfter(99, 10))
+                .extracting(PetChange::sequence, PetChange::type)
+                .containsExactly(
+                        tuple(100L, PetChange.Type.CREATED),
+                        tuple(101L, PetChange.Type.UPDATED),
+                        tuple(102L, PetChange.Type.DELETED));
+        assertThat(ring.changesAfter(100, 1)).extracting(PetChange::sequence).containsExactly(101L);
+        assertThat(ring.changesAfter(102, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldExpireChangesOverwrittenByNewerOnes() {
+        PetChangeRing ring = new PetChangeRing(4, 1);
+        for (long id = 1; id <= 6; id++) {
+            ring.publish(PetChange.Type.CREATED, id, pet(id, 0L));
+        }
+
+        // Changes 1 and 2 were overwritten by 5 and 6
+        assertThatThrownBy(() -> ring.changesAfter(1, 10))
+                .isInstanceOf(PetChangesExpiredException.class)
+                .extracting(e -> ((PetChangesExpiredException) e).lastSequence())
+                .isEqualTo(6L);
+        assertThat(ring.changesAfter(2, 10))
+                .extracting(PetChange::sequence)
+                .containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    void shouldExpireSequencesNotIssuedByThisRing() {
+        PetChangeRing ring = new PetChangeRing(4, 1_000);
+        ring.publish(PetChange.Type.CREATED, 1L, pet(1L, 0L));
+
+        // Positions from an earlier run are below the first sequence or above the last one
+        assertThatThrownBy(() -> ring.changesAfter(10, 10))
+                .isInstanceOf(PetChangesExpiredException.class);
+        assertThatThrownBy(() -> ring.changesAfter(5_000, 10))
+                .isInstanceOf(PetChangesExpiredException.class);
+        assertThat(ring.changesAfter(999, 10)).hasSize(1);
+    }
+
+    @Test
+    void whenChangedAfter_shouldCompleteOnNextPublish() {
+        PetChangeRing ring = new PetChangeRing(4, 1);
+        CompletableFuture<Void> first = ring.whenChangedAfter(0);
+        CompletableFuture<Void> second = ring.whenChangedAfter(0);
+
+        assertThat(first).isNotDone();
+        ring.publish(PetChange.Type.CREATED, 1L, pet(1L, 0L));
+
+        assertThat(first).isDone();
+        assertThat(second).isDone();
+        assertThat(ring.whenChangedAfter(0)).isDone();
+        assertThat(ring.whenChangedAfter(1)).isNotDone();
+    }
+
+    @Test
+    void inMemoryRepository_shouldPublishEveryChangeWithItsPet() throws IOException {
+        PetChangeRing ring = new PetChangeRing(16, 1);
+        InMemoryPetRepository repository = new InMemoryPetRepository(null, null, ring);
+
+        Pet created =
+                repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+        Pet batched =
+                repository
+                        .saveAll(
+                                List.of(
+                                        new Pet(
+                                                new PetName("Max"),
+                                                new Species("Cat"),
+                                                null,
+                                                null)))
+                        .getFirst();
+        Pet updated = repository.update(created.getId(), pet -> pet).orElseThrow();
+        repository.deleteById(created.getId(), updated.getVersion());
+        repository.deleteById(created.getId());
+
+        assertThat(ring.changesAfter(0, 16))
+                .extracting(PetChange::sequence, PetChange::type, PetChange::pet)
+                .containsExactly(
+                        tuple(1L, PetChange.Type.CREATED, created),
+                        tuple(2L, PetChange.Type.CREATED, batched),
+                        tuple(3L, PetChange.Type.UPDATED, updated),
+                        tuple(4L, PetChange.Type.DELETED, null));
+    }
+
+    private static Pet pet(long id, long version) {
+        return new Pet(id, new PetName("Pet " + id), new Species("Dog"), null, null, version);
+    }
+}
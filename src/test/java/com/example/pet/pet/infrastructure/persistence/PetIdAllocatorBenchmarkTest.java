@@ -0,0 +1,80 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares the IDs per second handed out by the sequential, block and snowflake allocators as
+ * threads are added. The block allocator forces its lease file once per {@code bench.block-size}
+ * IDs. Run with {@code make bench}.
+ */
+@Tag("benchmark")
+class PetIdAllocatorBenchmarkTest {
+
+    private static final int IDS = Integer.getInteger("bench.ids", 20_000_000);
+    private static final int BLOCK_SIZE = Integer.getInteger("bench.block-size", 1000);
+    private static final int[] THREAD_COUNTS = {1, 4, 16};
+
+    @TempDir Path directory;
+
+    @Test
+    void compareAllocators() throws Exception {
+        System.out.printf(
+                "%d processors%n%-10s %7s %14s%n",
+                Runtime.getRuntime().availableProcessors(), "allocator", "threads", "ids/sec");
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up every allocator and is not printed
+            boolean print = round == 1;
+            for (int threads : THREAD_COUNTS) {
+                report(print, "sequential", threads, new SequentialPetIdAllocator());
+                report(
+                        print,
+                        "block",
+                        threads,
+                        new BlockPetIdAllocator(
+                                directory.resolve(round + "-" + threads + ".ids"), BLOCK_SIZE));
+                report(print, "snowflake", threads, new SnowflakePetIdAllocator(1));
+            }
+        }
+    }
+
+    private static void report(boolean print, String name, int threads, PetIdAllocator allocator)
+            throws Exception {
+        double idsPerSecond = measure(allocator, threads);
+        allocator.close();
+        if (print) {
+            System.out.printf("%-10s %7d %,14.0f%n", name, threads, idsPerSecond);
+        }
+    }
+
+    private static double measure(PetIdAllocator allocator, int threads) throws Exception {
+        int idsPerThread = IDS / threads;
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<Long>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    long sum = 0;
+                                    for (int i = 0; i < idsPerThread; i++) {
+                                        sum += allocator.nextId();
+                                    }
+                                    return sum;
+                                }));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) idsPerThread * threads * 1_000_000_000L / elapsed;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetRepository;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Multi-threaded stress test for every PetRepository implementation. Hammers a small set of hot
+ * pets with concurrent read-modify-write cycles and verifies that every successful save is
+ * reflected in the final state (no lost updates). PetRepositoryThroughputBenchmarkTest measures
+ * the same workload from 1 to 64 threads.
+ */
+class PetRepositoryStressTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 500;
+
+    @ParameterizedTest
+    @MethodSource(
+            "com.example.pet.pet.infrastructure.persistence.ConcurrentPetUpdates#repositories")
+    void save_shouldNotLoseUpdatesUnderContention(Function<List<Pet>, PetRepository> factory)
+            throws Exception {
+        PetRepository repository = factory.apply(ConcurrentPetUpdates.HOT_PETS);
+        try {
+            ConcurrentPetUpdates.run(repository, THREADS, UPDATES_PER_THREAD);
+
+            ConcurrentPetUpdates.assertNoLostUpdates(
+                    repository, (long) THREADS * UPDATES_PER_THREAD);
+        } finally {
+            ConcurrentPetUpdates.close(repository);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetRepository;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Reports the throughput of concurrent read-modify-write cycles on a few hot pets, and the
+ * optimistic lock retries they cost, from 1 to 64 threads for every PetRepository
+ * implementation. Each thread count starts from a new repository. Run with {@code make bench}.
+ */
+@Tag("benchmark")
+class PetRepositoryThroughputBenchmarkTest {
+
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+    private static final int UPDATES_PER_THREAD = Integer.getInteger("bench.updates", 500);
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource(
+            "com.example.pet.pet.infrastructure.persistence.ConcurrentPetUpdates#repositories")
+    void updateThroughput(Function<List<Pet>, PetRepository> factory, TestInfo test)
+            throws Exception {
+        for (int threads : THREAD_COUNTS) {
+            PetRepository repository = factory.apply(ConcurrentPetUpdates.HOT_PETS);
+            try {
+                ConcurrentPetUpdates.Result result =
+                        ConcurrentPetUpdates.run(repository, threads, UPDATES_PER_THREAD);
+                ConcurrentPetUpdates.assertNoLostUpdates(repository, result.updates());
+                System.out.printf(
+                        "%-15s %2d threads -> %,12.0f updates/sec (%,d optimistic lock retries)%n",
+                        test.getDisplayName(),
+                        threads,
+                        result.updatesPerSecond(),
+                        result.retries());
+            } finally {
+                ConcurrentPetUpdates.close(repository);
+            }
+        }
+    }
+}
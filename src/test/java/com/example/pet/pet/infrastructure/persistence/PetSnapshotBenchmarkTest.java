@@ -0,0 +1,57 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.*;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Reports snapshot size, snapshot time and restore time of InMemoryPetRepository. Run with {@code
+ * make bench}; the pet count can be raised with {@code -Dbench.entries=10000000} given enough
+ * heap.
+ */
+@Tag("benchmark")
+class PetSnapshotBenchmarkTest {
+
+    private static final int ENTRIES = Integer.getInteger("bench.entries", 2_000_000);
+
+    @TempDir Path directory;
+
+    @Test
+    void measureSnapshotAndRestore() throws Exception {
+        Path snapshotPath = directory.resolve("pets.snapshot");
+        long bytes;
+        long snapshotNanos;
+        try (InMemoryPetRepository repository = new InMemoryPetRepository(null, snapshotPath)) {
+            for (int i = 0; i < ENTRIES; i++) {
+                repository.save(
+                        new Pet(
+                                new PetName("Pet " + i),
+                                new Species(i % 2 == 0 ? "Dog" : "Cat"),
+                                new Age(i % 20),
+                                new PersonName("Owner " + i % 1000)));
+            }
+            long start = System.nanoTime();
+            bytes = repository.snapshot();
+            snapshotNanos = System.nanoTime() - start;
+        }
+
+        long start = System.nanoTime();
+        InMemoryPetRepository repository = new InMemoryPetRepository(null, snapshotPath);
+        long restoreNanos = System.nanoTime() - start;
+        int restored;
+        try (repository) {
+            restored = repository.findAll().size();
+        }
+
+        System.out.printf(
+                "%,d pets: snapshot %,d bytes (%.1f bytes/pet), written in %,d ms,"
+                        + " restored in %,d ms%n",
+                restored,
+                bytes,
+                (double) bytes / restored,
+                snapshotNanos / 1_000_000,
+                restoreNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PetSnapshotTest {
+
+    private static final Pet BUDDY =
+            new Pet(
+                    1L,
+                    new PetName("Buddy"),
+                    new Species("Dog"),
+                    new Age(3),
+                    new PersonName("Zoë"),
+                    7L);
+    private static final Pet NEMO =
+            new Pet(300L, new PetName("Nemo 🐠"), new Species("Fish"), null, null, 0L);
+
+    @TempDir Path directory;
+
+    @Test
+    void shouldRoundTripPetsAndHeader() throws IOException {
+        Path path = directory.resolve("pets.snapshot");
+
+        long bytes = PetSnapshot.write(path, 4096L, 301L, 2, List.of(BUDDY, NEMO));
+        PetSnapshot snapshot = PetSnapshot.readIfExists(path);
+
+        assertThat(snapshot.bytes()).isEqualTo(bytes);
+        assertThat(snapshot.logPosition()).isEqualTo(4096L);
+        assertThat(snapshot.nextId()).isEqualTo(301L);
+        assertThat(snapshot.pets().values())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(BUDDY, NEMO);
+    }
+
+    @Test
+    void shouldEncodeSmallValuesCompactly() throws IOException {
+        Path path = directory.resolve("pets.snapshot");
+
+        long bytes = PetSnapshot.write(path, 0L, 2L, 1, List.of(BUDDY));
+
+        // 5 header + 3 varints + marker, id, version, 1+5 name, 1+3 species, age,
+        // 1+4 owner ("Zoë" is 4 UTF-8 bytes), end marker, 4 checksum
+        assertThat(bytes).isEqualTo(5 + 3 + 1 + 1 + 1 + 6 + 4 + 1 + 5 + 1 + 4);
+    }
+
+    @Test
+    void shouldReturnEmptySnapshotWhenFileIsMissing() throws IOException {
+        PetSnapshot snapshot = PetSnapshot.readIfExists(directory.resolve("missing.snapshot"));
+
+        assertThat(snapshot.pets()).isEmpty();
+        assertThat(snapshot.logPosition()).isZero();
+    }
+
+    @Test
+    void shouldRejectCorruptSnapshot() throws IOException {
+        Path path = directory.resolve("pets.snapshot");
+        PetSnapshot.write(path, 0L, 301L, 2, List.of(BUDDY, NEMO));
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(12);
+            int b = file.read();
+            file.seek(12);
+            file.write(b ^ 0xFF);
+        }
+
+        assertThatThrownBy(() -> PetSnapshot.readIfExists(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt pet snapshot");
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetDelta;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ReactivePetRepositoryAdapterTest {
+
+    @Test
+    void nonBlocking_shouldRunDeltaQueriesOffTheCallingThread() {
+        ThreadRecordingRepository delegate = new ThreadRecordingRepository();
+        ReactivePetRepositoryAdapter adapter = ReactivePetRepositoryAdapter.nonBlocking(delegate);
+
+        adapter.findById(1L).block();
+        String lookupThread = delegate.thread;
+        adapter.findModifiedSince(0).block();
+
+        assertThat(lookupThread).isEqualTo(Thread.currentThread().getName());
+        assertThat(delegate.thread).startsWith("boundedElastic-");
+    }
+
+    /** Remembers the thread of the last call. */
+    private static final class ThreadRecordingRepository extends InMemoryPetRepository {
+
+        private volatile String thread;
+
+        ThreadRecordingRepository() {
+            super(List.of());
+        }
+
+        @Override
+        public Optional<Pet> findById(Long id) {
+            thread = Thread.currentThread().getName();
+            return Optional.empty();
+        }
+
+        @Override
+        public PetDelta findModifiedSince(long sequence) {
+            thread = Thread.currentThread().getName();
+            return new PetDelta(List.of(), List.of(), sequence);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static com.example.pet.pet.infrastructure.persistence.ReplicationProtocol.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for ReplicationLeader and ReplicationFollower, with every instance on localhost. */
+class ReplicationTest {
+
+    private static final Duration HEARTBEAT = Duration.ofMillis(50);
+    private static final Duration RECONNECT_DELAY = Duration.ofMillis(50);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<AutoCloseable> resources = new ArrayList<>();
+
+    @AfterEach
+    void closeAll() throws Exception {
+        for (AutoCloseable resource : resources.reversed()) {
+            resource.close();
+        }
+    }
+
+    @Test
+    void followers_shouldConvergeAfterCreatesUpdatesAndDeletes() throws Exception {
+        PetChangeRing changes = new PetChangeRing(1024, 1000);
+        InMemoryPetRepository leaderRepository = leaderRepository(changes);
+        ReplicationLeader leader = leader(leaderRepository, changes, 0);
+        ReplicaPetRepository first = follower(leader.port());
+        ReplicaPetRepository second = follower(leader.port());
+
+        Pet buddy = leaderRepository.save(pet("Buddy", "Dog"));
+        Pet max = leaderRepository.save(pet("Max", "Cat"));
+        Pet bella = leaderRepository.save(pet("Bella", "Bird"));
+        leaderRepository.update(
+                buddy.getId(),
+                pet ->
+                        new Pet(
+                                new PetName("Buddy II"),
+                                pet.getSpecies(),
+                                pet.getAge(),
+                                pet.getOwnerName()));
+        leaderRepository.deleteById(max.getId());
+
+        for (ReplicaPetRepository replica : List.of(first, second)) {
+            replica.catchUp();
+            assertThat(snapshotOf(replica)).isEqualTo(snapshotOf(leaderRepository));
+            assertThat(replica.findById(buddy.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+            assertThat(replica.findById(max.getId())).isEmpty();
+            assertThat(replica.findBySpecies(new Species("Bird")))
+                    .extracting(Pet::getId)
+                    .containsExactly(bella.getId());
+        }
+    }
+
+    @Test
+    void follower_shouldReceiveThePetsWrittenBeforeItConnected() throws Exception {
+        // Retains fewer changes than were written, so the follower must be sent the pets
+        PetChangeRing changes = new PetChangeRing(4, 1000);
+        InMemoryPetRepository leaderRepository = leaderRepository(changes);
+        for (int i = 0; i < 20; i++) {
+            leaderRepository.save(pet("Pet " + i, "Dog"));
+        }
+        ReplicationLeader leader = leader(leaderRepository, changes, 0);
+
+        ReplicaPetRepository replica = follower(leader.port());
+        replica.catchUp();
+        leaderRepository.save(pet("Late", "Cat"));
+        replica.catchUp();
+
+        assertThat(snapshotOf(replica)).isEqualTo(snapshotOf(leaderRepository)).hasSize(21);
+    }
+
+    @Test
+    void follower_shouldResetAfterTheLeaderRestarts() throws Exception {
+        PetChangeRing changes = new PetChangeRing(1024, 1000);
+        InMemoryPetRepository leaderRepository = leaderRepository(changes);
+        leaderRepository.save(pet("Buddy", "Dog"));
+        leaderRepository.save(pet("Max", "Cat"));
+        ReplicationLeader leader = leader(leaderRepository, changes, 0);
+        int port = leader.port();
+        ReplicaPetRepository replica = follower(port);
+        replica.catchUp();
+        assertThat(replica.findAll()).hasSize(2);
+
+        leader.close();
+        // A leader without a log starts over: the same ID names a different pet, and the new
+        // sequence numbers are past anything the follower applied
+        PetChangeRing restartedChanges = new PetChangeRing(1024, 1_000_000);
+        InMemoryPetRepository restartedRepository = leaderRepository(restartedChanges);
+        Pet bella = restartedRepository.save(pet("Bella", "Bird"));
+        leader(restartedRepository, restartedChanges, port);
+
+        eventually(replica::catchUp);
+        assertThat(snapshotOf(replica)).isEqualTo(snapshotOf(restartedRepository));
+        assertThat(replica.findById(bella.getId()).orElseThrow().getName().value())
+                .isEqualTo("Bella");
+    }
+
+    @Test
+    void catchUp_shouldSeeEveryWriteCompletedOnTheLeader() throws Exception {
+        PetChangeRing changes = new PetChangeRing(1024, 1000);
+        InMemoryPetRepository leaderRepository = leaderRepository(changes);
+        ReplicationLeader leader = leader(leaderRepository, changes, 0);
+        ReplicaPetRepository replica = follower(leader.port());
+
+        for (int i = 0; i < 50; i++) {
+            Pet created = leaderRepository.save(pet("Pet " + i, "Dog"));
+            Pet updated = leaderRepository.update(created.getId(), pet -> pet).orElseThrow();
+
+            replica.catchUp();
+
+            assertThat(replica.findById(created.getId()).orElseThrow().getVersion())
+                    .isEqualTo(updated.getVersion());
+        }
+    }
+
+    @Test
+    void replica_shouldRejectWrites() throws Exception {
+        PetChangeRing changes = new PetChangeRing(1024, 1000);
+        InMemoryPetRepository leaderRepository = leaderRepository(changes);
+        Pet buddy = leaderRepository.save(pet("Buddy", "Dog"));
+        ReplicationLeader leader = leader(leaderRepository, changes, 0);
+        ReplicaPetRepository replica = follower(leader.port());
+        replica.catchUp();
+
+        assertThatThrownBy(() -> replica.save(pet("Max", "Cat")))
+                .isInstanceOf(ReadOnlyReplicaException.class);
+        assertThatThrownBy(() -> replica.update(buddy.getId(), pet -> pet))
+                .isInstanceOf(ReadOnlyReplicaException.class);
+        assertThatThrownBy(() -> replica.deleteById(buddy.getId()))
+                .isInstanceOf(ReadOnlyReplicaException.class);
+        assertThat(replica.findById(buddy.getId())).isPresent();
+        assertThat(leaderRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    void status_shouldReportFollowerLag() throws Exception {
+        PetChangeRing changes = new PetChangeRing(1024, 1000);
+        InMemoryPetRepository leaderRepository = leaderRepository(changes);
+        ReplicationLeader leader = leader(leaderRepository, changes, 0);
+        ReplicaPetRepository first = follower(leader.port());
+        ReplicaPetRepository second = follower(leader.port());
+        for (int i = 0; i < 10; i++) {
+            leaderRepository.save(pet("Pet " + i, "Dog"));
+        }
+
+        first.catchUp();
+        second.catchUp();
+        eventually(
+                () -> {
+                    ReplicationStatus status = leader.status();
+                    assertThat(status.role()).isEqualTo(ReplicationStatus.Role.LEADER);
+                    assertThat(status.appliedSequence()).isEqualTo(changes.lastSequence());
+                    assertThat(status.followers())
+                            .hasSize(2)
+                            .allSatisfy(
+                                    follower -> {
+                                        assertThat(follower.lag()).isZero();
+                                        assertThat(follower.appliedSequence())
+                                                .isEqualTo(changes.lastSequence());
+                                    });
+                });
+        ReplicationStatus followerStatus = first.status();
+        assertThat(followerStatus.role()).isEqualTo(ReplicationStatus.Role.FOLLOWER);
+        assertThat(followerStatus.connected()).isTrue();
+        assertThat(followerStatus.appliedSequence()).isEqualTo(changes.lastSequence());
+        assertThat(followerStatus.lag()).isZero();
+        assertThat(followerStatus.sinceLeaderContact()).isNotNull();
+    }
+
+    @Test
+    void catchUp_shouldFailWithoutALeader() throws Exception {
+        PetChangeRing changes = new PetChangeRing(1024, 1000);
+        ReplicationLeader leader = leader(leaderRepository(changes), changes, 0);
+        int port = leader.port();
+        leader.close();
+
+        ReplicaPetRepository replica = follower(port, Duration.ofMillis(200));
+
+        assertThatThrownBy(replica::catchUp).isInstanceOf(ReplicaUnavailableException.class);
+        assertThat(replica.status().connected()).isFalse();
+    }
+
+    @Test
+    void follower_shouldReconnectWithAResetAfterAChangeItCannotApply() throws Exception {
+        try (ServerSocket fakeLeader = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            fakeLeader.setSoTimeout((int) TIMEOUT.toMillis());
+            ReplicaPetRepository replica = follower(fakeLeader.getLocalPort());
+
+            try (Socket connection = fakeLeader.accept()) {
+                DataInputStream in = new DataInputStream(connection.getInputStream());
+                DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                assertThat(readHandshake(in)).isEqualTo(NO_SEQUENCE);
+                out.writeByte(RESET);
+                out.writeLong(3);
+                out.writeByte(RESET_END);
+                // A mutation type the follower does not know
+                out.writeByte(CHANGE);
+                out.writeLong(4);
+                out.writeByte(99);
+                out.flush();
+            }
+
+            try (Socket connection = fakeLeader.accept()) {
+                DataInputStream in = new DataInputStream(connection.getInputStream());
+                DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                assertThat(readHandshake(in)).isEqualTo(NO_SEQUENCE);
+                out.writeByte(RESET);
+                out.writeLong(4);
+                out.writeByte(PET);
+                PetRecordCodec.writePet(
+                        out, new Pet(1L, new PetName("Buddy"), new Species("Dog"), null, null, 0L));
+                out.writeByte(RESET_END);
+                out.flush();
+
+                eventually(() -> assertThat(replica.status().appliedSequence()).isEqualTo(4));
+                assertThat(replica.findById(1L)).isPresent();
+            }
+        }
+    }
+
+    @Test
+    void catchUp_shouldReturnOnceItsChangeIsAppliedWhileMoreIsArriving() throws Exception {
+        try (ServerSocket fakeLeader = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            fakeLeader.setSoTimeout((int) TIMEOUT.toMillis());
+            ReplicaPetRepository replica = follower(fakeLeader.getLocalPort());
+
+            try (Socket connection = fakeLeader.accept()) {
+                DataInputStream in = new DataInputStream(connection.getInputStream());
+                DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                readHandshake(in);
+                out.writeByte(RESET);
+                out.writeLong(0);
+                out.writeByte(RESET_END);
+                out.flush();
+
+                CompletableFuture<Void> caughtUp = CompletableFuture.runAsync(replica::catchUp);
+                byte type;
+                while ((type = in.readByte()) != READ_INDEX) {
+                    assertThat(type).isEqualTo(ACK);
+                    in.readLong();
+                }
+                out.writeByte(READ_INDEX);
+                out.writeLong(in.readLong());
+                out.writeLong(1);
+                out.writeByte(CHANGE);
+                out.writeLong(1);
+                PetRecordCodec.writeMutation(
+                        out,
+                        PetMutation.created(
+                                new Pet(
+                                        1L,
+                                        new PetName("Buddy"),
+                                        new Species("Dog"),
+                                        null,
+                                        null,
+                                        0L)));
+                // The start of the next change, so the follower never runs out of input
+                out.writeByte(CHANGE);
+                out.flush();
+
+                caughtUp.get(TIMEOUT.toMillis() / 2, TimeUnit.MILLISECONDS);
+                assertThat(replica.findById(1L)).isPresent();
+            }
+        }
+    }
+
+    /** Reads a follower's opening and returns the sequence number it resumes from. */
+    private static long readHandshake(DataInputStream in) throws IOException {
+        assertThat(in.readInt()).isEqualTo(MAGIC);
+        assertThat(in.readByte()).isEqualTo((byte) VERSION);
+        return in.readLong();
+    }
+
+    private InMemoryPetRepository leaderRepository(PetChangeRing changes) throws IOException {
+        InMemoryPetRepository repository =
+                new InMemoryPetRepository(null, null, changes, new SequentialPetIdAllocator());
+        resources.add(repository);
+        return repository;
+    }
+
+    private ReplicationLeader leader(PetRepository repository, PetChangeRing changes, int port)
+            throws IOException {
+        ReplicationLeader leader =
+                new ReplicationLeader(
+                        repository,
+                        changes,
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                        HEARTBEAT);
+        resources.add(leader);
+        leader.start();
+        return leader;
+    }
+
+    private ReplicaPetRepository follower(int port) {
+        return follower(port, TIMEOUT);
+    }
+
+    private ReplicaPetRepository follower(int port, Duration catchUpTimeout) {
+        InMemoryPetRepository replica = new InMemoryPetRepository(List.of());
+        ReplicationFollower follower =
+                new ReplicationFollower(replica, "localhost", port, RECONNECT_DELAY);
+        ReplicaPetRepository repository =
+                new ReplicaPetRepository(replica, follower, catchUpTimeout);
+        resources.add(repository);
+        follower.start();
+        return repository;
+    }
+
+    private static Pet pet(String name, String species) {
+        return new Pet(new PetName(name), new Species(species), new Age(3), null);
+    }
+
+    private static List<String> snapshotOf(PetRepository repository) {
+        return repository.findAll().stream()
+                .sorted(Comparator.comparing(Pet::getId))
+                .map(pet -> pet.getId() + ":" + pet.getName().value() + ":" + pet.getVersion())
+                .toList();
+    }
+
+    /** Retries {@code assertion} until it passes or {@link #TIMEOUT} elapses. */
+    private static void eventually(Runnable assertion) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError | ReplicaUnavailableException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(20);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.domain.Species;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares write throughput of one InMemoryPetRepository with a ShardedPetRepository of one shard
+ * per processor as writers are added, and the time of a findBySpecies scan over the resulting
+ * pets. Each writer alternates creating a pet and updating one of its own. Run with {@code make
+ * bench}.
+ */
+@Tag("benchmark")
+class ShardedPetRepositoryBenchmarkTest {
+
+    private static final int WRITES = Integer.getInteger("bench.writes", 400_000);
+    private static final int[] WRITER_COUNTS = {1, 4, 16, 64};
+    private static final Species DOG = new Species("Dog");
+
+    @Test
+    void compareSingleMapAndShards() throws Exception {
+        int shards = Runtime.getRuntime().availableProcessors();
+        System.out.printf(
+                "%d processors%n%-10s %7s %14s %10s%n",
+                shards, "repository", "writers", "writes/sec", "scan ms");
+        // Warm up both before measuring either
+        measure(new InMemoryPetRepository(), 4);
+        measure(new ShardedPetRepository(shards), 4);
+        for (int writers : WRITER_COUNTS) {
+            for (boolean sharded : new boolean[] {false, true}) {
+                PetRepository repository =
+                        sharded ? new ShardedPetRepository(shards) : new InMemoryPetRepository();
+                double writesPerSecond = measure(repository, writers);
+                long start = System.nanoTime();
+                int found = repository.findBySpecies(DOG).size();
+                double scanMillis = (System.nanoTime() - start) / 1_000_000.0;
+                System.out.printf(
+                        "%-10s %7d %,14.0f %10.1f%n",
+                        sharded ? "sharded" : "single", writers, writesPerSecond, scanMillis);
+                if (found != WRITES / writers / 2 * writers) {
+                    throw new AssertionError("scan found " + found + " pets");
+                }
+            }
+        }
+    }
+
+    private static double measure(PetRepository repository, int writers) throws Exception {
+        int writesPerWriter = WRITES / writers;
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int w = 0; w < writers; w++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    Pet pet = null;
+                                    for (int i = 0; i < writesPerWriter; i++) {
+                                        pet =
+                                                i % 2 == 0
+                                                        ? repository.save(
+                                                                new Pet(
+                                                                        new PetName("Pet"),
+                                                                        DOG,
+                                                                        null,
+                                                                        null))
+                                                        : repository.save(pet);
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) writesPerWriter * writers * 1_000_000_000L / elapsed;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ShardedPetRepository.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class ShardedPetRepositoryTest extends PetRepositoryContractTest {
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return new ShardedPetRepository(3);
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        return new ShardedPetRepository(3, List.of(BUDDY, MAX));
+    }
+
+    @Test
+    void save_shouldAssignUniqueIdsFromEveryShard() throws Exception {
+        ShardedPetRepository repository = new ShardedPetRepository(4, List.of(BUDDY, MAX));
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        try (ExecutorService writers = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < 8; w++) {
+                futures.add(
+                        writers.submit(
+                                () -> {
+                                    for (int i = 0; i < 100; i++) {
+                                        ids.add(repository.save(newPet("Pet")).getId());
+                                    }
+                                    repository.saveAll(List.of(newPet("A"), newPet("B"))).stream()
+                                            .map(Pet::getId)
+                                            .forEach(ids::add);
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(ids).hasSize(8 * 102).doesNotContain(BUDDY.getId(), MAX.getId());
+        assertThat(ids).extracting(id -> id % 4).contains(0L, 1L, 2L, 3L);
+        assertThat(repository.findAll()).hasSize(8 * 102 + 2);
+    }
+
+    @Test
+    void findPage_shouldMergeShardsInIdOrder() {
+        ShardedPetRepository repository = new ShardedPetRepository(3);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(repository.save(newPet("Pet " + i)).getId());
+        }
+        List<Long> sorted = ids.stream().sorted().toList();
+
+        assertThat(repository.findPage(null, 4))
+                .extracting(Pet::getId)
+                .isEqualTo(sorted.subList(0, 4));
+        assertThat(repository.findPage(sorted.get(3), 100))
+                .extracting(Pet::getId)
+                .isEqualTo(sorted.subList(4, 10));
+    }
+
+    private static Pet newPet(String name) {
+        return new Pet(new PetName(name), new Species("Dog"), null, null);
+    }
+}
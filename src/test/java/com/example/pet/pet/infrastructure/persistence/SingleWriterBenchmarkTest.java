@@ -0,0 +1,115 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.PetRepository;
+import com.example.pet.pet.domain.Species;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares throughput and latency of writes applied on the calling threads (direct) with writes
+ * funnelled through a SingleWriterPetRepository, for an InMemoryPetRepository without a log and
+ * with a log forced on every write. Each writer alternates creating a pet and updating one of its
+ * own. Run with {@code make bench}.
+ */
+@Tag("benchmark")
+class SingleWriterBenchmarkTest {
+
+    private static final int WRITES = Integer.getInteger("bench.writes", 200_000);
+    private static final int LOGGED_WRITES = Integer.getInteger("bench.logged-writes", 20_000);
+    private static final int[] WRITER_COUNTS = {1, 4, 16, 64};
+
+    @TempDir Path directory;
+
+    @Test
+    void compareDirectAndSingleWriter() throws Exception {
+        System.out.printf(
+                "%-6s %-13s %7s %14s %10s %10s%n",
+                "log", "mode", "writers", "writes/sec", "p50 µs", "p99 µs");
+        // Warm up both paths before measuring either
+        measure(new InMemoryPetRepository(), 4, WRITES);
+        measure(singleWriter(new InMemoryPetRepository()), 4, WRITES);
+        for (boolean logged : new boolean[] {false, true}) {
+            for (int writers : WRITER_COUNTS) {
+                for (boolean single : new boolean[] {false, true}) {
+                    InMemoryPetRepository inMemory =
+                            logged
+                                    ? new InMemoryPetRepository(
+                                            new WriteAheadLog(
+                                                    directory.resolve(
+                                                            writers + "-" + single + ".wal"),
+                                                    WriteAheadLog.FsyncPolicy.ALWAYS,
+                                                    Duration.ofMillis(10)))
+                                    : new InMemoryPetRepository();
+                    PetRepository repository = single ? singleWriter(inMemory) : inMemory;
+                    Result result = measure(repository, writers, logged ? LOGGED_WRITES : WRITES);
+                    ((AutoCloseable) repository).close();
+                    System.out.printf(
+                            "%-6s %-13s %7d %,14.0f %10.1f %10.1f%n",
+                            logged ? "always" : "none",
+                            single ? "single-writer" : "direct",
+                            writers,
+                            result.writesPerSecond(),
+                            result.p50Micros(),
+                            result.p99Micros());
+                }
+            }
+        }
+    }
+
+    private static SingleWriterPetRepository singleWriter(PetRepository delegate) {
+        SingleWriterPetRepository repository = new SingleWriterPetRepository(delegate, 4096, 256);
+        repository.start();
+        return repository;
+    }
+
+    private static Result measure(PetRepository repository, int writers, int writes)
+            throws Exception {
+        int writesPerWriter = writes / writers;
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> write(repository, writesPerWriter)));
+            }
+            long[] latencies = new long[writesPerWriter * writers];
+            for (int w = 0; w < writers; w++) {
+                System.arraycopy(
+                        futures.get(w).get(), 0, latencies, w * writesPerWriter, writesPerWriter);
+            }
+            long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            return new Result(
+                    (double) latencies.length * 1_000_000_000L / elapsed,
+                    latencies[latencies.length / 2] / 1_000.0,
+                    latencies[(int) (latencies.length * 0.99)] / 1_000.0);
+        }
+    }
+
+    private static long[] write(PetRepository repository, int writes) {
+        long[] latencies = new long[writes];
+        Pet pet = null;
+        for (int i = 0; i < writes; i++) {
+            long start = System.nanoTime();
+            if (pet == null || i % 2 == 0) {
+                pet = repository.save(new Pet(new PetName("Pet"), new Species("Dog"), null, null));
+            } else {
+                pet = repository.save(pet);
+            }
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private record Result(double writesPerSecond, double p50Micros, double p99Micros) {}
+}
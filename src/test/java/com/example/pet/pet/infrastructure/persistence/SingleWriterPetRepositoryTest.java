@@ -0,0 +1,165 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for SingleWriterPetRepository in front of InMemoryPetRepository.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class SingleWriterPetRepositoryTest extends PetRepositoryContractTest {
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return started(new InMemoryPetRepository(List.of()), 16, 4);
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        return started(new InMemoryPetRepository(List.of(BUDDY, MAX)), 16, 4);
+    }
+
+    @Test
+    void writes_shouldAllRunOnTheWriterThread() throws Exception {
+        Set<String> writerThreads = ConcurrentHashMap.newKeySet();
+        try (SingleWriterPetRepository repository =
+                        started(new InMemoryPetRepository(List.of(BUDDY)), 16, 4);
+                ExecutorService callers = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                futures.add(
+                        callers.submit(
+                                () ->
+                                        repository.update(
+                                                BUDDY.getId(),
+                                                pet -> {
+                                                    writerThreads.add(
+                                                            Thread.currentThread().getName());
+                                                    return pet;
+                                                })));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertThat(writerThreads).containsExactly("pet-writer");
+            assertThat(repository.findById(BUDDY.getId()).orElseThrow().getVersion())
+                    .isEqualTo(100L);
+        }
+    }
+
+    @Test
+    void writes_shouldBeAppliedInBatchesWhileTheWriterIsBusy() throws Exception {
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        InMemoryPetRepository delegate =
+                new InMemoryPetRepository(List.of()) {
+                    @Override
+                    public void writeBatch(Runnable writes) {
+                        int before = findAll().size();
+                        super.writeBatch(writes);
+                        batchSizes.add(findAll().size() - before);
+                        firstBatchStarted.countDown();
+                        awaitQuietly(releaseFirstBatch);
+                    }
+                };
+        try (SingleWriterPetRepository repository = started(delegate, 16, 8);
+                ExecutorService callers = Executors.newFixedThreadPool(10)) {
+            List<Future<Pet>> futures = new ArrayList<>();
+            futures.add(callers.submit(() -> repository.save(newPet())));
+            firstBatchStarted.await();
+            for (int i = 0; i < 9; i++) {
+                futures.add(callers.submit(() -> repository.save(newPet())));
+            }
+            while (repository.queuedWrites() < 9) {
+                Thread.onSpinWait();
+            }
+            // Results are handed back only once their batch is complete
+            assertThat(futures.getFirst()).isNotDone();
+
+            releaseFirstBatch.countDown();
+            for (Future<Pet> future : futures) {
+                future.get();
+            }
+
+            assertThat(batchSizes).containsExactly(1, 8, 1);
+        }
+    }
+
+    @Test
+    void writes_shouldWaitUntilTheWriterIsStarted() throws Exception {
+        try (SingleWriterPetRepository repository =
+                        new SingleWriterPetRepository(new InMemoryPetRepository(List.of()), 16, 4);
+                ExecutorService callers = Executors.newSingleThreadExecutor()) {
+            Future<Pet> saved = callers.submit(() -> repository.save(newPet()));
+            while (repository.queuedWrites() < 1) {
+                Thread.onSpinWait();
+            }
+            assertThat(saved).isNotDone();
+
+            repository.start();
+
+            assertThat(saved.get().getId()).isNotNull();
+        }
+    }
+
+    @Test
+    void close_shouldApplyWritesQueuedBeforeTheWriterIsStarted() throws Exception {
+        InMemoryPetRepository delegate = new InMemoryPetRepository(List.of());
+        SingleWriterPetRepository repository = new SingleWriterPetRepository(delegate, 16, 4);
+        Future<Pet> saved;
+        try (ExecutorService callers = Executors.newSingleThreadExecutor()) {
+            saved = callers.submit(() -> repository.save(newPet()));
+            while (repository.queuedWrites() < 1) {
+                Thread.onSpinWait();
+            }
+            repository.close();
+        }
+
+        assertThat(delegate.findById(saved.get().getId())).isPresent();
+    }
+
+    @Test
+    void close_shouldRejectLaterWrites() throws Exception {
+        SingleWriterPetRepository repository =
+                started(new InMemoryPetRepository(List.of(BUDDY)), 16, 4);
+        repository.close();
+
+        assertThatThrownBy(() -> repository.deleteById(BUDDY.getId()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(repository.findById(BUDDY.getId())).contains(BUDDY);
+    }
+
+    private static SingleWriterPetRepository started(
+            PetRepository delegate, int capacity, int maxBatchSize) {
+        SingleWriterPetRepository repository =
+                new SingleWriterPetRepository(delegate, capacity, maxBatchSize);
+        repository.start();
+        return repository;
+    }
+
+    private static Pet newPet() {
+        return new Pet(new PetName("Rex"), new Species("Dog"), null, null);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
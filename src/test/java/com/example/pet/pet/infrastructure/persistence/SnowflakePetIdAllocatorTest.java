@@ -0,0 +1,84 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/** Tests for SnowflakePetIdAllocator, on a clock the test moves by hand. */
+class SnowflakePetIdAllocatorTest {
+
+    private static final long START = SnowflakePetIdAllocator.EPOCH_MILLIS + 1_000;
+
+    private final AtomicLong millis = new AtomicLong(START);
+    private final InstantSource clock = () -> Instant.ofEpochMilli(millis.get());
+
+    @Test
+    void shouldComposeIdFromTimeNodeAndSequence() {
+        SnowflakePetIdAllocator allocator = new SnowflakePetIdAllocator(5, clock);
+
+        long first = allocator.nextId();
+        long second = allocator.nextId();
+        millis.incrementAndGet();
+        long third = allocator.nextId();
+
+        assertThat(first).isEqualTo(1_000L << 22 | 5L << 12);
+        assertThat(second).isEqualTo(first + 1);
+        assertThat(third).isEqualTo(1_001L << 22 | 5L << 12);
+    }
+
+    @Test
+    void shouldCarryIntoTheNextMillisecondWhenTheSequenceRunsOut() {
+        SnowflakePetIdAllocator allocator = new SnowflakePetIdAllocator(5, clock);
+        long last = 0;
+        for (int i = 0; i < 4096; i++) {
+            last = allocator.nextId();
+        }
+
+        assertThat(last).isEqualTo(1_000L << 22 | 5L << 12 | 4095);
+        assertThat(allocator.nextId()).isEqualTo(1_001L << 22 | 5L << 12);
+    }
+
+    @Test
+    void shouldKeepIncreasingWhenTheClockGoesBack() {
+        SnowflakePetIdAllocator allocator = new SnowflakePetIdAllocator(5, clock);
+        long before = allocator.nextId();
+
+        millis.addAndGet(-500);
+
+        assertThat(allocator.nextId()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void shouldNotCollideWithOtherNodes() {
+        SnowflakePetIdAllocator first = new SnowflakePetIdAllocator(1, clock);
+        SnowflakePetIdAllocator second = new SnowflakePetIdAllocator(2, clock);
+
+        assertThat(first.nextId()).isNotEqualTo(second.nextId());
+    }
+
+    @Test
+    void shouldStayAboveSkippedIdsOfAnyNode() {
+        SnowflakePetIdAllocator allocator = new SnowflakePetIdAllocator(5, clock);
+        long fromHigherNode = 2_000L << 22 | 9L << 12 | 17;
+        long fromLowerNode = 3_000L << 22 | 1L << 12 | 17;
+
+        allocator.skipPast(fromHigherNode);
+        assertThat(allocator.nextId()).isEqualTo(2_001L << 22 | 5L << 12);
+
+        allocator.skipPast(fromLowerNode);
+        assertThat(allocator.nextId()).isEqualTo(3_000L << 22 | 5L << 12);
+        assertThat(allocator.limit()).isEqualTo((3_000L << 22 | 5L << 12) + 1);
+    }
+
+    @Test
+    void shouldRejectNodeIdsOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakePetIdAllocator(1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakePetIdAllocator(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for InMemoryPetRepository backed by a WriteAheadLog.
+ * Extends the contract test to ensure compliance with PetRepository specification.
+ */
+class WalBackedInMemoryPetRepositoryTest extends PetRepositoryContractTest {
+
+    @TempDir Path directory;
+
+    private final List<InMemoryPetRepository> repositories = new ArrayList<>();
+    private int logs;
+
+    @AfterEach
+    void closeLogs() throws IOException {
+        for (InMemoryPetRepository repository : repositories) {
+            repository.close();
+        }
+    }
+
+    @Override
+    public PetRepository repoWithNoData() {
+        return open(nextLogPath());
+    }
+
+    @Override
+    public PetRepository repoWithData() {
+        Path path = nextLogPath();
+        try (WriteAheadLog log = openLog(path)) {
+            log.replay(0, mutation -> {});
+            log.append(PetMutation.created(BUDDY));
+            log.append(PetMutation.created(MAX));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return open(path);
+    }
+
+    @Test
+    void shouldRestoreStateAfterRestart() throws IOException {
+        Path path = nextLogPath();
+        Long maxId;
+        try (InMemoryPetRepository repository = new InMemoryPetRepository(openLog(path))) {
+            Pet buddy =
+                    repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+            Pet max = repository.save(new Pet(new PetName("Max"), new Species("Cat"), null, null));
+            maxId = max.getId();
+            repository.save(
+                    new Pet(
+                            buddy.getId(),
+                            buddy.getName(),
+                            new Species("Wolf"),
+                            new Age(4),
+                            new PersonName("Jane Smith"),
+                            buddy.getVersion()));
+            repository.deleteById(max.getId());
+        }
+
+        InMemoryPetRepository reopened = open(path);
+
+        assertThat(reopened.findAll()).hasSize(1);
+        Pet restored = reopened.findById(0L).orElseThrow();
+        assertThat(restored.getSpecies()).isEqualTo(new Species("Wolf"));
+        assertThat(restored.getAge()).isEqualTo(new Age(4));
+        assertThat(restored.getVersion()).isEqualTo(1L);
+        assertThat(reopened.findBySpecies(new Species("Wolf"))).hasSize(1);
+        assertThat(reopened.findByOwner(new PersonName("Jane Smith"))).hasSize(1);
+        assertThat(reopened.findById(maxId)).isEmpty();
+
+        // IDs are never reused, even those of deleted pets
+        Pet created = reopened.save(new Pet(new PetName("Nemo"), new Species("Fish"), null, null));
+        assertThat(created.getId()).isEqualTo(maxId + 1);
+    }
+
+    @Test
+    void shouldRestoreBatchCreatesAfterRestart() throws IOException {
+        Path path = nextLogPath();
+        List<Pet> created;
+        try (InMemoryPetRepository repository = new InMemoryPetRepository(openLog(path))) {
+            created =
+                    repository.saveAll(
+                            List.of(
+                                    new Pet(new PetName("Nemo"), new Species("Fish"), null, null),
+                                    new Pet(new PetName("Rex"), new Species("Dog"), null, null),
+                                    new Pet(new PetName("Tom"), new Species("Cat"), null, null)));
+        }
+
+        InMemoryPetRepository reopened = open(path);
+
+        assertThat(created).extracting(Pet::getId).containsExactly(0L, 1L, 2L);
+        assertThat(reopened.findPage(null, 10))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(created);
+        Pet next = reopened.save(new Pet(new PetName("Max"), new Species("Cat"), null, null));
+        assertThat(next.getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldRestoreFromSnapshotAndReplayOnlyTheLogAfterIt() throws IOException {
+        Path logPath = nextLogPath();
+        Path snapshotPath = directory.resolve("pets.snapshot");
+        WriteAheadLog log = openLog(logPath);
+        InMemoryPetRepository repository = new InMemoryPetRepository(log, snapshotPath);
+        Pet buddy = repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+        Pet max = repository.save(new Pet(new PetName("Max"), new Species("Cat"), null, null));
+        repository.snapshot();
+        repository.save(
+                new Pet(
+                        buddy.getId(),
+                        new PetName("Buddy"),
+                        new Species("Wolf"),
+                        null,
+                        null,
+                        buddy.getVersion()));
+        repository.deleteById(max.getId());
+        Pet nemo = repository.save(new Pet(new PetName("Nemo"), new Species("Fish"), null, null));
+        // Simulate a crash: the log is closed but no final snapshot is taken
+        log.close();
+
+        InMemoryPetRepository restored = new InMemoryPetRepository(openLog(logPath), snapshotPath);
+        repositories.add(restored);
+
+        assertThat(restored.findAll())
+                .extracting(Pet::getId)
+                .containsExactlyInAnyOrder(buddy.getId(), nemo.getId());
+        assertThat(restored.findById(buddy.getId()).orElseThrow().getSpecies())
+                .isEqualTo(new Species("Wolf"));
+        assertThat(restored.findBySpecies(new Species("Cat"))).isEmpty();
+        Pet next = restored.save(new Pet(new PetName("Rex"), new Species("Dog"), null, null));
+        assertThat(next.getId()).isEqualTo(nemo.getId() + 1);
+    }
+
+    @Test
+    void shouldReplayTheWholeLogWhenTheSnapshotIsCorrupt() throws IOException {
+        Path logPath = nextLogPath();
+        Path snapshotPath = directory.resolve("pets.snapshot");
+        WriteAheadLog log = openLog(logPath);
+        InMemoryPetRepository repository = new InMemoryPetRepository(log, snapshotPath);
+        Pet buddy = repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+        repository.snapshot();
+        Pet max = repository.save(new Pet(new PetName("Max"), new Species("Cat"), null, null));
+        log.close();
+        try (RandomAccessFile file = new RandomAccessFile(snapshotPath.toFile(), "rw")) {
+            file.seek(8);
+            int b = file.read();
+            file.seek(8);
+            file.write(b ^ 0xFF);
+        }
+
+        InMemoryPetRepository restored = new InMemoryPetRepository(openLog(logPath), snapshotPath);
+        repositories.add(restored);
+
+        assertThat(restored.findAll())
+                .extracting(Pet::getId)
+                .containsExactlyInAnyOrder(buddy.getId(), max.getId());
+        assertThat(snapshotPath.resolveSibling("pets.snapshot.corrupt")).exists();
+        assertThat(snapshotPath).doesNotExist();
+    }
+
+    @Test
+    void shouldFailTheRestoreWhenTheSnapshotIsCorruptAndThereIsNoLog() throws IOException {
+        Path snapshotPath = directory.resolve("pets.snapshot");
+        InMemoryPetRepository repository = new InMemoryPetRepository(null, snapshotPath);
+        repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+        repository.snapshot();
+        repository.close();
+        try (RandomAccessFile file = new RandomAccessFile(snapshotPath.toFile(), "rw")) {
+            file.seek(8);
+            int b = file.read();
+            file.seek(8);
+            file.write(b ^ 0xFF);
+        }
+
+        assertThatThrownBy(() -> new InMemoryPetRepository(null, snapshotPath))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("no write-ahead log");
+        assertThat(snapshotPath).exists();
+    }
+
+    @Test
+    void shouldSnapshotWhileWritersRunWithoutLosingWrites() throws Exception {
+        Path logPath = nextLogPath();
+        Path snapshotPath = directory.resolve("pets.snapshot");
+        WriteAheadLog log = openLog(logPath);
+        InMemoryPetRepository repository = new InMemoryPetRepository(log, snapshotPath);
+        int writers = 4;
+        int writesPerWriter = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(
+                    executor.submit(
+                            () -> {
+                                for (int i = 0; i < writesPerWriter; i++) {
+                                    Pet pet =
+                                            repository.save(
+                                                    new Pet(
+                                                            new PetName("Pet"),
+                                                            new Species("Dog"),
+                                                            null,
+                                                            null));
+                                    if (i % 3 == 0) {
+                                        repository.deleteById(pet.getId());
+                                    }
+                                }
+                            }));
+        }
+        while (futures.stream().anyMatch(future -> !future.isDone())) {
+            repository.snapshot();
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        List<Long> expectedIds = repository.findAll().stream().map(Pet::getId).toList();
+        log.close();
+
+        InMemoryPetRepository restored = new InMemoryPetRepository(openLog(logPath), snapshotPath);
+        repositories.add(restored);
+
+        assertThat(restored.findAll())
+                .extracting(Pet::getId)
+                .containsExactlyInAnyOrderElementsOf(expectedIds);
+    }
+
+    @Test
+    void shouldAllocateIdsAboveRestoredPetsWithAnotherAllocator() throws IOException {
+        Path path = nextLogPath();
+        Long maxId;
+        try (InMemoryPetRepository repository = new InMemoryPetRepository(openLog(path))) {
+            repository.save(new Pet(new PetName("Buddy"), new Species("Dog"), null, null));
+            Pet max = repository.save(new Pet(new PetName("Max"), new Species("Cat"), null, null));
+            maxId = max.getId();
+            repository.deleteById(maxId);
+        }
+
+        // A fresh lease file would start at 0; replaying the log skips past the logged IDs
+        InMemoryPetRepository reopened =
+                new InMemoryPetRepository(
+                        openLog(path),
+                        null,
+                        null,
+                        new BlockPetIdAllocator(directory.resolve("pets.ids"), 10));
+        repositories.add(reopened);
+
+        Pet created = reopened.save(new Pet(new PetName("Nemo"), new Species("Fish"), null, null));
+        assertThat(created.getId()).isEqualTo(maxId + 1);
+    }
+
+    private Path nextLogPath() {
+        return directory.resolve("pets-" + logs++ + ".wal");
+    }
+
+    private InMemoryPetRepository open(Path path) {
+        try {
+            InMemoryPetRepository repository = new InMemoryPetRepository(openLog(path));
+            repositories.add(repository);
+            return repository;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static WriteAheadLog openLog(Path path) throws IOException {
+        return new WriteAheadLog(path, WriteAheadLog.FsyncPolicy.OS, Duration.ofMillis(10));
+    }
+}
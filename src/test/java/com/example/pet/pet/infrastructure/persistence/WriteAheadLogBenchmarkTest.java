@@ -0,0 +1,75 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import com.example.pet.pet.domain.Pet;
+import com.example.pet.pet.domain.PetName;
+import com.example.pet.pet.domain.Species;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Measures create throughput of a WAL-backed InMemoryPetRepository for each fsync policy, with
+ * one and with many concurrent writers; the gap between the two for {@code ALWAYS} is what group
+ * commit buys. Run with {@code make bench}.
+ */
+@Tag("benchmark")
+class WriteAheadLogBenchmarkTest {
+
+    private static final int WRITES = Integer.getInteger("bench.writes", 20_000);
+    private static final int[] WRITER_COUNTS = {1, 16};
+
+    @TempDir Path directory;
+
+    @Test
+    void measureWriteThroughputPerFsyncPolicy() throws Exception {
+        for (WriteAheadLog.FsyncPolicy policy : WriteAheadLog.FsyncPolicy.values()) {
+            for (int writers : WRITER_COUNTS) {
+                Path path = directory.resolve(policy + "-" + writers + ".wal");
+                double writesPerSecond;
+                try (InMemoryPetRepository repository =
+                        new InMemoryPetRepository(
+                                new WriteAheadLog(path, policy, Duration.ofMillis(10)))) {
+                    writesPerSecond = writesPerSecond(repository, writers);
+                }
+                System.out.printf(
+                        "fsync=%-6s writers=%2d: %,12.0f writes/sec%n",
+                        policy, writers, writesPerSecond);
+            }
+        }
+    }
+
+    private static double writesPerSecond(InMemoryPetRepository repository, int writers)
+            throws Exception {
+        int writesPerWriter = WRITES / writers;
+        try (ExecutorService executor = Executors.newFixedThreadPool(writers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int w = 0; w < writers; w++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < writesPerWriter; i++) {
+                                        repository.save(
+                                                new Pet(
+                                                        new PetName("Pet"),
+                                                        new Species("Dog"),
+                                                        null,
+                                                        null));
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return (double) writesPerWriter * writers * 1_000_000_000L / elapsed;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.pet.pet.infrastructure.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.pet.pet.domain.*;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+    @TempDir Path directory;
+
+    @Test
+    void shouldReplayMutationsInOrderAfterReopening() throws IOException {
+        Path path = directory.resolve("pets.wal");
+        Pet buddy =
+                new Pet(
+                        1L,
+                        new PetName("Buddy"),
+                        new Species("Dog"),
+                        new Age(3),
+                        new PersonName("Zoë"),
+                        0L);
+        Pet nemo = new Pet(2L, new PetName("Nemo"), new Species("Fish"), null, null, 4L);
+        List<PetMutation> written =
+                List.of(
+                        PetMutation.created(buddy),
+                        PetMutation.updated(nemo),
+                        PetMutation.deleted(1L));
+
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.OS)) {
+            log.replay(0, mutation -> {});
+            written.forEach(log::append);
+        }
+
+        assertThat(replayAll(path))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(written);
+    }
+
+    @Test
+    void shouldContinueAcrossRegionsAndAppendAfterReplay() throws IOException {
+        Path path = directory.resolve("pets.wal");
+        long regionSize = 256;
+        try (WriteAheadLog log =
+                new WriteAheadLog(
+                        path, WriteAheadLog.FsyncPolicy.OS, Duration.ofMillis(10), regionSize)) {
+            log.replay(0, mutation -> {});
+            for (long id = 0; id < 100; id++) {
+                log.append(PetMutation.deleted(id));
+            }
+        }
+        try (WriteAheadLog log =
+                new WriteAheadLog(
+                        path, WriteAheadLog.FsyncPolicy.OS, Duration.ofMillis(10), regionSize)) {
+            log.replay(0, mutation -> {});
+            log.append(PetMutation.deleted(100));
+        }
+
+        assertThat(replayAll(path))
+                .extracting(PetMutation::petId)
+                .containsExactlyElementsOf(LongStream.rangeClosed(0, 100).boxed().toList());
+    }
+
+    @Test
+    void shouldDiscardTornRecordAtTheTail() throws IOException {
+        Path path = directory.resolve("pets.wal");
+        long intactEnd;
+        long tornEnd;
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.OS)) {
+            log.replay(0, mutation -> {});
+            intactEnd = log.append(PetMutation.deleted(1L));
+            tornEnd = log.append(PetMutation.deleted(2L));
+        }
+        // Corrupt the last byte of the second record, as if the crash hit mid-write
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(tornEnd - 1);
+            int lastByte = file.read();
+            file.seek(tornEnd - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.OS)) {
+            List<PetMutation> replayed = new ArrayList<>();
+            assertThat(log.replay(0, replayed::add)).isEqualTo(intactEnd);
+            assertThat(replayed).containsExactly(PetMutation.deleted(1L));
+            log.append(PetMutation.deleted(3L));
+        }
+
+        assertThat(replayAll(path))
+                .containsExactly(PetMutation.deleted(1L), PetMutation.deleted(3L));
+    }
+
+    @Test
+    void shouldNotReplayRecordsAfterACorruptOneOnceTheLogIsAppendedTo() throws IOException {
+        Path path = directory.resolve("pets.wal");
+        long firstEnd;
+        long secondEnd;
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.OS)) {
+            log.replay(0, mutation -> {});
+            firstEnd = log.append(PetMutation.deleted(1L));
+            secondEnd = log.append(PetMutation.deleted(2L));
+            log.append(PetMutation.deleted(3L));
+        }
+        // Corrupt the middle record; the third one stays intact after it
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(secondEnd - 1);
+            int lastByte = file.read();
+            file.seek(secondEnd - 1);
+            file.write(lastByte ^ 0xFF);
+        }
+
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.OS)) {
+            assertThat(log.replay(0, mutation -> {})).isEqualTo(firstEnd);
+            // Same size as the corrupt record, so it ends where the stale third record began
+            assertThat(log.append(PetMutation.deleted(4L))).isEqualTo(secondEnd);
+        }
+
+        assertThat(replayAll(path))
+                .containsExactly(PetMutation.deleted(1L), PetMutation.deleted(4L));
+    }
+
+    @Test
+    void shouldMakeConcurrentWritesDurableWithGroupCommit() throws Exception {
+        Path path = directory.resolve("pets.wal");
+        int threads = 8;
+        int writesPerThread = 50;
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.ALWAYS);
+                ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            log.replay(0, mutation -> {});
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = t * 1000L;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < writesPerThread; i++) {
+                                        log.awaitDurable(log.append(PetMutation.deleted(base + i)));
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(replayAll(path)).hasSize(threads * writesPerThread);
+    }
+
+    @Test
+    void shouldRejectAppendBeforeReplay() throws IOException {
+        try (WriteAheadLog log =
+                open(directory.resolve("pets.wal"), WriteAheadLog.FsyncPolicy.OS)) {
+            assertThatThrownBy(() -> log.append(PetMutation.deleted(1L)))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void shouldRejectWritesOnceABatchFlushFails() throws IOException {
+        try (WriteAheadLog log =
+                open(directory.resolve("pets.wal"), WriteAheadLog.FsyncPolicy.BATCH)) {
+            // Before the replay there is no mapped region, so forcing it fails
+            log.flush();
+            log.replay(0, mutation -> {});
+
+            assertThatThrownBy(() -> log.append(PetMutation.deleted(1L)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("failed to force");
+            assertThatThrownBy(() -> log.awaitDurable(0))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("failed to force");
+        }
+    }
+
+    private static WriteAheadLog open(Path path, WriteAheadLog.FsyncPolicy fsyncPolicy)
+            throws IOException {
+        return new WriteAheadLog(path, fsyncPolicy, Duration.ofMillis(10));
+    }
+
+    private static List<PetMutation> replayAll(Path path) throws IOException {
+        List<PetMutation> replayed = new ArrayList<>();
+        try (WriteAheadLog log = open(path, WriteAheadLog.FsyncPolicy.OS)) {
+            log.replay(0, replayed::add);
+        }
+        return replayed;
+    }
+}